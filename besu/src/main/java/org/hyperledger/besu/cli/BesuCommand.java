@@ -805,6 +805,14 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
           "How deep a chain reorganization must be in order for it to be logged (default: ${DEFAULT-VALUE})")
   private final Long reorgLoggingThreshold = 6L;
 
+  @Option(
+      names = {"--Xparallel-tx-processing-enabled"},
+      hidden = true,
+      description =
+          "Execute the transactions of imported blocks optimistically in parallel (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private final Boolean isParallelTxProcessingEnabled = false;
+
   @Option(
       names = {"--miner-enabled"},
       description = "Set if node will perform mining (default: ${DEFAULT-VALUE})")
@@ -1575,7 +1583,7 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
         logger,
         commandLine,
         "--sync-mode",
-        !SyncMode.FAST.equals(syncMode),
+        !SyncMode.isFastSync(syncMode),
         singletonList("--fast-sync-min-peers"));
 
     if (!securityModuleName.equals(DEFAULT_SECURITY_MODULE) && nodePrivateKeyFile != null) {
@@ -1741,6 +1749,7 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
                 .orElse(GasLimitCalculator.constant()))
         .requiredBlocks(requiredBlocks)
         .reorgLoggingThreshold(reorgLoggingThreshold)
+        .parallelTransactionProcessingEnabled(isParallelTxProcessingEnabled)
         .dataStorageConfiguration(unstableDataStorageOptions.toDomainObject());
   }
 
@@ -2122,7 +2131,7 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
     final PrivacyParameters.Builder privacyParametersBuilder = new PrivacyParameters.Builder();
     if (isPrivacyEnabled) {
       final String errorSuffix = "cannot be enabled with privacy.";
-      if (syncMode == SyncMode.FAST) {
+      if (SyncMode.isFastSync(syncMode)) {
         throw new ParameterException(commandLine, String.format("%s %s", "Fast sync", errorSuffix));
       }
       if (isPruningEnabled()) {
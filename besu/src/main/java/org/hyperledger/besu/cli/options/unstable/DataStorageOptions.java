@@ -17,6 +17,7 @@
 package org.hyperledger.besu.cli.options.unstable;
 
 import static org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration.DEFAULT_BONSAI_MAX_LAYERS_TO_LOAD;
+import static org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration.DEFAULT_BONSAI_TRIE_NODE_CACHE_SIZE;
 
 import org.hyperledger.besu.cli.options.CLIOptions;
 import org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration;
@@ -34,6 +35,8 @@ public class DataStorageOptions implements CLIOptions<DataStorageConfiguration>
   private static final String BONSAI_STORAGE_FORMAT_MAX_LAYERS_TO_LOAD =
       "--Xbonsai-maximum-back-layers-to-load";
 
+  private static final String BONSAI_TRIE_NODE_CACHE_SIZE = "--Xbonsai-trie-node-cache-size";
+
   // Use Bonsai DB
   @Option(
       names = {DATA_STORAGE_FORMAT},
@@ -51,6 +54,14 @@ public class DataStorageOptions implements CLIOptions<DataStorageConfiguration>
       arity = "1")
   private final Long bonsaiMaxLayersToLoad = DEFAULT_BONSAI_MAX_LAYERS_TO_LOAD;
 
+  @Option(
+      names = {BONSAI_TRIE_NODE_CACHE_SIZE},
+      hidden = true,
+      description =
+          "Memory budget, in bytes, for the upper levels of the tries cached with BONSAI (default: ${DEFAULT-VALUE}).",
+      arity = "1")
+  private final Long bonsaiTrieNodeCacheSize = DEFAULT_BONSAI_TRIE_NODE_CACHE_SIZE;
+
   public static DataStorageOptions create() {
     return new DataStorageOptions();
   }
@@ -60,6 +71,7 @@ public class DataStorageOptions implements CLIOptions<DataStorageConfiguration>
     return ImmutableDataStorageConfiguration.builder()
         .dataStorageFormat(dataStorageFormat)
         .bonsaiMaxLayersToLoad(bonsaiMaxLayersToLoad)
+        .bonsaiTrieNodeCacheSize(bonsaiTrieNodeCacheSize)
         .build();
   }
 
@@ -69,6 +81,8 @@ public class DataStorageOptions implements CLIOptions<DataStorageConfiguration>
         DATA_STORAGE_FORMAT,
         dataStorageFormat.toString(),
         BONSAI_STORAGE_FORMAT_MAX_LAYERS_TO_LOAD,
-        bonsaiMaxLayersToLoad.toString());
+        bonsaiMaxLayersToLoad.toString(),
+        BONSAI_TRIE_NODE_CACHE_SIZE,
+        bonsaiTrieNodeCacheSize.toString());
   }
 }
@@ -58,6 +58,9 @@ public class SynchronizerOptions implements CLIOptions<SynchronizerConfiguration
       "--Xsynchronizer-world-state-min-millis-before-stalling";
   private static final String WORLD_STATE_TASK_CACHE_SIZE_FLAG =
       "--Xsynchronizer-world-state-task-cache-size";
+  private static final String WORLD_STATE_PREFETCH_ENABLED_FLAG =
+      "--Xsynchronizer-world-state-prefetch-enabled";
+  private static final String SNAP_SERVER_ENABLED_FLAG = "--Xsnap-server-enabled";
 
   @CommandLine.Option(
       names = BLOCK_PROPAGATION_RANGE_FLAG,
@@ -212,6 +215,27 @@ public class SynchronizerOptions implements CLIOptions<SynchronizerConfiguration
   private int worldStateTaskCacheSize =
       SynchronizerConfiguration.DEFAULT_WORLD_STATE_TASK_CACHE_SIZE;
 
+  @CommandLine.Option(
+      names = WORLD_STATE_PREFETCH_ENABLED_FLAG,
+      hidden = true,
+      defaultValue = "false",
+      paramLabel = "<BOOLEAN>",
+      arity = "1",
+      description =
+          "Load the accounts and storage touched by downloaded blocks ahead of importing them during full sync (default: ${DEFAULT-VALUE})")
+  private boolean worldStatePrefetchEnabled =
+      SynchronizerConfiguration.DEFAULT_WORLD_STATE_PREFETCH_ENABLED;
+
+  @CommandLine.Option(
+      names = SNAP_SERVER_ENABLED_FLAG,
+      hidden = true,
+      defaultValue = "false",
+      paramLabel = "<BOOLEAN>",
+      arity = "1",
+      description =
+          "Advertise the snap protocol and serve account and storage ranges of the local world state to peers (default: ${DEFAULT-VALUE})")
+  private boolean snapServerEnabled = SynchronizerConfiguration.DEFAULT_SNAP_SERVER_ENABLED;
+
   private SynchronizerOptions() {}
 
   public static SynchronizerOptions create() {
@@ -238,6 +262,8 @@ public class SynchronizerOptions implements CLIOptions<SynchronizerConfiguration
     options.worldStateMaxRequestsWithoutProgress = config.getWorldStateMaxRequestsWithoutProgress();
     options.worldStateMinMillisBeforeStalling = config.getWorldStateMinMillisBeforeStalling();
     options.worldStateTaskCacheSize = config.getWorldStateTaskCacheSize();
+    options.worldStatePrefetchEnabled = config.isWorldStatePrefetchEnabled();
+    options.snapServerEnabled = config.isSnapServerEnabled();
     return options;
   }
 
@@ -260,6 +286,8 @@ public class SynchronizerOptions implements CLIOptions<SynchronizerConfiguration
     builder.worldStateMaxRequestsWithoutProgress(worldStateMaxRequestsWithoutProgress);
     builder.worldStateMinMillisBeforeStalling(worldStateMinMillisBeforeStalling);
     builder.worldStateTaskCacheSize(worldStateTaskCacheSize);
+    builder.worldStatePrefetchEnabled(worldStatePrefetchEnabled);
+    builder.snapServerEnabled(snapServerEnabled);
     return builder;
   }
 
@@ -297,6 +325,10 @@ public class SynchronizerOptions implements CLIOptions<SynchronizerConfiguration
         WORLD_STATE_MIN_MILLIS_BEFORE_STALLING_FLAG,
         OptionParser.format(worldStateMinMillisBeforeStalling),
         WORLD_STATE_TASK_CACHE_SIZE_FLAG,
-        OptionParser.format(worldStateTaskCacheSize));
+        OptionParser.format(worldStateTaskCacheSize),
+        WORLD_STATE_PREFETCH_ENABLED_FLAG,
+        Boolean.toString(worldStatePrefetchEnabled),
+        SNAP_SERVER_ENABLED_FLAG,
+        Boolean.toString(snapServerEnabled));
   }
 }
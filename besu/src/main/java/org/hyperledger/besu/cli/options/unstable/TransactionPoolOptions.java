@@ -33,6 +33,8 @@ public class TransactionPoolOptions
   private static final String ETH65_TX_ANNOUNCED_BUFFERING_PERIOD_FLAG =
       "--Xeth65-tx-announced-buffering-period-milliseconds";
 
+  private static final String TX_POOL_OVERFLOW_MAX_SIZE_FLAG = "--Xtx-pool-overflow-max-size";
+
   @CommandLine.Option(
       names = {TX_MESSAGE_KEEP_ALIVE_SEC_FLAG},
       paramLabel = "<INTEGER>",
@@ -53,6 +55,16 @@ public class TransactionPoolOptions
   private long eth65TrxAnnouncedBufferingPeriod =
       TransactionPoolConfiguration.ETH65_TRX_ANNOUNCED_BUFFERING_PERIOD.toMillis();
 
+  @CommandLine.Option(
+      names = {TX_POOL_OVERFLOW_MAX_SIZE_FLAG},
+      paramLabel = "<INTEGER>",
+      hidden = true,
+      description =
+          "Maximum number of pending transactions spilled to disk when the pool is full, 0 to disable (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private Integer txPoolOverflowMaxSize =
+      TransactionPoolConfiguration.DEFAULT_TX_POOL_OVERFLOW_MAX_SIZE;
+
   private TransactionPoolOptions() {}
 
   public static TransactionPoolOptions create() {
@@ -64,6 +76,7 @@ public class TransactionPoolOptions
     options.txMessageKeepAliveSeconds = config.getTxMessageKeepAliveSeconds();
     options.eth65TrxAnnouncedBufferingPeriod =
         config.getEth65TrxAnnouncedBufferingPeriod().toMillis();
+    options.txPoolOverflowMaxSize = config.getTxPoolOverflowMaxSize();
     return options;
   }
 
@@ -71,7 +84,8 @@ public class TransactionPoolOptions
   public ImmutableTransactionPoolConfiguration.Builder toDomainObject() {
     return ImmutableTransactionPoolConfiguration.builder()
         .txMessageKeepAliveSeconds(txMessageKeepAliveSeconds)
-        .eth65TrxAnnouncedBufferingPeriod(Duration.ofMillis(eth65TrxAnnouncedBufferingPeriod));
+        .eth65TrxAnnouncedBufferingPeriod(Duration.ofMillis(eth65TrxAnnouncedBufferingPeriod))
+        .txPoolOverflowMaxSize(txPoolOverflowMaxSize);
   }
 
   @Override
@@ -80,6 +94,8 @@ public class TransactionPoolOptions
         TX_MESSAGE_KEEP_ALIVE_SEC_FLAG,
         OptionParser.format(txMessageKeepAliveSeconds),
         ETH65_TX_ANNOUNCED_BUFFERING_PERIOD_FLAG,
-        OptionParser.format(eth65TrxAnnouncedBufferingPeriod));
+        OptionParser.format(eth65TrxAnnouncedBufferingPeriod),
+        TX_POOL_OVERFLOW_MAX_SIZE_FLAG,
+        OptionParser.format(txPoolOverflowMaxSize));
   }
 }
@@ -36,11 +36,13 @@ import org.hyperledger.besu.ethereum.core.Synchronizer;
 import org.hyperledger.besu.ethereum.core.fees.EIP1559;
 import org.hyperledger.besu.ethereum.eth.EthProtocol;
 import org.hyperledger.besu.ethereum.eth.EthProtocolConfiguration;
+import org.hyperledger.besu.ethereum.eth.SnapProtocol;
 import org.hyperledger.besu.ethereum.eth.manager.EthContext;
 import org.hyperledger.besu.ethereum.eth.manager.EthMessages;
 import org.hyperledger.besu.ethereum.eth.manager.EthPeers;
 import org.hyperledger.besu.ethereum.eth.manager.EthProtocolManager;
 import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+import org.hyperledger.besu.ethereum.eth.manager.SnapProtocolManager;
 import org.hyperledger.besu.ethereum.eth.peervalidation.ClassicForkPeerValidator;
 import org.hyperledger.besu.ethereum.eth.peervalidation.DaoForkPeerValidator;
 import org.hyperledger.besu.ethereum.eth.peervalidation.PeerValidator;
@@ -56,6 +58,7 @@ import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.p2p.config.SubProtocolConfiguration;
 import org.hyperledger.besu.ethereum.storage.StorageProvider;
 import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier;
+import org.hyperledger.besu.ethereum.vm.CodeCache;
 import org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration;
 import org.hyperledger.besu.ethereum.worldstate.DataStorageFormat;
 import org.hyperledger.besu.ethereum.worldstate.DefaultWorldStateArchive;
@@ -104,6 +107,7 @@ public abstract class BesuControllerBuilder {
   Map<String, String> genesisConfigOverrides;
   private Map<Long, Hash> requiredBlocks = Collections.emptyMap();
   private long reorgLoggingThreshold;
+  private boolean parallelTransactionProcessingEnabled;
   private DataStorageConfiguration dataStorageConfiguration =
       DataStorageConfiguration.DEFAULT_CONFIG;
   private List<NodeMessagePermissioningProvider> messagePermissioningProviders =
@@ -214,6 +218,12 @@ public abstract class BesuControllerBuilder {
     return this;
   }
 
+  public BesuControllerBuilder parallelTransactionProcessingEnabled(
+      final boolean parallelTransactionProcessingEnabled) {
+    this.parallelTransactionProcessingEnabled = parallelTransactionProcessingEnabled;
+    return this;
+  }
+
   public BesuControllerBuilder dataStorageConfiguration(
       final DataStorageConfiguration dataStorageConfiguration) {
     this.dataStorageConfiguration = dataStorageConfiguration;
@@ -237,6 +247,8 @@ public abstract class BesuControllerBuilder {
 
     prepForBuild();
 
+    CodeCache.shared().registerMetrics(metricsSystem);
+
     final ProtocolSchedule protocolSchedule = createProtocolSchedule();
     final GenesisState genesisState = GenesisState.fromConfig(genesisConfig, protocolSchedule);
     final WorldStateStorage worldStateStorage =
@@ -291,9 +303,12 @@ public abstract class BesuControllerBuilder {
             syncConfig.getTransactionsParallelism(),
             syncConfig.getComputationParallelism(),
             metricsSystem);
+    if (parallelTransactionProcessingEnabled) {
+      protocolSchedule.setParallelTransactionExecutor(scheduler.getComputationExecutor());
+    }
     final EthContext ethContext = new EthContext(ethPeers, ethMessages, scheduler);
     final SyncState syncState = new SyncState(blockchain, ethPeers);
-    final boolean fastSyncEnabled = SyncMode.FAST.equals(syncConfig.getSyncMode());
+    final boolean fastSyncEnabled = SyncMode.isFastSync(syncConfig.getSyncMode());
 
     final Optional<EIP1559> eip1559;
     final GenesisConfigOptions genesisConfigOptions =
@@ -313,7 +328,12 @@ public abstract class BesuControllerBuilder {
             syncState,
             miningParameters.getMinTransactionGasPrice(),
             transactionPoolConfiguration,
-            eip1559);
+            eip1559,
+            transactionPoolConfiguration.getTxPoolOverflowMaxSize() > 0
+                ? Optional.of(
+                    storageProvider.getStorageBySegmentIdentifier(
+                        KeyValueSegmentIdentifier.PENDING_TRANSACTIONS))
+                : Optional.empty());
 
     final EthProtocolManager ethProtocolManager =
         createEthProtocolManager(
@@ -333,6 +353,7 @@ public abstract class BesuControllerBuilder {
             protocolSchedule,
             protocolContext,
             worldStateStorage,
+            storageProvider,
             ethProtocolManager.getBlockBroadcaster(),
             maybePruner,
             ethProtocolManager.ethContext(),
@@ -355,11 +376,17 @@ public abstract class BesuControllerBuilder {
 
     final SubProtocolConfiguration subProtocolConfiguration =
         createSubProtocolConfiguration(ethProtocolManager);
+    if (syncConfig.getSyncMode() == SyncMode.SNAP || syncConfig.isSnapServerEnabled()) {
+      subProtocolConfiguration.withSubProtocol(
+          SnapProtocol.get(), new SnapProtocolManager(ethPeers, worldStateStorage));
+    }
 
     final JsonRpcMethods additionalJsonRpcMethodFactory =
         createAdditionalJsonRpcMethodFactory(protocolContext);
 
     final List<Closeable> closeables = new ArrayList<>();
+    // must be closed before the storage it persists the pending transactions to
+    closeables.add(transactionPool::persistPendingTransactions);
     closeables.add(storageProvider);
     if (privacyParameters.getPrivateStorageProvider() != null) {
       closeables.add(privacyParameters.getPrivateStorageProvider());
@@ -444,7 +471,7 @@ public abstract class BesuControllerBuilder {
     switch (dataStorageConfiguration.getDataStorageFormat()) {
       case BONSAI:
         return new BonsaiWorldStateArchive(
-            storageProvider, blockchain, dataStorageConfiguration.getBonsaiMaxLayersToLoad());
+            storageProvider, blockchain, dataStorageConfiguration, metricsSystem);
       case FOREST:
       default:
         final WorldStatePreimageStorage preimageStorage =
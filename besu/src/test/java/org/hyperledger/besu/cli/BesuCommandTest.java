@@ -1594,6 +1594,19 @@ public class BesuCommandTest extends CommandTestAbstract {
     assertThat(commandErrorOutput.toString()).isEmpty();
   }
 
+  @Test
+  public void parsesValidBonsaiTrieNodeCacheSizeOption() {
+    parseCommand("--Xdata-storage-format", "BONSAI", "--Xbonsai-trie-node-cache-size", "1048576");
+    verify(mockControllerBuilder)
+        .dataStorageConfiguration(dataStorageConfigurationArgumentCaptor.capture());
+
+    final DataStorageConfiguration dataStorageConfiguration =
+        dataStorageConfigurationArgumentCaptor.getValue();
+    assertThat(dataStorageConfiguration.getBonsaiTrieNodeCacheSize()).isEqualTo(1048576);
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString()).isEmpty();
+  }
+
   @Test
   public void parsesInvalidBonsaiTrieLimitBackLayersOption() {
 
@@ -45,6 +45,8 @@ public class SynchronizerOptionsTest
         .worldStateMinMillisBeforeStalling(
             SynchronizerConfiguration.DEFAULT_WORLD_STATE_MIN_MILLIS_BEFORE_STALLING * 2)
         .worldStateTaskCacheSize(SynchronizerConfiguration.DEFAULT_WORLD_STATE_TASK_CACHE_SIZE + 1)
+        .worldStatePrefetchEnabled(!SynchronizerConfiguration.DEFAULT_WORLD_STATE_PREFETCH_ENABLED)
+        .snapServerEnabled(!SynchronizerConfiguration.DEFAULT_SNAP_SERVER_ENABLED)
         .blockPropagationRange(
             Range.closed(
                 SynchronizerConfiguration.DEFAULT_BLOCK_PROPAGATION_RANGE.lowerEndpoint() - 2,
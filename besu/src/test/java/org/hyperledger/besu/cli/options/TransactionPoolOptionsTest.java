@@ -61,13 +61,28 @@ public class TransactionPoolOptionsTest
     assertThat(commandErrorOutput.toString()).isEmpty();
   }
 
+  @Test
+  public void txPoolOverflowMaxSize() {
+    final int txPoolOverflowMaxSize = 100_000;
+    final TestBesuCommand cmd =
+        parseCommand("--Xtx-pool-overflow-max-size", String.valueOf(txPoolOverflowMaxSize));
+
+    final TransactionPoolOptions options = getOptionsFromBesuCommand(cmd);
+    final TransactionPoolConfiguration config = options.toDomainObject().build();
+    assertThat(config.getTxPoolOverflowMaxSize()).isEqualTo(txPoolOverflowMaxSize);
+
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString()).isEmpty();
+  }
+
   @Override
   ImmutableTransactionPoolConfiguration.Builder createDefaultDomainObject() {
     final ImmutableTransactionPoolConfiguration defaultValue =
         ImmutableTransactionPoolConfiguration.builder().build();
     return ImmutableTransactionPoolConfiguration.builder()
         .txMessageKeepAliveSeconds(defaultValue.getTxMessageKeepAliveSeconds())
-        .eth65TrxAnnouncedBufferingPeriod(defaultValue.getEth65TrxAnnouncedBufferingPeriod());
+        .eth65TrxAnnouncedBufferingPeriod(defaultValue.getEth65TrxAnnouncedBufferingPeriod())
+        .txPoolOverflowMaxSize(defaultValue.getTxPoolOverflowMaxSize());
   }
 
   @Override
@@ -76,7 +91,8 @@ public class TransactionPoolOptionsTest
         .txMessageKeepAliveSeconds(TransactionPoolConfiguration.DEFAULT_TX_MSG_KEEP_ALIVE + 1)
         .eth65TrxAnnouncedBufferingPeriod(
             TransactionPoolConfiguration.ETH65_TRX_ANNOUNCED_BUFFERING_PERIOD.plus(
-                Duration.ofMillis(100)));
+                Duration.ofMillis(100)))
+        .txPoolOverflowMaxSize(TransactionPoolConfiguration.DEFAULT_TX_POOL_OVERFLOW_MAX_SIZE + 1);
   }
 
   @Override
@@ -21,11 +21,11 @@ import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.Hash;
 import org.hyperledger.besu.ethereum.core.MutableWorldState;
 import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.mainnet.BlockExecutionContext;
 import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionProcessor;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
 import org.hyperledger.besu.ethereum.mainnet.TransactionValidationParams;
-import org.hyperledger.besu.ethereum.vm.BlockHashLookup;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
 
 import java.util.List;
@@ -78,21 +78,23 @@ public class BlockReplay {
     return performActionWithBlock(
         blockHash,
         (body, header, blockchain, mutableWorldState, transactionProcessor) -> {
-          final BlockHashLookup blockHashLookup = new BlockHashLookup(header, blockchain);
+          final ProtocolSpec spec = protocolSchedule.getByBlockNumber(header.getNumber());
+          final BlockExecutionContext blockContext =
+              BlockExecutionContext.forBlock(
+                  blockchain, header, spec.getMiningBeneficiaryCalculator());
           for (final Transaction transaction : body.getTransactions()) {
             if (transaction.getHash().equals(transactionHash)) {
               return Optional.of(
                   action.performAction(
                       transaction, header, blockchain, mutableWorldState, transactionProcessor));
             } else {
-              final ProtocolSpec spec = protocolSchedule.getByBlockNumber(header.getNumber());
               transactionProcessor.processTransaction(
                   blockchain,
                   mutableWorldState.updater(),
                   header,
                   transaction,
-                  spec.getMiningBeneficiaryCalculator().calculateBeneficiary(header),
-                  blockHashLookup,
+                  blockContext.getMiningBeneficiary(),
+                  blockContext.getBlockHashLookup(),
                   false,
                   TransactionValidationParams.blockReplay());
             }
@@ -108,13 +110,16 @@ public class BlockReplay {
         transactionHash,
         (transaction, blockHeader, blockchain, worldState, transactionProcessor) -> {
           final ProtocolSpec spec = protocolSchedule.getByBlockNumber(blockHeader.getNumber());
+          final BlockExecutionContext blockContext =
+              BlockExecutionContext.forBlock(
+                  blockchain, blockHeader, spec.getMiningBeneficiaryCalculator());
           transactionProcessor.processTransaction(
               blockchain,
               worldState.updater(),
               blockHeader,
               transaction,
-              spec.getMiningBeneficiaryCalculator().calculateBeneficiary(blockHeader),
-              new BlockHashLookup(blockHeader, blockchain),
+              blockContext.getMiningBeneficiary(),
+              blockContext.getBlockHashLookup(),
               false,
               TransactionValidationParams.blockReplay());
           return action.performAction(
@@ -20,8 +20,8 @@ import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.Hash;
 import org.hyperledger.besu.ethereum.core.WorldUpdater;
 import org.hyperledger.besu.ethereum.debug.TraceFrame;
+import org.hyperledger.besu.ethereum.mainnet.BlockExecutionContext;
 import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
-import org.hyperledger.besu.ethereum.vm.BlockHashLookup;
 import org.hyperledger.besu.ethereum.vm.DebugOperationTracer;
 
 import java.util.List;
@@ -33,6 +33,8 @@ public class BlockTracer {
   private final BlockReplay blockReplay;
   // Either the initial block state or the state of the prior TX, including miner rewards.
   private WorldUpdater chainedUpdater;
+  // Shared by all transactions of the block being traced.
+  private BlockExecutionContext blockContext;
 
   public BlockTracer(final BlockReplay blockReplay) {
     this.blockReplay = blockReplay;
@@ -57,15 +59,18 @@ public class BlockTracer {
       }
       // create an updater for just this tx
       chainedUpdater = chainedUpdater.updater();
+      if (blockContext == null || !blockContext.isFor(header)) {
+        blockContext = new BlockExecutionContext(blockchain, header, header.getCoinbase());
+      }
       final TransactionProcessingResult result =
           transactionProcessor.processTransaction(
               blockchain,
               chainedUpdater,
               header,
               transaction,
-              header.getCoinbase(),
+              blockContext.getMiningBeneficiary(),
               tracer,
-              new BlockHashLookup(header, blockchain),
+              blockContext.getBlockHashLookup(),
               false);
       final List<TraceFrame> traceFrames = tracer.copyTraceFrames();
       tracer.reset();
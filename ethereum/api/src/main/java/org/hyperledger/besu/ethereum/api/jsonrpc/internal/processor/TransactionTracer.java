@@ -17,17 +17,15 @@ package org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor;
 import static java.util.function.Predicate.isEqual;
 
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.TransactionTraceParams;
-import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.ethereum.core.AbstractWorldUpdater;
-import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.Hash;
 import org.hyperledger.besu.ethereum.core.Transaction;
 import org.hyperledger.besu.ethereum.core.WorldUpdater;
 import org.hyperledger.besu.ethereum.debug.TraceOptions;
+import org.hyperledger.besu.ethereum.mainnet.BlockExecutionContext;
 import org.hyperledger.besu.ethereum.mainnet.ImmutableTransactionValidationParams;
 import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionProcessor;
 import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
-import org.hyperledger.besu.ethereum.vm.BlockHashLookup;
 import org.hyperledger.besu.ethereum.vm.DebugOperationTracer;
 import org.hyperledger.besu.ethereum.vm.OperationTracer;
 import org.hyperledger.besu.ethereum.vm.StandardJsonTracer;
@@ -64,8 +62,7 @@ public class TransactionTracer {
         (transaction, header, blockchain, worldState, transactionProcessor) -> {
           final TransactionProcessingResult result =
               processTransaction(
-                  header,
-                  blockchain,
+                  new BlockExecutionContext(blockchain, header, header.getCoinbase()),
                   worldState.updater(),
                   transaction,
                   transactionProcessor,
@@ -99,6 +96,8 @@ public class TransactionTracer {
             blockHash,
             (body, header, blockchain, worldState, transactionProcessor) -> {
               WorldUpdater stackedUpdater = worldState.updater().updater();
+              final BlockExecutionContext blockContext =
+                  new BlockExecutionContext(blockchain, header, header.getCoinbase());
               final List<String> traces = new ArrayList<>();
               for (int i = 0; i < body.getTransactions().size(); i++) {
                 ((AbstractWorldUpdater.StackedUpdater) stackedUpdater).markTransactionBoundary();
@@ -110,8 +109,7 @@ public class TransactionTracer {
                     final Stopwatch timer = Stopwatch.createStarted();
                     final TransactionProcessingResult result =
                         processTransaction(
-                            header,
-                            blockchain,
+                            blockContext,
                             stackedUpdater,
                             transaction,
                             transactionProcessor,
@@ -126,8 +124,7 @@ public class TransactionTracer {
                   }
                 } else {
                   processTransaction(
-                      header,
-                      blockchain,
+                      blockContext,
                       stackedUpdater,
                       transaction,
                       transactionProcessor,
@@ -156,20 +153,19 @@ public class TransactionTracer {
   }
 
   private TransactionProcessingResult processTransaction(
-      final BlockHeader header,
-      final Blockchain blockchain,
+      final BlockExecutionContext blockContext,
       final WorldUpdater worldUpdater,
       final Transaction transaction,
       final MainnetTransactionProcessor transactionProcessor,
       final OperationTracer tracer) {
     return transactionProcessor.processTransaction(
-        blockchain,
+        blockContext.getBlockchain(),
         worldUpdater,
-        header,
+        blockContext.getBlockHeader(),
         transaction,
-        header.getCoinbase(),
+        blockContext.getMiningBeneficiary(),
         tracer,
-        new BlockHashLookup(header, blockchain),
+        blockContext.getBlockHashLookup(),
         false,
         ImmutableTransactionValidationParams.builder().isAllowFutureNonce(true).build());
   }
@@ -77,6 +77,8 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
   protected final ProtocolSpec protocolSpec;
 
   private final AtomicBoolean isCancelled = new AtomicBoolean(false);
+  // The block prepared ahead of its creation, only accessed by the thread creating the block
+  private Optional<BlockTemplate> blockTemplate = Optional.empty();
 
   protected AbstractBlockCreator(
       final Address coinbase,
@@ -131,16 +133,37 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
     return createBlock(Optional.of(transactions), Optional.of(ommers), timestamp);
   }
 
+  /**
+   * Builds ahead the block that {@link #createBlock(long)} will create with the given timestamp,
+   * selecting the pending transactions that fit. Calling it again for the same timestamp only
+   * appends the transactions that arrived in the meantime, after those already selected, which are
+   * not executed again. The block creation then only has to append the last arrivals before
+   * rewarding and sealing the block.
+   *
+   * <p>Preparing a block for another timestamp discards the block prepared so far.
+   *
+   * @param timestamp the timestamp of the block that will be created
+   */
+  public void prepareBlock(final long timestamp) {
+    final BlockTemplate template = blockTemplateFor(timestamp);
+    throwIfStopped();
+    template.selector.buildTransactionListForBlock();
+  }
+
   private Block createBlock(
       final Optional<List<Transaction>> maybeTransactions,
       final Optional<List<BlockHeader>> maybeOmmers,
       final long timestamp) {
     try {
-      final ProcessableBlockHeader processableBlockHeader = createPendingBlockHeader(timestamp);
-
-      throwIfStopped();
-
-      final MutableWorldState disposableWorldState = duplicateWorldStateAtParent();
+      // the transactions selected while preparing the block are kept, unless they are imposed
+      final BlockTemplate template =
+          maybeTransactions.isPresent()
+              ? createBlockTemplate(timestamp)
+              : blockTemplateFor(timestamp);
+      // the world state is about to be rewarded, it can no longer be appended to
+      blockTemplate = Optional.empty();
+      final ProcessableBlockHeader processableBlockHeader = template.processableBlockHeader;
+      final MutableWorldState disposableWorldState = template.worldState;
 
       throwIfStopped();
 
@@ -149,7 +172,9 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
       throwIfStopped();
 
       final BlockTransactionSelector.TransactionSelectionResults transactionResults =
-          selectTransactions(processableBlockHeader, disposableWorldState, maybeTransactions);
+          maybeTransactions.isPresent()
+              ? template.selector.evaluateTransactions(maybeTransactions.get())
+              : template.selector.buildTransactionListForBlock();
 
       throwIfStopped();
 
@@ -197,18 +222,35 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
     }
   }
 
-  private BlockTransactionSelector.TransactionSelectionResults selectTransactions(
+  private BlockTemplate blockTemplateFor(final long timestamp) {
+    if (blockTemplate.isEmpty() || blockTemplate.get().timestamp != timestamp) {
+      blockTemplate = Optional.of(createBlockTemplate(timestamp));
+    }
+    return blockTemplate.get();
+  }
+
+  private BlockTemplate createBlockTemplate(final long timestamp) {
+    final ProcessableBlockHeader processableBlockHeader = createPendingBlockHeader(timestamp);
+
+    throwIfStopped();
+
+    final MutableWorldState disposableWorldState = duplicateWorldStateAtParent();
+    return new BlockTemplate(
+        timestamp,
+        processableBlockHeader,
+        disposableWorldState,
+        createTransactionSelector(processableBlockHeader, disposableWorldState));
+  }
+
+  private BlockTransactionSelector createTransactionSelector(
       final ProcessableBlockHeader processableBlockHeader,
-      final MutableWorldState disposableWorldState,
-      final Optional<List<Transaction>> transactions)
-      throws RuntimeException {
+      final MutableWorldState disposableWorldState) {
     final MainnetTransactionProcessor transactionProcessor = protocolSpec.getTransactionProcessor();
 
     final AbstractBlockProcessor.TransactionReceiptFactory transactionReceiptFactory =
         protocolSpec.getTransactionReceiptFactory();
 
-    final BlockTransactionSelector selector =
-        new BlockTransactionSelector(
+    return new BlockTransactionSelector(
             transactionProcessor,
             protocolContext.getBlockchain(),
             disposableWorldState,
@@ -219,13 +261,7 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
             minBlockOccupancyRatio,
             isCancelled::get,
             miningBeneficiary,
-            protocolSpec.getTransactionPriceCalculator());
-
-    if (transactions.isPresent()) {
-      return selector.evaluateTransactions(transactions.get());
-    } else {
-      return selector.buildTransactionListForBlock();
-    }
+        protocolSpec.getTransactionPriceCalculator());
   }
 
   private MutableWorldState duplicateWorldStateAtParent() {
@@ -345,4 +381,23 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
 
   protected abstract BlockHeader createFinalBlockHeader(
       final SealableBlockHeader sealableBlockHeader);
+
+  /** A block being built: its pending header and the transactions applied to its world state. */
+  private static class BlockTemplate {
+    private final long timestamp;
+    private final ProcessableBlockHeader processableBlockHeader;
+    private final MutableWorldState worldState;
+    private final BlockTransactionSelector selector;
+
+    private BlockTemplate(
+        final long timestamp,
+        final ProcessableBlockHeader processableBlockHeader,
+        final MutableWorldState worldState,
+        final BlockTransactionSelector selector) {
+      this.timestamp = timestamp;
+      this.processableBlockHeader = processableBlockHeader;
+      this.worldState = worldState;
+      this.selector = selector;
+    }
+  }
 }
@@ -17,6 +17,11 @@ package org.hyperledger.besu.ethereum.blockcreation;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 
 import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+
+import com.google.common.base.Stopwatch;
 
 public abstract class AbstractBlockScheduler {
 
@@ -35,6 +40,35 @@ public abstract class AbstractBlockScheduler {
     return result.timestampForHeader;
   }
 
+  /**
+   * Waits until the next block can be mined, like {@link
+   * #waitUntilNextBlockCanBeMined(BlockHeader)}, handing the timestamp of that block to {@code
+   * whileWaiting} when the wait starts and then at most once per {@code interval}, so that the
+   * block can be built while it is not due yet.
+   *
+   * @param parentHeader the header of the parent of the next block
+   * @param whileWaiting called with the timestamp of the next block while waiting for it
+   * @param interval the minimum time between two calls of {@code whileWaiting}
+   * @return the timestamp of the next block
+   * @throws InterruptedException if interrupted while waiting
+   */
+  public long waitUntilNextBlockCanBeMined(
+      final BlockHeader parentHeader, final LongConsumer whileWaiting, final Duration interval)
+      throws InterruptedException {
+    final BlockCreationTimeResult result = getNextTimestamp(parentHeader);
+
+    // measured like the sleep of the plain wait, independently of the clock of the scheduler
+    final Stopwatch waited = Stopwatch.createStarted();
+    while (waited.elapsed(TimeUnit.MILLISECONDS) < result.millisecondsUntilValid) {
+      final long calledAt = waited.elapsed(TimeUnit.MILLISECONDS);
+      whileWaiting.accept(result.timestampForHeader);
+      final long wakeUpAt = Math.min(result.millisecondsUntilValid, calledAt + interval.toMillis());
+      Thread.sleep(Math.max(0, wakeUpAt - waited.elapsed(TimeUnit.MILLISECONDS)));
+    }
+
+    return result.timestampForHeader;
+  }
+
   public abstract BlockCreationTimeResult getNextTimestamp(final BlockHeader parentHeader);
 
   public static class BlockCreationTimeResult {
@@ -24,6 +24,7 @@ import org.hyperledger.besu.ethereum.mainnet.HeaderValidationMode;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.util.Subscribers;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.TimeUnit;
@@ -46,6 +47,8 @@ import org.apache.logging.log4j.Logger;
 public class BlockMiner<M extends AbstractBlockCreator> implements Runnable {
 
   private static final Logger LOG = LogManager.getLogger();
+  // How often the block is topped up with new pending transactions while waiting for it to be due
+  private static final Duration BLOCK_PREPARATION_INTERVAL = Duration.ofMillis(500);
 
   protected final Function<BlockHeader, M> blockCreatorFactory;
   protected final M minerBlockCreator;
@@ -116,7 +119,11 @@ public class BlockMiner<M extends AbstractBlockCreator> implements Runnable {
     // ahead of the parent, and still within allowable clock tolerance.
     LOG.trace("Started a mining operation.");
 
-    final long newBlockTimestamp = scheduler.waitUntilNextBlockCanBeMined(parentHeader);
+    // The block is built while waiting, so only the latest pending transactions are left to
+    // execute once it is due
+    final long newBlockTimestamp =
+        scheduler.waitUntilNextBlockCanBeMined(
+            parentHeader, minerBlockCreator::prepareBlock, BLOCK_PREPARATION_INTERVAL);
 
     final Stopwatch stopwatch = Stopwatch.createStarted();
     LOG.trace("Mining a new block with timestamp {}", newBlockTimestamp);
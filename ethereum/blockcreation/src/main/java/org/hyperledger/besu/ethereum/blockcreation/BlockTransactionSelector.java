@@ -27,20 +27,22 @@ import org.hyperledger.besu.ethereum.core.fees.TransactionPriceCalculator;
 import org.hyperledger.besu.ethereum.eth.transactions.PendingTransactions;
 import org.hyperledger.besu.ethereum.eth.transactions.PendingTransactions.TransactionSelectionResult;
 import org.hyperledger.besu.ethereum.mainnet.AbstractBlockProcessor;
+import org.hyperledger.besu.ethereum.mainnet.BlockExecutionContext;
 import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionProcessor;
 import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionValidator;
 import org.hyperledger.besu.ethereum.mainnet.TransactionValidationParams;
 import org.hyperledger.besu.ethereum.mainnet.ValidationResult;
 import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
 import org.hyperledger.besu.ethereum.transaction.TransactionInvalidReason;
-import org.hyperledger.besu.ethereum.vm.BlockHashLookup;
 
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CancellationException;
 import java.util.function.Supplier;
 
+import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Lists;
+import com.google.common.collect.SetMultimap;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.tuweni.bytes.Bytes;
@@ -62,8 +64,9 @@ import org.apache.tuweni.bytes.Bytes;
  *   <li>The amount of gas consumed when executing all transactions.
  * </ul>
  *
- * Once "used" this class must be discarded and another created. This class contains state which is
- * not cleared between executions of buildTransactionListForBlock().
+ * buildTransactionListForBlock() may be called several times while the block is being built: each
+ * call appends the pending transactions that fit after those already selected, which are not
+ * executed again. A selector is tied to a single block and must be discarded afterwards.
  */
 public class BlockTransactionSelector {
   private static final Logger LOG = LogManager.getLogger();
@@ -104,11 +107,13 @@ public class BlockTransactionSelector {
   private final MutableWorldState worldState;
   private final PendingTransactions pendingTransactions;
   private final AbstractBlockProcessor.TransactionReceiptFactory transactionReceiptFactory;
-  private final Address miningBeneficiary;
+  private final BlockExecutionContext blockContext;
   private final TransactionPriceCalculator transactionPriceCalculator;
 
   private final TransactionSelectionResults transactionSelectionResult =
       new TransactionSelectionResults();
+  // The nonces already taken by each sender in the block under construction
+  private final SetMultimap<Address, Long> selectedNonces = HashMultimap.create();
 
   public BlockTransactionSelector(
       final MainnetTransactionProcessor transactionProcessor,
@@ -131,7 +136,8 @@ public class BlockTransactionSelector {
     this.isCancelled = isCancelled;
     this.minTransactionGasPrice = minTransactionGasPrice;
     this.minBlockOccupancyRatio = minBlockOccupancyRatio;
-    this.miningBeneficiary = miningBeneficiary;
+    this.blockContext =
+        new BlockExecutionContext(blockchain, processableBlockHeader, miningBeneficiary);
     this.transactionPriceCalculator = transactionPriceCalculator;
   }
 
@@ -140,6 +146,7 @@ public class BlockTransactionSelector {
   long running process.
   If running in a thread, it can be cancelled via the isCancelled supplier (which will result
   in this throwing an CancellationException).
+  Calling it again appends the transactions added to the pool since, after those already selected.
    */
   public TransactionSelectionResults buildTransactionListForBlock() {
     pendingTransactions.selectTransactions(
@@ -172,6 +179,13 @@ public class BlockTransactionSelector {
       throw new CancellationException("Cancelled during transaction selection.");
     }
 
+    if (selectedNonces.containsEntry(transaction.getSender(), transaction.getNonce())) {
+      // Selected by a previous pass over the pending transactions and already applied to the
+      // state, or replaced in the pool since. A replacement would fail with a nonce too low, it
+      // must be kept in the pool rather than dropped as invalid.
+      return TransactionSelectionResult.CONTINUE;
+    }
+
     if (transactionTooLargeForBlock(transaction)) {
       LOG.trace("{} too large to select for block creation", transaction);
       if (blockOccupancyAboveThreshold()) {
@@ -194,7 +208,6 @@ public class BlockTransactionSelector {
     }
 
     final WorldUpdater worldStateUpdater = worldState.updater();
-    final BlockHashLookup blockHashLookup = new BlockHashLookup(processableBlockHeader, blockchain);
 
     TransactionProcessingResult effectiveResult;
 
@@ -220,8 +233,8 @@ public class BlockTransactionSelector {
               worldStateUpdater,
               processableBlockHeader,
               transaction,
-              miningBeneficiary,
-              blockHashLookup,
+              blockContext.getMiningBeneficiary(),
+              blockContext.getBlockHashLookup(),
               false,
               TransactionValidationParams.mining());
     }
@@ -286,6 +299,7 @@ public class BlockTransactionSelector {
     final long cumulativeGasUsed =
         transactionSelectionResult.getCumulativeGasUsed() + gasUsedByTransaction;
 
+    selectedNonces.put(transaction.getSender(), transaction.getNonce());
     transactionSelectionResult.update(
         transaction,
         transactionReceiptFactory.create(
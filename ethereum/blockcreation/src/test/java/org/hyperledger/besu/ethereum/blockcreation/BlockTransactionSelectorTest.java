@@ -19,6 +19,8 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.hyperledger.besu.config.GenesisConfigFile;
@@ -180,6 +182,110 @@ public class BlockTransactionSelectorTest {
     assertThat(results.getCumulativeGasUsed()).isEqualTo(95L);
   }
 
+  @Test
+  public void selectingAgainAppendsNewTransactionsWithoutExecutingSelectedOnesAgain() {
+    final Transaction firstTransaction = createTransaction(0);
+    pendingTransactions.addRemoteTransaction(firstTransaction);
+
+    when(transactionProcessor.processTransaction(
+            any(), any(), any(), any(), any(), any(), anyBoolean(), any()))
+        .thenReturn(
+            TransactionProcessingResult.successful(
+                new ArrayList<>(), 0, 0, Bytes.EMPTY, ValidationResult.valid()));
+
+    final ProcessableBlockHeader blockHeader = createBlockWithGasLimit(5000);
+
+    final Address miningBeneficiary = AddressHelpers.ofValue(1);
+
+    final BlockTransactionSelector selector =
+        new BlockTransactionSelector(
+            transactionProcessor,
+            blockchain,
+            worldState,
+            pendingTransactions,
+            blockHeader,
+            this::createReceipt,
+            Wei.ZERO,
+            0.8,
+            this::isCancelled,
+            miningBeneficiary,
+            TransactionPriceCalculator.frontier());
+
+    assertThat(selector.buildTransactionListForBlock().getTransactions())
+        .containsExactly(firstTransaction);
+
+    final Transaction secondTransaction = createTransaction(1);
+    pendingTransactions.addRemoteTransaction(secondTransaction);
+    final BlockTransactionSelector.TransactionSelectionResults results =
+        selector.buildTransactionListForBlock();
+
+    assertThat(results.getTransactions()).containsExactly(firstTransaction, secondTransaction);
+    assertThat(results.getReceipts().size()).isEqualTo(2);
+    assertThat(results.getCumulativeGasUsed()).isEqualTo(200);
+    verify(transactionProcessor)
+        .processTransaction(
+            any(), any(), any(), eq(firstTransaction), any(), any(), anyBoolean(), any());
+    verify(transactionProcessor)
+        .processTransaction(
+            any(), any(), any(), eq(secondTransaction), any(), any(), anyBoolean(), any());
+  }
+
+  @Test
+  public void selectingAgainKeepsReplacementOfSelectedTransactionInPool() {
+    final Transaction selectedTransaction = createTransaction(0);
+    pendingTransactions.addRemoteTransaction(selectedTransaction);
+
+    when(transactionProcessor.processTransaction(
+            any(), any(), any(), eq(selectedTransaction), any(), any(), anyBoolean(), any()))
+        .thenReturn(
+            TransactionProcessingResult.successful(
+                new ArrayList<>(), 0, 0, Bytes.EMPTY, ValidationResult.valid()));
+
+    final ProcessableBlockHeader blockHeader = createBlockWithGasLimit(5000);
+
+    final Address miningBeneficiary = AddressHelpers.ofValue(1);
+
+    final BlockTransactionSelector selector =
+        new BlockTransactionSelector(
+            transactionProcessor,
+            blockchain,
+            worldState,
+            pendingTransactions,
+            blockHeader,
+            this::createReceipt,
+            Wei.ZERO,
+            0.8,
+            this::isCancelled,
+            miningBeneficiary,
+            TransactionPriceCalculator.frontier());
+
+    assertThat(selector.buildTransactionListForBlock().getTransactions())
+        .containsExactly(selectedTransaction);
+
+    // Replaced in the pool once selected, it would now fail with a nonce too low
+    final Transaction replacementTransaction =
+        Transaction.builder()
+            .gasLimit(100)
+            .gasPrice(Wei.of(10))
+            .nonce(0)
+            .payload(Bytes.EMPTY)
+            .to(Address.ID)
+            .value(Wei.ZERO)
+            .sender(Address.ID)
+            .chainId(BigInteger.ONE)
+            .guessType()
+            .signAndBuild(keyPair);
+    pendingTransactions.addRemoteTransaction(replacementTransaction);
+
+    assertThat(selector.buildTransactionListForBlock().getTransactions())
+        .containsExactly(selectedTransaction);
+    assertThat(pendingTransactions.getTransactionByHash(replacementTransaction.getHash()))
+        .isPresent();
+    verify(transactionProcessor, never())
+        .processTransaction(
+            any(), any(), any(), eq(replacementTransaction), any(), any(), anyBoolean(), any());
+  }
+
   @Test
   public void invalidTransactionsTransactionProcessingAreSkippedButBlockStillFills() {
     final List<Transaction> transactionsToInject = Lists.newArrayList();
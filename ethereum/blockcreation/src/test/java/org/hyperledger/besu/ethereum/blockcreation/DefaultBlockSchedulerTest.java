@@ -22,6 +22,9 @@ import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
 
 import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.Test;
 
@@ -84,6 +87,43 @@ public class DefaultBlockSchedulerTest {
     assertThat(result.getMillisecondsUntilValid()).isEqualTo(interBlockSeconds * 1000);
   }
 
+  @Test
+  public void preparesNextBlockWhileWaitingForIt() throws InterruptedException {
+    final Clock clock = mock(Clock.class);
+    final DefaultBlockScheduler scheduler =
+        new DefaultBlockScheduler(interBlockSeconds, acceptableClockDrift, clock);
+
+    // the next block is due in a second
+    when(clock.millis()).thenReturn((parentTimeStamp - acceptableClockDrift) * 1000);
+
+    final BlockHeaderTestFixture headerBuilder = new BlockHeaderTestFixture();
+    final BlockHeader parentBlock = headerBuilder.timestamp(parentTimeStamp).buildHeader();
+    final List<Long> preparedTimestamps = new ArrayList<>();
+    final long timestamp =
+        scheduler.waitUntilNextBlockCanBeMined(
+            parentBlock, preparedTimestamps::add, Duration.ofMillis(300));
+
+    assertThat(timestamp).isEqualTo(parentTimeStamp + interBlockSeconds);
+    assertThat(preparedTimestamps).hasSizeBetween(2, 4).containsOnly(timestamp);
+  }
+
+  @Test
+  public void doesNotPrepareNextBlockIfItCanBeMinedRightAway() throws InterruptedException {
+    final Clock clock = mock(Clock.class);
+    final DefaultBlockScheduler scheduler =
+        new DefaultBlockScheduler(interBlockSeconds, acceptableClockDrift, clock);
+
+    when(clock.millis()).thenReturn(parentTimeStamp * 1000);
+
+    final BlockHeaderTestFixture headerBuilder = new BlockHeaderTestFixture();
+    final BlockHeader parentBlock = headerBuilder.timestamp(parentTimeStamp).buildHeader();
+    final List<Long> preparedTimestamps = new ArrayList<>();
+    scheduler.waitUntilNextBlockCanBeMined(
+        parentBlock, preparedTimestamps::add, Duration.ofMillis(300));
+
+    assertThat(preparedTimestamps).isEmpty();
+  }
+
   @Test
   public void ifParentTimestampIsBehindCurrentTimeChildUsesCurrentTime() {
     final long secondsSinceEpoch = parentTimeStamp + 5L; // i.e. time is ahead of blockchain
@@ -15,9 +15,15 @@
 package org.hyperledger.besu.ethereum.blockcreation;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import org.hyperledger.besu.config.GenesisConfigFile;
 import org.hyperledger.besu.config.GenesisConfigOptions;
+import org.hyperledger.besu.ethereum.ProtocolContext;
 import org.hyperledger.besu.ethereum.core.Address;
 import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.BlockHeaderBuilder;
@@ -36,6 +42,7 @@ import org.hyperledger.besu.ethereum.mainnet.PoWSolver;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolScheduleBuilder;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSpecAdapters;
 import org.hyperledger.besu.ethereum.mainnet.ValidationTestUtils;
+import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
 import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 import org.hyperledger.besu.testutil.TestClock;
@@ -120,6 +127,65 @@ public class PoWBlockCreatorTest {
     assertThat(blockCreator.getHashesPerSecond().isPresent()).isTrue();
   }
 
+  @Test
+  public void createBlockReusesTheBlockPreparedForTheSameTimestamp() throws IOException {
+    final GenesisConfigOptions genesisConfigOptions = GenesisConfigFile.DEFAULT.getConfigOptions();
+    final ExecutionContextTestFixture executionContextTestFixture =
+        ExecutionContextTestFixture.builder()
+            .protocolSchedule(
+                new ProtocolScheduleBuilder(
+                        genesisConfigOptions,
+                        BigInteger.valueOf(42),
+                        ProtocolSpecAdapters.create(0, Function.identity()),
+                        PrivacyParameters.DEFAULT,
+                        false,
+                        genesisConfigOptions.isQuorum())
+                    .createProtocolSchedule())
+            .build();
+    final WorldStateArchive worldStateArchive = spy(executionContextTestFixture.getStateArchive());
+    final ProtocolContext protocolContext =
+        new ProtocolContext(executionContextTestFixture.getBlockchain(), worldStateArchive, null);
+
+    final PoWSolver solver =
+        new PoWSolver(
+            Lists.newArrayList(BLOCK_1_NONCE),
+            PoWHasher.ETHASH_LIGHT,
+            false,
+            Subscribers.none(),
+            new EpochCalculator.DefaultEpochCalculator());
+
+    final PendingTransactions pendingTransactions =
+        new PendingTransactions(
+            TransactionPoolConfiguration.DEFAULT_TX_RETENTION_HOURS,
+            1,
+            5,
+            TestClock.fixed(),
+            metricsSystem,
+            executionContextTestFixture.getProtocolContext().getBlockchain()::getChainHeadHeader,
+            TransactionPoolConfiguration.DEFAULT_PRICE_BUMP);
+
+    final PoWBlockCreator blockCreator =
+        new PoWBlockCreator(
+            BLOCK_1_COINBASE,
+            parent -> BLOCK_1_EXTRA_DATA,
+            pendingTransactions,
+            protocolContext,
+            executionContextTestFixture.getProtocolSchedule(),
+            gasLimit -> gasLimit,
+            solver,
+            Wei.ZERO,
+            0.8,
+            executionContextTestFixture.getBlockchain().getChainHeadHeader());
+
+    blockCreator.prepareBlock(BLOCK_1_TIMESTAMP);
+    blockCreator.prepareBlock(BLOCK_1_TIMESTAMP);
+    final Block actualBlock = blockCreator.createBlock(BLOCK_1_TIMESTAMP);
+
+    assertThat(actualBlock).isEqualTo(ValidationTestUtils.readBlock(1));
+    // The parent state was only copied once, for the template the block was created from
+    verify(worldStateArchive, times(1)).getMutable(any(), any(), eq(false));
+  }
+
   @Test
   public void createMainnetBlock1_fixedDifficulty1() {
     final GenesisConfigOptions genesisConfigOptions =
@@ -0,0 +1,69 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.vm;
+
+import org.hyperledger.besu.config.GenesisConfigFile;
+import org.hyperledger.besu.ethereum.core.Gas;
+import org.hyperledger.besu.ethereum.core.MessageFrameTestFixture;
+import org.hyperledger.besu.ethereum.mainnet.MainnetProtocolSchedule;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the pre-decoded interpreter loop used when no tracer is attached against the traced
+ * loop, which looks up every operation and executes it through the tracer.
+ */
+@State(Scope.Thread)
+public class EVMLoopBenchmark {
+
+  private static final OperationTracer PASS_THROUGH_TRACER =
+      (frame, executeOperation) -> executeOperation.execute();
+
+  @Param({"decoded", "traced"})
+  public String loop;
+
+  // Counts down from 0xffff in a loop of arithmetic, stack and jump operations.
+  @Param({"0x61ffff5b600190038060035700"})
+  public String code;
+
+  private EVM evm;
+  private Code analyzedCode;
+  private OperationTracer tracer;
+  private MessageFrameTestFixture frameFixture;
+
+  @Setup
+  public void prepare() {
+    evm =
+        MainnetProtocolSchedule.fromConfig(GenesisConfigFile.development().getConfigOptions())
+            .getByBlockNumber(0)
+            .getEvm();
+    analyzedCode = new Code(Bytes.fromHexString(code));
+    tracer = "decoded".equals(loop) ? OperationTracer.NO_TRACING : PASS_THROUGH_TRACER;
+    frameFixture = new MessageFrameTestFixture().initialGas(Gas.of(100_000_000L));
+  }
+
+  @Benchmark
+  public Gas runToHalt() {
+    final MessageFrame frame = frameFixture.code(analyzedCode).build();
+    frame.setState(MessageFrame.State.CODE_EXECUTING);
+    evm.runToHalt(frame, tracer);
+    return frame.getRemainingGas();
+  }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.bonsai;
+
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * A size-bounded read cache in front of one of the Bonsai segments, such as the flat account and
+ * storage segments or the upper levels of the tries.
+ *
+ * <p>Both present and absent values are cached, since most storage slot reads miss. The cache is
+ * only ever updated with values that have been committed to the underlying segment, so it stays
+ * consistent across blocks, rollbacks and reorgs.
+ */
+public class BonsaiFlatStateCache {
+
+  /** Default upper bound on the size, in bytes, of the account entries retained by the cache. */
+  public static final long DEFAULT_ACCOUNT_CACHE_BYTES = 64L * 1024 * 1024;
+
+  /** Default upper bound on the size, in bytes, of the storage entries retained by the cache. */
+  public static final long DEFAULT_STORAGE_CACHE_BYTES = 128L * 1024 * 1024;
+
+  // rough per entry overhead of the cache node, the key and the optional value
+  private static final int ENTRY_OVERHEAD_BYTES = 96;
+
+  private final String name;
+  private final String description;
+  private final Cache<Bytes, Optional<Bytes>> cache;
+  private final AtomicLong updateCount = new AtomicLong();
+
+  public BonsaiFlatStateCache(final String name, final long maximumBytes) {
+    this.name = name;
+    this.description = name.replace('_', ' ');
+    this.cache =
+        CacheBuilder.newBuilder()
+            .maximumWeight(maximumBytes)
+            .weigher(
+                (final Bytes key, final Optional<Bytes> value) ->
+                    ENTRY_OVERHEAD_BYTES + key.size() + value.map(Bytes::size).orElse(0))
+            .recordStats()
+            .build();
+  }
+
+  /**
+   * Returns the cached value for the key, reading it from the segment if it is not present.
+   *
+   * @param key the key in the flat segment
+   * @param loader reads the committed value from the segment
+   * @return the value, or empty if the segment has no value for the key
+   */
+  public Optional<Bytes> get(final Bytes key, final Supplier<Optional<Bytes>> loader) {
+    try {
+      return cache.get(key, loader::get);
+    } catch (final UncheckedExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    } catch (final ExecutionException e) {
+      // The loader cannot throw checked exceptions, so this is never expected to happen.
+      throw new IllegalStateException("Failed to load " + name + " for key " + key, e.getCause());
+    }
+  }
+
+  /**
+   * Returns the values of the keys, reading the ones that are not cached with a single batch read
+   * of the segment. The values read are only cached if the cache was not updated meanwhile, as they
+   * could otherwise predate a commit.
+   *
+   * @param keys the keys in the flat segment
+   * @param batchLoader reads the committed values of a list of keys from the segment, in order
+   * @return the value of each key, or empty if the segment has no value for it
+   */
+  public Map<Bytes, Optional<Bytes>> getAll(
+      final Collection<? extends Bytes> keys,
+      final Function<List<Bytes>, List<Optional<Bytes>>> batchLoader) {
+    final Map<Bytes, Optional<Bytes>> values = new HashMap<>(cache.getAllPresent(keys));
+    final List<Bytes> missingKeys = new ArrayList<>();
+    for (final Bytes key : keys) {
+      if (!values.containsKey(key)) {
+        // replaced once loaded, it only keeps duplicate keys from being read twice
+        values.put(key, Optional.empty());
+        missingKeys.add(key);
+      }
+    }
+    if (missingKeys.isEmpty()) {
+      return values;
+    }
+    final long updateCountBeforeLoad = updateCount.get();
+    final List<Optional<Bytes>> loadedValues = batchLoader.apply(missingKeys);
+    final boolean updatedWhileLoading = updateCount.get() != updateCountBeforeLoad;
+    for (int i = 0; i < missingKeys.size(); i++) {
+      values.put(missingKeys.get(i), loadedValues.get(i));
+      if (!updatedWhileLoading) {
+        cache.asMap().putIfAbsent(missingKeys.get(i), loadedValues.get(i));
+      }
+    }
+    return values;
+  }
+
+  /**
+   * Records values that have been committed to the segment. Absent values record a removal.
+   *
+   * @param committedValues the committed values keyed by their flat segment key
+   */
+  public void update(final Map<Bytes, Optional<Bytes>> committedValues) {
+    // values are put rather than invalidated so that a concurrent load of an older value cannot
+    // overwrite them
+    updateCount.incrementAndGet();
+    cache.putAll(committedValues);
+  }
+
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  public long size() {
+    return cache.size();
+  }
+
+  public CacheStats stats() {
+    return cache.stats();
+  }
+
+  public void registerMetrics(final MetricsSystem metricsSystem) {
+    metricsSystem.createLongGauge(
+        BesuMetricCategory.BLOCKCHAIN,
+        "bonsai_" + name + "_cache_hits",
+        "Number of Bonsai " + description + " reads served from the cache",
+        () -> cache.stats().hitCount());
+    metricsSystem.createLongGauge(
+        BesuMetricCategory.BLOCKCHAIN,
+        "bonsai_" + name + "_cache_misses",
+        "Number of Bonsai " + description + " reads that missed the cache",
+        () -> cache.stats().missCount());
+    metricsSystem.createLongGauge(
+        BesuMetricCategory.BLOCKCHAIN,
+        "bonsai_" + name + "_cache_evictions",
+        "Number of entries evicted from the Bonsai " + description + " cache",
+        () -> cache.stats().evictionCount());
+    metricsSystem.createLongGauge(
+        BesuMetricCategory.BLOCKCHAIN,
+        "bonsai_" + name + "_cache_size",
+        "Number of entries in the Bonsai " + description + " cache",
+        cache::size);
+  }
+}
@@ -35,6 +35,26 @@ public class BonsaiInMemoryWorldStateKeyValueStorage extends BonsaiWorldStateKey
     super(accountStorage, codeStorage, storageStorage, trieBranchStorage, trieLogStorage);
   }
 
+  public BonsaiInMemoryWorldStateKeyValueStorage(
+      final KeyValueStorage accountStorage,
+      final KeyValueStorage codeStorage,
+      final KeyValueStorage storageStorage,
+      final KeyValueStorage trieBranchStorage,
+      final KeyValueStorage trieLogStorage,
+      final BonsaiFlatStateCache accountCache,
+      final BonsaiFlatStateCache storageCache,
+      final BonsaiFlatStateCache trieNodeCache) {
+    super(
+        accountStorage,
+        codeStorage,
+        storageStorage,
+        trieBranchStorage,
+        trieLogStorage,
+        accountCache,
+        storageCache,
+        trieNodeCache);
+  }
+
   @Override
   public InMemoryUpdater updater() {
     return new InMemoryUpdater(
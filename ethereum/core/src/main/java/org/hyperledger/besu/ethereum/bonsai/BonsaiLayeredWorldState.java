@@ -260,14 +260,19 @@ public class BonsaiLayeredWorldState implements MutableWorldState, BonsaiWorldVi
   public MutableWorldState copy() {
     final BonsaiPersistedWorldState bonsaiPersistedWorldState =
         ((BonsaiPersistedWorldState) archive.getMutable());
+    final BonsaiWorldStateKeyValueStorage persistedStorage =
+        bonsaiPersistedWorldState.getWorldStateStorage();
     return new BonsaiInMemoryWorldState(
         archive,
         new BonsaiInMemoryWorldStateKeyValueStorage(
-            bonsaiPersistedWorldState.getWorldStateStorage().accountStorage,
-            bonsaiPersistedWorldState.getWorldStateStorage().codeStorage,
-            bonsaiPersistedWorldState.getWorldStateStorage().storageStorage,
-            bonsaiPersistedWorldState.getWorldStateStorage().trieBranchStorage,
-            bonsaiPersistedWorldState.getWorldStateStorage().trieLogStorage));
+            persistedStorage.accountStorage,
+            persistedStorage.codeStorage,
+            persistedStorage.storageStorage,
+            persistedStorage.trieBranchStorage,
+            persistedStorage.trieLogStorage,
+            persistedStorage.accountCache,
+            persistedStorage.storageCache,
+            persistedStorage.trieNodeCache));
   }
 
   @Override
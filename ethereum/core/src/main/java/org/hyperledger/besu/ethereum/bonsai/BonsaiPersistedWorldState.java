@@ -28,12 +28,18 @@ import org.hyperledger.besu.ethereum.core.MutableWorldState;
 import org.hyperledger.besu.ethereum.core.WorldUpdater;
 import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
 import org.hyperledger.besu.ethereum.trie.StoredMerklePatriciaTrie;
+import org.hyperledger.besu.ethereum.trie.TrieWorkerPool;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateStorage;
 import org.hyperledger.besu.plugin.services.exception.StorageException;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
 import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
@@ -56,6 +62,10 @@ public class BonsaiPersistedWorldState implements MutableWorldState, BonsaiWorld
   private Hash worldStateRootHash;
   private Hash worldStateBlockHash;
 
+  private final OperationTimer storageRootsTimer;
+  private final OperationTimer accountTrieTimer;
+  private final OperationTimer persistTimer;
+
   public BonsaiPersistedWorldState(
       final BonsaiWorldStateArchive archive,
       final BonsaiWorldStateKeyValueStorage worldStateStorage) {
@@ -67,6 +77,10 @@ public class BonsaiPersistedWorldState implements MutableWorldState, BonsaiWorld
     worldStateBlockHash =
         Hash.wrap(Bytes32.wrap(worldStateStorage.getWorldStateBlockHash().orElse(Hash.ZERO)));
     updater = new BonsaiWorldStateUpdater(this);
+    final LabelledMetric<OperationTimer> phaseTimer = archive.getRootHashPhaseTimer();
+    storageRootsTimer = phaseTimer.labels("storage_roots");
+    accountTrieTimer = phaseTimer.labels("account_trie");
+    persistTimer = phaseTimer.labels("persist");
   }
 
   public BonsaiWorldStateArchive getArchive() {
@@ -82,7 +96,10 @@ public class BonsaiPersistedWorldState implements MutableWorldState, BonsaiWorld
             worldStateStorage.codeStorage,
             worldStateStorage.storageStorage,
             worldStateStorage.trieBranchStorage,
-            worldStateStorage.trieLogStorage));
+            worldStateStorage.trieLogStorage,
+            worldStateStorage.accountCache,
+            worldStateStorage.storageCache,
+            worldStateStorage.trieNodeCache));
   }
 
   @Override
@@ -106,6 +123,31 @@ public class BonsaiPersistedWorldState implements MutableWorldState, BonsaiWorld
   protected Hash calculateRootHash(
       final BonsaiWorldStateKeyValueStorage.Updater stateUpdater,
       final BonsaiWorldStateUpdater worldStateUpdater) {
+    try (final OperationTimer.TimingContext ignored = storageRootsTimer.startTimer()) {
+      clearStorage(stateUpdater, worldStateUpdater);
+      updateStorageTries(stateUpdater, worldStateUpdater);
+    }
+
+    // Third update the code.  This has the side effect of ensuring a code hash is calculated.
+    for (final Map.Entry<Address, BonsaiValue<Bytes>> codeUpdate :
+        worldStateUpdater.getCodeToUpdate().entrySet()) {
+      final Bytes updatedCode = codeUpdate.getValue().getUpdated();
+      final Hash accountHash = Hash.hash(codeUpdate.getKey());
+      if (updatedCode == null || updatedCode.size() == 0) {
+        stateUpdater.removeCode(accountHash);
+      } else {
+        stateUpdater.putCode(accountHash, null, updatedCode);
+      }
+    }
+
+    try (final OperationTimer.TimingContext ignored = accountTrieTimer.startTimer()) {
+      return updateAccountTrie(stateUpdater, worldStateUpdater);
+    }
+  }
+
+  private void clearStorage(
+      final BonsaiWorldStateKeyValueStorage.Updater stateUpdater,
+      final BonsaiWorldStateUpdater worldStateUpdater) {
     // first clear storage
     for (final Address address : worldStateUpdater.getStorageToClear()) {
       // because we are clearing persisted values we need the account root as persisted
@@ -140,65 +182,43 @@ public class BonsaiPersistedWorldState implements MutableWorldState, BonsaiWorld
         }
       }
     }
+  }
 
+  private void updateStorageTries(
+      final BonsaiWorldStateKeyValueStorage.Updater stateUpdater,
+      final BonsaiWorldStateUpdater worldStateUpdater) {
     // second update account storage state.  This must be done before updating the accounts so
     // that we can get the storage state hash
+    final List<StorageTrieUpdate> storageTrieUpdates = new ArrayList<>();
     for (final Map.Entry<Address, Map<Hash, BonsaiValue<UInt256>>> storageAccountUpdate :
         worldStateUpdater.getStorageToUpdate().entrySet()) {
       final Address updatedAddress = storageAccountUpdate.getKey();
-      final Hash updatedAddressHash = Hash.hash(updatedAddress);
       if (worldStateUpdater.getAccountsToUpdate().containsKey(updatedAddress)) {
-        final BonsaiValue<BonsaiAccount> accountValue =
-            worldStateUpdater.getAccountsToUpdate().get(updatedAddress);
-        final BonsaiAccount accountOriginal = accountValue.getPrior();
-        final Hash storageRoot =
-            (accountOriginal == null) ? Hash.EMPTY_TRIE_HASH : accountOriginal.getStorageRoot();
-        final StoredMerklePatriciaTrie<Bytes, Bytes> storageTrie =
-            new StoredMerklePatriciaTrie<>(
-                (location, key) -> getStorageTrieNode(updatedAddressHash, location, key),
-                storageRoot,
-                Function.identity(),
-                Function.identity());
-
-        // for manicured tries and composting, collect branches here (not implemented)
-
-        for (final Map.Entry<Hash, BonsaiValue<UInt256>> storageUpdate :
-            storageAccountUpdate.getValue().entrySet()) {
-          final Hash keyHash = storageUpdate.getKey();
-          final UInt256 updatedStorage = storageUpdate.getValue().getUpdated();
-          if (updatedStorage == null || updatedStorage.equals(UInt256.ZERO)) {
-            stateUpdater.removeStorageValueBySlotHash(updatedAddressHash, keyHash);
-            storageTrie.remove(keyHash);
-          } else {
-            stateUpdater.putStorageValueBySlotHash(updatedAddressHash, keyHash, updatedStorage);
-            storageTrie.put(keyHash, BonsaiWorldView.encodeTrieValue(updatedStorage));
-          }
-        }
-
-        final BonsaiAccount accountUpdated = accountValue.getUpdated();
-        if (accountUpdated != null) {
-          storageTrie.commit(
-              (location, key, value) ->
-                  writeStorageTrieNode(stateUpdater, updatedAddressHash, location, key, value));
-          final Hash newStorageRoot = Hash.wrap(storageTrie.getRootHash());
-          accountUpdated.setStorageRoot(newStorageRoot);
-        }
+        storageTrieUpdates.add(
+            new StorageTrieUpdate(
+                updatedAddress,
+                worldStateUpdater.getAccountsToUpdate().get(updatedAddress),
+                storageAccountUpdate.getValue()));
       }
       // for manicured tries and composting, trim and compost here
     }
 
-    // Third update the code.  This has the side effect of ensuring a code hash is calculated.
-    for (final Map.Entry<Address, BonsaiValue<Bytes>> codeUpdate :
-        worldStateUpdater.getCodeToUpdate().entrySet()) {
-      final Bytes updatedCode = codeUpdate.getValue().getUpdated();
-      final Hash accountHash = Hash.hash(codeUpdate.getKey());
-      if (updatedCode == null || updatedCode.size() == 0) {
-        stateUpdater.removeCode(accountHash);
-      } else {
-        stateUpdater.putCode(accountHash, null, updatedCode);
-      }
+    // storage tries of different accounts share no nodes, so they are rebuilt concurrently, but the
+    // resulting writes are applied in the original order because the storage transactions are not
+    // thread safe
+    if (storageTrieUpdates.size() > 1) {
+      TrieWorkerPool.get()
+          .submit(() -> storageTrieUpdates.parallelStream().forEach(StorageTrieUpdate::calculate))
+          .join();
+    } else {
+      storageTrieUpdates.forEach(StorageTrieUpdate::calculate);
     }
+    storageTrieUpdates.forEach(storageTrieUpdate -> storageTrieUpdate.applyTo(stateUpdater));
+  }
 
+  private Hash updateAccountTrie(
+      final BonsaiWorldStateKeyValueStorage.Updater stateUpdater,
+      final BonsaiWorldStateUpdater worldStateUpdater) {
     // next walk the account trie
     final StoredMerklePatriciaTrie<Bytes, Bytes> accountTrie =
         new StoredMerklePatriciaTrie<>(
@@ -287,7 +307,9 @@ public class BonsaiPersistedWorldState implements MutableWorldState, BonsaiWorld
       success = true;
     } finally {
       if (success) {
-        stateUpdater.commit();
+        try (final OperationTimer.TimingContext ignored = persistTimer.startTimer()) {
+          stateUpdater.commit();
+        }
         updater.reset();
       } else {
         stateUpdater.rollback();
@@ -414,4 +436,64 @@ public class BonsaiPersistedWorldState implements MutableWorldState, BonsaiWorld
             Function.identity());
     return storageTrie.entriesFrom(Bytes32.ZERO, Integer.MAX_VALUE);
   }
+
+  private class StorageTrieUpdate {
+    private final Hash addressHash;
+    private final BonsaiValue<BonsaiAccount> accountValue;
+    private final Map<Hash, BonsaiValue<UInt256>> slotUpdates;
+    private final List<Consumer<BonsaiWorldStateKeyValueStorage.Updater>> writes =
+        new ArrayList<>();
+    private Hash newStorageRoot;
+
+    StorageTrieUpdate(
+        final Address address,
+        final BonsaiValue<BonsaiAccount> accountValue,
+        final Map<Hash, BonsaiValue<UInt256>> slotUpdates) {
+      this.addressHash = Hash.hash(address);
+      this.accountValue = accountValue;
+      this.slotUpdates = slotUpdates;
+    }
+
+    void calculate() {
+      final BonsaiAccount accountOriginal = accountValue.getPrior();
+      final Hash storageRoot =
+          (accountOriginal == null) ? Hash.EMPTY_TRIE_HASH : accountOriginal.getStorageRoot();
+      final StoredMerklePatriciaTrie<Bytes, Bytes> storageTrie =
+          new StoredMerklePatriciaTrie<>(
+              (location, key) -> getStorageTrieNode(addressHash, location, key),
+              storageRoot,
+              Function.identity(),
+              Function.identity());
+
+      // for manicured tries and composting, collect branches here (not implemented)
+
+      for (final Map.Entry<Hash, BonsaiValue<UInt256>> storageUpdate : slotUpdates.entrySet()) {
+        final Hash keyHash = storageUpdate.getKey();
+        final UInt256 updatedStorage = storageUpdate.getValue().getUpdated();
+        if (updatedStorage == null || updatedStorage.equals(UInt256.ZERO)) {
+          writes.add(updater -> updater.removeStorageValueBySlotHash(addressHash, keyHash));
+          storageTrie.remove(keyHash);
+        } else {
+          writes.add(
+              updater -> updater.putStorageValueBySlotHash(addressHash, keyHash, updatedStorage));
+          storageTrie.put(keyHash, BonsaiWorldView.encodeTrieValue(updatedStorage));
+        }
+      }
+
+      if (accountValue.getUpdated() != null) {
+        storageTrie.commit(
+            (location, key, value) ->
+                writes.add(
+                    updater -> writeStorageTrieNode(updater, addressHash, location, key, value)));
+        newStorageRoot = Hash.wrap(storageTrie.getRootHash());
+      }
+    }
+
+    void applyTo(final BonsaiWorldStateKeyValueStorage.Updater stateUpdater) {
+      writes.forEach(write -> write.accept(stateUpdater));
+      if (newStorageRoot != null) {
+        accountValue.getUpdated().setStorageRoot(newStorageRoot);
+      }
+    }
+  }
 }
@@ -23,15 +23,30 @@ import org.hyperledger.besu.ethereum.core.Hash;
 import org.hyperledger.besu.ethereum.core.MutableWorldState;
 import org.hyperledger.besu.ethereum.core.WorldState;
 import org.hyperledger.besu.ethereum.proof.WorldStateProof;
+import org.hyperledger.besu.ethereum.rlp.RLP;
 import org.hyperledger.besu.ethereum.storage.StorageProvider;
+import org.hyperledger.besu.ethereum.trie.StoredMerklePatriciaTrie;
+import org.hyperledger.besu.ethereum.trie.TrieWorkerPool;
+import org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration;
+import org.hyperledger.besu.ethereum.worldstate.StateTrieAccountValue;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
 
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import com.google.common.annotations.VisibleForTesting;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.tuweni.bytes.Bytes;
@@ -50,6 +65,7 @@ public class BonsaiWorldStateArchive implements WorldStateArchive {
   private final Map<Bytes32, BonsaiLayeredWorldState> layeredWorldStatesByHash;
   private final BonsaiWorldStateKeyValueStorage worldStateStorage;
   private final long maxLayersToLoad;
+  private final LabelledMetric<OperationTimer> rootHashPhaseTimer;
 
   public BonsaiWorldStateArchive(final StorageProvider provider, final Blockchain blockchain) {
     this(provider, blockchain, RETAINED_LAYERS, new HashMap<>());
@@ -60,14 +76,50 @@ public class BonsaiWorldStateArchive implements WorldStateArchive {
     this(provider, blockchain, maxLayersToLoad, new HashMap<>());
   }
 
+  public BonsaiWorldStateArchive(
+      final StorageProvider provider,
+      final Blockchain blockchain,
+      final DataStorageConfiguration dataStorageConfiguration,
+      final MetricsSystem metricsSystem) {
+    this(
+        new BonsaiWorldStateKeyValueStorage(
+            provider, dataStorageConfiguration.getBonsaiTrieNodeCacheSize()),
+        blockchain,
+        dataStorageConfiguration.getBonsaiMaxLayersToLoad(),
+        new HashMap<>(),
+        metricsSystem);
+  }
+
   public BonsaiWorldStateArchive(
       final StorageProvider provider,
       final Blockchain blockchain,
       final long maxLayersToLoad,
       final Map<Bytes32, BonsaiLayeredWorldState> layeredWorldStatesByHash) {
-    this.blockchain = blockchain;
+    this(
+        new BonsaiWorldStateKeyValueStorage(provider),
+        blockchain,
+        maxLayersToLoad,
+        layeredWorldStatesByHash,
+        new NoOpMetricsSystem());
+  }
 
-    this.worldStateStorage = new BonsaiWorldStateKeyValueStorage(provider);
+  @VisibleForTesting
+  BonsaiWorldStateArchive(
+      final BonsaiWorldStateKeyValueStorage worldStateStorage,
+      final Blockchain blockchain,
+      final long maxLayersToLoad,
+      final Map<Bytes32, BonsaiLayeredWorldState> layeredWorldStatesByHash,
+      final MetricsSystem metricsSystem) {
+    this.blockchain = blockchain;
+    this.rootHashPhaseTimer =
+        metricsSystem.createLabelledTimer(
+            BesuMetricCategory.BLOCKCHAIN,
+            "bonsai_world_state_phase",
+            "Time spent in each phase of calculating and persisting the Bonsai world state",
+            "phase");
+
+    this.worldStateStorage = worldStateStorage;
+    this.worldStateStorage.registerMetrics(metricsSystem);
     this.persistedState = new BonsaiPersistedWorldState(this, worldStateStorage);
     this.layeredWorldStatesByHash = layeredWorldStatesByHash;
     this.maxLayersToLoad = maxLayersToLoad;
@@ -88,6 +140,10 @@ public class BonsaiWorldStateArchive implements WorldStateArchive {
         });
   }
 
+  LabelledMetric<OperationTimer> getRootHashPhaseTimer() {
+    return rootHashPhaseTimer;
+  }
+
   @Override
   public Optional<WorldState> get(final Hash rootHash, final Hash blockHash) {
     if (layeredWorldStatesByHash.containsKey(blockHash)) {
@@ -267,6 +323,73 @@ public class BonsaiWorldStateArchive implements WorldStateArchive {
     return Optional.empty();
   }
 
+  /**
+   * Prefetches from the persisted state, whatever the requested root, as that is the state blocks
+   * are imported on top of. The flat values are loaded into the flat state caches with one batch
+   * read per segment. The trie paths leading to them are then walked for each account in parallel,
+   * warming the trie node cache and the database block cache for the root hash calculation.
+   */
+  @Override
+  public void prefetch(
+      final Hash worldStateRoot, final Map<Address, Set<UInt256>> accountsAndSlots) {
+    final Optional<Bytes32> persistedRoot =
+        worldStateStorage.getWorldStateRootHash().map(Bytes32::wrap);
+    if (persistedRoot.isEmpty()) {
+      return;
+    }
+    final Map<Hash, Set<Hash>> slotHashesByAccountHash = new HashMap<>();
+    accountsAndSlots.forEach(
+        (address, slots) ->
+            slotHashesByAccountHash.put(
+                Hash.hash(address),
+                slots.stream().map(Hash::hash).collect(Collectors.toSet())));
+    final List<Hash> accountHashes = new ArrayList<>(slotHashesByAccountHash.keySet());
+    final Map<Bytes, Optional<Bytes>> accountValues = worldStateStorage.getAccounts(accountHashes);
+    // there are no slots to load for the accounts that do not exist
+    slotHashesByAccountHash.keySet().removeIf(hash -> accountValues.get(hash).isEmpty());
+    worldStateStorage.prefetchStorageValues(slotHashesByAccountHash);
+
+    final Consumer<Hash> walkTriePaths =
+        hash ->
+            prefetchTriePaths(
+                persistedRoot.get(),
+                hash,
+                accountValues.get(hash),
+                slotHashesByAccountHash.getOrDefault(hash, Set.of()));
+    if (accountHashes.size() > 1) {
+      TrieWorkerPool.get()
+          .submit(() -> accountHashes.parallelStream().forEach(walkTriePaths))
+          .join();
+    } else {
+      accountHashes.forEach(walkTriePaths);
+    }
+  }
+
+  // the tries load their nodes lazily, so each walk uses its own rather than sharing them
+  private void prefetchTriePaths(
+      final Bytes32 rootHash,
+      final Hash accountHash,
+      final Optional<Bytes> accountValue,
+      final Set<Hash> slotHashes) {
+    new StoredMerklePatriciaTrie<Bytes, Bytes>(
+            worldStateStorage::getAccountStateTrieNode,
+            rootHash,
+            Function.identity(),
+            Function.identity())
+        .get(accountHash);
+    if (accountValue.isEmpty() || slotHashes.isEmpty()) {
+      return;
+    }
+    final StoredMerklePatriciaTrie<Bytes, Bytes> storageTrie =
+        new StoredMerklePatriciaTrie<>(
+            (location, hash) ->
+                worldStateStorage.getAccountStorageTrieNode(accountHash, location, hash),
+            StateTrieAccountValue.readFrom(RLP.input(accountValue.get())).getStorageRoot(),
+            Function.identity(),
+            Function.identity());
+    slotHashes.forEach(storageTrie::get);
+  }
+
   void scrubLayeredCache(final long newMaxHeight) {
     final long waterline = newMaxHeight - RETAINED_LAYERS;
     layeredWorldStatesByHash.entrySet().removeIf(entry -> entry.getValue().getHeight() < waterline);
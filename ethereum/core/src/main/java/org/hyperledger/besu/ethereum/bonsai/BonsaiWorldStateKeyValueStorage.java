@@ -18,13 +18,23 @@ import org.hyperledger.besu.ethereum.core.Hash;
 import org.hyperledger.besu.ethereum.storage.StorageProvider;
 import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier;
 import org.hyperledger.besu.ethereum.trie.MerklePatriciaTrie;
+import org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateStorage;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.exception.StorageException;
 import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
 import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
+import org.hyperledger.besu.services.kvstore.SegmentedKeyValueStorageAdapter;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
@@ -36,13 +46,33 @@ public class BonsaiWorldStateKeyValueStorage implements WorldStateStorage {
   public static final byte[] WORLD_BLOCK_HASH_KEY =
       "worldBlockHash".getBytes(StandardCharsets.UTF_8);
 
+  /**
+   * Trie nodes up to this many nibbles below the root of the account trie or of a storage trie are
+   * cached. These upper levels are read by nearly every root calculation.
+   */
+  public static final int CACHED_TRIE_NODE_DEPTH = 6;
+
   protected final KeyValueStorage accountStorage;
   protected final KeyValueStorage codeStorage;
   protected final KeyValueStorage storageStorage;
   protected final KeyValueStorage trieBranchStorage;
   protected final KeyValueStorage trieLogStorage;
 
+  protected final BonsaiFlatStateCache accountCache;
+  protected final BonsaiFlatStateCache storageCache;
+  protected final BonsaiFlatStateCache trieNodeCache;
+
   public BonsaiWorldStateKeyValueStorage(final StorageProvider provider) {
+    this(provider, DataStorageConfiguration.DEFAULT_BONSAI_TRIE_NODE_CACHE_SIZE);
+  }
+
+  public BonsaiWorldStateKeyValueStorage(
+      final StorageProvider provider, final long trieNodeCacheBytes) {
+    trieNodeCache = new BonsaiFlatStateCache("trie_node", trieNodeCacheBytes);
+    accountCache =
+        new BonsaiFlatStateCache("account", BonsaiFlatStateCache.DEFAULT_ACCOUNT_CACHE_BYTES);
+    storageCache =
+        new BonsaiFlatStateCache("storage", BonsaiFlatStateCache.DEFAULT_STORAGE_CACHE_BYTES);
     accountStorage =
         provider.getStorageBySegmentIdentifier(KeyValueSegmentIdentifier.ACCOUNT_INFO_STATE);
     codeStorage = provider.getStorageBySegmentIdentifier(KeyValueSegmentIdentifier.CODE_STORAGE);
@@ -60,11 +90,41 @@ public class BonsaiWorldStateKeyValueStorage implements WorldStateStorage {
       final KeyValueStorage storageStorage,
       final KeyValueStorage trieBranchStorage,
       final KeyValueStorage trieLogStorage) {
+    this(
+        accountStorage,
+        codeStorage,
+        storageStorage,
+        trieBranchStorage,
+        trieLogStorage,
+        new BonsaiFlatStateCache("account", BonsaiFlatStateCache.DEFAULT_ACCOUNT_CACHE_BYTES),
+        new BonsaiFlatStateCache("storage", BonsaiFlatStateCache.DEFAULT_STORAGE_CACHE_BYTES),
+        new BonsaiFlatStateCache(
+            "trie_node", DataStorageConfiguration.DEFAULT_BONSAI_TRIE_NODE_CACHE_SIZE));
+  }
+
+  public BonsaiWorldStateKeyValueStorage(
+      final KeyValueStorage accountStorage,
+      final KeyValueStorage codeStorage,
+      final KeyValueStorage storageStorage,
+      final KeyValueStorage trieBranchStorage,
+      final KeyValueStorage trieLogStorage,
+      final BonsaiFlatStateCache accountCache,
+      final BonsaiFlatStateCache storageCache,
+      final BonsaiFlatStateCache trieNodeCache) {
     this.accountStorage = accountStorage;
     this.codeStorage = codeStorage;
     this.storageStorage = storageStorage;
     this.trieBranchStorage = trieBranchStorage;
     this.trieLogStorage = trieLogStorage;
+    this.accountCache = accountCache;
+    this.storageCache = storageCache;
+    this.trieNodeCache = trieNodeCache;
+  }
+
+  public void registerMetrics(final MetricsSystem metricsSystem) {
+    accountCache.registerMetrics(metricsSystem);
+    storageCache.registerMetrics(metricsSystem);
+    trieNodeCache.registerMetrics(metricsSystem);
   }
 
   @Override
@@ -73,7 +133,19 @@ public class BonsaiWorldStateKeyValueStorage implements WorldStateStorage {
   }
 
   public Optional<Bytes> getAccount(final Hash accountHash) {
-    return accountStorage.get(accountHash.toArrayUnsafe()).map(Bytes::wrap);
+    return accountCache.get(
+        accountHash, () -> accountStorage.get(accountHash.toArrayUnsafe()).map(Bytes::wrap));
+  }
+
+  /**
+   * Returns the flat values of accounts, reading the ones that are not cached with a single batch
+   * read.
+   *
+   * @param accountHashes the hashes of the accounts
+   * @return the value of each account, or empty if the account does not exist
+   */
+  public Map<Bytes, Optional<Bytes>> getAccounts(final Collection<Hash> accountHashes) {
+    return accountCache.getAll(accountHashes, keys -> getMultiple(accountStorage, keys));
   }
 
   @Override
@@ -86,8 +158,10 @@ public class BonsaiWorldStateKeyValueStorage implements WorldStateStorage {
   public Optional<Bytes> getAccountStateTrieNode(final Bytes location, final Bytes32 nodeHash) {
     if (nodeHash.equals(MerklePatriciaTrie.EMPTY_TRIE_NODE_HASH)) {
       return Optional.of(MerklePatriciaTrie.EMPTY_TRIE_NODE);
+    } else if (location.size() <= CACHED_TRIE_NODE_DEPTH) {
+      return trieNodeCache.get(location, () -> getTrieBranch(location));
     } else {
-      return trieBranchStorage.get(location.toArrayUnsafe()).map(Bytes::wrap);
+      return getTrieBranch(location);
     }
   }
 
@@ -96,13 +170,25 @@ public class BonsaiWorldStateKeyValueStorage implements WorldStateStorage {
       final Hash accountHash, final Bytes location, final Bytes32 nodeHash) {
     if (nodeHash.equals(MerklePatriciaTrie.EMPTY_TRIE_NODE_HASH)) {
       return Optional.of(MerklePatriciaTrie.EMPTY_TRIE_NODE);
+    }
+    final Bytes key = Bytes.wrap(Bytes.concatenate(accountHash, location).toArrayUnsafe());
+    if (location.size() <= CACHED_TRIE_NODE_DEPTH) {
+      return trieNodeCache.get(key, () -> getTrieBranch(key));
     } else {
-      return trieBranchStorage
-          .get(Bytes.concatenate(accountHash, location).toArrayUnsafe())
-          .map(Bytes::wrap);
+      return getTrieBranch(key);
     }
   }
 
+  private Optional<Bytes> getTrieBranch(final Bytes key) {
+    return trieBranchStorage.get(key.toArrayUnsafe()).map(Bytes::wrap);
+  }
+
+  private static boolean isCachedTrieNodeKey(final byte[] key) {
+    // account trie nodes are keyed by location, storage trie nodes by account hash and location
+    return key.length <= CACHED_TRIE_NODE_DEPTH
+        || (key.length >= Hash.SIZE && key.length <= Hash.SIZE + CACHED_TRIE_NODE_DEPTH);
+  }
+
   public Optional<byte[]> getTrieLog(final Hash blockHash) {
     return trieLogStorage.get(blockHash.toArrayUnsafe());
   }
@@ -120,9 +206,34 @@ public class BonsaiWorldStateKeyValueStorage implements WorldStateStorage {
   }
 
   public Optional<Bytes> getStorageValueBySlotHash(final Hash accountHash, final Hash slotHash) {
-    return storageStorage
-        .get(Bytes.concatenate(accountHash, slotHash).toArrayUnsafe())
-        .map(Bytes::wrap);
+    final Bytes key = Bytes.wrap(Bytes.concatenate(accountHash, slotHash).toArrayUnsafe());
+    return storageCache.get(key, () -> storageStorage.get(key.toArrayUnsafe()).map(Bytes::wrap));
+  }
+
+  /**
+   * Loads the flat values of storage slots into the cache, reading the ones that are not cached
+   * with a single batch read.
+   *
+   * @param slotHashesByAccountHash the hashes of the slots to load for each account
+   */
+  public void prefetchStorageValues(
+      final Map<Hash, ? extends Collection<Hash>> slotHashesByAccountHash) {
+    final List<Bytes> keys = new ArrayList<>();
+    slotHashesByAccountHash.forEach(
+        (accountHash, slotHashes) ->
+            slotHashes.forEach(
+                slotHash ->
+                    keys.add(
+                        Bytes.wrap(Bytes.concatenate(accountHash, slotHash).toArrayUnsafe()))));
+    storageCache.getAll(keys, batch -> getMultiple(storageStorage, batch));
+  }
+
+  private static List<Optional<Bytes>> getMultiple(
+      final KeyValueStorage segment, final List<Bytes> keys) {
+    return segment.getMultiple(keys.stream().map(Bytes::toArrayUnsafe).collect(Collectors.toList()))
+        .stream()
+        .map(value -> value.map(Bytes::wrap))
+        .collect(Collectors.toList());
   }
 
   @Override
@@ -147,16 +258,30 @@ public class BonsaiWorldStateKeyValueStorage implements WorldStateStorage {
     storageStorage.clear();
     trieBranchStorage.clear();
     trieLogStorage.clear();
+    accountCache.invalidateAll();
+    storageCache.invalidateAll();
+    trieNodeCache.invalidateAll();
   }
 
+  /**
+   * Creates an updater of the world state. When the segments live in the same segmented storage,
+   * the updates of all of them, trie log included, are committed as a single atomic write.
+   */
   @Override
   public Updater updater() {
+    final List<KeyValueStorageTransaction> transactions =
+        SegmentedKeyValueStorageAdapter.startTransactions(
+            List.of(
+                accountStorage, codeStorage, storageStorage, trieBranchStorage, trieLogStorage));
     return new Updater(
-        accountStorage.startTransaction(),
-        codeStorage.startTransaction(),
-        storageStorage.startTransaction(),
-        trieBranchStorage.startTransaction(),
-        trieLogStorage.startTransaction());
+        transactions.get(0),
+        transactions.get(1),
+        transactions.get(2),
+        transactions.get(3),
+        transactions.get(4),
+        accountCache,
+        storageCache,
+        trieNodeCache);
   }
 
   @Override
@@ -181,6 +306,12 @@ public class BonsaiWorldStateKeyValueStorage implements WorldStateStorage {
     private final KeyValueStorageTransaction storageStorageTransaction;
     private final KeyValueStorageTransaction trieBranchStorageTransaction;
     private final KeyValueStorageTransaction trieLogStorageTransaction;
+    private final Optional<BonsaiFlatStateCache> accountCache;
+    private final Optional<BonsaiFlatStateCache> storageCache;
+    private final Optional<BonsaiFlatStateCache> trieNodeCache;
+    private final Map<Bytes, Optional<Bytes>> updatedAccounts = new HashMap<>();
+    private final Map<Bytes, Optional<Bytes>> updatedStorage = new HashMap<>();
+    private final Map<Bytes, Optional<Bytes>> updatedTrieNodes = new HashMap<>();
 
     public Updater(
         final KeyValueStorageTransaction accountStorageTransaction,
@@ -188,11 +319,42 @@ public class BonsaiWorldStateKeyValueStorage implements WorldStateStorage {
         final KeyValueStorageTransaction storageStorageTransaction,
         final KeyValueStorageTransaction trieBranchStorageTransaction,
         final KeyValueStorageTransaction trieLogStorageTransaction) {
+      this(
+          accountStorageTransaction,
+          codeStorageTransaction,
+          storageStorageTransaction,
+          trieBranchStorageTransaction,
+          trieLogStorageTransaction,
+          null,
+          null,
+          null);
+    }
 
+    /**
+     * Creates an updater that records committed account, storage and trie node values in the given
+     * caches. The caches may be null, in which case committed values are not recorded.
+     */
+    public Updater(
+        final KeyValueStorageTransaction accountStorageTransaction,
+        final KeyValueStorageTransaction codeStorageTransaction,
+        final KeyValueStorageTransaction storageStorageTransaction,
+        final KeyValueStorageTransaction trieBranchStorageTransaction,
+        final KeyValueStorageTransaction trieLogStorageTransaction,
+        final BonsaiFlatStateCache accountCache,
+        final BonsaiFlatStateCache storageCache,
+        final BonsaiFlatStateCache trieNodeCache) {
+
+      this.accountCache = Optional.ofNullable(accountCache);
+      this.storageCache = Optional.ofNullable(storageCache);
+      this.trieNodeCache = Optional.ofNullable(trieNodeCache);
       this.accountStorageTransaction = accountStorageTransaction;
       this.codeStorageTransaction = codeStorageTransaction;
       this.storageStorageTransaction = storageStorageTransaction;
-      this.trieBranchStorageTransaction = trieBranchStorageTransaction;
+      // trie nodes are also written directly through the transaction, so record them there
+      this.trieBranchStorageTransaction =
+          trieNodeCache == null
+              ? trieBranchStorageTransaction
+              : new TrieNodeRecordingTransaction(trieBranchStorageTransaction, updatedTrieNodes);
       this.trieLogStorageTransaction = trieLogStorageTransaction;
     }
 
@@ -213,6 +375,7 @@ public class BonsaiWorldStateKeyValueStorage implements WorldStateStorage {
 
     public Updater removeAccountInfoState(final Hash accountHash) {
       accountStorageTransaction.remove(accountHash.toArrayUnsafe());
+      updatedAccounts.put(accountHash, Optional.empty());
       return this;
     }
 
@@ -222,6 +385,7 @@ public class BonsaiWorldStateKeyValueStorage implements WorldStateStorage {
         return this;
       }
       accountStorageTransaction.put(accountHash.toArrayUnsafe(), accountValue.toArrayUnsafe());
+      updatedAccounts.put(accountHash, Optional.of(accountValue));
       return this;
     }
 
@@ -263,13 +427,16 @@ public class BonsaiWorldStateKeyValueStorage implements WorldStateStorage {
 
     public Updater putStorageValueBySlotHash(
         final Hash accountHash, final Hash slotHash, final Bytes storage) {
-      storageStorageTransaction.put(
-          Bytes.concatenate(accountHash, slotHash).toArrayUnsafe(), storage.toArrayUnsafe());
+      final byte[] key = Bytes.concatenate(accountHash, slotHash).toArrayUnsafe();
+      storageStorageTransaction.put(key, storage.toArrayUnsafe());
+      updatedStorage.put(Bytes.wrap(key), Optional.of(storage));
       return this;
     }
 
     public void removeStorageValueBySlotHash(final Hash accountHash, final Hash slotHash) {
-      storageStorageTransaction.remove(Bytes.concatenate(accountHash, slotHash).toArrayUnsafe());
+      final byte[] key = Bytes.concatenate(accountHash, slotHash).toArrayUnsafe();
+      storageStorageTransaction.remove(key);
+      updatedStorage.put(Bytes.wrap(key), Optional.empty());
     }
 
     public KeyValueStorageTransaction getTrieBranchStorageTransaction() {
@@ -287,6 +454,12 @@ public class BonsaiWorldStateKeyValueStorage implements WorldStateStorage {
       storageStorageTransaction.commit();
       trieBranchStorageTransaction.commit();
       trieLogStorageTransaction.commit();
+      accountCache.ifPresent(cache -> cache.update(updatedAccounts));
+      storageCache.ifPresent(cache -> cache.update(updatedStorage));
+      trieNodeCache.ifPresent(cache -> cache.update(updatedTrieNodes));
+      updatedAccounts.clear();
+      updatedStorage.clear();
+      updatedTrieNodes.clear();
     }
 
     @Override
@@ -296,6 +469,48 @@ public class BonsaiWorldStateKeyValueStorage implements WorldStateStorage {
       storageStorageTransaction.rollback();
       trieBranchStorageTransaction.rollback();
       trieLogStorageTransaction.rollback();
+      updatedAccounts.clear();
+      updatedStorage.clear();
+      updatedTrieNodes.clear();
+    }
+  }
+
+  private static class TrieNodeRecordingTransaction implements KeyValueStorageTransaction {
+
+    private final KeyValueStorageTransaction transaction;
+    private final Map<Bytes, Optional<Bytes>> updatedTrieNodes;
+
+    TrieNodeRecordingTransaction(
+        final KeyValueStorageTransaction transaction,
+        final Map<Bytes, Optional<Bytes>> updatedTrieNodes) {
+      this.transaction = transaction;
+      this.updatedTrieNodes = updatedTrieNodes;
+    }
+
+    @Override
+    public void put(final byte[] key, final byte[] value) {
+      transaction.put(key, value);
+      if (isCachedTrieNodeKey(key)) {
+        updatedTrieNodes.put(Bytes.wrap(key), Optional.of(Bytes.wrap(value)));
+      }
+    }
+
+    @Override
+    public void remove(final byte[] key) {
+      transaction.remove(key);
+      if (isCachedTrieNodeKey(key)) {
+        updatedTrieNodes.put(Bytes.wrap(key), Optional.empty());
+      }
+    }
+
+    @Override
+    public void commit() throws StorageException {
+      transaction.commit();
+    }
+
+    @Override
+    public void rollback() {
+      transaction.rollback();
     }
   }
 }
@@ -15,6 +15,7 @@
 package org.hyperledger.besu.ethereum.core;
 
 import org.hyperledger.besu.ethereum.ProtocolContext;
+import org.hyperledger.besu.ethereum.mainnet.BodyValidationMode;
 import org.hyperledger.besu.ethereum.mainnet.HeaderValidationMode;
 
 import java.util.List;
@@ -72,10 +73,39 @@ public interface BlockImporter {
    * @return {@code true} if the block was added somewhere in the blockchain; otherwise {@code
    *     false}
    */
+  default boolean fastImportBlock(
+      final ProtocolContext context,
+      final Block block,
+      final List<TransactionReceipt> receipts,
+      final HeaderValidationMode headerValidationMode,
+      final HeaderValidationMode ommerValidationMode) {
+    return fastImportBlock(
+        context,
+        block,
+        receipts,
+        headerValidationMode,
+        ommerValidationMode,
+        BodyValidationMode.LIGHT);
+  }
+
+  /**
+   * Attempts to import the given block. Uses "fast" validation. Performs light validation using the
+   * block's receipts rather than processing all transactions and fully validating world state.
+   *
+   * @param context The context to attempt to update
+   * @param block The block
+   * @param receipts The receipts associated with this block.
+   * @param headerValidationMode Determines the validation to perform on this header.
+   * @param ommerValidationMode Determines the validation to perform on ommer headers.
+   * @param bodyValidationMode Determines the validation to perform on the block body.
+   * @return {@code true} if the block was added somewhere in the blockchain; otherwise {@code
+   *     false}
+   */
   boolean fastImportBlock(
       ProtocolContext context,
       Block block,
       List<TransactionReceipt> receipts,
       HeaderValidationMode headerValidationMode,
-      HeaderValidationMode ommerValidationMode);
+      HeaderValidationMode ommerValidationMode,
+      BodyValidationMode bodyValidationMode);
 }
@@ -30,6 +30,7 @@ import org.hyperledger.besu.ethereum.core.TransactionReceipt;
 import org.hyperledger.besu.ethereum.core.Wei;
 import org.hyperledger.besu.ethereum.core.WorldUpdater;
 import org.hyperledger.besu.ethereum.mainnet.AbstractBlockProcessor;
+import org.hyperledger.besu.ethereum.mainnet.BlockExecutionContext;
 import org.hyperledger.besu.ethereum.mainnet.MainnetBlockProcessor;
 import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionProcessor;
 import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionValidator;
@@ -38,7 +39,6 @@ import org.hyperledger.besu.ethereum.mainnet.TransactionValidationParams;
 import org.hyperledger.besu.ethereum.mainnet.ValidationResult;
 import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
 import org.hyperledger.besu.ethereum.transaction.TransactionInvalidReason;
-import org.hyperledger.besu.ethereum.vm.BlockHashLookup;
 import org.hyperledger.besu.ethereum.vm.OperationTracer;
 import org.hyperledger.besu.ethereum.worldstate.GoQuorumMutablePrivateWorldStateUpdater;
 
@@ -93,15 +93,14 @@ public class GoQuorumBlockProcessor extends MainnetBlockProcessor {
 
     final GoQuorumPrivateStorage.Updater privateStorageUpdater = goQuorumPrivateStorage.updater();
 
+    final BlockExecutionContext blockContext =
+        BlockExecutionContext.forBlock(blockchain, blockHeader, miningBeneficiaryCalculator);
     for (final Transaction transaction : transactions) {
       if (!hasAvailableBlockBudget(blockHeader, transaction, currentGasUsed)) {
         return AbstractBlockProcessor.Result.failed();
       }
 
       final WorldUpdater publicWorldStateUpdater = publicWorldState.updater();
-      final BlockHashLookup blockHashLookup = new BlockHashLookup(blockHeader, blockchain);
-      final Address miningBeneficiary =
-          miningBeneficiaryCalculator.calculateBeneficiary(blockHeader);
 
       WorldUpdater effectiveWorldUpdater = null;
       Transaction effectiveTransaction;
@@ -138,9 +137,9 @@ public class GoQuorumBlockProcessor extends MainnetBlockProcessor {
                 effectiveWorldUpdater,
                 blockHeader,
                 effectiveTransaction,
-                miningBeneficiary,
+                blockContext.getMiningBeneficiary(),
                 OperationTracer.NO_TRACING,
-                blockHashLookup,
+                blockContext.getBlockHashLookup(),
                 true,
                 TransactionValidationParams.processingBlock(),
                 null);
@@ -17,7 +17,6 @@ package org.hyperledger.besu.ethereum.mainnet;
 import org.hyperledger.besu.ethereum.bonsai.BonsaiPersistedWorldState;
 import org.hyperledger.besu.ethereum.bonsai.BonsaiWorldStateUpdater;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
-import org.hyperledger.besu.ethereum.core.Address;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.MutableWorldState;
 import org.hyperledger.besu.ethereum.core.Transaction;
@@ -27,13 +26,14 @@ import org.hyperledger.besu.ethereum.core.WorldState;
 import org.hyperledger.besu.ethereum.core.WorldUpdater;
 import org.hyperledger.besu.ethereum.privacy.storage.PrivateMetadataUpdater;
 import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
-import org.hyperledger.besu.ethereum.vm.BlockHashLookup;
 import org.hyperledger.besu.ethereum.vm.OperationTracer;
 import org.hyperledger.besu.plugin.data.TransactionType;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
 
 import com.google.common.collect.ImmutableList;
 import org.apache.logging.log4j.LogManager;
@@ -124,6 +124,8 @@ public abstract class AbstractBlockProcessor implements BlockProcessor {
 
   protected final MiningBeneficiaryCalculator miningBeneficiaryCalculator;
 
+  private Optional<Executor> parallelTransactionExecutor = Optional.empty();
+
   protected AbstractBlockProcessor(
       final MainnetTransactionProcessor transactionProcessor,
       final TransactionReceiptFactory transactionReceiptFactory,
@@ -147,28 +149,46 @@ public abstract class AbstractBlockProcessor implements BlockProcessor {
       final PrivateMetadataUpdater privateMetadataUpdater) {
     final List<TransactionReceipt> receipts = new ArrayList<>();
     long currentGasUsed = 0;
-    for (final Transaction transaction : transactions) {
+    final BlockExecutionContext blockContext =
+        BlockExecutionContext.forBlock(blockchain, blockHeader, miningBeneficiaryCalculator);
+    final Optional<SpeculativeBlockExecution> speculativeExecution =
+        parallelTransactionExecutor
+            .filter(executor -> transactions.size() > 1 && privateMetadataUpdater == null)
+            .map(
+                executor ->
+                    SpeculativeBlockExecution.execute(
+                        executor,
+                        transactionProcessor,
+                        blockchain,
+                        worldState,
+                        blockHeader,
+                        blockContext.getMiningBeneficiary(),
+                        transactions));
+    for (int i = 0; i < transactions.size(); i++) {
+      final Transaction transaction = transactions.get(i);
       if (!hasAvailableBlockBudget(blockHeader, transaction, currentGasUsed)) {
         return AbstractBlockProcessor.Result.failed();
       }
 
       final WorldUpdater worldStateUpdater = worldState.updater();
-      final BlockHashLookup blockHashLookup = new BlockHashLookup(blockHeader, blockchain);
-      final Address miningBeneficiary =
-          miningBeneficiaryCalculator.calculateBeneficiary(blockHeader);
 
+      final int transactionIndex = i;
       final TransactionProcessingResult result =
-          transactionProcessor.processTransaction(
-              blockchain,
-              worldStateUpdater,
-              blockHeader,
-              transaction,
-              miningBeneficiary,
-              OperationTracer.NO_TRACING,
-              blockHashLookup,
-              true,
-              TransactionValidationParams.processingBlock(),
-              privateMetadataUpdater);
+          speculativeExecution
+              .flatMap(execution -> execution.commit(transactionIndex, worldStateUpdater))
+              .orElseGet(
+                  () ->
+                      transactionProcessor.processTransaction(
+                          blockchain,
+                          worldStateUpdater,
+                          blockHeader,
+                          transaction,
+                          blockContext.getMiningBeneficiary(),
+                          OperationTracer.NO_TRACING,
+                          blockContext.getBlockHashLookup(),
+                          true,
+                          TransactionValidationParams.processingBlock(),
+                          privateMetadataUpdater));
       if (result.isInvalid()) {
         LOG.info(
             "Block processing error: transaction invalid '{}'. Block {} Transaction {}",
@@ -199,10 +219,30 @@ public abstract class AbstractBlockProcessor implements BlockProcessor {
       return AbstractBlockProcessor.Result.failed();
     }
 
+    speculativeExecution.ifPresent(
+        execution ->
+            LOG.debug(
+                "Executed {} transactions of block {} in parallel, {} had to be re-executed",
+                transactions.size(),
+                blockHeader.getNumber(),
+                execution.getReExecutions()));
+
     worldState.persist(blockHeader);
     return AbstractBlockProcessor.Result.successful(receipts);
   }
 
+  /**
+   * Enables optimistic parallel execution of the transactions of a block. All transactions are
+   * first executed concurrently against the state at the start of the block, then committed in
+   * block order. A transaction that read a value changed by an earlier transaction of the block is
+   * executed again, so the resulting receipts and state are the same as with sequential execution.
+   *
+   * @param executor the executor to run speculative executions on
+   */
+  public void setParallelTransactionExecutor(final Executor executor) {
+    this.parallelTransactionExecutor = Optional.of(executor);
+  }
+
   protected boolean hasAvailableBlockBudget(
       final BlockHeader blockHeader, final Transaction transaction, final long currentGasUsed) {
     final long remainingGasBudget = blockHeader.getGasLimit() - currentGasUsed;
@@ -16,7 +16,9 @@ package org.hyperledger.besu.ethereum.mainnet;
 
 import org.hyperledger.besu.ethereum.core.Account;
 import org.hyperledger.besu.ethereum.core.Address;
+import org.hyperledger.besu.ethereum.core.Hash;
 import org.hyperledger.besu.ethereum.core.ModificationNotAllowedException;
+import org.hyperledger.besu.ethereum.vm.Code;
 import org.hyperledger.besu.ethereum.vm.EVM;
 import org.hyperledger.besu.ethereum.vm.MessageFrame;
 import org.hyperledger.besu.ethereum.vm.OperationTracer;
@@ -25,6 +27,8 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.stream.Collectors;
 
+import org.apache.tuweni.bytes.Bytes;
+
 /**
  * A skeletal class for instantiating message processors.
  *
@@ -191,4 +195,8 @@ public abstract class AbstractMessageProcessor {
       completedFailed(frame);
     }
   }
+
+  public Code getCodeFromEVM(final Hash codeHash, final Bytes codeBytes) {
+    return evm.getCode(codeHash, codeBytes);
+  }
 }
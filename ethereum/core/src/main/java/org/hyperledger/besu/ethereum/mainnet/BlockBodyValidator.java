@@ -51,9 +51,40 @@ public interface BlockBodyValidator {
    * @param ommerValidationMode The validation mode to use for ommer headers
    * @return {@code true} if valid; otherwise {@code false}
    */
+  default boolean validateBodyLight(
+      final ProtocolContext context,
+      final Block block,
+      final List<TransactionReceipt> receipts,
+      final HeaderValidationMode ommerValidationMode) {
+    return validateBodyLight(
+        context, block, receipts, ommerValidationMode, BodyValidationMode.LIGHT);
+  }
+
+  /**
+   * Validates that the block body is valid, but skips state root validation.
+   *
+   * @param context The context to validate against
+   * @param block The block to validate
+   * @param receipts The receipts that correspond to the blocks transactions
+   * @param ommerValidationMode The validation mode to use for ommer headers
+   * @param bodyValidationMode Determines whether the detached rules are checked
+   * @return {@code true} if valid; otherwise {@code false}
+   */
   boolean validateBodyLight(
       ProtocolContext context,
       Block block,
       List<TransactionReceipt> receipts,
-      final HeaderValidationMode ommerValidationMode);
+      HeaderValidationMode ommerValidationMode,
+      BodyValidationMode bodyValidationMode);
+
+  /**
+   * Validates the rules that only depend on the block and its receipts: the transactions root,
+   * receipts root, gas used, logs bloom and ommers hash. As these don't need the blockchain they
+   * can be checked for many blocks in parallel.
+   *
+   * @param block The block to validate
+   * @param receipts The receipts that correspond to the blocks transactions
+   * @return {@code true} if valid; otherwise {@code false}
+   */
+  boolean validateBodyDetached(Block block, List<TransactionReceipt> receipts);
 }
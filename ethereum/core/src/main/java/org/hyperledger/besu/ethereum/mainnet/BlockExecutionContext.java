@@ -0,0 +1,80 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet;
+
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.Address;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.ProcessableBlockHeader;
+import org.hyperledger.besu.ethereum.vm.BlockHashLookup;
+
+/**
+ * The values that stay constant while executing the transactions of a single block.
+ *
+ * <p>A context should be created once per block and reused for all of its transactions so that the
+ * ancestor hashes resolved by the {@link BlockHashLookup} are only walked once per block. Like the
+ * lookup it holds, a context is not thread safe.
+ */
+public class BlockExecutionContext {
+
+  private final Blockchain blockchain;
+  private final ProcessableBlockHeader blockHeader;
+  private final Address miningBeneficiary;
+  private final BlockHashLookup blockHashLookup;
+
+  public BlockExecutionContext(
+      final Blockchain blockchain,
+      final ProcessableBlockHeader blockHeader,
+      final Address miningBeneficiary) {
+    this.blockchain = blockchain;
+    this.blockHeader = blockHeader;
+    this.miningBeneficiary = miningBeneficiary;
+    this.blockHashLookup = new BlockHashLookup(blockHeader, blockchain);
+  }
+
+  public static BlockExecutionContext forBlock(
+      final Blockchain blockchain,
+      final BlockHeader blockHeader,
+      final MiningBeneficiaryCalculator miningBeneficiaryCalculator) {
+    return new BlockExecutionContext(
+        blockchain, blockHeader, miningBeneficiaryCalculator.calculateBeneficiary(blockHeader));
+  }
+
+  public Blockchain getBlockchain() {
+    return blockchain;
+  }
+
+  public ProcessableBlockHeader getBlockHeader() {
+    return blockHeader;
+  }
+
+  public Address getMiningBeneficiary() {
+    return miningBeneficiary;
+  }
+
+  public BlockHashLookup getBlockHashLookup() {
+    return blockHashLookup;
+  }
+
+  /**
+   * Whether this context was created for the given header instance.
+   *
+   * @param header the header of the block being executed
+   * @return true if the context can be reused for transactions of that block
+   */
+  public boolean isFor(final ProcessableBlockHeader header) {
+    return blockHeader == header;
+  }
+}
@@ -83,7 +83,26 @@ public class MainnetBlockBodyValidator implements BlockBodyValidator {
       final ProtocolContext context,
       final Block block,
       final List<TransactionReceipt> receipts,
-      final HeaderValidationMode ommerValidationMode) {
+      final HeaderValidationMode ommerValidationMode,
+      final BodyValidationMode bodyValidationMode) {
+    if (bodyValidationMode == BodyValidationMode.LIGHT && !validateBodyDetached(block, receipts)) {
+      return false;
+    }
+
+    if (!validateOmmers(
+        context, block.getHeader(), block.getBody().getOmmers(), ommerValidationMode)) {
+      return false;
+    }
+
+    if (!validateTransactionGasPrice(block)) {
+      return false;
+    }
+
+    return true;
+  }
+
+  @Override
+  public boolean validateBodyDetached(final Block block, final List<TransactionReceipt> receipts) {
     final BlockHeader header = block.getHeader();
     final BlockBody body = block.getBody();
 
@@ -107,11 +126,8 @@ public class MainnetBlockBodyValidator implements BlockBodyValidator {
       return false;
     }
 
-    if (!validateEthHash(context, block, ommerValidationMode)) {
-      return false;
-    }
-
-    if (!validateTransactionGasPrice(block)) {
+    final Bytes32 ommerHash = BodyValidation.ommersHash(body.getOmmers());
+    if (!validateOmmersHash(header.getOmmersHash(), ommerHash)) {
       return false;
     }
 
@@ -166,25 +182,6 @@ public class MainnetBlockBodyValidator implements BlockBodyValidator {
     return true;
   }
 
-  private boolean validateEthHash(
-      final ProtocolContext context,
-      final Block block,
-      final HeaderValidationMode ommerValidationMode) {
-    final BlockHeader header = block.getHeader();
-    final BlockBody body = block.getBody();
-
-    final Bytes32 ommerHash = BodyValidation.ommersHash(body.getOmmers());
-    if (!validateOmmersHash(header.getOmmersHash(), ommerHash)) {
-      return false;
-    }
-
-    if (!validateOmmers(context, header, body.getOmmers(), ommerValidationMode)) {
-      return false;
-    }
-
-    return true;
-  }
-
   private static boolean validateOmmersHash(final Bytes32 expected, final Bytes32 actual) {
     if (!expected.equals(actual)) {
       LOG.warn("Invalid block: ommers hash mismatch (expected={}, actual={})", expected, actual);
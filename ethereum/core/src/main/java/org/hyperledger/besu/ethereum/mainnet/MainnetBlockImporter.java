@@ -58,10 +58,16 @@ public class MainnetBlockImporter implements BlockImporter {
       final Block block,
       final List<TransactionReceipt> receipts,
       final HeaderValidationMode headerValidationMode,
-      final HeaderValidationMode ommerValidationMode) {
+      final HeaderValidationMode ommerValidationMode,
+      final BodyValidationMode bodyValidationMode) {
 
     if (blockValidator.fastBlockValidation(
-        context, block, receipts, headerValidationMode, ommerValidationMode)) {
+        context,
+        block,
+        receipts,
+        headerValidationMode,
+        ommerValidationMode,
+        bodyValidationMode)) {
       context.getBlockchain().appendBlock(block, receipts);
       return true;
     }
@@ -24,6 +24,7 @@ import java.util.Comparator;
 import java.util.NavigableSet;
 import java.util.Optional;
 import java.util.TreeSet;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -100,4 +101,15 @@ public class MutableProtocolSchedule implements ProtocolSchedule {
                 .setPublicWorldStateArchive(publicWorldStateArchive);
         });
   }
+
+  @Override
+  public void setParallelTransactionExecutor(final Executor executor) {
+    protocolSpecs.forEach(
+        spec -> {
+          final BlockProcessor blockProcessor = spec.getSpec().getBlockProcessor();
+          if (blockProcessor instanceof AbstractBlockProcessor) {
+            ((AbstractBlockProcessor) blockProcessor).setParallelTransactionExecutor(executor);
+          }
+        });
+  }
 }
@@ -19,6 +19,7 @@ import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
 
 import java.math.BigInteger;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.stream.Stream;
 
 public interface ProtocolSchedule {
@@ -33,4 +34,6 @@ public interface ProtocolSchedule {
 
   void setPublicWorldStateArchiveForPrivacyBlockProcessor(
       WorldStateArchive publicWorldStateArchive);
+
+  void setParallelTransactionExecutor(Executor executor);
 }
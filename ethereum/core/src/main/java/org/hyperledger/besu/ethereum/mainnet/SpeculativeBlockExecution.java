@@ -0,0 +1,187 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet;
+
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.Address;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.WorldUpdater;
+import org.hyperledger.besu.ethereum.core.WorldView;
+import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
+import org.hyperledger.besu.ethereum.vm.BlockHashLookup;
+import org.hyperledger.besu.ethereum.vm.OperationTracer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Executes all the transactions of a block concurrently against the state at the start of the
+ * block, so that the block processor can then commit their results in block order.
+ *
+ * <p>A speculative result can only be used if none of the values the transaction read was changed
+ * by the transactions committed before it. Otherwise, the transaction has to be executed again
+ * against the up-to-date state.
+ */
+class SpeculativeBlockExecution {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final MainnetTransactionProcessor transactionProcessor;
+  private final Blockchain blockchain;
+  private final WorldView blockState;
+  private final BlockHeader blockHeader;
+  private final Address miningBeneficiary;
+  private final List<Transaction> transactions;
+  private final List<CompletableFuture<Speculation>> speculations;
+  private final AtomicInteger nextTransaction = new AtomicInteger();
+  private final Object blockStateLock = new Object();
+  private int reExecutions;
+
+  private SpeculativeBlockExecution(
+      final MainnetTransactionProcessor transactionProcessor,
+      final Blockchain blockchain,
+      final WorldView blockState,
+      final BlockHeader blockHeader,
+      final Address miningBeneficiary,
+      final List<Transaction> transactions) {
+    this.transactionProcessor = transactionProcessor;
+    this.blockchain = blockchain;
+    this.blockState = blockState;
+    this.blockHeader = blockHeader;
+    this.miningBeneficiary = miningBeneficiary;
+    this.transactions = transactions;
+    this.speculations = new ArrayList<>(transactions.size());
+    for (int i = 0; i < transactions.size(); i++) {
+      speculations.add(new CompletableFuture<>());
+    }
+  }
+
+  /**
+   * Speculatively executes the given transactions and waits for all of them to complete. The
+   * calling thread takes part in the execution, so this completes even if the executor is busy.
+   *
+   * <p>The block state must not be modified until this method returns.
+   */
+  static SpeculativeBlockExecution execute(
+      final Executor executor,
+      final MainnetTransactionProcessor transactionProcessor,
+      final Blockchain blockchain,
+      final WorldView blockState,
+      final BlockHeader blockHeader,
+      final Address miningBeneficiary,
+      final List<Transaction> transactions) {
+    final SpeculativeBlockExecution execution =
+        new SpeculativeBlockExecution(
+            transactionProcessor,
+            blockchain,
+            blockState,
+            blockHeader,
+            miningBeneficiary,
+            transactions);
+    final int workers =
+        Math.min(transactions.size() - 1, Runtime.getRuntime().availableProcessors());
+    try {
+      for (int i = 0; i < workers; i++) {
+        executor.execute(execution::executeRemaining);
+      }
+    } catch (final RejectedExecutionException e) {
+      LOG.debug("Executor rejected speculative execution, continuing on the calling thread");
+    }
+    execution.executeRemaining();
+    execution.speculations.forEach(CompletableFuture::join);
+    return execution;
+  }
+
+  private void executeRemaining() {
+    int index;
+    while ((index = nextTransaction.getAndIncrement()) < transactions.size()) {
+      speculations.get(index).complete(speculate(transactions.get(index)));
+    }
+  }
+
+  private Speculation speculate(final Transaction transaction) {
+    final SpeculativeWorldUpdater updater =
+        new SpeculativeWorldUpdater(
+            blockState, blockStateLock, transaction.getSender(), miningBeneficiary);
+    try {
+      final TransactionProcessingResult result =
+          transactionProcessor.processTransaction(
+              blockchain,
+              updater,
+              blockHeader,
+              transaction,
+              miningBeneficiary,
+              OperationTracer.NO_TRACING,
+              // BlockHashLookup is not thread safe, so each speculation walks the chain on its own
+              new BlockHashLookup(blockHeader, blockchain),
+              true,
+              TransactionValidationParams.processingBlock(),
+              null);
+      return new Speculation(updater, result);
+    } catch (final Throwable e) {
+      // errors are caught too, so that commit never waits on a speculation that never completes;
+      // the transaction is then executed again on the importing thread, where an error surfaces
+      LOG.debug("Speculative execution of transaction {} failed", transaction.getHash(), e);
+      return new Speculation(updater, null);
+    }
+  }
+
+  /**
+   * Applies the speculative result of a transaction if it is still valid.
+   *
+   * @param index the index of the transaction in the block
+   * @param worldUpdater the updater holding the state after all preceding transactions
+   * @return the result of the transaction, or empty if it has to be executed again
+   */
+  Optional<TransactionProcessingResult> commit(final int index, final WorldUpdater worldUpdater) {
+    final Speculation speculation = speculations.get(index).join();
+    if (speculation.result == null
+        || speculation.result.isInvalid()
+        || !speculation.updater.isConsistentWith(worldUpdater)) {
+      LOG.trace(
+          "Re-executing transaction {} of block {}",
+          transactions.get(index).getHash(),
+          blockHeader.getNumber());
+      reExecutions++;
+      return Optional.empty();
+    }
+    speculation.updater.applyTo(worldUpdater, transactionProcessor.clearEmptyAccounts);
+    return Optional.of(speculation.result);
+  }
+
+  int getReExecutions() {
+    return reExecutions;
+  }
+
+  private static class Speculation {
+    private final SpeculativeWorldUpdater updater;
+    private final TransactionProcessingResult result;
+
+    private Speculation(
+        final SpeculativeWorldUpdater updater, final TransactionProcessingResult result) {
+      this.updater = updater;
+      this.result = result;
+    }
+  }
+}
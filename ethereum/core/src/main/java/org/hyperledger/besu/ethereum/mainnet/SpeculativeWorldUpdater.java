@@ -0,0 +1,333 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet;
+
+import org.hyperledger.besu.ethereum.core.AbstractWorldUpdater;
+import org.hyperledger.besu.ethereum.core.Account;
+import org.hyperledger.besu.ethereum.core.AccountStorageEntry;
+import org.hyperledger.besu.ethereum.core.Address;
+import org.hyperledger.besu.ethereum.core.EvmAccount;
+import org.hyperledger.besu.ethereum.core.Hash;
+import org.hyperledger.besu.ethereum.core.MutableAccount;
+import org.hyperledger.besu.ethereum.core.UpdateTrackingAccount;
+import org.hyperledger.besu.ethereum.core.Wei;
+import org.hyperledger.besu.ethereum.core.WorldUpdater;
+import org.hyperledger.besu.ethereum.core.WorldView;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.units.bigints.UInt256;
+
+/**
+ * A {@link WorldUpdater} executing a single transaction against the state at the start of its
+ * block, concurrently with the other transactions of the block.
+ *
+ * <p>Every account and storage value the transaction reads from that state is recorded, so that
+ * once the preceding transactions have been committed {@link #isConsistentWith(WorldView)} can tell
+ * whether the transaction would have observed the same values had it been executed in order. The
+ * fee credited to the mining beneficiary at the end of the transaction is not treated as a read:
+ * unless the transaction otherwise interacts with the beneficiary, the credit is replayed as a
+ * balance increment by {@link #applyTo(WorldUpdater, boolean)}. Otherwise every transaction would
+ * conflict with all the ones before it.
+ *
+ * <p>Reads from the block state are serialized on the lock shared by all the updaters of a block,
+ * as world state implementations are not safe for concurrent use.
+ */
+class SpeculativeWorldUpdater
+    extends AbstractWorldUpdater<
+        SpeculativeWorldUpdater.RecordingWorldView, SpeculativeWorldUpdater.RecordingAccount> {
+
+  private final Address sender;
+  private final Address miningBeneficiary;
+  // The balance the fee was credited to, or null if no fee has been credited.
+  private Wei beneficiaryBalanceBeforeReward;
+
+  SpeculativeWorldUpdater(
+      final WorldView blockState,
+      final Object blockStateLock,
+      final Address sender,
+      final Address miningBeneficiary) {
+    super(new RecordingWorldView(blockState, blockStateLock, miningBeneficiary));
+    this.sender = sender;
+    this.miningBeneficiary = miningBeneficiary;
+  }
+
+  @Override
+  protected RecordingAccount getForMutation(final Address address) {
+    return wrappedWorldView().get(address);
+  }
+
+  @Override
+  public EvmAccount getAccount(final Address address) {
+    // The transaction processor only loads the beneficiary directly from this updater to credit
+    // the fee, once execution is over. Execution itself goes through child updaters.
+    if (!address.equals(miningBeneficiary) || address.equals(sender)) {
+      return super.getAccount(address);
+    }
+    final RecordingWorldView view = wrappedWorldView();
+    view.rewardingBeneficiary = true;
+    try {
+      final Account current = get(address);
+      beneficiaryBalanceBeforeReward = current == null ? Wei.ZERO : current.getBalance();
+      return super.getAccount(address);
+    } finally {
+      view.rewardingBeneficiary = false;
+    }
+  }
+
+  @Override
+  public Collection<? extends Account> getTouchedAccounts() {
+    return new ArrayList<>(getUpdatedAccounts());
+  }
+
+  @Override
+  public Collection<Address> getDeletedAccountAddresses() {
+    return new ArrayList<>(getDeletedAccounts());
+  }
+
+  @Override
+  public void revert() {
+    reset();
+  }
+
+  @Override
+  public void commit() {
+    throw new UnsupportedOperationException("Speculative updates must be applied to an updater");
+  }
+
+  private boolean isRewardDeferred() {
+    return beneficiaryBalanceBeforeReward != null && !wrappedWorldView().beneficiaryObserved;
+  }
+
+  /**
+   * Checks that every value read by the transaction is unchanged in the given state.
+   *
+   * @param state the state resulting from the preceding transactions of the block
+   * @return true if executing the transaction against {@code state} would read the same values
+   */
+  boolean isConsistentWith(final WorldView state) {
+    final boolean rewardDeferred = isRewardDeferred();
+    for (final Map.Entry<Address, Optional<RecordingAccount>> read :
+        wrappedWorldView().reads.entrySet()) {
+      if (rewardDeferred && read.getKey().equals(miningBeneficiary)) {
+        continue;
+      }
+      final Account current = state.get(read.getKey());
+      final boolean consistent =
+          read.getValue().map(account -> account.isConsistentWith(current)).orElse(current == null);
+      if (!consistent) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Replays the updates made by the transaction onto the given updater.
+   *
+   * @param target the updater to apply the updates to
+   * @param clearEmptyAccounts whether empty accounts touched by the transaction get deleted
+   */
+  void applyTo(final WorldUpdater target, final boolean clearEmptyAccounts) {
+    final boolean rewardDeferred = isRewardDeferred();
+    for (final Address address : getDeletedAccounts()) {
+      if (!rewardDeferred || !address.equals(miningBeneficiary)) {
+        target.deleteAccount(address);
+      }
+    }
+    Wei reward = Wei.ZERO;
+    for (final UpdateTrackingAccount<RecordingAccount> update : getUpdatedAccounts()) {
+      final Address address = update.getAddress();
+      if (rewardDeferred && address.equals(miningBeneficiary)) {
+        reward = update.getBalance().subtract(beneficiaryBalanceBeforeReward);
+        continue;
+      }
+      final MutableAccount account =
+          update.getWrappedAccount() == null
+              ? target.createAccount(address).getMutable()
+              : target.getAccount(address).getMutable();
+      account.setNonce(update.getNonce());
+      account.setBalance(update.getBalance());
+      if (update.codeWasUpdated()) {
+        account.setCode(update.getCode());
+        account.setVersion(update.getVersion());
+      }
+      if (update.getStorageWasCleared()) {
+        account.clearStorage();
+      }
+      update.getUpdatedStorage().forEach(account::setStorageValue);
+    }
+    if (rewardDeferred) {
+      final MutableAccount beneficiary = target.getOrCreate(miningBeneficiary).getMutable();
+      beneficiary.incrementBalance(reward);
+      if (clearEmptyAccounts && beneficiary.isEmpty()) {
+        target.deleteAccount(miningBeneficiary);
+      }
+    }
+  }
+
+  static class RecordingWorldView implements WorldView {
+
+    private final WorldView blockState;
+    private final Object blockStateLock;
+    private final Address miningBeneficiary;
+    private final Map<Address, Optional<RecordingAccount>> reads = new HashMap<>();
+    private boolean rewardingBeneficiary;
+    private boolean beneficiaryObserved;
+
+    private RecordingWorldView(
+        final WorldView blockState, final Object blockStateLock, final Address miningBeneficiary) {
+      this.blockState = blockState;
+      this.blockStateLock = blockStateLock;
+      this.miningBeneficiary = miningBeneficiary;
+    }
+
+    @Override
+    public RecordingAccount get(final Address address) {
+      if (!rewardingBeneficiary && address.equals(miningBeneficiary)) {
+        beneficiaryObserved = true;
+      }
+      return reads.computeIfAbsent(address, this::read).orElse(null);
+    }
+
+    private Optional<RecordingAccount> read(final Address address) {
+      synchronized (blockStateLock) {
+        return Optional.ofNullable(blockState.get(address))
+            .map(account -> new RecordingAccount(account, blockStateLock));
+      }
+    }
+  }
+
+  static class RecordingAccount implements Account {
+
+    private final Account account;
+    private final Object lock;
+    private final long nonce;
+    private final Wei balance;
+    private final Hash codeHash;
+    private final int version;
+    private final Map<UInt256, UInt256> storageReads = new HashMap<>();
+    private final Map<UInt256, UInt256> originalStorageReads = new HashMap<>();
+
+    private RecordingAccount(final Account account, final Object lock) {
+      this.account = account;
+      this.lock = lock;
+      this.nonce = account.getNonce();
+      this.balance = account.getBalance();
+      this.codeHash = account.getCodeHash();
+      this.version = account.getVersion();
+    }
+
+    private boolean isConsistentWith(final Account current) {
+      if (current == null
+          || current.getNonce() != nonce
+          || !current.getBalance().equals(balance)
+          || !current.getCodeHash().equals(codeHash)
+          || current.getVersion() != version) {
+        return false;
+      }
+      for (final Map.Entry<UInt256, UInt256> read : storageReads.entrySet()) {
+        if (!current.getStorageValue(read.getKey()).equals(read.getValue())) {
+          return false;
+        }
+      }
+      for (final Map.Entry<UInt256, UInt256> read : originalStorageReads.entrySet()) {
+        if (!current.getOriginalStorageValue(read.getKey()).equals(read.getValue())) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public Address getAddress() {
+      return account.getAddress();
+    }
+
+    @Override
+    public Hash getAddressHash() {
+      return account.getAddressHash();
+    }
+
+    @Override
+    public long getNonce() {
+      return nonce;
+    }
+
+    @Override
+    public Wei getBalance() {
+      return balance;
+    }
+
+    @Override
+    public Bytes getCode() {
+      synchronized (lock) {
+        return account.getCode();
+      }
+    }
+
+    @Override
+    public Hash getCodeHash() {
+      return codeHash;
+    }
+
+    @Override
+    public boolean hasCode() {
+      return !codeHash.equals(Hash.EMPTY);
+    }
+
+    @Override
+    public int getVersion() {
+      return version;
+    }
+
+    @Override
+    public UInt256 getStorageValue(final UInt256 key) {
+      return storageReads.computeIfAbsent(
+          key,
+          k -> {
+            synchronized (lock) {
+              return account.getStorageValue(k);
+            }
+          });
+    }
+
+    @Override
+    public UInt256 getOriginalStorageValue(final UInt256 key) {
+      return originalStorageReads.computeIfAbsent(
+          key,
+          k -> {
+            synchronized (lock) {
+              return account.getOriginalStorageValue(k);
+            }
+          });
+    }
+
+    @Override
+    public NavigableMap<Bytes32, AccountStorageEntry> storageEntriesFrom(
+        final Bytes32 startKeyHash, final int limit) {
+      synchronized (lock) {
+        return account.storageEntriesFrom(startKeyHash, limit);
+      }
+    }
+  }
+}
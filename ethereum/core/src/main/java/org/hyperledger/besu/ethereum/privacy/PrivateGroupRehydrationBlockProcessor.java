@@ -30,6 +30,7 @@ import org.hyperledger.besu.ethereum.core.TransactionReceipt;
 import org.hyperledger.besu.ethereum.core.Wei;
 import org.hyperledger.besu.ethereum.core.WorldUpdater;
 import org.hyperledger.besu.ethereum.mainnet.AbstractBlockProcessor;
+import org.hyperledger.besu.ethereum.mainnet.BlockExecutionContext;
 import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionProcessor;
 import org.hyperledger.besu.ethereum.mainnet.MiningBeneficiaryCalculator;
 import org.hyperledger.besu.ethereum.mainnet.TransactionValidationParams;
@@ -38,7 +39,6 @@ import org.hyperledger.besu.ethereum.privacy.storage.PrivateMetadataUpdater;
 import org.hyperledger.besu.ethereum.privacy.storage.PrivateStateStorage;
 import org.hyperledger.besu.ethereum.privacy.storage.PrivateTransactionMetadata;
 import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
-import org.hyperledger.besu.ethereum.vm.BlockHashLookup;
 import org.hyperledger.besu.ethereum.vm.OperationTracer;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
 
@@ -95,6 +95,8 @@ public class PrivateGroupRehydrationBlockProcessor {
     final BlockHeader blockHeader = block.getHeader();
     final PrivateMetadataUpdater metadataUpdater =
         new PrivateMetadataUpdater(blockHeader, privateStateStorage);
+    final BlockExecutionContext blockContext =
+        BlockExecutionContext.forBlock(blockchain, blockHeader, miningBeneficiaryCalculator);
 
     for (final Transaction transaction : transactions) {
 
@@ -109,9 +111,6 @@ public class PrivateGroupRehydrationBlockProcessor {
       }
 
       final WorldUpdater worldStateUpdater = worldState.updater();
-      final BlockHashLookup blockHashLookup = new BlockHashLookup(blockHeader, blockchain);
-      final Address miningBeneficiary =
-          miningBeneficiaryCalculator.calculateBeneficiary(blockHeader);
 
       final Hash transactionHash = transaction.getHash();
       if (forExecution.containsKey(transactionHash)) {
@@ -138,9 +137,9 @@ public class PrivateGroupRehydrationBlockProcessor {
                 blockHeader,
                 transactionHash,
                 privateTransaction,
-                miningBeneficiary,
+                blockContext.getMiningBeneficiary(),
                 OperationTracer.NO_TRACING,
-                new BlockHashLookup(blockHeader, blockchain),
+                blockContext.getBlockHashLookup(),
                 privateTransaction.getPrivacyGroupId().get());
 
         privateStateUpdater.commit();
@@ -164,8 +163,8 @@ public class PrivateGroupRehydrationBlockProcessor {
               worldStateUpdater,
               blockHeader,
               transaction,
-              miningBeneficiary,
-              blockHashLookup,
+              blockContext.getMiningBeneficiary(),
+              blockContext.getBlockHashLookup(),
               false,
               TransactionValidationParams.processingBlock());
       if (result.isInvalid()) {
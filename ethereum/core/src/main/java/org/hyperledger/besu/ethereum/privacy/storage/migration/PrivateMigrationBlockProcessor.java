@@ -15,7 +15,6 @@
 package org.hyperledger.besu.ethereum.privacy.storage.migration;
 
 import org.hyperledger.besu.ethereum.chain.Blockchain;
-import org.hyperledger.besu.ethereum.core.Address;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.MutableAccount;
 import org.hyperledger.besu.ethereum.core.MutableWorldState;
@@ -25,12 +24,12 @@ import org.hyperledger.besu.ethereum.core.TransactionReceipt;
 import org.hyperledger.besu.ethereum.core.Wei;
 import org.hyperledger.besu.ethereum.core.WorldUpdater;
 import org.hyperledger.besu.ethereum.mainnet.AbstractBlockProcessor;
+import org.hyperledger.besu.ethereum.mainnet.BlockExecutionContext;
 import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionProcessor;
 import org.hyperledger.besu.ethereum.mainnet.MiningBeneficiaryCalculator;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
 import org.hyperledger.besu.ethereum.mainnet.TransactionValidationParams;
 import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
-import org.hyperledger.besu.ethereum.vm.BlockHashLookup;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -80,6 +79,8 @@ public class PrivateMigrationBlockProcessor {
       final List<BlockHeader> ommers) {
     long gasUsed = 0;
     final List<TransactionReceipt> receipts = new ArrayList<>();
+    final BlockExecutionContext blockContext =
+        BlockExecutionContext.forBlock(blockchain, blockHeader, miningBeneficiaryCalculator);
 
     for (final Transaction transaction : transactions) {
       final long remainingGasBudget = blockHeader.getGasLimit() - gasUsed;
@@ -93,9 +94,6 @@ public class PrivateMigrationBlockProcessor {
       }
 
       final WorldUpdater worldStateUpdater = worldState.updater();
-      final BlockHashLookup blockHashLookup = new BlockHashLookup(blockHeader, blockchain);
-      final Address miningBeneficiary =
-          miningBeneficiaryCalculator.calculateBeneficiary(blockHeader);
 
       final TransactionProcessingResult result =
           transactionProcessor.processTransaction(
@@ -103,8 +101,8 @@ public class PrivateMigrationBlockProcessor {
               worldStateUpdater,
               blockHeader,
               transaction,
-              miningBeneficiary,
-              blockHashLookup,
+              blockContext.getMiningBeneficiary(),
+              blockContext.getBlockHashLookup(),
               true,
               TransactionValidationParams.processingBlock());
       if (result.isInvalid()) {
@@ -18,14 +18,16 @@ import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.BlockBody;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.Transaction;
-import org.hyperledger.besu.ethereum.rlp.BytesValueRLPInput;
+import org.hyperledger.besu.ethereum.rlp.ByteBufferRLPInput;
 import org.hyperledger.besu.ethereum.rlp.RLP;
 import org.hyperledger.besu.ethereum.rlp.RLPInput;
 
 import java.io.Closeable;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
 import java.nio.file.Path;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
@@ -33,29 +35,39 @@ import java.util.function.Function;
 
 import org.apache.tuweni.bytes.Bytes;
 
+/**
+ * Iterates over the blocks stored as concatenated RLP in a file. The file is memory-mapped in
+ * windows and blocks are decoded in place, so the values of a block are views of the mapped file
+ * rather than heap copies.
+ */
 public final class RawBlockIterator implements Iterator<Block>, Closeable {
-  private static final int DEFAULT_INIT_BUFFER_CAPACITY = 1 << 16;
+  private static final int DEFAULT_WINDOW_SIZE = 1 << 26;
+  // Enough bytes to hold the prefix of any RLP item.
+  private static final int MAX_PREFIX_SIZE = 9;
 
   private final FileChannel fileChannel;
   private final Function<RLPInput, BlockHeader> headerReader;
-  private ByteBuffer readBuffer;
+  private final long fileSize;
+  private final int windowSize;
+  private MappedByteBuffer window;
+  private long windowStart;
+  private long position;
 
   private Block next;
 
   RawBlockIterator(
-      final Path file,
-      final Function<RLPInput, BlockHeader> headerReader,
-      final int initialCapacity)
+      final Path file, final Function<RLPInput, BlockHeader> headerReader, final int windowSize)
       throws IOException {
     fileChannel = FileChannel.open(file);
     this.headerReader = headerReader;
-    readBuffer = ByteBuffer.allocate(initialCapacity);
+    this.fileSize = fileChannel.size();
+    this.windowSize = windowSize;
     nextBlock();
   }
 
   public RawBlockIterator(final Path file, final Function<RLPInput, BlockHeader> headerReader)
       throws IOException {
-    this(file, headerReader, DEFAULT_INIT_BUFFER_CAPACITY);
+    this(file, headerReader, DEFAULT_WINDOW_SIZE);
   }
 
   @Override
@@ -83,35 +95,38 @@ public final class RawBlockIterator implements Iterator<Block>, Closeable {
   }
 
   private void nextBlock() throws IOException {
-    fillReadBuffer();
-    int initial = readBuffer.position();
-    if (initial > 0) {
-      final int length = RLP.calculateSize(Bytes.wrapByteBuffer(readBuffer));
-      if (length > readBuffer.capacity()) {
-        readBuffer.flip();
-        final ByteBuffer newBuffer = ByteBuffer.allocate(2 * length);
-        newBuffer.put(readBuffer);
-        readBuffer = newBuffer;
-        fillReadBuffer();
-        initial = readBuffer.position();
-      }
-
-      final Bytes rlpBytes = Bytes.wrap(Bytes.wrapByteBuffer(readBuffer, 0, length).toArray());
-      final RLPInput rlp = new BytesValueRLPInput(rlpBytes, false);
-      rlp.enterList();
-      final BlockHeader header = headerReader.apply(rlp);
-      final BlockBody body =
-          new BlockBody(rlp.readList(Transaction::readFrom), rlp.readList(headerReader));
-      next = new Block(header, body);
-      readBuffer.position(length);
-      readBuffer.compact();
-      readBuffer.position(initial - length);
-    } else {
+    if (position >= fileSize) {
       next = null;
+      return;
     }
+    final ByteBuffer prefix = mapped(MAX_PREFIX_SIZE);
+    final int length = RLP.calculateSize(Bytes.wrapByteBuffer(prefix));
+    final RLPInput rlp = new ByteBufferRLPInput(mapped(length), false);
+    rlp.enterList();
+    final BlockHeader header = headerReader.apply(rlp);
+    final BlockBody body =
+        new BlockBody(rlp.readList(Transaction::readFrom), rlp.readList(headerReader));
+    next = new Block(header, body);
+    position += length;
   }
 
-  private void fillReadBuffer() throws IOException {
-    fileChannel.read(readBuffer);
+  /**
+   * Returns a view of the file from the current position, remapping the window if it does not
+   * cover the requested length. The view is shorter than requested at the end of the file.
+   */
+  private ByteBuffer mapped(final int length) throws IOException {
+    final long available = Math.min(length, fileSize - position);
+    if (window == null
+        || position < windowStart
+        || position + available > windowStart + window.capacity()) {
+      windowStart = position;
+      window =
+          fileChannel.map(
+              MapMode.READ_ONLY,
+              windowStart,
+              Math.min(fileSize - windowStart, Math.max(windowSize, length)));
+    }
+    final int offset = Math.toIntExact(position - windowStart);
+    return window.duplicate().position(offset).limit(offset + (int) available).slice();
   }
 }
@@ -15,6 +15,7 @@
 package org.hyperledger.besu.ethereum.vm;
 
 import org.hyperledger.besu.ethereum.vm.operations.JumpDestOperation;
+import org.hyperledger.besu.ethereum.vm.operations.PushOperation;
 
 import java.util.BitSet;
 
@@ -25,11 +26,23 @@ import org.apache.tuweni.units.bigints.UInt256;
 /** Represents EVM code associated with an account. */
 public class Code {
 
+  /** Code without any bytes, shared because it carries no analysis state. */
+  public static final Code EMPTY = new Code(Bytes.EMPTY);
+
   /** The bytes representing the code. */
   private final Bytes bytes;
 
-  /** Used to cache valid jump destinations. */
-  private BitSet validJumpDestinations;
+  /**
+   * Used to cache valid jump destinations. Code instances are shared between threads through the
+   * {@link CodeCache}, so the bitmap is only published once it is fully populated.
+   */
+  private volatile BitSet validJumpDestinations;
+
+  /** Operations at every offset of the code, as decoded by the EVM that last executed it. */
+  private volatile DecodedOperations decodedOperations;
+
+  /** Values pushed by each PUSH operation in the code, indexed by the offset of the operation. */
+  private volatile UInt256[] pushImmediates;
 
   /**
    * Public constructor.
@@ -89,27 +102,96 @@ public class Code {
     final int jumpDestination = destination.intValue();
     if (jumpDestination >= getSize()) return false;
 
-    if (validJumpDestinations == null) {
+    BitSet jumpDestinations = validJumpDestinations;
+    if (jumpDestinations == null) {
       // Calculate valid jump destinations
-      validJumpDestinations = new BitSet(getSize());
+      final BitSet calculated = new BitSet(getSize());
       evm.forEachOperation(
           this,
           frame.getContractAccountVersion(),
           (final Operation op, final Integer offset) -> {
             if (op.getOpcode() == JumpDestOperation.OPCODE) {
-              validJumpDestinations.set(offset);
+              calculated.set(offset);
             }
           });
+      validJumpDestinations = calculated;
+      jumpDestinations = calculated;
     }
-    return validJumpDestinations.get(jumpDestination);
+    return jumpDestinations.get(jumpDestination);
   }
 
   public Bytes getBytes() {
     return bytes;
   }
 
+  /**
+   * Returns the operation at every offset of this code, decoding the code if it has not yet been
+   * decoded by the given EVM.
+   *
+   * @param evm the EVM executing this code
+   * @param contractAccountVersion the account version the code is executed with
+   * @return the operation starting at each offset of the code
+   */
+  Operation[] getDecodedOperations(final EVM evm, final int contractAccountVersion) {
+    DecodedOperations decoded = decodedOperations;
+    if (decoded == null || !decoded.isFor(evm, contractAccountVersion)) {
+      final Operation[] operations = new Operation[getSize()];
+      for (int offset = 0; offset < operations.length; offset++) {
+        operations[offset] = evm.operationAtOffset(this, contractAccountVersion, offset);
+      }
+      decoded = new DecodedOperations(evm, contractAccountVersion, operations);
+      if (pushImmediates == null) {
+        pushImmediates = decodePushImmediates(operations);
+      }
+      decodedOperations = decoded;
+    }
+    return decoded.operations;
+  }
+
+  /**
+   * Returns the pre-decoded value pushed by the PUSH operation at the given offset.
+   *
+   * @param offset the offset of the PUSH operation
+   * @return the value to push, or null if the code has not been decoded
+   */
+  public UInt256 getPushImmediate(final int offset) {
+    final UInt256[] immediates = pushImmediates;
+    return immediates == null ? null : immediates[offset];
+  }
+
+  private UInt256[] decodePushImmediates(final Operation[] operations) {
+    final UInt256[] immediates = new UInt256[operations.length];
+    int offset = 0;
+    while (offset < operations.length) {
+      final Operation operation = operations[offset];
+      if (operation instanceof PushOperation) {
+        immediates[offset] =
+            PushOperation.readImmediate(bytes, offset, operation.getOpSize() - 1);
+      }
+      offset += operation.getOpSize();
+    }
+    return immediates;
+  }
+
   @Override
   public String toString() {
     return MoreObjects.toStringHelper(this).add("bytes", bytes).toString();
   }
+
+  private static class DecodedOperations {
+    private final EVM evm;
+    private final int contractAccountVersion;
+    private final Operation[] operations;
+
+    private DecodedOperations(
+        final EVM evm, final int contractAccountVersion, final Operation[] operations) {
+      this.evm = evm;
+      this.contractAccountVersion = contractAccountVersion;
+      this.operations = operations;
+    }
+
+    private boolean isFor(final EVM evm, final int contractAccountVersion) {
+      return this.evm == evm && this.contractAccountVersion == contractAccountVersion;
+    }
+  }
 }
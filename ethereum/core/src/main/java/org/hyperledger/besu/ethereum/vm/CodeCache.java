@@ -0,0 +1,153 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.vm;
+
+import org.hyperledger.besu.ethereum.core.Hash;
+import org.hyperledger.besu.ethereum.vm.operations.PushOperation;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+
+import java.util.concurrent.ExecutionException;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * A bounded, concurrent cache of analyzed {@link Code} keyed by code hash.
+ *
+ * <p>Jump destination analysis is independent of the hard fork being executed, so a single cache
+ * is shared by every {@link EVM} and reused across transactions and blocks. Entries are weighed by
+ * an estimate of the heap they retain once executed, so that the cache is bounded by memory rather
+ * than by the amount of bytecode alone.
+ */
+public class CodeCache {
+
+  /** Default upper bound on the estimated heap, in bytes, retained by the cached code. */
+  public static final long DEFAULT_MAXIMUM_RETAINED_BYTES = 64L * 1024 * 1024;
+
+  // size of a reference with compressed oops, as used by the decoded operation and PUSH arrays
+  private static final int REFERENCE_BYTES = 4;
+  // a UInt256 and its backing int[8], as held for every decoded PUSH operation
+  private static final int PUSH_IMMEDIATE_BYTES = 64;
+
+  private static final CodeCache SHARED = new CodeCache(DEFAULT_MAXIMUM_RETAINED_BYTES);
+
+  private final Cache<Hash, Code> cache;
+
+  public CodeCache(final long maximumRetainedBytes) {
+    this.cache =
+        CacheBuilder.newBuilder()
+            .maximumWeight(maximumRetainedBytes)
+            .weigher((final Hash hash, final Code code) -> weigh(code))
+            .recordStats()
+            .build();
+  }
+
+  /**
+   * Estimates the heap retained by code once it has been executed: its bytes, the jump destination
+   * bitmap, the decoded operation and PUSH immediate arrays, which hold a reference per byte, and
+   * the value of every PUSH operation. The estimate is made when the code is cached, as Guava does
+   * not weigh entries again when they are decoded later.
+   *
+   * @param code the code to weigh
+   * @return the estimated number of bytes retained by the code
+   */
+  @VisibleForTesting
+  static int weigh(final Code code) {
+    final Bytes bytes = code.getBytes();
+    final int size = bytes.size();
+    int pushOperations = 0;
+    int offset = 0;
+    while (offset < size) {
+      final int opcode = bytes.get(offset) & 0xFF;
+      if (opcode >= PushOperation.PUSH1_OPCODE && opcode <= PushOperation.PUSH32_OPCODE) {
+        pushOperations++;
+        offset += opcode - PushOperation.PUSH1_OPCODE + 2;
+      } else {
+        offset++;
+      }
+    }
+    return size
+        + size / Byte.SIZE
+        + 2 * REFERENCE_BYTES * size
+        + pushOperations * PUSH_IMMEDIATE_BYTES;
+  }
+
+  /**
+   * The cache shared by all EVMs in this process.
+   *
+   * @return the shared code cache
+   */
+  public static CodeCache shared() {
+    return SHARED;
+  }
+
+  /**
+   * Returns the analyzed code for the given hash, creating and caching it if it is not present.
+   *
+   * @param codeHash the hash of the code
+   * @param codeBytes the code itself, used when the code is not already cached
+   * @return the cached code
+   */
+  public Code getOrCreate(final Hash codeHash, final Bytes codeBytes) {
+    if (codeBytes.isEmpty()) {
+      return Code.EMPTY;
+    }
+    try {
+      return cache.get(codeHash, () -> new Code(codeBytes));
+    } catch (final ExecutionException e) {
+      // Creating a Code instance cannot fail, so this is never expected to happen.
+      throw new IllegalStateException("Failed to load code for hash " + codeHash, e.getCause());
+    }
+  }
+
+  public long size() {
+    return cache.size();
+  }
+
+  public CacheStats stats() {
+    return cache.stats();
+  }
+
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  public void registerMetrics(final MetricsSystem metricsSystem) {
+    metricsSystem.createLongGauge(
+        BesuMetricCategory.BLOCKCHAIN,
+        "evm_code_cache_hits",
+        "Number of analyzed code lookups served from the EVM code cache",
+        () -> cache.stats().hitCount());
+    metricsSystem.createLongGauge(
+        BesuMetricCategory.BLOCKCHAIN,
+        "evm_code_cache_misses",
+        "Number of analyzed code lookups that missed the EVM code cache",
+        () -> cache.stats().missCount());
+    metricsSystem.createLongGauge(
+        BesuMetricCategory.BLOCKCHAIN,
+        "evm_code_cache_evictions",
+        "Number of entries evicted from the EVM code cache",
+        () -> cache.stats().evictionCount());
+    metricsSystem.createLongGauge(
+        BesuMetricCategory.BLOCKCHAIN,
+        "evm_code_cache_size",
+        "Number of entries in the EVM code cache",
+        cache::size);
+  }
+}
@@ -17,6 +17,7 @@ package org.hyperledger.besu.ethereum.vm;
 import static org.apache.logging.log4j.LogManager.getLogger;
 
 import org.hyperledger.besu.ethereum.core.Gas;
+import org.hyperledger.besu.ethereum.core.Hash;
 import org.hyperledger.besu.ethereum.vm.FixedStack.OverflowException;
 import org.hyperledger.besu.ethereum.vm.FixedStack.UnderflowException;
 import org.hyperledger.besu.ethereum.vm.MessageFrame.State;
@@ -42,20 +43,97 @@ public class EVM {
       new OperationResult(
           Optional.empty(), Optional.of(ExceptionalHaltReason.INSUFFICIENT_STACK_ITEMS));
 
+  // undefined opcodes halt without using the gas calculator, so one instance per opcode is shared
+  private static final Operation[] INVALID_OPERATIONS = new Operation[256];
+
+  static {
+    for (int opcode = 0; opcode < INVALID_OPERATIONS.length; opcode++) {
+      INVALID_OPERATIONS[opcode] = new InvalidOperation(opcode, null);
+    }
+  }
+
   private final OperationRegistry operations;
   private final Operation endOfScriptStop;
+  private final CodeCache codeCache;
 
   public EVM(final OperationRegistry operations, final GasCalculator gasCalculator) {
+    this(operations, gasCalculator, CodeCache.shared());
+  }
+
+  public EVM(
+      final OperationRegistry operations,
+      final GasCalculator gasCalculator,
+      final CodeCache codeCache) {
     this.operations = operations;
     this.endOfScriptStop = new VirtualOperation(new StopOperation(gasCalculator));
+    this.codeCache = codeCache;
+  }
+
+  /**
+   * Returns the analyzed code for an account, reusing a previous analysis of the same code when
+   * one is cached.
+   *
+   * @param codeHash the hash of the account's code
+   * @param codeBytes the account's code
+   * @return the analyzed code
+   */
+  public Code getCode(final Hash codeHash, final Bytes codeBytes) {
+    return codeCache.getOrCreate(codeHash, codeBytes);
   }
 
   public void runToHalt(final MessageFrame frame, final OperationTracer operationTracer) {
+    if (operationTracer == OperationTracer.NO_TRACING) {
+      runDecodedToHalt(frame);
+      return;
+    }
     while (frame.getState() == MessageFrame.State.CODE_EXECUTING) {
       executeNextOperation(frame, operationTracer);
     }
   }
 
+  /**
+   * Executes the frame against the pre-decoded operations of its code. This is equivalent to
+   * {@link #executeNextOperation(MessageFrame, OperationTracer)} with {@link
+   * OperationTracer#NO_TRACING}, but avoids the per-step registry lookup and tracing lambda.
+   *
+   * @param frame the frame to execute
+   */
+  private void runDecodedToHalt(final MessageFrame frame) {
+    final Operation[] decodedOperations =
+        frame.getCode().getDecodedOperations(this, frame.getContractAccountVersion());
+    final boolean logState = LOG.isTraceEnabled();
+    while (frame.getState() == MessageFrame.State.CODE_EXECUTING) {
+      final int pc = frame.getPC();
+      final Operation operation =
+          pc < decodedOperations.length ? decodedOperations[pc] : endOfScriptStop;
+      frame.setCurrentOperation(operation);
+      OperationResult result;
+      try {
+        result = operation.execute(frame, this);
+      } catch (final OverflowException oe) {
+        result = OVERFLOW_RESPONSE;
+      } catch (final UnderflowException ue) {
+        result = UNDERFLOW_RESPONSE;
+      }
+      final Optional<Gas> gasCost = result.getGasCost();
+      frame.setGasCost(gasCost);
+      if (logState) {
+        logState(frame, gasCost.orElse(Gas.ZERO));
+      }
+      final Optional<ExceptionalHaltReason> haltReason = result.getHaltReason();
+      if (haltReason.isPresent()) {
+        LOG.trace("MessageFrame evaluation halted because of {}", haltReason.get());
+        frame.setExceptionalHaltReason(haltReason);
+        frame.setState(State.EXCEPTIONAL_HALT);
+      } else if (gasCost.isPresent()) {
+        frame.decrementRemainingGas(gasCost.get());
+      }
+      if (frame.getState() == State.CODE_EXECUTING && !operation.getUpdatesProgramCounter()) {
+        frame.setPC(pc + operation.getOpSize());
+      }
+    }
+  }
+
   void forEachOperation(
       final Code code,
       final int contractAccountVersion,
@@ -138,7 +216,7 @@ public class EVM {
     final byte opcode = bytecode.get(offset);
     final Operation operation = operations.get(opcode, contractAccountVersion);
     if (operation == null) {
-      return new InvalidOperation(opcode, null);
+      return INVALID_OPERATIONS[opcode & 0xFF];
     } else {
       return operation;
     }
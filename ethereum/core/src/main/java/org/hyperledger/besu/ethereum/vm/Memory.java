@@ -33,26 +33,35 @@ public class Memory {
   // See below.
   private static final long MAX_BYTES = Integer.MAX_VALUE;
 
+  // Largest array size that can reliably be allocated.
+  private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+  private static final int INITIAL_CAPACITY = 4 * Bytes32.SIZE;
+
   /**
    * The data stored within the memory.
    *
    * <p>Note that the current Ethereum spec don't put a limit on memory, so we could theoretically
    * overflow this. A byte array implementation limits us to 2GiB. But that would cost over 51
    * trillion gas. So this is likely a reasonable limitation, at least at first.
+   *
+   * <p>The array grows geometrically and is usually larger than the active memory. Bytes past
+   * {@link #activeBytes} are never written, so they are always zero and expanding the active memory
+   * into them does not require clearing them.
    */
   private byte[] data;
 
-  private UInt256 activeWords;
+  private int activeBytes;
   private int dataSize256;
 
   public Memory() {
     data = new byte[0];
-    updateSize();
+    updateSize(0);
   }
 
-  private void updateSize() {
-    dataSize256 = data.length / Bytes32.SIZE;
-    activeWords = UInt256.valueOf(dataSize256);
+  private void updateSize(final int newActiveWords) {
+    dataSize256 = newActiveWords;
+    activeBytes = newActiveWords * Bytes32.SIZE;
   }
 
   private static RuntimeException overflow(final long v) {
@@ -107,7 +116,7 @@ public class Memory {
    */
   UInt256 calculateNewActiveWords(final UInt256 location, final UInt256 numBytes) {
     if (numBytes.isZero()) {
-      return activeWords;
+      return getActiveWords();
     }
 
     if (location.fitsInt() && numBytes.fitsInt()) {
@@ -115,7 +124,7 @@ public class Memory {
       final long byteSize = location.toLong() + numBytes.toLong();
       int wordSize = Math.toIntExact(byteSize / Bytes32.SIZE);
       if (byteSize % Bytes32.SIZE != 0) wordSize += 1;
-      return wordSize > dataSize256 ? UInt256.valueOf(wordSize) : activeWords;
+      return UInt256.valueOf(Math.max(wordSize, dataSize256));
     } else {
       // Slow, rare path
 
@@ -128,7 +137,7 @@ public class Memory {
       if (!result[1].equals(BigInteger.ZERO)) {
         wordSize = wordSize.add(BigInteger.ONE);
       }
-      return UInt256s.max(activeWords, UInt256.valueOf(wordSize));
+      return UInt256s.max(getActiveWords(), UInt256.valueOf(wordSize));
     }
   }
 
@@ -169,11 +178,14 @@ public class Memory {
   private void maybeExpandCapacity(final int newActiveWords) {
     if (dataSize256 >= newActiveWords) return;
 
-    // Require full capacity to guarantee we don't resize more than once.
-    final byte[] newData = new byte[newActiveWords * Bytes32.SIZE];
-    System.arraycopy(data, 0, newData, 0, data.length);
-    data = newData;
-    updateSize();
+    final int requiredBytes = Math.multiplyExact(newActiveWords, Bytes32.SIZE);
+    if (requiredBytes > data.length) {
+      // Grow geometrically so that memory expanded a few words at a time is not copied each time.
+      final long doubled = Math.max(2L * data.length, INITIAL_CAPACITY);
+      final int newCapacity = Math.max(requiredBytes, (int) Math.min(doubled, MAX_CAPACITY));
+      data = Arrays.copyOf(data, newCapacity);
+    }
+    updateSize(newActiveWords);
   }
 
   /**
@@ -189,12 +201,13 @@ public class Memory {
     if (!(other instanceof Memory)) return false;
 
     final Memory that = (Memory) other;
-    return Arrays.equals(this.data, that.data);
+    return this.activeBytes == that.activeBytes
+        && Arrays.equals(this.data, 0, activeBytes, that.data, 0, that.activeBytes);
   }
 
   @Override
   public int hashCode() {
-    return Arrays.hashCode(data);
+    return Arrays.hashCode(Arrays.copyOf(data, activeBytes));
   }
 
   /**
@@ -203,7 +216,7 @@ public class Memory {
    * @return The current number of active bytes stored in memory.
    */
   int getActiveBytes() {
-    return data.length;
+    return activeBytes;
   }
 
   /**
@@ -212,7 +225,7 @@ public class Memory {
    * @return The current number of active words stored in memory.
    */
   UInt256 getActiveWords() {
-    return activeWords;
+    return UInt256.valueOf(dataSize256);
   }
 
   /**
@@ -239,6 +252,31 @@ public class Memory {
     return Bytes.of(Arrays.copyOfRange(data, start, start + numBytes.intValue()));
   }
 
+  /**
+   * Returns a view of bytes in memory, without copying them.
+   *
+   * <p>The returned bytes reflect any later modification of this memory range, so this must only
+   * be used when the bytes are consumed immediately or when the memory is not modified afterwards,
+   * such as for the output of a halting frame.
+   *
+   * @param location The location in memory to start with.
+   * @param numBytes The number of bytes to get.
+   * @return A view of the bytes from memory starting at {@code location} and extending {@code
+   *     numBytes}.
+   */
+  public Bytes getBytesView(final UInt256 location, final UInt256 numBytes) {
+    // See getBytes for why we check length == 0 first, before calling asByteIndex(location).
+    final int length = asByteLength(numBytes);
+    if (length == 0) {
+      return Bytes.EMPTY;
+    }
+
+    final int start = asByteIndex(location);
+
+    ensureCapacityForBytes(start, length);
+    return Bytes.wrap(data, start, length);
+  }
+
   /**
    * Copy the bytes from the provided number of bytes from the provided value to memory from the
    * provided offset.
@@ -380,8 +418,32 @@ public class Memory {
     System.arraycopy(bytes.toArrayUnsafe(), 0, data, start, Bytes32.SIZE);
   }
 
+  /**
+   * Pushes the 32-bytes word that begins at the specified memory location onto the stack.
+   *
+   * @param location The memory location the 256-bit word begins at.
+   * @param stack The stack to push the word onto.
+   */
+  void loadWord(final UInt256 location, final OperandStack stack) {
+    final int start = asByteIndex(location);
+    ensureCapacityForBytes(start, Bytes32.SIZE);
+    stack.pushBytes32(data, start);
+  }
+
+  /**
+   * Pops the top of the stack into memory as a 32-bytes word at the provided location.
+   *
+   * @param location the location at which to start setting the bytes.
+   * @param stack The stack to pop the word from.
+   */
+  void storeWord(final UInt256 location, final OperandStack stack) {
+    final int start = asByteIndex(location);
+    ensureCapacityForBytes(start, Bytes32.SIZE);
+    stack.popBytes32(data, start);
+  }
+
   @Override
   public String toString() {
-    return Bytes.wrap(data).toHexString();
+    return Bytes.wrap(data, 0, activeBytes).toHexString();
   }
 }
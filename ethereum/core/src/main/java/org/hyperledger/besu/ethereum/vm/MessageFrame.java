@@ -207,6 +207,7 @@ public class MessageFrame {
   private final Memory memory;
   private final OperandStack stack;
   private Bytes output;
+  private boolean outputIsMemoryView;
   private Bytes returnData;
   private final boolean isStatic;
 
@@ -247,6 +248,9 @@ public class MessageFrame {
   private Optional<Gas> gasCost = Optional.empty();
   private final Consumer<MessageFrame> completer;
   private Optional<MemoryEntry> maybeUpdatedMemory = Optional.empty();
+  // Location of a word read or written by MLOAD or MSTORE, whose memory entry is only created when
+  // a tracer asks for it.
+  private UInt256 updatedMemoryWordLocation;
   private Optional<MemoryEntry> maybeUpdatedStorage = Optional.empty();
 
   public static Builder builder() {
@@ -419,6 +423,19 @@ public class MessageFrame {
    */
   public void setOutputData(final Bytes output) {
     this.output = output;
+    this.outputIsMemoryView = false;
+  }
+
+  /**
+   * Set the output data to a view of this frame's memory, as read by {@link
+   * #readMemoryView(UInt256, UInt256)}. The view is replaced by a copy when the frame completes, so
+   * that the output does not retain the memory of the frame.
+   *
+   * @param output A view of the output data in memory
+   */
+  public void setOutputDataFromMemoryView(final Bytes output) {
+    this.output = output;
+    this.outputIsMemoryView = true;
   }
 
   /** Clears the output data buffer. */
@@ -449,6 +466,16 @@ public class MessageFrame {
     setReturnData(Bytes.EMPTY);
   }
 
+  /**
+   * Returns the operand stack, whose primitive operations avoid converting items to {@link
+   * UInt256}.
+   *
+   * @return the operand stack
+   */
+  public OperandStack getOperandStack() {
+    return stack;
+  }
+
   /**
    * Returns the item at the specified offset in the stack.
    *
@@ -597,6 +624,41 @@ public class MessageFrame {
     return value;
   }
 
+  /**
+   * Read bytes in memory without copying them.
+   *
+   * <p>The returned bytes are a view of this frame's memory and reflect any later write to it, so
+   * they must either be consumed before memory is modified again or only be read once the frame
+   * has stopped executing.
+   *
+   * @param offset The offset in memory
+   * @param length The length of the bytes to read
+   * @return A view of the bytes in the specified range
+   */
+  public Bytes readMemoryView(final UInt256 offset, final UInt256 length) {
+    return memory.getBytesView(offset, length);
+  }
+
+  /**
+   * Pushes the word in memory at the specified offset onto the stack, as an explicit memory read.
+   *
+   * @param offset The offset in memory
+   */
+  public void loadMemoryWord(final UInt256 offset) {
+    memory.loadWord(offset, stack);
+    setUpdatedMemoryWord(offset);
+  }
+
+  /**
+   * Pops the top of the stack into memory at the specified offset, as an explicit memory update.
+   *
+   * @param offset The offset in memory
+   */
+  public void storeMemoryWord(final UInt256 offset) {
+    memory.storeWord(offset, stack);
+    setUpdatedMemoryWord(offset);
+  }
+
   /**
    * Write byte to memory
    *
@@ -697,6 +759,11 @@ public class MessageFrame {
 
   private void setUpdatedMemory(final UInt256 offset, final Bytes value) {
     maybeUpdatedMemory = Optional.of(new MemoryEntry(offset, value));
+    updatedMemoryWordLocation = null;
+  }
+
+  private void setUpdatedMemoryWord(final UInt256 offset) {
+    updatedMemoryWordLocation = offset;
   }
 
   public void storageWasUpdated(final UInt256 storageAddress, final Bytes value) {
@@ -993,6 +1060,13 @@ public class MessageFrame {
 
   /** Performs updates based on the message frame's execution. */
   public void notifyCompletion() {
+    if (outputIsMemoryView) {
+      final Bytes outputView = output;
+      setOutputData(outputView.copy());
+      if (revertReason.isPresent() && revertReason.get() == outputView) {
+        revertReason = Optional.of(output);
+      }
+    }
     completer.accept(this);
   }
 
@@ -1077,6 +1151,13 @@ public class MessageFrame {
   }
 
   Optional<MemoryEntry> getMaybeUpdatedMemory() {
+    if (updatedMemoryWordLocation != null) {
+      maybeUpdatedMemory =
+          Optional.of(
+              new MemoryEntry(
+                  updatedMemoryWordLocation, memory.getWord(updatedMemoryWordLocation)));
+      updatedMemoryWordLocation = null;
+    }
     return maybeUpdatedMemory;
   }
 
@@ -1086,6 +1167,7 @@ public class MessageFrame {
 
   public void reset() {
     maybeUpdatedMemory = Optional.empty();
+    updatedMemoryWordLocation = null;
     maybeUpdatedStorage = Optional.empty();
   }
 
@@ -16,11 +16,462 @@
 
 package org.hyperledger.besu.ethereum.vm;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
+import org.hyperledger.besu.ethereum.vm.FixedStack.OverflowException;
+import org.hyperledger.besu.ethereum.vm.FixedStack.UnderflowException;
+
+import java.util.Arrays;
+
+import org.apache.tuweni.bytes.Bytes32;
 import org.apache.tuweni.units.bigints.UInt256;
 
-public class OperandStack extends FixedStack<UInt256> {
+/**
+ * The operand stack of the EVM.
+ *
+ * <p>Each 256-bit item is stored as four 64-bit limbs in a single primitive array, least
+ * significant limb first, so that the core arithmetic, comparison, bitwise and stack manipulation
+ * operations can be applied in place without allocating. Items are only converted to {@link
+ * UInt256} when they are read through {@link #get(int)} or {@link #pop()}.
+ */
+public class OperandStack {
+
+  private static final int LIMBS = 4;
+
+  private final long[] limbs;
+
+  private final long[] scratch = new long[LIMBS];
+
+  private final int maxSize;
+
+  private int top;
 
   public OperandStack(final int maxSize) {
-    super(maxSize, UInt256.class);
+    checkArgument(maxSize >= 0, "max size must be non-negative");
+
+    this.limbs = new long[maxSize * LIMBS];
+    this.maxSize = maxSize;
+    this.top = -1;
+  }
+
+  public UInt256 get(final int offset) {
+    if (offset < 0 || offset >= size()) {
+      throw new UnderflowException();
+    }
+
+    return toUInt256((top - offset) * LIMBS);
+  }
+
+  public UInt256 pop() {
+    if (top < 0) {
+      throw new UnderflowException();
+    }
+
+    return toUInt256(top-- * LIMBS);
+  }
+
+  /**
+   * Pops the specified number of operands from the stack.
+   *
+   * @param items the number of operands to pop off the stack
+   * @throws IllegalArgumentException if the items to pop is negative.
+   * @throws UnderflowException when the items to pop is greater than {@link #size()}
+   */
+  void bulkPop(final int items) {
+    if (items < 0) {
+      throw new IllegalArgumentException(
+          String.format("requested number of items to bulk pop (%d) is negative", items));
+    }
+    checkArgument(items > 0, "number of items to pop must be greater than 0");
+    if (items > size()) {
+      throw new UnderflowException();
+    }
+
+    top -= items;
+  }
+
+  public void push(final UInt256 operand) {
+    final int nextTop = top + 1;
+    if (nextTop == maxSize) {
+      throw new OverflowException();
+    }
+    write(nextTop * LIMBS, operand);
+    top = nextTop;
+  }
+
+  public void set(final int offset, final UInt256 operand) {
+    if (offset < 0 || offset >= size()) {
+      throw new IndexOutOfBoundsException();
+    }
+
+    write((top - offset) * LIMBS, operand);
+  }
+
+  public int size() {
+    return top + 1;
+  }
+
+  public boolean isFull() {
+    return top + 1 >= maxSize;
+  }
+
+  public boolean isEmpty() {
+    return top < 0;
+  }
+
+  /** Replaces the top two items with their sum, modulo 2^256. */
+  public void add() {
+    final int a = binaryOperands();
+    final int b = a - LIMBS;
+    long carry = 0;
+    for (int i = 0; i < LIMBS; i++) {
+      final long x = limbs[a + i];
+      final long sum = x + limbs[b + i];
+      final long sumWithCarry = sum + carry;
+      carry =
+          (Long.compareUnsigned(sum, x) < 0 || Long.compareUnsigned(sumWithCarry, sum) < 0)
+              ? 1
+              : 0;
+      limbs[b + i] = sumWithCarry;
+    }
+    top--;
+  }
+
+  /** Replaces the top two items with the top item minus the second item, modulo 2^256. */
+  public void sub() {
+    final int a = binaryOperands();
+    final int b = a - LIMBS;
+    long borrow = 0;
+    for (int i = 0; i < LIMBS; i++) {
+      final long x = limbs[a + i];
+      final long y = limbs[b + i];
+      final long difference = x - y;
+      final long differenceWithBorrow = difference - borrow;
+      borrow =
+          (Long.compareUnsigned(x, y) < 0 || Long.compareUnsigned(difference, borrow) < 0)
+              ? 1
+              : 0;
+      limbs[b + i] = differenceWithBorrow;
+    }
+    top--;
+  }
+
+  /** Replaces the top two items with their product, modulo 2^256. */
+  public void mul() {
+    final int a = binaryOperands();
+    final int b = a - LIMBS;
+    final long[] product = scratch;
+    Arrays.fill(product, 0L);
+    for (int i = 0; i < LIMBS; i++) {
+      final long x = limbs[a + i];
+      if (x == 0) {
+        continue;
+      }
+      long carry = 0;
+      for (int j = 0; i + j < LIMBS; j++) {
+        final long y = limbs[b + j];
+        final long low = x * y;
+        long high = unsignedMultiplyHigh(x, y);
+        final long sum = product[i + j] + low;
+        if (Long.compareUnsigned(sum, low) < 0) {
+          high++;
+        }
+        final long sumWithCarry = sum + carry;
+        if (Long.compareUnsigned(sumWithCarry, carry) < 0) {
+          high++;
+        }
+        product[i + j] = sumWithCarry;
+        carry = high;
+      }
+    }
+    System.arraycopy(product, 0, limbs, b, LIMBS);
+    top--;
+  }
+
+  /** Replaces the top two items with their bitwise and. */
+  public void and() {
+    final int a = binaryOperands();
+    final int b = a - LIMBS;
+    for (int i = 0; i < LIMBS; i++) {
+      limbs[b + i] &= limbs[a + i];
+    }
+    top--;
+  }
+
+  /** Replaces the top two items with their bitwise or. */
+  public void or() {
+    final int a = binaryOperands();
+    final int b = a - LIMBS;
+    for (int i = 0; i < LIMBS; i++) {
+      limbs[b + i] |= limbs[a + i];
+    }
+    top--;
+  }
+
+  /** Replaces the top two items with their bitwise exclusive or. */
+  public void xor() {
+    final int a = binaryOperands();
+    final int b = a - LIMBS;
+    for (int i = 0; i < LIMBS; i++) {
+      limbs[b + i] ^= limbs[a + i];
+    }
+    top--;
+  }
+
+  /** Replaces the top item with its bitwise complement. */
+  public void not() {
+    final int a = unaryOperand();
+    for (int i = 0; i < LIMBS; i++) {
+      limbs[a + i] = ~limbs[a + i];
+    }
+  }
+
+  /** Replaces the top item with one if it is zero, otherwise with zero. */
+  public void isZero() {
+    final int a = unaryOperand();
+    setBoolean(a, isZero(a));
+  }
+
+  /** Replaces the top two items with one if they are equal, otherwise with zero. */
+  public void eq() {
+    final int a = binaryOperands();
+    final int b = a - LIMBS;
+    setBoolean(b, compare(a, b) == 0);
+    top--;
+  }
+
+  /** Replaces the top two items with one if the top item is less than the second. */
+  public void lt() {
+    final int a = binaryOperands();
+    final int b = a - LIMBS;
+    setBoolean(b, compare(a, b) < 0);
+    top--;
+  }
+
+  /** Replaces the top two items with one if the top item is greater than the second. */
+  public void gt() {
+    final int a = binaryOperands();
+    final int b = a - LIMBS;
+    setBoolean(b, compare(a, b) > 0);
+    top--;
+  }
+
+  /** Replaces the top two items with the second item shifted left by the top item. */
+  public void shl() {
+    final int a = binaryOperands();
+    final int b = a - LIMBS;
+    final int shift = shiftAmount(a);
+    if (shift < 0) {
+      clear(b);
+    } else {
+      final int limbShift = shift >>> 6;
+      final int bitShift = shift & 63;
+      for (int i = LIMBS - 1; i >= 0; i--) {
+        final int source = i - limbShift;
+        long value = source >= 0 ? limbs[b + source] << bitShift : 0;
+        if (bitShift != 0 && source > 0) {
+          value |= limbs[b + source - 1] >>> (64 - bitShift);
+        }
+        limbs[b + i] = value;
+      }
+    }
+    top--;
+  }
+
+  /** Replaces the top two items with the second item logically shifted right by the top item. */
+  public void shr() {
+    final int a = binaryOperands();
+    final int b = a - LIMBS;
+    final int shift = shiftAmount(a);
+    if (shift < 0) {
+      clear(b);
+    } else {
+      final int limbShift = shift >>> 6;
+      final int bitShift = shift & 63;
+      for (int i = 0; i < LIMBS; i++) {
+        final int source = i + limbShift;
+        long value = source < LIMBS ? limbs[b + source] >>> bitShift : 0;
+        if (bitShift != 0 && source + 1 < LIMBS) {
+          value |= limbs[b + source + 1] << (64 - bitShift);
+        }
+        limbs[b + i] = value;
+      }
+    }
+    top--;
+  }
+
+  /**
+   * Pushes a copy of the item at the given depth.
+   *
+   * @param depth the depth of the item to copy, where one is the top of the stack
+   */
+  public void dup(final int depth) {
+    if (depth < 1 || depth > size()) {
+      throw new UnderflowException();
+    }
+    final int nextTop = top + 1;
+    if (nextTop == maxSize) {
+      throw new OverflowException();
+    }
+    System.arraycopy(limbs, (nextTop - depth) * LIMBS, limbs, nextTop * LIMBS, LIMBS);
+    top = nextTop;
+  }
+
+  /**
+   * Exchanges the top item with the item at the given offset from the top.
+   *
+   * @param offset the offset of the item to exchange with the top of the stack
+   */
+  public void swap(final int offset) {
+    if (offset < 1 || offset >= size()) {
+      throw new UnderflowException();
+    }
+    final int a = top * LIMBS;
+    final int b = (top - offset) * LIMBS;
+    for (int i = 0; i < LIMBS; i++) {
+      final long tmp = limbs[a + i];
+      limbs[a + i] = limbs[b + i];
+      limbs[b + i] = tmp;
+    }
+  }
+
+  /**
+   * Pushes the 32 big-endian bytes starting at the given offset.
+   *
+   * @param source the array containing the bytes
+   * @param offset the offset of the first byte in {@code source}
+   */
+  void pushBytes32(final byte[] source, final int offset) {
+    final int nextTop = top + 1;
+    if (nextTop == maxSize) {
+      throw new OverflowException();
+    }
+    final int base = nextTop * LIMBS;
+    for (int i = 0; i < LIMBS; i++) {
+      long limb = 0;
+      final int limbOffset = offset + (LIMBS - 1 - i) * 8;
+      for (int j = 0; j < 8; j++) {
+        limb = (limb << 8) | (source[limbOffset + j] & 0xFF);
+      }
+      limbs[base + i] = limb;
+    }
+    top = nextTop;
+  }
+
+  /**
+   * Pops the top item as 32 big-endian bytes written at the given offset.
+   *
+   * @param target the array to write the bytes to
+   * @param offset the offset in {@code target} of the first byte
+   */
+  void popBytes32(final byte[] target, final int offset) {
+    final int base = unaryOperand();
+    writeBytes32(base, target, offset);
+    top--;
+  }
+
+  private void writeBytes32(final int base, final byte[] target, final int offset) {
+    for (int i = 0; i < LIMBS; i++) {
+      final long limb = limbs[base + i];
+      final int limbOffset = offset + (LIMBS - 1 - i) * 8;
+      for (int j = 0; j < 8; j++) {
+        target[limbOffset + j] = (byte) (limb >>> (56 - 8 * j));
+      }
+    }
+  }
+
+  private int unaryOperand() {
+    if (top < 0) {
+      throw new UnderflowException();
+    }
+    return top * LIMBS;
+  }
+
+  private int binaryOperands() {
+    if (top < 1) {
+      throw new UnderflowException();
+    }
+    return top * LIMBS;
+  }
+
+  private boolean isZero(final int base) {
+    return (limbs[base] | limbs[base + 1] | limbs[base + 2] | limbs[base + 3]) == 0;
+  }
+
+  private int compare(final int a, final int b) {
+    for (int i = LIMBS - 1; i >= 0; i--) {
+      final int result = Long.compareUnsigned(limbs[a + i], limbs[b + i]);
+      if (result != 0) {
+        return result;
+      }
+    }
+    return 0;
+  }
+
+  /** Returns the shift amount stored at the given slot, or -1 if it is 256 or more. */
+  private int shiftAmount(final int base) {
+    final long low = limbs[base];
+    if ((limbs[base + 1] | limbs[base + 2] | limbs[base + 3]) != 0
+        || Long.compareUnsigned(low, 256) >= 0) {
+      return -1;
+    }
+    return (int) low;
+  }
+
+  private void setBoolean(final int base, final boolean value) {
+    limbs[base] = value ? 1 : 0;
+    limbs[base + 1] = 0;
+    limbs[base + 2] = 0;
+    limbs[base + 3] = 0;
+  }
+
+  private void clear(final int base) {
+    Arrays.fill(limbs, base, base + LIMBS, 0L);
+  }
+
+  private void write(final int base, final UInt256 value) {
+    limbs[base] = value.getLong(24);
+    limbs[base + 1] = value.getLong(16);
+    limbs[base + 2] = value.getLong(8);
+    limbs[base + 3] = value.getLong(0);
+  }
+
+  private UInt256 toUInt256(final int base) {
+    final long low = limbs[base];
+    if ((limbs[base + 1] | limbs[base + 2] | limbs[base + 3]) == 0 && low >= 0) {
+      return UInt256.valueOf(low);
+    }
+    final byte[] bytes = new byte[32];
+    writeBytes32(base, bytes, 0);
+    return UInt256.fromBytes(Bytes32.wrap(bytes));
+  }
+
+  private static long unsignedMultiplyHigh(final long x, final long y) {
+    return Math.multiplyHigh(x, y) + ((x >> 63) & y) + ((y >> 63) & x);
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < size(); ++i) {
+      builder.append(String.format("\n0x%04X ", i)).append(toUInt256(i * LIMBS));
+    }
+    return builder.toString();
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(Arrays.copyOf(limbs, size() * LIMBS));
+  }
+
+  @Override
+  public boolean equals(final Object other) {
+    if (!(other instanceof OperandStack)) {
+      return false;
+    }
+
+    final OperandStack that = (OperandStack) other;
+    return this.size() == that.size()
+        && Arrays.equals(this.limbs, 0, size() * LIMBS, that.limbs, 0, that.size() * LIMBS);
   }
 }
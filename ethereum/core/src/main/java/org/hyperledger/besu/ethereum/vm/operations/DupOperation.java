@@ -50,7 +50,7 @@ public class DupOperation extends AbstractFixedCostOperation {
       return underflowResponse;
     }
 
-    frame.pushStackItem(frame.getStackItem(index - 1));
+    frame.getOperandStack().dup(index);
 
     return successResponse;
   }
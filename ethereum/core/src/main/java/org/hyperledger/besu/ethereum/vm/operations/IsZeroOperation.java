@@ -18,8 +18,6 @@ import org.hyperledger.besu.ethereum.vm.EVM;
 import org.hyperledger.besu.ethereum.vm.GasCalculator;
 import org.hyperledger.besu.ethereum.vm.MessageFrame;
 
-import org.apache.tuweni.units.bigints.UInt256;
-
 public class IsZeroOperation extends AbstractFixedCostOperation {
 
   public IsZeroOperation(final GasCalculator gasCalculator) {
@@ -28,9 +26,7 @@ public class IsZeroOperation extends AbstractFixedCostOperation {
 
   @Override
   public OperationResult executeFixedCostOperation(final MessageFrame frame, final EVM evm) {
-    final UInt256 value = frame.popStackItem();
-
-    frame.pushStackItem(value.isZero() ? UInt256.ONE : UInt256.ZERO);
+    frame.getOperandStack().isZero();
 
     return successResponse;
   }
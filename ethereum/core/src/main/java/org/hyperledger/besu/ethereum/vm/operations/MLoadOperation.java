@@ -23,7 +23,6 @@ import org.hyperledger.besu.ethereum.vm.MessageFrame;
 
 import java.util.Optional;
 
-import org.apache.tuweni.bytes.Bytes32;
 import org.apache.tuweni.units.bigints.UInt256;
 
 public class MLoadOperation extends AbstractOperation {
@@ -42,10 +41,7 @@ public class MLoadOperation extends AbstractOperation {
       return new OperationResult(optionalCost, Optional.of(ExceptionalHaltReason.INSUFFICIENT_GAS));
     }
 
-    final UInt256 value =
-        UInt256.fromBytes(Bytes32.leftPad(frame.readMemory(location, UInt256.valueOf(32), true)));
-
-    frame.pushStackItem(value);
+    frame.loadMemoryWord(location);
     return new OperationResult(optionalCost, Optional.empty());
   }
 }
@@ -18,12 +18,12 @@ import org.hyperledger.besu.ethereum.core.Gas;
 import org.hyperledger.besu.ethereum.vm.AbstractOperation;
 import org.hyperledger.besu.ethereum.vm.EVM;
 import org.hyperledger.besu.ethereum.vm.ExceptionalHaltReason;
+import org.hyperledger.besu.ethereum.vm.FixedStack.UnderflowException;
 import org.hyperledger.besu.ethereum.vm.GasCalculator;
 import org.hyperledger.besu.ethereum.vm.MessageFrame;
 
 import java.util.Optional;
 
-import org.apache.tuweni.bytes.Bytes32;
 import org.apache.tuweni.units.bigints.UInt256;
 
 public class MStoreOperation extends AbstractOperation {
@@ -35,15 +35,19 @@ public class MStoreOperation extends AbstractOperation {
   @Override
   public OperationResult execute(final MessageFrame frame, final EVM evm) {
     final UInt256 location = frame.popStackItem();
-    final Bytes32 value = frame.popStackItem();
+    // The value is left on the stack and popped directly into memory.
+    if (frame.stackSize() < 1) {
+      throw new UnderflowException();
+    }
 
     final Gas cost = gasCalculator().mStoreOperationGasCost(frame, location);
     final Optional<Gas> optionalCost = Optional.of(cost);
     if (frame.getRemainingGas().compareTo(cost) < 0) {
+      frame.popStackItems(1);
       return new OperationResult(optionalCost, Optional.of(ExceptionalHaltReason.INSUFFICIENT_GAS));
     }
 
-    frame.writeMemory(location, UInt256.valueOf(32), value, true);
+    frame.storeMemoryWord(location);
     return new OperationResult(optionalCost, Optional.empty());
   }
 }
@@ -26,7 +26,7 @@ public class PopOperation extends AbstractFixedCostOperation {
 
   @Override
   public OperationResult executeFixedCostOperation(final MessageFrame frame, final EVM evm) {
-    frame.popStackItem();
+    frame.popStackItems(1);
 
     return successResponse;
   }
@@ -26,11 +26,14 @@ import org.apache.tuweni.units.bigints.UInt256;
 
 public class PushOperation extends AbstractFixedCostOperation {
 
+  public static final int PUSH1_OPCODE = 0x60;
+  public static final int PUSH32_OPCODE = 0x7F;
+
   private final int length;
 
   public PushOperation(final int length, final GasCalculator gasCalculator) {
     super(
-        0x60 + length - 1,
+        PUSH1_OPCODE + length - 1,
         "PUSH" + length,
         0,
         1,
@@ -44,13 +47,28 @@ public class PushOperation extends AbstractFixedCostOperation {
   @Override
   public OperationResult executeFixedCostOperation(final MessageFrame frame, final EVM evm) {
     final int pc = frame.getPC();
-    final Bytes code = frame.getCode().getBytes();
+    final UInt256 immediate = frame.getCode().getPushImmediate(pc);
+    if (immediate != null) {
+      frame.pushStackItem(immediate);
+    } else {
+      frame.pushStackItem(readImmediate(frame.getCode().getBytes(), pc, length));
+    }
+
+    return successResponse;
+  }
 
+  /**
+   * Reads the value pushed by a PUSH operation, zero-padding any bytes beyond the end of the code.
+   *
+   * @param code the code containing the operation
+   * @param pc the offset of the PUSH operation
+   * @param length the number of bytes pushed by the operation
+   * @return the value to push
+   */
+  public static UInt256 readImmediate(final Bytes code, final int pc, final int length) {
     final int copyLength = min(length, code.size() - pc - 1);
     final MutableBytes32 bytes = MutableBytes32.create();
     code.slice(pc + 1, copyLength).copyTo(bytes, bytes.size() - length);
-    frame.pushStackItem(UInt256.fromBytes(bytes));
-
-    return successResponse;
+    return UInt256.fromBytes(bytes);
   }
 }
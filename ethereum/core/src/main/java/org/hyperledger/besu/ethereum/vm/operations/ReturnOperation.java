@@ -42,7 +42,14 @@ public class ReturnOperation extends AbstractOperation {
       return new OperationResult(optionalCost, Optional.of(ExceptionalHaltReason.INSUFFICIENT_GAS));
     }
 
-    frame.setOutputData(frame.readMemory(from, length));
+    // Memory is not modified once the frame returns, so the output can be a view of it until the
+    // frame completes and copies it. Code returned by a contract creation is stored in the world
+    // state before that, so it is copied right away instead of retaining the whole memory.
+    if (frame.getType() == MessageFrame.Type.CONTRACT_CREATION) {
+      frame.setOutputData(frame.readMemory(from, length));
+    } else {
+      frame.setOutputDataFromMemoryView(frame.readMemoryView(from, length));
+    }
     frame.setState(MessageFrame.State.CODE_SUCCESS);
     return new OperationResult(optionalCost, Optional.empty());
   }
@@ -43,8 +43,10 @@ public class RevertOperation extends AbstractOperation {
       return new OperationResult(optionalCost, Optional.of(ExceptionalHaltReason.INSUFFICIENT_GAS));
     }
 
-    final Bytes reason = frame.readMemory(from, length);
-    frame.setOutputData(reason);
+    // Memory is not modified once the frame reverts, so the reason can be a view of it until the
+    // frame completes and copies it.
+    final Bytes reason = frame.readMemoryView(from, length);
+    frame.setOutputDataFromMemoryView(reason);
     frame.setRevertReason(reason);
     frame.setState(MessageFrame.State.REVERT);
     return new OperationResult(optionalCost, Optional.empty());
@@ -18,9 +18,6 @@ import org.hyperledger.besu.ethereum.vm.EVM;
 import org.hyperledger.besu.ethereum.vm.GasCalculator;
 import org.hyperledger.besu.ethereum.vm.MessageFrame;
 
-import org.apache.tuweni.bytes.Bytes32;
-import org.apache.tuweni.units.bigints.UInt256;
-
 public class ShrOperation extends AbstractFixedCostOperation {
 
   public ShrOperation(final GasCalculator gasCalculator) {
@@ -29,14 +26,7 @@ public class ShrOperation extends AbstractFixedCostOperation {
 
   @Override
   public OperationResult executeFixedCostOperation(final MessageFrame frame, final EVM evm) {
-    final UInt256 shiftAmount = frame.popStackItem();
-    final Bytes32 value = frame.popStackItem();
-
-    if (!shiftAmount.fitsInt() || shiftAmount.intValue() >= 256) {
-      frame.pushStackItem(UInt256.ZERO);
-    } else {
-      frame.pushStackItem(UInt256.fromBytes(value.shiftRight(shiftAmount.intValue())));
-    }
+    frame.getOperandStack().shr();
 
     return successResponse;
   }
@@ -15,6 +15,7 @@
  */
 package org.hyperledger.besu.ethereum.worldstate;
 
+import org.hyperledger.besu.ethereum.core.Account;
 import org.hyperledger.besu.ethereum.core.Address;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.Hash;
@@ -23,9 +24,12 @@ import org.hyperledger.besu.ethereum.core.WorldState;
 import org.hyperledger.besu.ethereum.proof.WorldStateProof;
 import org.hyperledger.besu.ethereum.proof.WorldStateProofProvider;
 import org.hyperledger.besu.ethereum.trie.MerklePatriciaTrie;
+import org.hyperledger.besu.ethereum.trie.TrieWorkerPool;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.units.bigints.UInt256;
@@ -102,4 +106,40 @@ public class DefaultWorldStateArchive implements WorldStateArchive {
       final List<UInt256> accountStorageKeys) {
     return worldStateProof.getAccountProof(worldStateRoot, accountAddress, accountStorageKeys);
   }
+
+  /**
+   * Walks the trie paths of the accounts and storage slots, in parallel across accounts, so that
+   * their nodes are in the database block cache when the block is processed.
+   */
+  @Override
+  public void prefetch(
+      final Hash worldStateRoot, final Map<Address, Set<UInt256>> accountsAndSlots) {
+    if (!worldStateStorage.isWorldStateAvailable(worldStateRoot, null)) {
+      return;
+    }
+    if (accountsAndSlots.size() > 1) {
+      TrieWorkerPool.get()
+          .submit(
+              () ->
+                  accountsAndSlots.entrySet().parallelStream()
+                      .forEach(
+                          entry ->
+                              prefetchAccount(worldStateRoot, entry.getKey(), entry.getValue())))
+          .join();
+    } else {
+      accountsAndSlots.forEach((address, slots) -> prefetchAccount(worldStateRoot, address, slots));
+    }
+  }
+
+  // the tries load their nodes lazily, so each account is read through its own world state
+  private void prefetchAccount(
+      final Hash worldStateRoot, final Address address, final Set<UInt256> slots) {
+    // loading the values walks the trie paths leading to them
+    final Account account =
+        new DefaultMutableWorldState(worldStateRoot, worldStateStorage, preimageStorage)
+            .get(address);
+    if (account != null) {
+      slots.forEach(account::getStorageValue);
+    }
+  }
 }
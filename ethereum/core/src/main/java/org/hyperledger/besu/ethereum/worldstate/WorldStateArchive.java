@@ -23,7 +23,9 @@ import org.hyperledger.besu.ethereum.proof.WorldStateProof;
 import org.hyperledger.besu.ethereum.trie.MerklePatriciaTrie;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.units.bigints.UInt256;
@@ -49,4 +51,15 @@ public interface WorldStateArchive {
 
   Optional<WorldStateProof> getAccountProof(
       Hash worldStateRoot, Address accountAddress, List<UInt256> accountStorageKeys);
+
+  /**
+   * Warms the storage caches with the accounts and storage slots that are about to be read, so that
+   * processing a block does not stall on loading them one at a time. Prefetching is best effort and
+   * may be called concurrently with block processing.
+   *
+   * @param worldStateRoot the root of the world state to read from
+   * @param accountsAndSlots the storage slots to load for each account, which may be empty
+   */
+  default void prefetch(
+      final Hash worldStateRoot, final Map<Address, Set<UInt256>> accountsAndSlots) {}
 }
@@ -0,0 +1,84 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.bonsai;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.Address;
+import org.hyperledger.besu.ethereum.core.InMemoryKeyValueStorageProvider;
+import org.hyperledger.besu.ethereum.core.MutableAccount;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
+import org.hyperledger.besu.ethereum.core.Wei;
+import org.hyperledger.besu.ethereum.core.WorldUpdater;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.junit.Test;
+
+public class BonsaiPersistedWorldStateTest {
+
+  private static final int CONTRACT_COUNT = 64;
+  private static final int SLOT_COUNT = 32;
+
+  private final MutableWorldState bonsaiState =
+      InMemoryKeyValueStorageProvider.createBonsaiInMemoryWorldStateArchive(mock(Blockchain.class))
+          .getMutable();
+  private final MutableWorldState forestState =
+      InMemoryKeyValueStorageProvider.createInMemoryWorldStateArchive().getMutable();
+
+  @Test
+  public void storageRootsOfManyContractsShouldMatchForestState() {
+    populateContracts(bonsaiState, 1);
+    populateContracts(forestState, 1);
+    bonsaiState.persist(null);
+    forestState.persist(null);
+
+    assertThat(bonsaiState.rootHash()).isEqualTo(forestState.rootHash());
+  }
+
+  @Test
+  public void updatedAndClearedStorageShouldMatchForestState() {
+    populateContracts(bonsaiState, 1);
+    populateContracts(forestState, 1);
+    bonsaiState.persist(null);
+    forestState.persist(null);
+
+    // overwrite half the slots and zero the rest, which removes them from the storage tries
+    populateContracts(bonsaiState, 2);
+    populateContracts(forestState, 2);
+    bonsaiState.persist(null);
+    forestState.persist(null);
+
+    assertThat(bonsaiState.rootHash()).isEqualTo(forestState.rootHash());
+  }
+
+  private static void populateContracts(final MutableWorldState worldState, final int round) {
+    final WorldUpdater updater = worldState.updater();
+    for (int contract = 1; contract <= CONTRACT_COUNT; contract++) {
+      final MutableAccount account =
+          updater.getOrCreate(Address.fromHexString(Integer.toHexString(contract))).getMutable();
+      account.setBalance(Wei.of(contract));
+      account.setCode(Bytes.of(contract));
+      for (int slot = 0; slot < SLOT_COUNT; slot++) {
+        final UInt256 value =
+            round > 1 && slot % 2 == 0 ? UInt256.ZERO : UInt256.valueOf(contract * slot * round);
+        account.setStorageValue(UInt256.valueOf(slot), value);
+      }
+    }
+    updater.commit();
+  }
+}
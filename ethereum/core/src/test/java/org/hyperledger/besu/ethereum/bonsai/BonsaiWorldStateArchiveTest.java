@@ -20,24 +20,35 @@ import static org.hyperledger.besu.ethereum.bonsai.BonsaiWorldStateKeyValueStora
 import static org.hyperledger.besu.ethereum.bonsai.BonsaiWorldStateKeyValueStorage.WORLD_ROOT_HASH_KEY;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.Address;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
 import org.hyperledger.besu.ethereum.core.Hash;
+import org.hyperledger.besu.ethereum.core.InMemoryKeyValueStorageProvider;
+import org.hyperledger.besu.ethereum.core.MutableAccount;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
+import org.hyperledger.besu.ethereum.core.Wei;
+import org.hyperledger.besu.ethereum.core.WorldUpdater;
 import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
 import org.hyperledger.besu.ethereum.storage.StorageProvider;
 import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier;
 import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
 
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+
+import org.apache.tuweni.units.bigints.UInt256;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -60,7 +71,8 @@ public class BonsaiWorldStateArchiveTest {
 
   @Before
   public void setUp() {
-    when(storageProvider.getStorageBySegmentIdentifier(any(KeyValueSegmentIdentifier.class)))
+    lenient()
+        .when(storageProvider.getStorageBySegmentIdentifier(any(KeyValueSegmentIdentifier.class)))
         .thenReturn(keyValueStorage);
   }
 
@@ -160,4 +172,52 @@ public class BonsaiWorldStateArchiveTest {
     verify(layeredWorldStatesByHash).entrySet();
     verifyNoMoreInteractions(layeredWorldStatesByHash);
   }
+
+  @Test
+  public void testPrefetchLoadsAccountsAndStorageIntoTheCaches() {
+    final InMemoryKeyValueStorageProvider provider = new InMemoryKeyValueStorageProvider();
+    final MutableWorldState worldState =
+        new BonsaiWorldStateArchive(provider, blockchain).getMutable();
+    final WorldUpdater updater = worldState.updater();
+    final Map<Address, Set<UInt256>> accountsAndSlots = new HashMap<>();
+    for (int i = 1; i <= 4; i++) {
+      final Address address = Address.fromHexString(Integer.toHexString(i));
+      final MutableAccount account = updater.createAccount(address).getMutable();
+      account.setBalance(Wei.of(i));
+      account.setStorageValue(UInt256.ONE, UInt256.valueOf(i));
+      accountsAndSlots.put(address, Set.of(UInt256.ONE, UInt256.valueOf(2)));
+    }
+    updater.commit();
+    worldState.persist(null);
+    final Address missingAccount = Address.fromHexString("0xff");
+    accountsAndSlots.put(missingAccount, Set.of(UInt256.ONE));
+
+    // the caches of a new storage start cold, as after a restart
+    final BonsaiWorldStateKeyValueStorage worldStateStorage =
+        new BonsaiWorldStateKeyValueStorage(provider);
+    bonsaiWorldStateArchive =
+        new BonsaiWorldStateArchive(
+            worldStateStorage, blockchain, 512, new HashMap<>(), new NoOpMetricsSystem());
+    bonsaiWorldStateArchive.prefetch(worldState.rootHash(), accountsAndSlots);
+
+    final long accountMisses = worldStateStorage.accountCache.stats().missCount();
+    final long storageMisses = worldStateStorage.storageCache.stats().missCount();
+    for (int i = 1; i <= 4; i++) {
+      final Hash accountHash = Hash.hash(Address.fromHexString(Integer.toHexString(i)));
+      assertThat(worldStateStorage.getAccount(accountHash)).isPresent();
+      assertThat(
+              worldStateStorage
+                  .getStorageValueBySlotHash(accountHash, Hash.hash(UInt256.ONE))
+                  .map(UInt256::fromBytes))
+          .contains(UInt256.valueOf(i));
+      assertThat(
+              worldStateStorage.getStorageValueBySlotHash(
+                  accountHash, Hash.hash(UInt256.valueOf(2))))
+          .isEmpty();
+    }
+    assertThat(worldStateStorage.getAccount(Hash.hash(missingAccount))).isEmpty();
+    assertThat(worldStateStorage.accountCache.stats().missCount()).isEqualTo(accountMisses);
+    assertThat(worldStateStorage.storageCache.stats().missCount()).isEqualTo(storageMisses);
+    assertThat(worldStateStorage.trieNodeCache.size()).isPositive();
+  }
 }
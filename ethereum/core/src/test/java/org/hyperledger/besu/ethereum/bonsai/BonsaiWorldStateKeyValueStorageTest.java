@@ -22,6 +22,10 @@ import org.hyperledger.besu.ethereum.core.Hash;
 import org.hyperledger.besu.ethereum.core.InMemoryKeyValueStorageProvider;
 import org.hyperledger.besu.ethereum.trie.MerklePatriciaTrie;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.apache.tuweni.units.bigints.UInt256;
@@ -192,6 +196,146 @@ public class BonsaiWorldStateKeyValueStorageTest {
         .isTrue();
   }
 
+  @Test
+  public void getAccount_cachedValueFollowsCommittedUpdates() {
+    final BonsaiWorldStateKeyValueStorage storage = emptyStorage();
+    final Hash accountHash = Hash.hash(Address.fromHexString("0x1"));
+    final Bytes account = Bytes.fromHexString("0x123456");
+
+    assertThat(storage.getAccount(accountHash)).isEmpty();
+    storage.updater().putAccountInfoState(accountHash, account).commit();
+    assertThat(storage.getAccount(accountHash)).contains(account);
+
+    final BonsaiWorldStateKeyValueStorage.Updater updater = storage.updater();
+    updater.removeAccountInfoState(accountHash);
+    updater.commit();
+    assertThat(storage.getAccount(accountHash)).isEmpty();
+  }
+
+  @Test
+  public void getStorageValueBySlotHash_rolledBackUpdatesAreNotCached() {
+    final BonsaiWorldStateKeyValueStorage storage = emptyStorage();
+    final Hash accountHash = Hash.hash(Address.fromHexString("0x1"));
+    final Hash slotHash = Hash.hash(UInt256.ONE);
+    final Bytes value = UInt256.valueOf(2);
+
+    storage.updater().putStorageValueBySlotHash(accountHash, slotHash, value).commit();
+    assertThat(storage.getStorageValueBySlotHash(accountHash, slotHash)).contains(value);
+
+    final BonsaiWorldStateKeyValueStorage.Updater updater = storage.updater();
+    updater.removeStorageValueBySlotHash(accountHash, slotHash);
+    updater.rollback();
+    assertThat(storage.getStorageValueBySlotHash(accountHash, slotHash)).contains(value);
+  }
+
+  @Test
+  public void getStorageValueBySlotHash_repeatedReadsAreServedFromCache() {
+    final BonsaiWorldStateKeyValueStorage storage = emptyStorage();
+    final Hash accountHash = Hash.hash(Address.fromHexString("0x1"));
+    final Hash slotHash = Hash.hash(UInt256.ONE);
+
+    storage.getStorageValueBySlotHash(accountHash, slotHash);
+    storage.getStorageValueBySlotHash(accountHash, slotHash);
+
+    assertThat(storage.storageCache.stats().missCount()).isEqualTo(1);
+    assertThat(storage.storageCache.stats().hitCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void getAccountStateTrieNode_cachedNodeFollowsDirectWrites() {
+    final Bytes location = Bytes.fromHexString("0x0102");
+    final Bytes original = Bytes.fromHexString("0x123456");
+    final Bytes updated = Bytes.fromHexString("0x654321");
+    final BonsaiWorldStateKeyValueStorage storage = emptyStorage();
+    storage.updater().putAccountStateTrieNode(location, Hash.hash(original), original).commit();
+    assertThat(storage.getAccountStateTrieNode(location, Hash.hash(original))).contains(original);
+
+    final BonsaiWorldStateKeyValueStorage.Updater updater = storage.updater();
+    updater
+        .getTrieBranchStorageTransaction()
+        .put(location.toArrayUnsafe(), updated.toArrayUnsafe());
+    updater.commit();
+
+    assertThat(storage.getAccountStateTrieNode(location, Hash.hash(updated))).contains(updated);
+  }
+
+  @Test
+  public void getAccountStorageTrieNode_upperLevelsAreServedFromCache() {
+    final Hash accountHash = Hash.hash(Address.fromHexString("0x1"));
+    final Bytes location = Bytes.fromHexString("0x01");
+    final Bytes bytes = Bytes.fromHexString("0x123456");
+    final BonsaiWorldStateKeyValueStorage storage = emptyStorage();
+    storage
+        .updater()
+        .putAccountStorageTrieNode(accountHash, location, Hash.hash(bytes), bytes)
+        .commit();
+
+    storage.getAccountStorageTrieNode(accountHash, location, Hash.hash(bytes));
+    storage.getAccountStorageTrieNode(accountHash, location, Hash.hash(bytes));
+
+    assertThat(storage.trieNodeCache.stats().hitCount()).isEqualTo(2);
+    assertThat(storage.trieNodeCache.stats().missCount()).isZero();
+  }
+
+  @Test
+  public void getAccounts_missingAccountsAreCachedByOneBatchRead() {
+    final BonsaiWorldStateKeyValueStorage storage = emptyStorage();
+    final Hash accountHash1 = Hash.hash(Address.fromHexString("0x1"));
+    final Hash accountHash2 = Hash.hash(Address.fromHexString("0x2"));
+    final Bytes account = Bytes.fromHexString("0x123456");
+    storage.updater().putAccountInfoState(accountHash1, account).commit();
+    storage.accountCache.invalidateAll();
+
+    final Map<Bytes, Optional<Bytes>> accounts =
+        storage.getAccounts(List.of(accountHash1, accountHash2));
+
+    assertThat(accounts.get(accountHash1)).contains(account);
+    assertThat(accounts.get(accountHash2)).isEmpty();
+    final long missCount = storage.accountCache.stats().missCount();
+    assertThat(storage.getAccount(accountHash1)).contains(account);
+    assertThat(storage.getAccount(accountHash2)).isEmpty();
+    assertThat(storage.accountCache.stats().missCount()).isEqualTo(missCount);
+  }
+
+  @Test
+  public void getAccounts_valuesReadWhileCacheIsUpdatedAreNotCached() {
+    final BonsaiWorldStateKeyValueStorage storage = emptyStorage();
+    final Hash accountHash = Hash.hash(Address.fromHexString("0x1"));
+    final Bytes original = Bytes.fromHexString("0x123456");
+    final Bytes updated = Bytes.fromHexString("0x654321");
+
+    final Map<Bytes, Optional<Bytes>> accounts =
+        storage.accountCache.getAll(
+            List.of(accountHash),
+            keys -> {
+              // a block is committed while the original value is being read
+              storage.updater().putAccountInfoState(accountHash, updated).commit();
+              storage.accountCache.invalidateAll();
+              return List.of(Optional.of(original));
+            });
+
+    assertThat(accounts.get(accountHash)).contains(original);
+    assertThat(storage.getAccount(accountHash)).contains(updated);
+  }
+
+  @Test
+  public void prefetchStorageValues_slotsAreServedFromCache() {
+    final BonsaiWorldStateKeyValueStorage storage = emptyStorage();
+    final Hash accountHash = Hash.hash(Address.fromHexString("0x1"));
+    final Hash slotHash1 = Hash.hash(UInt256.ONE);
+    final Hash slotHash2 = Hash.hash(UInt256.valueOf(2));
+    final Bytes value = UInt256.valueOf(3);
+    storage.updater().putStorageValueBySlotHash(accountHash, slotHash1, value).commit();
+    storage.storageCache.invalidateAll();
+
+    storage.prefetchStorageValues(Map.of(accountHash, List.of(slotHash1, slotHash2)));
+
+    final long missCount = storage.storageCache.stats().missCount();
+    assertThat(storage.getStorageValueBySlotHash(accountHash, slotHash1)).contains(value);
+    assertThat(storage.getStorageValueBySlotHash(accountHash, slotHash2)).isEmpty();
+    assertThat(storage.storageCache.stats().missCount()).isEqualTo(missCount);
+  }
+
   private BonsaiWorldStateKeyValueStorage emptyStorage() {
     return new BonsaiWorldStateKeyValueStorage(new InMemoryKeyValueStorageProvider());
   }
@@ -0,0 +1,76 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.Address;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
+import org.hyperledger.besu.ethereum.core.Hash;
+
+import java.util.Optional;
+
+import org.junit.Test;
+
+public class BlockExecutionContextTest {
+
+  private final Blockchain blockchain = mock(Blockchain.class);
+  private final MiningBeneficiaryCalculator beneficiaryCalculator =
+      mock(MiningBeneficiaryCalculator.class);
+
+  @Test
+  public void shouldCalculateBeneficiaryOnce() {
+    final BlockHeader header = new BlockHeaderTestFixture().number(1).buildHeader();
+    final Address beneficiary = Address.fromHexString("0x01");
+    when(beneficiaryCalculator.calculateBeneficiary(header)).thenReturn(beneficiary);
+
+    final BlockExecutionContext context =
+        BlockExecutionContext.forBlock(blockchain, header, beneficiaryCalculator);
+
+    assertThat(context.getMiningBeneficiary()).isEqualTo(beneficiary);
+    assertThat(context.getMiningBeneficiary()).isEqualTo(beneficiary);
+    assertThat(context.getBlockHeader()).isSameAs(header);
+    assertThat(context.isFor(header)).isTrue();
+    assertThat(context.isFor(new BlockHeaderTestFixture().number(2).buildHeader())).isFalse();
+    verify(beneficiaryCalculator, times(1)).calculateBeneficiary(header);
+  }
+
+  @Test
+  public void shouldShareAncestorLookupsAcrossTransactions() {
+    final BlockHeader grandParent = new BlockHeaderTestFixture().number(1).buildHeader();
+    final BlockHeader parent =
+        new BlockHeaderTestFixture().number(2).parentHash(grandParent.getHash()).buildHeader();
+    final BlockHeader header =
+        new BlockHeaderTestFixture().number(3).parentHash(parent.getHash()).buildHeader();
+    when(blockchain.getBlockHeader(parent.getHash())).thenReturn(Optional.of(parent));
+
+    final BlockExecutionContext context =
+        new BlockExecutionContext(blockchain, header, header.getCoinbase());
+
+    assertThat(context.getBlockHashLookup()).isSameAs(context.getBlockHashLookup());
+    final Hash first = context.getBlockHashLookup().getBlockHash(1);
+    final Hash second = context.getBlockHashLookup().getBlockHash(1);
+
+    assertThat(first).isEqualTo(grandParent.getHash()).isEqualTo(second);
+    verify(blockchain, times(1)).getBlockHeader(any(Hash.class));
+  }
+}
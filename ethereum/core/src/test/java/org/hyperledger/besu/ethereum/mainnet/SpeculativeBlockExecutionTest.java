@@ -0,0 +1,198 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hyperledger.besu.ethereum.core.InMemoryKeyValueStorageProvider.createInMemoryWorldStateArchive;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.config.GenesisConfigFile;
+import org.hyperledger.besu.crypto.KeyPair;
+import org.hyperledger.besu.crypto.SignatureAlgorithm;
+import org.hyperledger.besu.crypto.SignatureAlgorithmFactory;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.Address;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.TransactionTestFixture;
+import org.hyperledger.besu.ethereum.core.Util;
+import org.hyperledger.besu.ethereum.core.Wei;
+import org.hyperledger.besu.ethereum.core.WorldUpdater;
+import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
+import org.hyperledger.besu.ethereum.vm.BlockHashLookup;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class SpeculativeBlockExecutionTest {
+
+  private static final SignatureAlgorithm SIGNATURE_ALGORITHM =
+      SignatureAlgorithmFactory.getInstance();
+  private static final Wei INITIAL_BALANCE = Wei.of(1_000_000_000_000_000_000L);
+
+  private final KeyPair alice = SIGNATURE_ALGORITHM.generateKeyPair();
+  private final KeyPair bob = SIGNATURE_ALGORITHM.generateKeyPair();
+  private final KeyPair carol = SIGNATURE_ALGORITHM.generateKeyPair();
+  private final KeyPair dave = SIGNATURE_ALGORITHM.generateKeyPair();
+  private final KeyPair erin = SIGNATURE_ALGORITHM.generateKeyPair();
+  private final Address coinbase = Address.fromHexString("0xc0ffee");
+
+  private final Blockchain blockchain = mock(Blockchain.class);
+  private final BlockHeader blockHeader =
+      new BlockHeaderTestFixture().number(1).gasLimit(10_000_000).coinbase(coinbase).buildHeader();
+  private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+  // alice's second transfer reads the nonce and balance her first one changes, and dave's transfer
+  // reads the balance carol's transfer changes; erin pays an account no other transaction touches
+  private final List<Transaction> transactions =
+      List.of(
+          transfer(alice, 0, address(bob)),
+          transfer(alice, 1, address(bob)),
+          transfer(carol, 0, address(dave)),
+          transfer(dave, 0, coinbase),
+          transfer(erin, 0, Address.fromHexString("0xe1e1")));
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void shouldOnlyReExecuteConflictingTransactions() {
+    final ProtocolSpec protocolSpec = protocolSpec();
+    final MutableWorldState worldState = fundedWorldState();
+
+    final SpeculativeBlockExecution execution =
+        SpeculativeBlockExecution.execute(
+            executor,
+            protocolSpec.getTransactionProcessor(),
+            blockchain,
+            worldState,
+            blockHeader,
+            coinbase,
+            transactions);
+
+    for (int i = 0; i < transactions.size(); i++) {
+      final WorldUpdater updater = worldState.updater();
+      final Optional<TransactionProcessingResult> result = execution.commit(i, updater);
+      if (i == 1 || i == 3) {
+        assertThat(result).isEmpty();
+        protocolSpec
+            .getTransactionProcessor()
+            .processTransaction(
+                blockchain,
+                updater,
+                blockHeader,
+                transactions.get(i),
+                coinbase,
+                new BlockHashLookup(blockHeader, blockchain),
+                true,
+                TransactionValidationParams.processingBlock());
+      } else {
+        assertThat(result).hasValueSatisfying(r -> assertThat(r.isSuccessful()).isTrue());
+      }
+      updater.commit();
+    }
+
+    assertThat(execution.getReExecutions()).isEqualTo(2);
+  }
+
+  @Test(timeout = 10_000)
+  public void shouldReExecuteTransactionsWhoseSpeculationThrowsError() {
+    final MainnetTransactionProcessor transactionProcessor =
+        mock(MainnetTransactionProcessor.class);
+    when(transactionProcessor.processTransaction(
+            any(), any(), any(), any(), any(), any(), any(), any(), any(), any()))
+        .thenThrow(new StackOverflowError());
+    final MutableWorldState worldState = fundedWorldState();
+
+    final SpeculativeBlockExecution execution =
+        SpeculativeBlockExecution.execute(
+            executor,
+            transactionProcessor,
+            blockchain,
+            worldState,
+            blockHeader,
+            coinbase,
+            transactions);
+
+    for (int i = 0; i < transactions.size(); i++) {
+      assertThat(execution.commit(i, worldState.updater())).isEmpty();
+    }
+    assertThat(execution.getReExecutions()).isEqualTo(transactions.size());
+  }
+
+  @Test
+  public void parallelExecutionShouldMatchSequentialExecution() {
+    final BlockProcessor sequentialProcessor = protocolSpec().getBlockProcessor();
+    final ProtocolSchedule parallelSchedule =
+        MainnetProtocolSchedule.fromConfig(GenesisConfigFile.development().getConfigOptions());
+    parallelSchedule.setParallelTransactionExecutor(executor);
+    final BlockProcessor parallelProcessor =
+        parallelSchedule.getByBlockNumber(0).getBlockProcessor();
+
+    final MutableWorldState sequentialState = fundedWorldState();
+    final MutableWorldState parallelState = fundedWorldState();
+    final BlockProcessor.Result sequentialResult =
+        sequentialProcessor.processBlock(
+            blockchain, sequentialState, blockHeader, transactions, Collections.emptyList());
+    final BlockProcessor.Result parallelResult =
+        parallelProcessor.processBlock(
+            blockchain, parallelState, blockHeader, transactions, Collections.emptyList());
+
+    assertThat(sequentialResult.isSuccessful()).isTrue();
+    assertThat(parallelResult.isSuccessful()).isTrue();
+    assertThat(parallelResult.getReceipts()).isEqualTo(sequentialResult.getReceipts());
+    assertThat(parallelState.rootHash()).isEqualTo(sequentialState.rootHash());
+  }
+
+  private ProtocolSpec protocolSpec() {
+    return MainnetProtocolSchedule.fromConfig(GenesisConfigFile.development().getConfigOptions())
+        .getByBlockNumber(0);
+  }
+
+  private MutableWorldState fundedWorldState() {
+    final MutableWorldState worldState = createInMemoryWorldStateArchive().getMutable();
+    final WorldUpdater updater = worldState.updater();
+    List.of(alice, carol, dave, erin)
+        .forEach(keys -> updater.createAccount(address(keys), 0, INITIAL_BALANCE));
+    updater.commit();
+    return worldState;
+  }
+
+  private static Address address(final KeyPair keys) {
+    return Util.publicKeyToAddress(keys.getPublicKey());
+  }
+
+  private static Transaction transfer(final KeyPair sender, final long nonce, final Address to) {
+    return new TransactionTestFixture()
+        .sender(address(sender))
+        .nonce(nonce)
+        .gasLimit(21_000)
+        .to(Optional.of(to))
+        .value(Wei.of(1_000))
+        .createTransaction(sender);
+  }
+}
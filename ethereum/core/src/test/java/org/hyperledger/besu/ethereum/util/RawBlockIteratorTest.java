@@ -46,22 +46,22 @@ public class RawBlockIteratorTest {
   }
 
   @Test
-  public void readsBlockAtBoundaryOfInitialCapacity() throws IOException {
-    readsBlocksWithInitialCapacity(Function.identity());
+  public void readsBlockAtBoundaryOfWindow() throws IOException {
+    readsBlocksWithWindowSize(Function.identity());
   }
 
   @Test
-  public void readsBlockThatExtendsPastInitialCapacity() throws IOException {
-    readsBlocksWithInitialCapacity((size) -> size / 2);
+  public void readsBlockThatExtendsPastWindow() throws IOException {
+    readsBlocksWithWindowSize((size) -> size / 2);
   }
 
   @Test
-  public void readsBlockWithinInitialCapacity() throws IOException {
-    readsBlocksWithInitialCapacity((size) -> size * 2);
+  public void readsBlockWithinWindow() throws IOException {
+    readsBlocksWithWindowSize((size) -> size * 2);
   }
 
-  public void readsBlocksWithInitialCapacity(
-      final Function<Integer, Integer> initialCapacityFromBlockSize) throws IOException {
+  public void readsBlocksWithWindowSize(
+      final Function<Integer, Integer> windowSizeFromBlockSize) throws IOException {
     final int blockCount = 3;
     final List<Block> blocks = gen.blockSequence(blockCount);
 
@@ -79,12 +79,12 @@ public class RawBlockIteratorTest {
     writer.close();
 
     // Read blocks
-    final int initialCapacity = initialCapacityFromBlockSize.apply(firstSerializedBlock.length);
+    final int windowSize = windowSizeFromBlockSize.apply(firstSerializedBlock.length);
     final RawBlockIterator iterator =
         new RawBlockIterator(
             blocksFile.toPath(),
             rlp -> BlockHeader.readFrom(rlp, new MainnetBlockHeaderFunctions()),
-            initialCapacity);
+            windowSize);
 
     // Read blocks and check that they match
     for (int i = 0; i < blockCount; i++) {
@@ -0,0 +1,69 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.vm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.ethereum.core.Hash;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.Test;
+
+public class CodeCacheTest {
+
+  private final CodeCache codeCache = new CodeCache(1024);
+
+  @Test
+  public void shouldReuseAnalyzedCodeForSameHash() {
+    final Bytes bytes = Bytes.fromHexString("0x5b600056");
+    final Hash codeHash = Hash.hash(bytes);
+
+    final Code first = codeCache.getOrCreate(codeHash, bytes);
+    final Code second = codeCache.getOrCreate(codeHash, bytes);
+
+    assertThat(second).isSameAs(first);
+    assertThat(codeCache.stats().hitCount()).isEqualTo(1);
+    assertThat(codeCache.stats().missCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldNotCacheEmptyCode() {
+    assertThat(codeCache.getOrCreate(Hash.EMPTY, Bytes.EMPTY)).isSameAs(Code.EMPTY);
+    assertThat(codeCache.size()).isZero();
+  }
+
+  @Test
+  public void shouldNotRetainCodeLargerThanLimit() {
+    final Bytes bytes = Bytes.wrap(new byte[2048]);
+
+    final Code code = codeCache.getOrCreate(Hash.hash(bytes), bytes);
+
+    assertThat(code.getBytes()).isEqualTo(bytes);
+    assertThat(codeCache.size()).isZero();
+    assertThat(codeCache.stats().evictionCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldWeighDecodedArraysAndPushImmediates() {
+    // JUMPDEST, PUSH1 0x00, JUMP, PUSH32 followed by its 32 bytes
+    final Bytes bytes =
+        Bytes.concatenate(Bytes.fromHexString("0x5b6000567f"), Bytes.wrap(new byte[32]));
+
+    final int weight = CodeCache.weigh(new Code(bytes));
+
+    // bytes, jump destination bitmap, two reference arrays and two PUSH immediates
+    assertThat(weight).isEqualTo(37 + 37 / 8 + 2 * 4 * 37 + 2 * 64);
+  }
+}
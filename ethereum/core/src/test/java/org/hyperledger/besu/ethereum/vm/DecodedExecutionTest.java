@@ -0,0 +1,82 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.vm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.config.GenesisConfigFile;
+import org.hyperledger.besu.ethereum.core.Gas;
+import org.hyperledger.besu.ethereum.core.MessageFrameTestFixture;
+import org.hyperledger.besu.ethereum.mainnet.MainnetProtocolSchedule;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.junit.Test;
+
+public class DecodedExecutionTest {
+
+  // Counts down from 10 to 0 in a JUMPI loop, then stops.
+  private static final Bytes COUNTDOWN = Bytes.fromHexString("0x600a5b600190038060025700");
+
+  private static final OperationTracer PASS_THROUGH_TRACER =
+      (frame, executeOperation) -> executeOperation.execute();
+
+  private final EVM evm =
+      MainnetProtocolSchedule.fromConfig(GenesisConfigFile.development().getConfigOptions())
+          .getByBlockNumber(0)
+          .getEvm();
+
+  @Test
+  public void decodedExecutionMatchesTracedExecution() {
+    final MessageFrame decoded = execute(new Code(COUNTDOWN), OperationTracer.NO_TRACING);
+    final MessageFrame traced = execute(new Code(COUNTDOWN), PASS_THROUGH_TRACER);
+
+    assertThat(decoded.getState()).isEqualTo(MessageFrame.State.CODE_SUCCESS);
+    assertThat(decoded.getState()).isEqualTo(traced.getState());
+    assertThat(decoded.getRemainingGas()).isEqualTo(traced.getRemainingGas());
+    assertThat(decoded.getPC()).isEqualTo(traced.getPC());
+    assertThat(decoded.stackSize()).isEqualTo(1);
+    assertThat(decoded.getStackItem(0)).isEqualTo(traced.getStackItem(0));
+  }
+
+  @Test
+  public void decodingPopulatesPushImmediates() {
+    final Code code = new Code(COUNTDOWN);
+    assertThat(code.getPushImmediate(0)).isNull();
+
+    execute(code, OperationTracer.NO_TRACING);
+
+    assertThat(code.getPushImmediate(0)).isEqualTo(UInt256.valueOf(10));
+    assertThat(code.getPushImmediate(3)).isEqualTo(UInt256.ONE);
+    assertThat(code.getPushImmediate(2)).isNull();
+  }
+
+  @Test
+  public void truncatedPushIsZeroPadded() {
+    final Code code = new Code(Bytes.fromHexString("0x61ff"));
+
+    final MessageFrame frame = execute(code, OperationTracer.NO_TRACING);
+
+    assertThat(frame.getStackItem(0)).isEqualTo(UInt256.valueOf(0xff00));
+  }
+
+  private MessageFrame execute(final Code code, final OperationTracer tracer) {
+    final MessageFrame frame =
+        new MessageFrameTestFixture().initialGas(Gas.of(100_000)).code(code).build();
+    frame.setState(MessageFrame.State.CODE_EXECUTING);
+    evm.runToHalt(frame, tracer);
+    return frame;
+  }
+}
@@ -147,6 +147,42 @@ public class MemoryTest {
     assertThat(memory.getWord(UInt256.valueOf(64))).isEqualTo(Bytes32.ZERO);
   }
 
+  @Test
+  public void shouldOnlyReportActiveWordsWhenCapacityIsLarger() {
+    memory.setWord(UInt256.ZERO, WORD1);
+    assertThat(memory.getActiveBytes()).isEqualTo(32);
+    assertThat(memory.getActiveWords()).isEqualTo(UInt256.ONE);
+
+    memory.setWord(UInt256.valueOf(40), WORD2);
+    assertThat(memory.getActiveBytes()).isEqualTo(96);
+    assertThat(memory.getActiveWords()).isEqualTo(UInt256.valueOf(3));
+    assertThat(memory.getWord(UInt256.valueOf(64)))
+        .isEqualTo(Bytes.concatenate(WORD2.slice(24), Bytes.wrap(new byte[24])));
+  }
+
+  @Test
+  public void shouldExposeViewOfMemory() {
+    memory.setWord(UInt256.ZERO, WORD1);
+    final Bytes view = memory.getBytesView(UInt256.ZERO, UInt256.valueOf(32));
+    assertThat(view).isEqualTo(WORD1);
+
+    memory.setWord(UInt256.ZERO, WORD2);
+    assertThat(view).isEqualTo(WORD2);
+  }
+
+  @Test
+  public void shouldLoadAndStoreWordsThroughTheStack() {
+    final OperandStack stack = new OperandStack(1);
+    stack.push(UInt256.fromBytes(WORD3));
+
+    memory.storeWord(UInt256.valueOf(8), stack);
+    assertThat(stack.isEmpty()).isTrue();
+    assertThat(memory.getWord(UInt256.valueOf(8))).isEqualTo(WORD3);
+
+    memory.loadWord(UInt256.valueOf(8), stack);
+    assertThat(stack.pop()).isEqualTo(UInt256.fromBytes(WORD3));
+  }
+
   private static Bytes32 fillBytes32(final long value) {
     return Bytes32.fromHexString(Strings.repeat(Long.toString(value), 64));
   }
@@ -107,4 +107,78 @@ public class OperandStackTest {
     assertThat(stack.get(1)).isEqualTo(Bytes32.fromHexString("0x02"));
     assertThat(stack.get(2)).isEqualTo(Bytes32.fromHexString("0x04"));
   }
+
+  @Test
+  public void add_WrapsAround() {
+    final OperandStack stack = new OperandStack(2);
+    stack.push(UInt256.ONE);
+    stack.push(UInt256.MAX_VALUE);
+    stack.add();
+    assertThat(stack.size()).isEqualTo(1);
+    assertThat(stack.pop()).isEqualTo(UInt256.ZERO);
+  }
+
+  @Test
+  public void sub_SubtractsSecondFromTop() {
+    final OperandStack stack = new OperandStack(2);
+    stack.push(UInt256.valueOf(3));
+    stack.push(UInt256.valueOf(2));
+    stack.sub();
+    assertThat(stack.pop()).isEqualTo(UInt256.MAX_VALUE);
+  }
+
+  @Test
+  public void mul_CarriesAcrossLimbs() {
+    final UInt256 value0 = UInt256.fromHexString("0xffffffffffffffffffffffffffffffff");
+    final UInt256 value1 = UInt256.fromHexString("0x1234567890abcdef1234567890abcdef");
+    final OperandStack stack = new OperandStack(2);
+    stack.push(value1);
+    stack.push(value0);
+    stack.mul();
+    assertThat(stack.pop()).isEqualTo(value0.multiply(value1));
+  }
+
+  @Test
+  public void lt_ComparesTopWithSecond() {
+    final OperandStack stack = new OperandStack(2);
+    stack.push(UInt256.MAX_VALUE);
+    stack.push(UInt256.ONE);
+    stack.lt();
+    assertThat(stack.pop()).isEqualTo(UInt256.ONE);
+  }
+
+  @Test
+  public void isZero() {
+    final OperandStack stack = new OperandStack(1);
+    stack.push(UInt256.ZERO);
+    stack.isZero();
+    assertThat(stack.pop()).isEqualTo(UInt256.ONE);
+  }
+
+  @Test
+  public void dupAndSwap() {
+    final OperandStack stack = new OperandStack(3);
+    stack.push(UInt256.fromHexString("0x01"));
+    stack.push(UInt256.fromHexString("0x02"));
+    stack.dup(2);
+    stack.swap(2);
+    assertThat(stack.size()).isEqualTo(3);
+    assertThat(stack.get(0)).isEqualTo(Bytes32.fromHexString("0x01"));
+    assertThat(stack.get(1)).isEqualTo(Bytes32.fromHexString("0x02"));
+    assertThat(stack.get(2)).isEqualTo(Bytes32.fromHexString("0x01"));
+  }
+
+  @Test(expected = OverflowException.class)
+  public void dup_StackOverflow() {
+    final OperandStack stack = new OperandStack(1);
+    stack.push(UInt256.fromHexString("0x01"));
+    stack.dup(1);
+  }
+
+  @Test(expected = UnderflowException.class)
+  public void add_StackUnderflow() {
+    final OperandStack stack = new OperandStack(1);
+    stack.push(UInt256.fromHexString("0x01"));
+    stack.add();
+  }
 }
@@ -0,0 +1,67 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.vm.operations;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.ethereum.core.MessageFrameTestFixture;
+import org.hyperledger.besu.ethereum.mainnet.ConstantinopleGasCalculator;
+import org.hyperledger.besu.ethereum.vm.MessageFrame;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.junit.Test;
+
+public class ReturnOperationTest {
+
+  private final Bytes returnedBytes = Bytes.fromHexString("0x0102030405060708");
+  private final UInt256 returnedLength = UInt256.valueOf(returnedBytes.size());
+
+  @Test
+  public void shouldCopyOutputOutOfMemoryWhenFrameCompletes() {
+    final MessageFrame frame =
+        new MessageFrameTestFixture()
+            .type(MessageFrame.Type.MESSAGE_CALL)
+            .pushStackItem(returnedLength)
+            .pushStackItem(UInt256.ZERO)
+            .build();
+    frame.writeMemory(UInt256.ZERO, returnedLength, returnedBytes);
+
+    new ReturnOperation(new ConstantinopleGasCalculator()).execute(frame, null);
+    frame.notifyCompletion();
+    frame.writeMemory(UInt256.ZERO, returnedLength, Bytes.wrap(new byte[returnedBytes.size()]));
+
+    assertThat(frame.getState()).isEqualTo(MessageFrame.State.CODE_SUCCESS);
+    assertThat(frame.getOutputData()).isEqualTo(returnedBytes);
+  }
+
+  @Test
+  public void shouldCopyRevertReasonOutOfMemoryWhenFrameCompletes() {
+    final MessageFrame frame =
+        new MessageFrameTestFixture()
+            .type(MessageFrame.Type.MESSAGE_CALL)
+            .pushStackItem(returnedLength)
+            .pushStackItem(UInt256.ZERO)
+            .build();
+    frame.writeMemory(UInt256.ZERO, returnedLength, returnedBytes);
+
+    new RevertOperation(new ConstantinopleGasCalculator()).execute(frame, null);
+    frame.notifyCompletion();
+    frame.writeMemory(UInt256.ZERO, returnedLength, Bytes.wrap(new byte[returnedBytes.size()]));
+
+    assertThat(frame.getOutputData()).isEqualTo(returnedBytes);
+    assertThat(frame.getRevertReason()).contains(returnedBytes);
+  }
+}
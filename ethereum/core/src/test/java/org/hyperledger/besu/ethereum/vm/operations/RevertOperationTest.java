@@ -46,7 +46,7 @@ public class RevertOperationTest {
         .thenReturn(UInt256.fromHexString("0x00"))
         .thenReturn(UInt256.fromHexString("0x0e"));
     final UInt256 uint256_14 = UInt256.valueOf(0x0e);
-    when(messageFrame.readMemory(UInt256.ZERO, uint256_14)).thenReturn(revertReasonBytes);
+    when(messageFrame.readMemoryView(UInt256.ZERO, uint256_14)).thenReturn(revertReasonBytes);
     when(messageFrame.memoryWordSize()).thenReturn(UInt256.ZERO);
     when(messageFrame.calculateMemoryExpansion(any(), any())).thenReturn(uint256_14);
     when(messageFrame.getRemainingGas()).thenReturn(Gas.of(10_000));
@@ -58,5 +58,6 @@ public class RevertOperationTest {
     operation.execute(messageFrame, null);
     Mockito.verify(messageFrame).setRevertReason(arg.capture());
     assertThat(arg.getValue()).isEqualTo(revertReasonBytes);
+    Mockito.verify(messageFrame).setOutputDataFromMemoryView(revertReasonBytes);
   }
 }
@@ -14,14 +14,15 @@
  */
 package org.hyperledger.besu.ethereum.vm.operations;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.hyperledger.besu.ethereum.core.Gas;
 import org.hyperledger.besu.ethereum.mainnet.SpuriousDragonGasCalculator;
 import org.hyperledger.besu.ethereum.vm.GasCalculator;
 import org.hyperledger.besu.ethereum.vm.MessageFrame;
+import org.hyperledger.besu.ethereum.vm.OperandStack;
 
 import java.util.Arrays;
 
@@ -108,12 +109,13 @@ public class ShlOperationTest {
   @Test
   public void shiftOperation() {
     final MessageFrame frame = mock(MessageFrame.class);
-    when(frame.stackSize()).thenReturn(2);
+    final OperandStack stack = new OperandStack(2);
+    stack.push(UInt256.fromHexString(number));
+    stack.push(UInt256.fromBytes(Bytes32.fromHexStringLenient(shift)));
     when(frame.getRemainingGas()).thenReturn(Gas.of(100));
-    when(frame.popStackItem())
-        .thenReturn(UInt256.fromBytes(Bytes32.fromHexStringLenient(shift)))
-        .thenReturn(UInt256.fromHexString(number));
+    when(frame.getOperandStack()).thenReturn(stack);
     operation.execute(frame, null);
-    verify(frame).pushStackItem(UInt256.fromHexString(expectedResult));
+    assertThat(stack.size()).isEqualTo(1);
+    assertThat(stack.pop()).isEqualTo(UInt256.fromHexString(expectedResult));
   }
 }
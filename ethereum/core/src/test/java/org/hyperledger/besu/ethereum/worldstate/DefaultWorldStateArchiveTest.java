@@ -0,0 +1,102 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.worldstate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.ethereum.core.Account;
+import org.hyperledger.besu.ethereum.core.Address;
+import org.hyperledger.besu.ethereum.core.Hash;
+import org.hyperledger.besu.ethereum.core.MutableAccount;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
+import org.hyperledger.besu.ethereum.core.Wei;
+import org.hyperledger.besu.ethereum.core.WorldUpdater;
+import org.hyperledger.besu.ethereum.storage.keyvalue.WorldStateKeyValueStorage;
+import org.hyperledger.besu.ethereum.storage.keyvalue.WorldStatePreimageKeyValueStorage;
+import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.junit.Test;
+
+public class DefaultWorldStateArchiveTest {
+
+  private final ReadRecordingStorage storage = new ReadRecordingStorage();
+  private final DefaultWorldStateArchive archive =
+      new DefaultWorldStateArchive(
+          new WorldStateKeyValueStorage(storage),
+          new WorldStatePreimageKeyValueStorage(new InMemoryKeyValueStorage()));
+
+  @Test
+  public void prefetchReadsTheNodesNeededToReadTheAccountsAndSlots() {
+    final MutableWorldState worldState = archive.getMutable();
+    final WorldUpdater updater = worldState.updater();
+    final Map<Address, Set<UInt256>> accountsAndSlots = new HashMap<>();
+    for (int i = 1; i <= 16; i++) {
+      final Address address = Address.fromHexString(Integer.toHexString(i));
+      final MutableAccount account = updater.createAccount(address).getMutable();
+      account.setBalance(Wei.of(i));
+      for (int slot = 0; slot < 8; slot++) {
+        account.setStorageValue(UInt256.valueOf(slot), UInt256.valueOf(i * slot + 1));
+      }
+      accountsAndSlots.put(address, Set.of(UInt256.ONE, UInt256.valueOf(7)));
+    }
+    updater.commit();
+    worldState.persist(null);
+    final Hash rootHash = worldState.rootHash();
+    accountsAndSlots.put(Address.fromHexString("0xff"), Set.of(UInt256.ONE));
+
+    storage.readKeys.clear();
+    archive.prefetch(rootHash, accountsAndSlots);
+    final Set<Bytes> prefetchedKeys = Set.copyOf(storage.readKeys);
+
+    storage.readKeys.clear();
+    final MutableWorldState blockWorldState = archive.getMutable(rootHash, null).orElseThrow();
+    accountsAndSlots.forEach(
+        (address, slots) -> {
+          final Account account = blockWorldState.get(address);
+          if (account != null) {
+            slots.forEach(account::getStorageValue);
+          }
+        });
+
+    assertThat(storage.readKeys).isNotEmpty();
+    assertThat(prefetchedKeys).containsAll(storage.readKeys);
+  }
+
+  @Test
+  public void prefetchIgnoresUnavailableWorldState() {
+    archive.prefetch(
+        Hash.hash(Bytes.of(1)), Map.of(Address.fromHexString("0x1"), Set.of(UInt256.ONE)));
+
+    assertThat(storage.readKeys).hasSize(1);
+  }
+
+  private static class ReadRecordingStorage extends InMemoryKeyValueStorage {
+    private final Set<Bytes> readKeys = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public Optional<byte[]> get(final byte[] key) {
+      readKeys.add(Bytes.wrap(key));
+      return super.get(key);
+    }
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.transactions;
+
+import org.hyperledger.besu.crypto.SignatureAlgorithm;
+import org.hyperledger.besu.crypto.SignatureAlgorithmFactory;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.TransactionTestFixture;
+import org.hyperledger.besu.ethereum.core.Wei;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.data.TransactionType;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the cost of updating the pending transactions against the pool size. Each sender has a
+ * single transaction, so every transaction takes part in the prioritized ranges.
+ */
+@State(Scope.Thread)
+public class PendingTransactionsBenchmark {
+
+  private static final long BASE_FEE = 1_000L;
+  // the most the base fee can change from one block to the next
+  private static final long MAX_BASE_FEE_CHANGE = BASE_FEE / 8;
+
+  @Param({"1024", "4096", "16384"})
+  private int poolSize;
+
+  private PendingTransactions pendingTransactions;
+  private List<Transaction> spareTransactions;
+  private int nextSpareTransaction;
+  private long baseFee;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    final SignatureAlgorithm signatureAlgorithm = SignatureAlgorithmFactory.getInstance();
+    final Random random = new Random(42);
+    final BlockHeader chainHead =
+        new BlockHeaderTestFixture().baseFeePerGas(BASE_FEE).buildHeader();
+    pendingTransactions =
+        new PendingTransactions(
+            TransactionPoolConfiguration.DEFAULT_TX_RETENTION_HOURS,
+            poolSize,
+            TransactionPoolConfiguration.MAX_PENDING_TRANSACTIONS_HASHES,
+            Clock.systemUTC(),
+            new NoOpMetricsSystem(),
+            () -> chainHead,
+            TransactionPoolConfiguration.DEFAULT_PRICE_BUMP);
+    for (int i = 0; i < poolSize; i++) {
+      pendingTransactions.addRemoteTransaction(createTransaction(random, signatureAlgorithm, i));
+    }
+    spareTransactions = new ArrayList<>();
+    for (int i = 0; i < 1024; i++) {
+      spareTransactions.add(createTransaction(random, signatureAlgorithm, i));
+    }
+    baseFee = BASE_FEE;
+  }
+
+  private static Transaction createTransaction(
+      final Random random, final SignatureAlgorithm signatureAlgorithm, final long value) {
+    // spread the static range thresholds around the base fee, so base fee changes move some
+    final long maxFeePerGas = BASE_FEE / 2 + random.nextInt((int) (BASE_FEE * 2));
+    final long maxPriorityFeePerGas = 1 + random.nextInt((int) (BASE_FEE / 4));
+    return new TransactionTestFixture()
+        .type(TransactionType.EIP1559)
+        .value(Wei.of(value))
+        .maxFeePerGas(Optional.of(Wei.of(maxFeePerGas)))
+        .maxPriorityFeePerGas(Optional.of(Wei.of(maxPriorityFeePerGas)))
+        .createTransaction(signatureAlgorithm.generateKeyPair());
+  }
+
+  @Benchmark
+  public void updateBaseFeeByBlockLimit() {
+    // alternate between raising and lowering the base fee by the most allowed per block
+    baseFee = baseFee == BASE_FEE ? BASE_FEE + MAX_BASE_FEE_CHANGE : BASE_FEE;
+    pendingTransactions.updateBaseFee(baseFee);
+  }
+
+  @Benchmark
+  public void addTransactionToFullPool() {
+    // the pool is full, so every add also evicts the cheapest transaction
+    pendingTransactions.addRemoteTransaction(spareTransactions.get(nextSpareTransaction));
+    nextSpareTransaction = (nextSpareTransaction + 1) % spareTransactions.size();
+  }
+
+  @Benchmark
+  public int selectAllTransactions() {
+    final int[] selected = new int[1];
+    pendingTransactions.selectTransactions(
+        transaction -> {
+          selected[0]++;
+          return PendingTransactions.TransactionSelectionResult.CONTINUE;
+        });
+    return selected[0];
+  }
+}
@@ -18,6 +18,7 @@ import static com.google.common.base.Preconditions.checkArgument;
 
 import org.hyperledger.besu.ethereum.core.Difficulty;
 import org.hyperledger.besu.ethereum.core.Hash;
+import org.hyperledger.besu.ethereum.eth.SnapProtocol;
 import org.hyperledger.besu.ethereum.eth.messages.EthPV62;
 import org.hyperledger.besu.ethereum.eth.messages.EthPV63;
 import org.hyperledger.besu.ethereum.eth.messages.EthPV65;
@@ -26,6 +27,9 @@ import org.hyperledger.besu.ethereum.eth.messages.GetBlockHeadersMessage;
 import org.hyperledger.besu.ethereum.eth.messages.GetNodeDataMessage;
 import org.hyperledger.besu.ethereum.eth.messages.GetPooledTransactionsMessage;
 import org.hyperledger.besu.ethereum.eth.messages.GetReceiptsMessage;
+import org.hyperledger.besu.ethereum.eth.messages.snap.GetAccountRangeMessage;
+import org.hyperledger.besu.ethereum.eth.messages.snap.GetStorageRangeMessage;
+import org.hyperledger.besu.ethereum.eth.messages.snap.SnapV1;
 import org.hyperledger.besu.ethereum.eth.peervalidation.PeerValidator;
 import org.hyperledger.besu.ethereum.p2p.rlpx.connections.PeerConnection;
 import org.hyperledger.besu.ethereum.p2p.rlpx.connections.PeerConnection.PeerNotConnected;
@@ -76,9 +80,12 @@ public class EthPeer {
   private final RequestManager receiptsRequestManager = new RequestManager(this);
   private final RequestManager nodeDataRequestManager = new RequestManager(this);
   private final RequestManager pooledTransactionsRequestManager = new RequestManager(this);
+  private final RequestManager accountRangeRequestManager = new RequestManager(this);
+  private final RequestManager storageRangeRequestManager = new RequestManager(this);
 
   private final AtomicReference<Consumer<EthPeer>> onStatusesExchanged = new AtomicReference<>();
   private final PeerReputation reputation = new PeerReputation();
+  private final PeerRequestThroughput throughput = new PeerRequestThroughput();
   private final Map<PeerValidator, Boolean> validationStatus = new ConcurrentHashMap<>();
 
   @VisibleForTesting
@@ -141,9 +148,33 @@ public class EthPeer {
 
   public void recordRequestTimeout(final int requestCode) {
     LOG.debug("Timed out while waiting for response from peer {}", this);
+    throughput.recordRequestTimeout(requestCode);
     reputation.recordRequestTimeout(requestCode).ifPresent(this::disconnect);
   }
 
+  public void recordResponse(final int requestCode, final int itemCount, final long elapsedMillis) {
+    throughput.recordResponse(requestCode, itemCount, elapsedMillis, clock.millis());
+  }
+
+  /**
+   * Size a request so that this peer is expected to answer it within the target response time.
+   *
+   * @param requestCode the code of the request to send
+   * @param maxSize the number of items available to request
+   * @return the number of items to request from this peer
+   */
+  public int requestSize(final int requestCode, final int maxSize) {
+    return throughput.requestSize(requestCode, maxSize);
+  }
+
+  public double estimatedThroughput(final int requestCode) {
+    return throughput.itemsPerSecond(requestCode);
+  }
+
+  public boolean isSlow() {
+    return throughput.isSlow();
+  }
+
   public void recordUselessResponse(final String requestType) {
     LOG.debug("Received useless response for {} from peer {}", requestType, this);
     reputation.recordUselessResponse(System.currentTimeMillis()).ifPresent(this::disconnect);
@@ -206,9 +237,14 @@ public class EthPeer {
 
   private RequestManager.ResponseStream sendRequest(
       final RequestManager requestManager, final MessageData messageData) throws PeerNotConnected {
+    return sendRequest(requestManager, protocolName, messageData);
+  }
+
+  private RequestManager.ResponseStream sendRequest(
+      final RequestManager requestManager, final String protocol, final MessageData messageData)
+      throws PeerNotConnected {
     lastRequestTimestamp = clock.millis();
-    return requestManager.dispatchRequest(
-        () -> connection.sendForProtocol(protocolName, messageData));
+    return requestManager.dispatchRequest(() -> connection.sendForProtocol(protocol, messageData));
   }
 
   public RequestManager.ResponseStream getBodies(final List<Hash> blockHashes)
@@ -235,6 +271,25 @@ public class EthPeer {
     return sendRequest(pooledTransactionsRequestManager, message);
   }
 
+  public RequestManager.ResponseStream getAccountRange(final GetAccountRangeMessage message)
+      throws PeerNotConnected {
+    return sendRequest(accountRangeRequestManager, SnapProtocol.NAME, message);
+  }
+
+  public RequestManager.ResponseStream getStorageRange(final GetStorageRangeMessage message)
+      throws PeerNotConnected {
+    return sendRequest(storageRangeRequestManager, SnapProtocol.NAME, message);
+  }
+
+  /**
+   * Check if the snap protocol has been agreed with this peer.
+   *
+   * @return {@code true} if account and storage ranges can be requested from this peer
+   */
+  public boolean supportsSnap() {
+    return connection.getAgreedCapabilities().contains(SnapProtocol.SNAP1);
+  }
+
   boolean validateReceivedMessage(final EthMessage message) {
     checkArgument(message.getPeer().equals(this), "Mismatched message sent to peer for dispatch");
     switch (message.getData().getCode()) {
@@ -307,6 +362,35 @@ public class EthPeer {
     }
   }
 
+  /**
+   * Routes snap protocol responses originating from this peer to listeners.
+   *
+   * @param message the message to dispatch
+   */
+  void dispatchSnap(final EthMessage message) {
+    checkArgument(message.getPeer().equals(this), "Mismatched message sent to peer for dispatch");
+    switch (message.getData().getCode()) {
+      case SnapV1.ACCOUNT_RANGE:
+        if (accountRangeRequestManager.outstandingRequests() == 0) {
+          LOG.debug("Unsolicited account range received from {}.", this);
+          return;
+        }
+        reputation.resetTimeoutCount(SnapV1.GET_ACCOUNT_RANGE);
+        accountRangeRequestManager.dispatchResponse(message);
+        break;
+      case SnapV1.STORAGE_RANGE:
+        if (storageRangeRequestManager.outstandingRequests() == 0) {
+          LOG.debug("Unsolicited storage range received from {}.", this);
+          return;
+        }
+        reputation.resetTimeoutCount(SnapV1.GET_STORAGE_RANGE);
+        storageRangeRequestManager.dispatchResponse(message);
+        break;
+      default:
+        // Nothing to do
+    }
+  }
+
   public Map<Integer, AtomicInteger> timeoutCounts() {
     return reputation.timeoutCounts();
   }
@@ -317,6 +401,8 @@ public class EthPeer {
     receiptsRequestManager.close();
     nodeDataRequestManager.close();
     pooledTransactionsRequestManager.close();
+    accountRangeRequestManager.close();
+    storageRangeRequestManager.close();
   }
 
   public void registerKnownBlock(final Hash hash) {
@@ -412,7 +498,9 @@ public class EthPeer {
         + bodiesRequestManager.outstandingRequests()
         + receiptsRequestManager.outstandingRequests()
         + nodeDataRequestManager.outstandingRequests()
-        + pooledTransactionsRequestManager.outstandingRequests();
+        + pooledTransactionsRequestManager.outstandingRequests()
+        + accountRangeRequestManager.outstandingRequests()
+        + storageRangeRequestManager.outstandingRequests();
   }
 
   public long getLastRequestTimestamp() {
@@ -420,7 +508,12 @@ public class EthPeer {
   }
 
   public boolean hasAvailableRequestCapacity() {
-    return outstandingRequests() < MAX_OUTSTANDING_REQUESTS;
+    return outstandingRequests() < maxOutstandingRequests();
+  }
+
+  private int maxOutstandingRequests() {
+    // Only pipeline requests to peers that keep up with the requests they are already sent
+    return isSlow() ? 1 : MAX_OUTSTANDING_REQUESTS;
   }
 
   public Set<Capability> getAgreedCapabilities() {
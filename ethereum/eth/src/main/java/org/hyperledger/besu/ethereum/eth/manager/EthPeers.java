@@ -15,6 +15,8 @@
 package org.hyperledger.besu.ethereum.eth.manager;
 
 import org.hyperledger.besu.ethereum.eth.manager.EthPeer.DisconnectCallback;
+import org.hyperledger.besu.ethereum.eth.messages.EthPV62;
+import org.hyperledger.besu.ethereum.eth.messages.EthPV63;
 import org.hyperledger.besu.ethereum.eth.peervalidation.PeerValidator;
 import org.hyperledger.besu.ethereum.p2p.rlpx.connections.PeerConnection;
 import org.hyperledger.besu.metrics.BesuMetricCategory;
@@ -45,7 +47,8 @@ public class EthPeers {
   public static final Comparator<EthPeer> BEST_CHAIN = TOTAL_DIFFICULTY.thenComparing(CHAIN_HEIGHT);
 
   public static final Comparator<EthPeer> LEAST_TO_MOST_BUSY =
-      Comparator.comparing(EthPeer::outstandingRequests)
+      Comparator.comparing((final EthPeer p) -> !p.hasAvailableRequestCapacity())
+          .thenComparing(EthPeer::outstandingRequests)
           .thenComparing(EthPeer::getLastRequestTimestamp);
 
   private final Map<PeerConnection, EthPeer> connections = new ConcurrentHashMap<>();
@@ -73,6 +76,31 @@ public class EthPeers {
         "pending_peer_requests_current",
         "Number of peer requests currently pending because peers are busy",
         pendingRequests::size);
+    createThroughputGauge(
+        metricsSystem,
+        EthPV62.GET_BLOCK_HEADERS,
+        "block_headers",
+        "block headers");
+    createThroughputGauge(metricsSystem, EthPV62.GET_BLOCK_BODIES, "block_bodies", "block bodies");
+    createThroughputGauge(metricsSystem, EthPV63.GET_RECEIPTS, "receipts", "block receipts");
+    createThroughputGauge(metricsSystem, EthPV63.GET_NODE_DATA, "node_data", "world state nodes");
+    metricsSystem.createIntegerGauge(
+        BesuMetricCategory.PEERS,
+        "slow_peers_current",
+        "Number of peers limited to a single outstanding request because they respond slowly",
+        () -> (int) streamAllPeers().filter(EthPeer::isSlow).count());
+  }
+
+  private void createThroughputGauge(
+      final MetricsSystem metricsSystem,
+      final int requestCode,
+      final String name,
+      final String description) {
+    metricsSystem.createGauge(
+        BesuMetricCategory.PEERS,
+        name + "_throughput",
+        "Estimated number of " + description + " per second served by all connected peers",
+        () -> streamAllPeers().mapToDouble(peer -> peer.estimatedThroughput(requestCode)).sum());
   }
 
   void registerConnection(
@@ -131,6 +159,13 @@ public class EthPeers {
     }
   }
 
+  public void dispatchSnapMessage(final EthPeer peer, final EthMessage snapMessage) {
+    peer.dispatchSnap(snapMessage);
+    if (peer.hasAvailableRequestCapacity()) {
+      reattemptPendingPeerRequests();
+    }
+  }
+
   private void reattemptPendingPeerRequests() {
     synchronized (this) {
       pendingRequests.removeIf(PendingPeerRequest::attemptExecution);
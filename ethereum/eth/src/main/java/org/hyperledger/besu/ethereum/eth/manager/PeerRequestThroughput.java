@@ -0,0 +1,159 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.manager;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Estimates how quickly a peer serves each type of request so that requests can be sized to
+ * complete within {@link #TARGET_RESPONSE_TIME_MILLIS} of the peer's latency and work can be routed
+ * away from peers that cannot keep up.
+ *
+ * <p>The latency is measured by the requests of at most {@link #MIN_REQUEST_SIZE} items, which take
+ * little time to transfer. Until one has been answered the whole response time counts as transfer
+ * time, so the requests to a peer with a high latency shrink until its latency gets measured and
+ * then grow back according to the items it transfers per second.
+ */
+public class PeerRequestThroughput {
+  static final long TARGET_RESPONSE_TIME_MILLIS = 1000;
+  static final long SLOW_RESPONSE_TIME_MILLIS = 2 * TARGET_RESPONSE_TIME_MILLIS;
+  static final int MIN_REQUEST_SIZE = 4;
+  // Responses that take about as long as the latency say little about the transfer time
+  static final long MIN_TRANSFER_TIME_MILLIS = 100;
+  private static final double SMOOTHING_FACTOR = 0.25;
+
+  private final ConcurrentMap<Integer, Estimate> estimateByRequestType = new ConcurrentHashMap<>();
+
+  /**
+   * Record a response to a request.
+   *
+   * @param requestCode the code of the request that was answered
+   * @param itemCount the number of items in the response
+   * @param elapsedMillis the time between sending the request and receiving the response
+   * @param timestamp the time the response was received
+   */
+  public void recordResponse(
+      final int requestCode, final int itemCount, final long elapsedMillis, final long timestamp) {
+    if (itemCount <= 0) {
+      return;
+    }
+    estimateByRequestType
+        .computeIfAbsent(requestCode, code -> new Estimate())
+        .recordResponse(itemCount, timestamp - elapsedMillis, timestamp);
+  }
+
+  public void recordRequestTimeout(final int requestCode) {
+    final Estimate estimate = estimateByRequestType.get(requestCode);
+    if (estimate != null) {
+      estimate.recordTimeout();
+    }
+  }
+
+  /**
+   * Determine how many items to ask this peer for.
+   *
+   * @param requestCode the code of the request to send
+   * @param maxSize the number of items available to request
+   * @return the number of items the peer is expected to transfer within the target response time,
+   *     or {@code maxSize} while the peer has not been measured yet
+   */
+  public int requestSize(final int requestCode, final int maxSize) {
+    final Estimate estimate = estimateByRequestType.get(requestCode);
+    if (estimate == null) {
+      return maxSize;
+    }
+    final long size = (long) (estimate.itemsPerSecond() * TARGET_RESPONSE_TIME_MILLIS / 1000);
+    return (int) Math.max(Math.min(maxSize, MIN_REQUEST_SIZE), Math.min(maxSize, size));
+  }
+
+  public double itemsPerSecond(final int requestCode) {
+    final Estimate estimate = estimateByRequestType.get(requestCode);
+    return estimate == null ? 0 : estimate.itemsPerSecond();
+  }
+
+  /**
+   * A peer is slow if it takes well over the target response time to serve requests even once they
+   * have been sized according to its throughput.
+   *
+   * @return true if any type of request is answered slowly by this peer
+   */
+  public boolean isSlow() {
+    return estimateByRequestType.values().stream()
+        .anyMatch(estimate -> estimate.responseTimeMillis() > SLOW_RESPONSE_TIME_MILLIS);
+  }
+
+  private static class Estimate {
+    private double itemsPerSecond;
+    private double responseTimeMillis;
+    private double latencyMillis;
+    private long lastResponseTimestamp = Long.MIN_VALUE;
+    private boolean measured = false;
+    private boolean latencyMeasured = false;
+
+    synchronized void recordResponse(
+        final int itemCount, final long requestTimestamp, final long responseTimestamp) {
+      // Pipelined requests queue behind each other, so only count the time spent serving this one
+      final long start = Math.max(requestTimestamp, lastResponseTimestamp);
+      final long responseTime = Math.max(1, responseTimestamp - start);
+      lastResponseTimestamp = Math.max(lastResponseTimestamp, responseTimestamp);
+
+      // The latency of a queued request overlaps with the previous one, so it is already excluded
+      final boolean queued = start > requestTimestamp;
+      if (!queued) {
+        recordLatency(itemCount, responseTime);
+      }
+      final double transferTime =
+          queued
+              ? responseTime
+              : Math.max(
+                  Math.min(MIN_TRANSFER_TIME_MILLIS, responseTime), responseTime - latencyMillis);
+
+      final double sample = itemCount * 1000.0 / transferTime;
+      if (measured) {
+        itemsPerSecond += SMOOTHING_FACTOR * (sample - itemsPerSecond);
+        responseTimeMillis += SMOOTHING_FACTOR * (responseTime - responseTimeMillis);
+      } else {
+        itemsPerSecond = sample;
+        responseTimeMillis = responseTime;
+        measured = true;
+      }
+    }
+
+    private void recordLatency(final int itemCount, final long responseTime) {
+      if (itemCount <= MIN_REQUEST_SIZE) {
+        if (latencyMeasured) {
+          latencyMillis += SMOOTHING_FACTOR * (responseTime - latencyMillis);
+        } else {
+          latencyMillis = responseTime;
+          latencyMeasured = true;
+        }
+      }
+      latencyMillis = Math.min(latencyMillis, responseTime);
+    }
+
+    synchronized void recordTimeout() {
+      itemsPerSecond /= 2;
+    }
+
+    synchronized double itemsPerSecond() {
+      return itemsPerSecond;
+    }
+
+    synchronized double responseTimeMillis() {
+      return responseTimeMillis;
+    }
+  }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.manager;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import org.hyperledger.besu.ethereum.eth.SnapProtocol;
+import org.hyperledger.besu.ethereum.eth.messages.snap.SnapV1;
+import org.hyperledger.besu.ethereum.p2p.network.ProtocolManager;
+import org.hyperledger.besu.ethereum.p2p.rlpx.connections.PeerConnection;
+import org.hyperledger.besu.ethereum.p2p.rlpx.connections.PeerConnection.PeerNotConnected;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.Capability;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.Message;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.messages.DisconnectMessage.DisconnectReason;
+import org.hyperledger.besu.ethereum.rlp.RLPException;
+import org.hyperledger.besu.ethereum.worldstate.WorldStateStorage;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Manages the snap sub-protocol. Snap runs side by side with eth, so peers are tracked by the
+ * {@link EthProtocolManager} and snap messages are only accepted from peers whose eth status has
+ * been received.
+ */
+public class SnapProtocolManager implements ProtocolManager {
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final EthPeers ethPeers;
+  private final SnapServer snapServer;
+
+  public SnapProtocolManager(final EthPeers ethPeers, final WorldStateStorage worldStateStorage) {
+    this.ethPeers = ethPeers;
+    this.snapServer = new SnapServer(worldStateStorage);
+  }
+
+  @Override
+  public String getSupportedProtocol() {
+    return SnapProtocol.NAME;
+  }
+
+  @Override
+  public List<Capability> getSupportedCapabilities() {
+    return Collections.singletonList(SnapProtocol.SNAP1);
+  }
+
+  @Override
+  public void stop() {}
+
+  @Override
+  public void awaitStop() throws InterruptedException {}
+
+  @Override
+  public void processMessage(final Capability cap, final Message message) {
+    checkArgument(
+        getSupportedCapabilities().contains(cap),
+        "Unsupported capability passed to processMessage(): " + cap);
+    final EthPeer peer = ethPeers.peer(message.getConnection());
+    if (peer == null || !peer.statusHasBeenReceived()) {
+      LOG.debug(
+          "Ignoring snap message received from connection without eth status: {}",
+          message.getConnection());
+      return;
+    }
+
+    final MessageData data = message.getData();
+    try {
+      switch (data.getCode()) {
+        case SnapV1.GET_ACCOUNT_RANGE:
+          respond(peer, snapServer.constructGetAccountRangeResponse(data));
+          break;
+        case SnapV1.GET_STORAGE_RANGE:
+          respond(peer, snapServer.constructGetStorageRangeResponse(data));
+          break;
+        case SnapV1.GET_BYTE_CODES:
+          respond(peer, snapServer.constructGetByteCodesResponse(data));
+          break;
+        case SnapV1.GET_TRIE_NODES:
+          respond(peer, snapServer.constructGetTrieNodesResponse(data));
+          break;
+        case SnapV1.ACCOUNT_RANGE:
+        case SnapV1.STORAGE_RANGE:
+          ethPeers.dispatchSnapMessage(peer, new EthMessage(peer, data));
+          break;
+        default:
+          // Bytecode and trie node responses are never requested, healing goes through eth
+          LOG.debug("Ignoring unsupported snap message {} from {}", data.getCode(), peer);
+      }
+    } catch (final RLPException e) {
+      LOG.debug("Received malformed snap message {}, disconnecting: {}", data.getCode(), peer, e);
+      peer.disconnect(DisconnectReason.BREACH_OF_PROTOCOL);
+    }
+  }
+
+  private void respond(final EthPeer peer, final MessageData response) {
+    try {
+      peer.getConnection().sendForProtocol(SnapProtocol.NAME, response);
+    } catch (final PeerNotConnected e) {
+      // Peer disconnected before we could respond - nothing to do
+    }
+  }
+
+  @Override
+  public void handleNewConnection(final PeerConnection connection) {
+    // Peers are registered by the eth protocol manager
+  }
+
+  @Override
+  public void handleDisconnect(
+      final PeerConnection connection,
+      final DisconnectReason reason,
+      final boolean initiatedByPeer) {
+    // Outstanding snap requests are closed by the eth protocol manager
+  }
+}
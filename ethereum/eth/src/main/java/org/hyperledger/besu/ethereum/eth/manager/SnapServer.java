@@ -0,0 +1,227 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.manager;
+
+import org.hyperledger.besu.ethereum.core.Hash;
+import org.hyperledger.besu.ethereum.eth.messages.snap.AccountRangeMessage;
+import org.hyperledger.besu.ethereum.eth.messages.snap.ByteCodesMessage;
+import org.hyperledger.besu.ethereum.eth.messages.snap.GetAccountRangeMessage;
+import org.hyperledger.besu.ethereum.eth.messages.snap.GetStorageRangeMessage;
+import org.hyperledger.besu.ethereum.eth.messages.snap.RangeHashes;
+import org.hyperledger.besu.ethereum.eth.messages.snap.StorageRangeMessage;
+import org.hyperledger.besu.ethereum.eth.messages.snap.TrieNodesMessage;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.ethereum.rlp.RLPInput;
+import org.hyperledger.besu.ethereum.trie.MerklePatriciaTrie;
+import org.hyperledger.besu.ethereum.trie.MerkleTrieException;
+import org.hyperledger.besu.ethereum.trie.NodeLoader;
+import org.hyperledger.besu.ethereum.trie.StoredMerklePatriciaTrie;
+import org.hyperledger.besu.ethereum.worldstate.StateTrieAccountValue;
+import org.hyperledger.besu.ethereum.worldstate.WorldStateStorage;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+
+/**
+ * Serves account and storage ranges of the local world state to snap peers.
+ *
+ * <p>Contract code and trie node requests are answered with empty responses, which the snap
+ * protocol allows for data the peer does not have.
+ */
+class SnapServer {
+  private static final Logger LOG = LogManager.getLogger();
+
+  static final long MAX_RESPONSE_BYTES = 2 * 1024 * 1024;
+  static final int MAX_ENTRIES_PER_REQUEST = 10_000;
+
+  private final WorldStateStorage worldStateStorage;
+
+  SnapServer(final WorldStateStorage worldStateStorage) {
+    this.worldStateStorage = worldStateStorage;
+  }
+
+  MessageData constructGetAccountRangeResponse(final MessageData message) {
+    final GetAccountRangeMessage request = GetAccountRangeMessage.readFrom(message);
+    try {
+      final Optional<MerklePatriciaTrie<Bytes32, Bytes>> accountTrie =
+          accountTrie(request.rootHash());
+      if (accountTrie.isEmpty()) {
+        return AccountRangeMessage.create(
+            request.requestId(), Collections.emptyMap(), Collections.emptyList());
+      }
+      final Range accounts =
+          collectRange(
+              accountTrie.get(),
+              request.startingHash(),
+              request.limitHash(),
+              Math.min(request.responseBytes(), MAX_RESPONSE_BYTES));
+      return AccountRangeMessage.create(
+          request.requestId(),
+          accounts.entries,
+          rangeProof(accountTrie.get(), request.startingHash(), accounts.entries));
+    } catch (final MerkleTrieException e) {
+      LOG.debug("Unable to serve account range for state root {}", request.rootHash(), e);
+      return AccountRangeMessage.create(
+          request.requestId(), Collections.emptyMap(), Collections.emptyList());
+    }
+  }
+
+  MessageData constructGetStorageRangeResponse(final MessageData message) {
+    final GetStorageRangeMessage request = GetStorageRangeMessage.readFrom(message);
+    final List<NavigableMap<Bytes32, Bytes>> slots = new ArrayList<>();
+    List<Bytes> proof = Collections.emptyList();
+    try {
+      final Optional<MerklePatriciaTrie<Bytes32, Bytes>> accountTrie =
+          accountTrie(request.rootHash());
+      if (accountTrie.isEmpty()) {
+        return StorageRangeMessage.create(request.requestId(), slots, proof);
+      }
+      long remainingBytes = Math.min(request.responseBytes(), MAX_RESPONSE_BYTES);
+      final List<Bytes32> accountHashes = request.accountHashes();
+      for (int i = 0; i < accountHashes.size() && remainingBytes > 0; i++) {
+        final Optional<StateTrieAccountValue> account =
+            accountTrie
+                .get()
+                .get(accountHashes.get(i))
+                .map(value -> StateTrieAccountValue.readFrom(RLP.input(value)));
+        if (account.isEmpty()) {
+          break;
+        }
+        final MerklePatriciaTrie<Bytes32, Bytes> storageTrie =
+            storageTrie(Hash.wrap(accountHashes.get(i)), account.get().getStorageRoot());
+        // The requested bounds only apply to the first account
+        final Bytes32 startingHash = i == 0 ? request.startingHash() : RangeHashes.MIN_HASH;
+        final Bytes32 limitHash = i == 0 ? request.limitHash() : RangeHashes.MAX_HASH;
+        final Range accountSlots =
+            collectRange(storageTrie, startingHash, limitHash, remainingBytes);
+        slots.add(accountSlots.entries);
+        remainingBytes -= accountSlots.size;
+
+        if (!accountSlots.complete || !startingHash.equals(RangeHashes.MIN_HASH)) {
+          // Only the last account may be partial, and it then has to come with a proof
+          proof = rangeProof(storageTrie, startingHash, accountSlots.entries);
+          break;
+        }
+      }
+    } catch (final MerkleTrieException e) {
+      LOG.debug("Unable to serve storage ranges for state root {}", request.rootHash(), e);
+      return StorageRangeMessage.create(
+          request.requestId(), Collections.emptyList(), Collections.emptyList());
+    }
+    return StorageRangeMessage.create(request.requestId(), slots, proof);
+  }
+
+  MessageData constructGetByteCodesResponse(final MessageData message) {
+    return ByteCodesMessage.create(requestId(message), Collections.emptyList());
+  }
+
+  MessageData constructGetTrieNodesResponse(final MessageData message) {
+    return TrieNodesMessage.create(requestId(message), Collections.emptyList());
+  }
+
+  private static long requestId(final MessageData message) {
+    final RLPInput input = RLP.input(message.getData());
+    input.enterList();
+    return input.readLongScalar();
+  }
+
+  private Optional<MerklePatriciaTrie<Bytes32, Bytes>> accountTrie(final Hash rootHash) {
+    final NodeLoader nodeLoader = worldStateStorage::getAccountStateTrieNode;
+    if (verified(nodeLoader).getNode(Bytes.EMPTY, rootHash).isEmpty()) {
+      return Optional.empty();
+    }
+    return Optional.of(trie(nodeLoader, rootHash));
+  }
+
+  private MerklePatriciaTrie<Bytes32, Bytes> storageTrie(
+      final Hash accountHash, final Bytes32 rootHash) {
+    return trie(
+        (location, hash) ->
+            worldStateStorage.getAccountStorageTrieNode(accountHash, location, hash),
+        rootHash);
+  }
+
+  private static MerklePatriciaTrie<Bytes32, Bytes> trie(
+      final NodeLoader nodeLoader, final Bytes32 rootHash) {
+    return new StoredMerklePatriciaTrie<>(
+        verified(nodeLoader), rootHash, Function.identity(), Function.identity());
+  }
+
+  // Some storages look nodes up by location only, make sure an older state is never served with
+  // the nodes of the current one.
+  private static NodeLoader verified(final NodeLoader nodeLoader) {
+    return (location, hash) ->
+        nodeLoader.getNode(location, hash).filter(node -> Hash.hash(node).equals(hash));
+  }
+
+  private static Range collectRange(
+      final MerklePatriciaTrie<Bytes32, Bytes> trie,
+      final Bytes32 startingHash,
+      final Bytes32 limitHash,
+      final long responseBytes) {
+    final Map<Bytes32, Bytes> candidates =
+        trie.entriesFrom(startingHash, MAX_ENTRIES_PER_REQUEST);
+    final Range range = new Range();
+    range.complete = candidates.size() < MAX_ENTRIES_PER_REQUEST;
+    int collected = 0;
+    for (final Map.Entry<Bytes32, Bytes> entry : candidates.entrySet()) {
+      collected++;
+      range.entries.put(entry.getKey(), entry.getValue());
+      range.size += Bytes32.SIZE + entry.getValue().size();
+      // The first entry past the limit is included, it proves there is nothing else up to it
+      if (entry.getKey().compareTo(limitHash) >= 0) {
+        range.complete = true;
+        break;
+      }
+      if (range.size >= responseBytes) {
+        range.complete = range.complete && collected == candidates.size();
+        break;
+      }
+    }
+    return range;
+  }
+
+  private static List<Bytes> rangeProof(
+      final MerklePatriciaTrie<Bytes32, Bytes> trie,
+      final Bytes32 startingHash,
+      final NavigableMap<Bytes32, Bytes> entries) {
+    final Set<Bytes> proof =
+        new LinkedHashSet<>(trie.getValueWithProof(startingHash).getProofRelatedNodes());
+    if (!entries.isEmpty()) {
+      proof.addAll(trie.getValueWithProof(entries.lastKey()).getProofRelatedNodes());
+    }
+    return new ArrayList<>(proof);
+  }
+
+  private static class Range {
+    private final NavigableMap<Bytes32, Bytes> entries = new TreeMap<>();
+    private long size = 0;
+    private boolean complete;
+  }
+}
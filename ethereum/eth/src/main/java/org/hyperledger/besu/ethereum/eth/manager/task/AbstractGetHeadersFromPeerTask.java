@@ -117,5 +117,10 @@ public abstract class AbstractGetHeadersFromPeerTask
     return Optional.of(headersList);
   }
 
+  @Override
+  protected int countResponseItems(final List<BlockHeader> headers) {
+    return headers.size();
+  }
+
   protected abstract boolean matchesFirstHeader(BlockHeader firstHeader);
 }
@@ -29,6 +29,7 @@ import org.hyperledger.besu.util.ExceptionUtils;
 import java.time.Duration;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 import org.apache.logging.log4j.LogManager;
@@ -41,6 +42,7 @@ public abstract class AbstractPeerRequestTask<R> extends AbstractPeerTask<R> {
   private Duration timeout = DEFAULT_TIMEOUT;
   private final int requestCode;
   private volatile PendingPeerRequest responseStream;
+  private volatile long requestSentNanos;
 
   protected AbstractPeerRequestTask(
       final EthContext ethContext, final int requestCode, final MetricsSystem metricsSystem) {
@@ -60,6 +62,7 @@ public abstract class AbstractPeerRequestTask<R> extends AbstractPeerTask<R> {
     responseStream.then(
         stream -> {
           // Start the timeout now that the request has actually been sent
+          requestSentNanos = System.nanoTime();
           ethContext.getScheduler().failAfterTimeout(promise, timeout);
 
           stream.then(
@@ -80,7 +83,12 @@ public abstract class AbstractPeerRequestTask<R> extends AbstractPeerTask<R> {
             result.completeExceptionally(t);
           } else if (r != null) {
             // If we got a response we must have had a response stream...
-            result.complete(new PeerTaskResult<>(responseStream.get().getPeer(), r));
+            final EthPeer peer = responseStream.get().getPeer();
+            peer.recordResponse(
+                requestCode,
+                countResponseItems(r),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - requestSentNanos));
+            result.complete(new PeerTaskResult<>(peer, r));
           }
         });
   }
@@ -120,4 +128,15 @@ public abstract class AbstractPeerRequestTask<R> extends AbstractPeerTask<R> {
 
   protected abstract Optional<R> processResponse(
       boolean streamClosed, MessageData message, EthPeer peer);
+
+  /**
+   * Count the items in a response so the peer's throughput can be estimated.
+   *
+   * @param response the response received from the peer
+   * @return the number of items in the response, or 0 if the request type is not sized by
+   *     throughput
+   */
+  protected int countResponseItems(final R response) {
+    return 0;
+  }
 }
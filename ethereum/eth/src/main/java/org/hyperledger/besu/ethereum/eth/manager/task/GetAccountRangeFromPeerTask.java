@@ -0,0 +1,99 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.manager.task;
+
+import org.hyperledger.besu.ethereum.core.Hash;
+import org.hyperledger.besu.ethereum.eth.manager.EthContext;
+import org.hyperledger.besu.ethereum.eth.manager.EthPeer;
+import org.hyperledger.besu.ethereum.eth.manager.PendingPeerRequest;
+import org.hyperledger.besu.ethereum.eth.messages.snap.AccountRangeMessage;
+import org.hyperledger.besu.ethereum.eth.messages.snap.GetAccountRangeMessage;
+import org.hyperledger.besu.ethereum.eth.messages.snap.SnapV1;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes32;
+
+public class GetAccountRangeFromPeerTask extends AbstractPeerRequestTask<AccountRangeMessage> {
+
+  private static final Logger LOG = LogManager.getLogger();
+  private static final AtomicLong REQUEST_IDS = new AtomicLong();
+
+  private final GetAccountRangeMessage request;
+  private final long pivotBlockNumber;
+
+  private GetAccountRangeFromPeerTask(
+      final EthContext ethContext,
+      final GetAccountRangeMessage request,
+      final long pivotBlockNumber,
+      final MetricsSystem metricsSystem) {
+    super(ethContext, SnapV1.GET_ACCOUNT_RANGE, metricsSystem);
+    this.request = request;
+    this.pivotBlockNumber = pivotBlockNumber;
+  }
+
+  public static GetAccountRangeFromPeerTask forRange(
+      final EthContext ethContext,
+      final Hash rootHash,
+      final Bytes32 startingHash,
+      final Bytes32 limitHash,
+      final long responseBytes,
+      final long pivotBlockNumber,
+      final MetricsSystem metricsSystem) {
+    return new GetAccountRangeFromPeerTask(
+        ethContext,
+        GetAccountRangeMessage.create(
+            REQUEST_IDS.incrementAndGet(), rootHash, startingHash, limitHash, responseBytes),
+        pivotBlockNumber,
+        metricsSystem);
+  }
+
+  @Override
+  protected PendingPeerRequest sendRequest() {
+    return sendRequestToPeer(
+        peer -> {
+          LOG.debug(
+              "Requesting account range {} - {} from peer {}.",
+              request.startingHash(),
+              request.limitHash(),
+              peer);
+          return peer.getAccountRange(request);
+        },
+        pivotBlockNumber);
+  }
+
+  @Override
+  protected Optional<AccountRangeMessage> processResponse(
+      final boolean streamClosed, final MessageData message, final EthPeer peer) {
+    if (streamClosed) {
+      // An empty range without proof means the peer could not serve the range.
+      return Optional.of(
+          AccountRangeMessage.create(
+              request.requestId(), Collections.emptyMap(), Collections.emptyList()));
+    }
+    final AccountRangeMessage accountRange = AccountRangeMessage.readFrom(message);
+    if (accountRange.requestId() != request.requestId()) {
+      // Can't be the response to our request
+      return Optional.empty();
+    }
+    return Optional.of(accountRange);
+  }
+}
@@ -86,8 +86,9 @@ public class GetBodiesFromPeerTask extends AbstractPeerRequestTask<List<Block>>
 
     return sendRequestToPeer(
         peer -> {
-          LOG.debug("Requesting {} bodies from peer {}.", blockHashes.size(), peer);
-          return peer.getBodies(blockHashes);
+          final int requestSize = peer.requestSize(EthPV62.GET_BLOCK_BODIES, blockHashes.size());
+          LOG.debug("Requesting {} bodies from peer {}.", requestSize, peer);
+          return peer.getBodies(blockHashes.subList(0, requestSize));
         },
         minimumRequiredBlockNumber);
   }
@@ -126,6 +127,11 @@ public class GetBodiesFromPeerTask extends AbstractPeerRequestTask<List<Block>>
     return Optional.of(blocks);
   }
 
+  @Override
+  protected int countResponseItems(final List<Block> blocks) {
+    return blocks.size();
+  }
+
   private static class BodyIdentifier {
     private final Bytes32 transactionsRoot;
     private final Bytes32 ommersHash;
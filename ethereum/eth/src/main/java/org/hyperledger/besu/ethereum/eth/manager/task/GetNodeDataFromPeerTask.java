@@ -33,6 +33,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
+import com.google.common.collect.Iterables;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.tuweni.bytes.Bytes;
@@ -66,8 +67,9 @@ public class GetNodeDataFromPeerTask extends AbstractPeerRequestTask<Map<Hash, B
   protected PendingPeerRequest sendRequest() {
     return sendRequestToPeer(
         peer -> {
-          LOG.debug("Requesting {} node data entries from peer {}.", hashes.size(), peer);
-          return peer.getNodeData(hashes);
+          final int requestSize = peer.requestSize(EthPV63.GET_NODE_DATA, hashes.size());
+          LOG.debug("Requesting {} node data entries from peer {}.", requestSize, peer);
+          return peer.getNodeData(Iterables.limit(hashes, requestSize));
         },
         pivotBlockNumber);
   }
@@ -100,4 +102,9 @@ public class GetNodeDataFromPeerTask extends AbstractPeerRequestTask<Map<Hash, B
     }
     return Optional.of(nodeDataByHash);
   }
+
+  @Override
+  protected int countResponseItems(final Map<Hash, Bytes> nodeData) {
+    return nodeData.size();
+  }
 }
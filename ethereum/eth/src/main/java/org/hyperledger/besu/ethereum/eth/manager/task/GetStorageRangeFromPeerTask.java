@@ -0,0 +1,109 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.manager.task;
+
+import org.hyperledger.besu.ethereum.core.Hash;
+import org.hyperledger.besu.ethereum.eth.manager.EthContext;
+import org.hyperledger.besu.ethereum.eth.manager.EthPeer;
+import org.hyperledger.besu.ethereum.eth.manager.PendingPeerRequest;
+import org.hyperledger.besu.ethereum.eth.messages.snap.GetStorageRangeMessage;
+import org.hyperledger.besu.ethereum.eth.messages.snap.SnapV1;
+import org.hyperledger.besu.ethereum.eth.messages.snap.StorageRangeMessage;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes32;
+
+public class GetStorageRangeFromPeerTask extends AbstractPeerRequestTask<StorageRangeMessage> {
+
+  private static final Logger LOG = LogManager.getLogger();
+  private static final AtomicLong REQUEST_IDS = new AtomicLong();
+
+  private final GetStorageRangeMessage request;
+  private final long pivotBlockNumber;
+
+  private GetStorageRangeFromPeerTask(
+      final EthContext ethContext,
+      final GetStorageRangeMessage request,
+      final long pivotBlockNumber,
+      final MetricsSystem metricsSystem) {
+    super(ethContext, SnapV1.GET_STORAGE_RANGE, metricsSystem);
+    this.request = request;
+    this.pivotBlockNumber = pivotBlockNumber;
+  }
+
+  public static GetStorageRangeFromPeerTask forAccounts(
+      final EthContext ethContext,
+      final Hash rootHash,
+      final List<Bytes32> accountHashes,
+      final Bytes32 startingHash,
+      final Bytes32 limitHash,
+      final long responseBytes,
+      final long pivotBlockNumber,
+      final MetricsSystem metricsSystem) {
+    return new GetStorageRangeFromPeerTask(
+        ethContext,
+        GetStorageRangeMessage.create(
+            REQUEST_IDS.incrementAndGet(),
+            rootHash,
+            accountHashes,
+            startingHash,
+            limitHash,
+            responseBytes),
+        pivotBlockNumber,
+        metricsSystem);
+  }
+
+  @Override
+  protected PendingPeerRequest sendRequest() {
+    return sendRequestToPeer(
+        peer -> {
+          LOG.debug(
+              "Requesting storage ranges of {} accounts from peer {}.",
+              request.accountHashes().size(),
+              peer);
+          return peer.getStorageRange(request);
+        },
+        pivotBlockNumber);
+  }
+
+  @Override
+  protected Optional<StorageRangeMessage> processResponse(
+      final boolean streamClosed, final MessageData message, final EthPeer peer) {
+    if (streamClosed) {
+      // An empty response means the peer could not serve the ranges.
+      return Optional.of(
+          StorageRangeMessage.create(
+              request.requestId(), Collections.emptyList(), Collections.emptyList()));
+    }
+    final StorageRangeMessage storageRange = StorageRangeMessage.readFrom(message);
+    if (storageRange.requestId() != request.requestId()) {
+      // Can't be the response to our request
+      return Optional.empty();
+    }
+    if (storageRange.slots().size() > request.accountHashes().size()) {
+      // More accounts than requested, can't be the response to our request
+      return Optional.empty();
+    }
+    return Optional.of(storageRange);
+  }
+}
@@ -21,7 +21,7 @@ import org.hyperledger.besu.ethereum.mainnet.ScheduleBasedBlockHeaderFunctions;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.AbstractMessageData;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
 import org.hyperledger.besu.ethereum.rlp.BytesValueRLPInput;
-import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
+import org.hyperledger.besu.ethereum.rlp.RLP;
 
 import java.util.List;
 
@@ -42,9 +42,7 @@ public final class BlockBodiesMessage extends AbstractMessageData {
   }
 
   public static BlockBodiesMessage create(final Iterable<BlockBody> bodies) {
-    final BytesValueRLPOutput tmp = new BytesValueRLPOutput();
-    tmp.writeList(bodies, BlockBody::writeTo);
-    return new BlockBodiesMessage(tmp.encoded());
+    return new BlockBodiesMessage(RLP.encode(out -> out.writeList(bodies, BlockBody::writeTo)));
   }
 
   private BlockBodiesMessage(final Bytes data) {
@@ -0,0 +1,191 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.messages.snap;
+
+import org.hyperledger.besu.ethereum.core.Account;
+import org.hyperledger.besu.ethereum.core.Hash;
+import org.hyperledger.besu.ethereum.core.Wei;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.AbstractMessageData;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.ethereum.rlp.RLPInput;
+import org.hyperledger.besu.ethereum.rlp.RLPException;
+import org.hyperledger.besu.ethereum.trie.MerklePatriciaTrie;
+import org.hyperledger.besu.ethereum.worldstate.StateTrieAccountValue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+
+/**
+ * Snap/1 AccountRange Message.
+ *
+ * <p>Accounts are sent on the wire in the "slim" format of the snap protocol, where an empty
+ * storage root or code hash is omitted. This class converts them to and from the consensus
+ * encoding stored in the account trie.
+ */
+public final class AccountRangeMessage extends AbstractMessageData {
+
+  private Range range = null;
+
+  public static AccountRangeMessage readFrom(final MessageData message) {
+    if (message instanceof AccountRangeMessage) {
+      return (AccountRangeMessage) message;
+    }
+    final int code = message.getCode();
+    if (code != SnapV1.ACCOUNT_RANGE) {
+      throw new IllegalArgumentException(
+          String.format("Message has code %d and thus is not an AccountRangeMessage.", code));
+    }
+    return new AccountRangeMessage(message.getData());
+  }
+
+  /**
+   * Create an account range message.
+   *
+   * @param requestId the id of the request this message responds to
+   * @param accounts the consensus encoded accounts of the range, by account hash
+   * @param proof the trie nodes proving the boundaries of the range
+   * @return the message
+   */
+  public static AccountRangeMessage create(
+      final long requestId, final Map<Bytes32, Bytes> accounts, final List<Bytes> proof) {
+    return new AccountRangeMessage(
+        RLP.encode(
+            out -> {
+              out.startList();
+              out.writeLongScalar(requestId);
+              out.startList();
+              accounts.forEach(
+                  (hash, account) -> {
+                    out.startList();
+                    out.writeBytes(hash);
+                    out.writeRaw(toSlimAccount(account));
+                    out.endList();
+                  });
+              out.endList();
+              out.writeList(proof, (node, rlpOutput) -> rlpOutput.writeBytes(node));
+              out.endList();
+            }));
+  }
+
+  private AccountRangeMessage(final Bytes data) {
+    super(data);
+  }
+
+  @Override
+  public int getCode() {
+    return SnapV1.ACCOUNT_RANGE;
+  }
+
+  public long requestId() {
+    return range().requestId;
+  }
+
+  /**
+   * The accounts of the range, sorted by account hash.
+   *
+   * @return the consensus encoded accounts, by account hash
+   */
+  public NavigableMap<Bytes32, Bytes> accounts() {
+    return range().accounts;
+  }
+
+  public List<Bytes> proof() {
+    return range().proof;
+  }
+
+  private Range range() {
+    if (range == null) {
+      range = Range.readFrom(RLP.input(data));
+    }
+    return range;
+  }
+
+  static Bytes toSlimAccount(final Bytes account) {
+    final StateTrieAccountValue value = StateTrieAccountValue.readFrom(RLP.input(account));
+    return RLP.encode(
+        out -> {
+          out.startList();
+          out.writeLongScalar(value.getNonce());
+          out.writeUInt256Scalar(value.getBalance());
+          out.writeBytes(
+              value.getStorageRoot().equals(MerklePatriciaTrie.EMPTY_TRIE_NODE_HASH)
+                  ? Bytes.EMPTY
+                  : value.getStorageRoot());
+          out.writeBytes(
+              value.getCodeHash().equals(Hash.EMPTY) ? Bytes.EMPTY : value.getCodeHash());
+          out.endList();
+        });
+  }
+
+  static Bytes toFullAccount(final RLPInput input) {
+    input.enterList();
+    final long nonce = input.readLongScalar();
+    final Wei balance = Wei.of(input.readUInt256Scalar());
+    final Bytes storageRoot = input.readBytes();
+    final Bytes codeHash = input.readBytes();
+    input.leaveList();
+    final StateTrieAccountValue value =
+        new StateTrieAccountValue(
+            nonce,
+            balance,
+            storageRoot.isEmpty()
+                ? Hash.wrap(MerklePatriciaTrie.EMPTY_TRIE_NODE_HASH)
+                : Hash.wrap(Bytes32.wrap(storageRoot)),
+            codeHash.isEmpty() ? Hash.EMPTY : Hash.wrap(Bytes32.wrap(codeHash)),
+            Account.DEFAULT_VERSION);
+    return RLP.encode(value::writeTo);
+  }
+
+  private static class Range {
+    private final long requestId;
+    private final NavigableMap<Bytes32, Bytes> accounts;
+    private final List<Bytes> proof;
+
+    private Range(
+        final long requestId,
+        final NavigableMap<Bytes32, Bytes> accounts,
+        final List<Bytes> proof) {
+      this.requestId = requestId;
+      this.accounts = accounts;
+      this.proof = proof;
+    }
+
+    private static Range readFrom(final RLPInput input) {
+      input.enterList();
+      final long requestId = input.readLongScalar();
+      final NavigableMap<Bytes32, Bytes> accounts = new TreeMap<>();
+      input.enterList();
+      while (!input.isEndOfCurrentList()) {
+        input.enterList();
+        final Bytes32 hash = input.readBytes32();
+        if (!accounts.isEmpty() && hash.compareTo(accounts.lastKey()) <= 0) {
+          throw new RLPException("Accounts of an account range must be sorted by hash");
+        }
+        accounts.put(hash, toFullAccount(input));
+        input.leaveList();
+      }
+      input.leaveList();
+      final List<Bytes> proof = input.readList(RLPInput::readBytes);
+      input.leaveList();
+      return new Range(requestId, accounts, proof);
+    }
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.messages.snap;
+
+import org.hyperledger.besu.ethereum.core.Hash;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.AbstractMessageData;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.ethereum.rlp.RLPInput;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+
+/** Snap/1 GetAccountRange Message. */
+public final class GetAccountRangeMessage extends AbstractMessageData {
+
+  private Range range = null;
+
+  public static GetAccountRangeMessage readFrom(final MessageData message) {
+    if (message instanceof GetAccountRangeMessage) {
+      return (GetAccountRangeMessage) message;
+    }
+    final int code = message.getCode();
+    if (code != SnapV1.GET_ACCOUNT_RANGE) {
+      throw new IllegalArgumentException(
+          String.format("Message has code %d and thus is not a GetAccountRangeMessage.", code));
+    }
+    return new GetAccountRangeMessage(message.getData());
+  }
+
+  public static GetAccountRangeMessage create(
+      final long requestId,
+      final Hash rootHash,
+      final Bytes32 startingHash,
+      final Bytes32 limitHash,
+      final long responseBytes) {
+    return new GetAccountRangeMessage(
+        RLP.encode(
+            out -> {
+              out.startList();
+              out.writeLongScalar(requestId);
+              out.writeBytes(rootHash);
+              out.writeBytes(startingHash);
+              out.writeBytes(limitHash);
+              out.writeLongScalar(responseBytes);
+              out.endList();
+            }));
+  }
+
+  private GetAccountRangeMessage(final Bytes data) {
+    super(data);
+  }
+
+  @Override
+  public int getCode() {
+    return SnapV1.GET_ACCOUNT_RANGE;
+  }
+
+  public long requestId() {
+    return range().requestId;
+  }
+
+  public Hash rootHash() {
+    return range().rootHash;
+  }
+
+  public Bytes32 startingHash() {
+    return range().startingHash;
+  }
+
+  public Bytes32 limitHash() {
+    return range().limitHash;
+  }
+
+  public long responseBytes() {
+    return range().responseBytes;
+  }
+
+  private Range range() {
+    if (range == null) {
+      range = Range.readFrom(RLP.input(data));
+    }
+    return range;
+  }
+
+  private static class Range {
+    private final long requestId;
+    private final Hash rootHash;
+    private final Bytes32 startingHash;
+    private final Bytes32 limitHash;
+    private final long responseBytes;
+
+    private Range(
+        final long requestId,
+        final Hash rootHash,
+        final Bytes32 startingHash,
+        final Bytes32 limitHash,
+        final long responseBytes) {
+      this.requestId = requestId;
+      this.rootHash = rootHash;
+      this.startingHash = startingHash;
+      this.limitHash = limitHash;
+      this.responseBytes = responseBytes;
+    }
+
+    private static Range readFrom(final RLPInput input) {
+      input.enterList();
+      final long requestId = input.readLongScalar();
+      final Hash rootHash = Hash.wrap(input.readBytes32());
+      final Bytes32 startingHash = input.readBytes32();
+      final Bytes32 limitHash = input.readBytes32();
+      final long responseBytes = input.readLongScalar();
+      input.leaveList();
+      return new Range(requestId, rootHash, startingHash, limitHash, responseBytes);
+    }
+  }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.messages.snap;
+
+import org.hyperledger.besu.ethereum.core.Hash;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.AbstractMessageData;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.ethereum.rlp.RLPInput;
+
+import java.util.List;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+
+/**
+ * Snap/1 GetStorageRanges Message.
+ *
+ * <p>The starting and limit hashes only apply to the first requested account, the storage of any
+ * following account is requested from its first slot.
+ */
+public final class GetStorageRangeMessage extends AbstractMessageData {
+
+  private Range range = null;
+
+  public static GetStorageRangeMessage readFrom(final MessageData message) {
+    if (message instanceof GetStorageRangeMessage) {
+      return (GetStorageRangeMessage) message;
+    }
+    final int code = message.getCode();
+    if (code != SnapV1.GET_STORAGE_RANGE) {
+      throw new IllegalArgumentException(
+          String.format("Message has code %d and thus is not a GetStorageRangeMessage.", code));
+    }
+    return new GetStorageRangeMessage(message.getData());
+  }
+
+  public static GetStorageRangeMessage create(
+      final long requestId,
+      final Hash rootHash,
+      final List<Bytes32> accountHashes,
+      final Bytes32 startingHash,
+      final Bytes32 limitHash,
+      final long responseBytes) {
+    return new GetStorageRangeMessage(
+        RLP.encode(
+            out -> {
+              out.startList();
+              out.writeLongScalar(requestId);
+              out.writeBytes(rootHash);
+              out.writeList(accountHashes, (hash, rlpOutput) -> rlpOutput.writeBytes(hash));
+              out.writeBytes(startingHash);
+              out.writeBytes(limitHash);
+              out.writeLongScalar(responseBytes);
+              out.endList();
+            }));
+  }
+
+  private GetStorageRangeMessage(final Bytes data) {
+    super(data);
+  }
+
+  @Override
+  public int getCode() {
+    return SnapV1.GET_STORAGE_RANGE;
+  }
+
+  public long requestId() {
+    return range().requestId;
+  }
+
+  public Hash rootHash() {
+    return range().rootHash;
+  }
+
+  public List<Bytes32> accountHashes() {
+    return range().accountHashes;
+  }
+
+  public Bytes32 startingHash() {
+    return range().startingHash;
+  }
+
+  public Bytes32 limitHash() {
+    return range().limitHash;
+  }
+
+  public long responseBytes() {
+    return range().responseBytes;
+  }
+
+  private Range range() {
+    if (range == null) {
+      range = Range.readFrom(RLP.input(data));
+    }
+    return range;
+  }
+
+  private static class Range {
+    private final long requestId;
+    private final Hash rootHash;
+    private final List<Bytes32> accountHashes;
+    private final Bytes32 startingHash;
+    private final Bytes32 limitHash;
+    private final long responseBytes;
+
+    private Range(
+        final long requestId,
+        final Hash rootHash,
+        final List<Bytes32> accountHashes,
+        final Bytes32 startingHash,
+        final Bytes32 limitHash,
+        final long responseBytes) {
+      this.requestId = requestId;
+      this.rootHash = rootHash;
+      this.accountHashes = accountHashes;
+      this.startingHash = startingHash;
+      this.limitHash = limitHash;
+      this.responseBytes = responseBytes;
+    }
+
+    private static Range readFrom(final RLPInput input) {
+      input.enterList();
+      final long requestId = input.readLongScalar();
+      final Hash rootHash = Hash.wrap(input.readBytes32());
+      final List<Bytes32> accountHashes = input.readList(RLPInput::readBytes32);
+      final Bytes32 startingHash = readHash(input, RangeHashes.MIN_HASH);
+      final Bytes32 limitHash = readHash(input, RangeHashes.MAX_HASH);
+      final long responseBytes = input.readLongScalar();
+      input.leaveList();
+      return new Range(
+          requestId, rootHash, accountHashes, startingHash, limitHash, responseBytes);
+    }
+
+    // Both bounds may be sent empty to request the whole storage of the accounts.
+    private static Bytes32 readHash(final RLPInput input, final Bytes32 defaultValue) {
+      final Bytes hash = input.readBytes();
+      return hash.isEmpty() ? defaultValue : Bytes32.leftPad(hash);
+    }
+  }
+}
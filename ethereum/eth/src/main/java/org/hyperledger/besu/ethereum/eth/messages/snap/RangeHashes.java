@@ -0,0 +1,106 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.messages.snap;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.bytes.MutableBytes32;
+
+/** Helpers to work with the ranges of account and slot hashes exchanged by the snap protocol. */
+public final class RangeHashes {
+
+  public static final Bytes32 MIN_HASH = Bytes32.ZERO;
+
+  public static final Bytes32 MAX_HASH =
+      Bytes32.fromHexString("0xffffffffffffffffffffffffffffffffffffffffffffffffffffffffffffffff");
+
+  private RangeHashes() {}
+
+  /**
+   * The hash following the given one.
+   *
+   * @param hash the hash to increment
+   * @return the following hash, or empty if {@code hash} is the last possible hash
+   */
+  public static Optional<Bytes32> next(final Bytes32 hash) {
+    final MutableBytes32 next = hash.mutableCopy();
+    for (int i = Bytes32.SIZE - 1; i >= 0; i--) {
+      final int value = (next.get(i) & 0xFF) + 1;
+      next.set(i, (byte) value);
+      if (value <= 0xFF) {
+        return Optional.of(next);
+      }
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * Splits the whole hash space into contiguous ranges of (roughly) equal size.
+   *
+   * @param count the number of ranges
+   * @return the inclusive bounds of each range, in order
+   */
+  public static List<Bytes32[]> split(final int count) {
+    checkArgument(count > 0, "At least one range is required");
+    final BigInteger space = BigInteger.ONE.shiftLeft(256);
+    final BigInteger step = space.divide(BigInteger.valueOf(count));
+    final List<Bytes32[]> ranges = new ArrayList<>(count);
+    BigInteger start = BigInteger.ZERO;
+    for (int i = 0; i < count; i++) {
+      final BigInteger end =
+          i == count - 1
+              ? space.subtract(BigInteger.ONE)
+              : start.add(step).subtract(BigInteger.ONE);
+      ranges.add(new Bytes32[] {toHash(start), toHash(end)});
+      start = end.add(BigInteger.ONE);
+    }
+    return ranges;
+  }
+
+  /**
+   * Whether all the keys that may be stored under the given trie location lie within a range.
+   *
+   * @param location the location (as a path of nibbles) of a trie node
+   * @param start the first hash of the range
+   * @param end the last hash of the range, inclusive
+   * @return {@code true} if the whole subtrie at {@code location} is within the range
+   */
+  public static boolean isLocationWithinRange(
+      final Bytes location, final Bytes32 start, final Bytes32 end) {
+    return locationBound(location, 0x0).compareTo(start) >= 0
+        && locationBound(location, 0xF).compareTo(end) <= 0;
+  }
+
+  private static Bytes32 locationBound(final Bytes location, final int fill) {
+    final MutableBytes32 bound = MutableBytes32.create();
+    for (int i = 0; i < Bytes32.SIZE * 2; i++) {
+      final int nibble = i < location.size() ? location.get(i) & 0x0F : fill;
+      final int current = bound.get(i / 2) & 0xFF;
+      bound.set(i / 2, (byte) (i % 2 == 0 ? current | (nibble << 4) : current | nibble));
+    }
+    return bound;
+  }
+
+  private static Bytes32 toHash(final BigInteger value) {
+    return Bytes32.leftPad(Bytes.wrap(value.toByteArray()).trimLeadingZeros());
+  }
+}
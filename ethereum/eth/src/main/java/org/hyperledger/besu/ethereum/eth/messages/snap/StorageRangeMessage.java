@@ -0,0 +1,166 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.messages.snap;
+
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.AbstractMessageData;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.ethereum.rlp.RLPException;
+import org.hyperledger.besu.ethereum.rlp.RLPInput;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+
+/**
+ * Snap/1 StorageRanges Message.
+ *
+ * <p>Holds the storage slots of consecutive requested accounts. The proof, if any, covers the
+ * slots of the last account only, which is then incomplete.
+ */
+public final class StorageRangeMessage extends AbstractMessageData {
+
+  private Range range = null;
+
+  public static StorageRangeMessage readFrom(final MessageData message) {
+    if (message instanceof StorageRangeMessage) {
+      return (StorageRangeMessage) message;
+    }
+    final int code = message.getCode();
+    if (code != SnapV1.STORAGE_RANGE) {
+      throw new IllegalArgumentException(
+          String.format("Message has code %d and thus is not a StorageRangeMessage.", code));
+    }
+    return new StorageRangeMessage(message.getData());
+  }
+
+  /**
+   * Create a storage range message.
+   *
+   * @param requestId the id of the request this message responds to
+   * @param slots for each account, its storage trie values by slot hash
+   * @param proof the trie nodes proving the boundaries of the last account's slots
+   * @return the message
+   */
+  public static StorageRangeMessage create(
+      final long requestId,
+      final List<? extends Map<Bytes32, Bytes>> slots,
+      final List<Bytes> proof) {
+    return new StorageRangeMessage(
+        RLP.encode(
+            out -> {
+              out.startList();
+              out.writeLongScalar(requestId);
+              out.writeList(
+                  slots,
+                  (accountSlots, accountOut) -> {
+                    accountOut.startList();
+                    accountSlots.forEach(
+                        (hash, value) -> {
+                          accountOut.startList();
+                          accountOut.writeBytes(hash);
+                          accountOut.writeBytes(value);
+                          accountOut.endList();
+                        });
+                    accountOut.endList();
+                  });
+              out.writeList(proof, (node, rlpOutput) -> rlpOutput.writeBytes(node));
+              out.endList();
+            }));
+  }
+
+  private StorageRangeMessage(final Bytes data) {
+    super(data);
+  }
+
+  @Override
+  public int getCode() {
+    return SnapV1.STORAGE_RANGE;
+  }
+
+  public long requestId() {
+    return range().requestId;
+  }
+
+  /**
+   * The slots of each account, sorted by slot hash.
+   *
+   * @return for each account, its storage trie values by slot hash
+   */
+  public List<NavigableMap<Bytes32, Bytes>> slots() {
+    return range().slots;
+  }
+
+  public List<Bytes> proof() {
+    return range().proof;
+  }
+
+  private Range range() {
+    if (range == null) {
+      range = Range.readFrom(RLP.input(data));
+    }
+    return range;
+  }
+
+  private static class Range {
+    private final long requestId;
+    private final List<NavigableMap<Bytes32, Bytes>> slots;
+    private final List<Bytes> proof;
+
+    private Range(
+        final long requestId,
+        final List<NavigableMap<Bytes32, Bytes>> slots,
+        final List<Bytes> proof) {
+      this.requestId = requestId;
+      this.slots = slots;
+      this.proof = proof;
+    }
+
+    private static Range readFrom(final RLPInput input) {
+      input.enterList();
+      final long requestId = input.readLongScalar();
+      final List<NavigableMap<Bytes32, Bytes>> slots = new ArrayList<>();
+      input.enterList();
+      while (!input.isEndOfCurrentList()) {
+        slots.add(readAccountSlots(input));
+      }
+      input.leaveList();
+      final List<Bytes> proof = input.readList(RLPInput::readBytes);
+      input.leaveList();
+      return new Range(requestId, slots, proof);
+    }
+
+    private static NavigableMap<Bytes32, Bytes> readAccountSlots(final RLPInput input) {
+      final NavigableMap<Bytes32, Bytes> accountSlots = new TreeMap<>();
+      input.enterList();
+      while (!input.isEndOfCurrentList()) {
+        input.enterList();
+        final Bytes32 hash = input.readBytes32();
+        if (!accountSlots.isEmpty() && hash.compareTo(accountSlots.lastKey()) <= 0) {
+          throw new RLPException("Slots of a storage range must be sorted by hash");
+        }
+        accountSlots.put(hash, input.readBytes());
+        input.leaveList();
+      }
+      input.leaveList();
+      return accountSlots;
+    }
+  }
+}
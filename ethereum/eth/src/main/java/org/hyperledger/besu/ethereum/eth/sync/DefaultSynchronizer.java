@@ -27,6 +27,7 @@ import org.hyperledger.besu.ethereum.eth.sync.fullsync.FullSyncDownloader;
 import org.hyperledger.besu.ethereum.eth.sync.state.PendingBlocksManager;
 import org.hyperledger.besu.ethereum.eth.sync.state.SyncState;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
+import org.hyperledger.besu.ethereum.storage.StorageProvider;
 import org.hyperledger.besu.ethereum.worldstate.Pruner;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateStorage;
 import org.hyperledger.besu.metrics.BesuMetricCategory;
@@ -60,6 +61,7 @@ public class DefaultSynchronizer implements Synchronizer {
       final ProtocolSchedule protocolSchedule,
       final ProtocolContext protocolContext,
       final WorldStateStorage worldStateStorage,
+      final StorageProvider storageProvider,
       final BlockBroadcaster blockBroadcaster,
       final Optional<Pruner> maybePruner,
       final EthContext ethContext,
@@ -101,6 +103,7 @@ public class DefaultSynchronizer implements Synchronizer {
             metricsSystem,
             ethContext,
             worldStateStorage,
+            storageProvider,
             syncState,
             clock);
 
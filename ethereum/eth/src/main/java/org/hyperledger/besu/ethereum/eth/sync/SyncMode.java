@@ -18,7 +18,10 @@ public enum SyncMode {
   // Fully validate all blocks as they sync
   FULL,
   // Perform light validation on older blocks, and switch to full validation for more recent blocks
-  FAST;
+  FAST,
+  // Same as fast sync, but download the world state as ranges of accounts and storage from snap
+  // peers before healing it node by node
+  SNAP;
 
   public static SyncMode fromString(final String str) {
     for (final SyncMode mode : SyncMode.values()) {
@@ -28,4 +31,14 @@ public enum SyncMode {
     }
     return null;
   }
+
+  /**
+   * Whether the sync mode starts by downloading the world state of a pivot block.
+   *
+   * @param syncMode the sync mode to check
+   * @return {@code true} for the fast and snap sync modes
+   */
+  public static boolean isFastSync(final SyncMode syncMode) {
+    return syncMode == FAST || syncMode == SNAP;
+  }
 }
@@ -46,6 +46,8 @@ public class SynchronizerConfiguration {
   public static final int DEFAULT_COMPUTATION_PARALLELISM = 2;
   public static final int DEFAULT_WORLD_STATE_TASK_CACHE_SIZE =
       CachingTaskCollection.DEFAULT_CACHE_SIZE;
+  public static final boolean DEFAULT_WORLD_STATE_PREFETCH_ENABLED = false;
+  public static final boolean DEFAULT_SNAP_SERVER_ENABLED = false;
 
   // Fast sync config
   private final int fastSyncPivotDistance;
@@ -73,6 +75,8 @@ public class SynchronizerConfiguration {
   private final int computationParallelism;
   private final int maxTrailingPeers;
   private final long worldStateMinMillisBeforeStalling;
+  private final boolean worldStatePrefetchEnabled;
+  private final boolean snapServerEnabled;
 
   private SynchronizerConfiguration(
       final int fastSyncPivotDistance,
@@ -93,7 +97,9 @@ public class SynchronizerConfiguration {
       final int downloaderParallelism,
       final int transactionsParallelism,
       final int computationParallelism,
-      final int maxTrailingPeers) {
+      final int maxTrailingPeers,
+      final boolean worldStatePrefetchEnabled,
+      final boolean snapServerEnabled) {
     this.fastSyncPivotDistance = fastSyncPivotDistance;
     this.fastSyncFullValidationRate = fastSyncFullValidationRate;
     this.fastSyncMinimumPeerCount = fastSyncMinimumPeerCount;
@@ -113,6 +119,8 @@ public class SynchronizerConfiguration {
     this.transactionsParallelism = transactionsParallelism;
     this.computationParallelism = computationParallelism;
     this.maxTrailingPeers = maxTrailingPeers;
+    this.worldStatePrefetchEnabled = worldStatePrefetchEnabled;
+    this.snapServerEnabled = snapServerEnabled;
   }
 
   public static Builder builder() {
@@ -219,6 +227,25 @@ public class SynchronizerConfiguration {
     return maxTrailingPeers;
   }
 
+  /**
+   * Whether full sync loads the state touched by downloaded blocks ahead of importing them.
+   *
+   * @return true if world state prefetching is enabled
+   */
+  public boolean isWorldStatePrefetchEnabled() {
+    return worldStatePrefetchEnabled;
+  }
+
+  /**
+   * Whether the snap protocol is advertised to serve the local world state to peers. Snap sync
+   * advertises it regardless, to be able to request ranges from peers.
+   *
+   * @return true if serving the world state over snap is enabled
+   */
+  public boolean isSnapServerEnabled() {
+    return snapServerEnabled;
+  }
+
   public static class Builder {
     private SyncMode syncMode = SyncMode.FULL;
     private int fastSyncMinimumPeerCount = DEFAULT_FAST_SYNC_MINIMUM_PEERS;
@@ -243,6 +270,8 @@ public class SynchronizerConfiguration {
         DEFAULT_WORLD_STATE_MAX_REQUESTS_WITHOUT_PROGRESS;
     private long worldStateMinMillisBeforeStalling = DEFAULT_WORLD_STATE_MIN_MILLIS_BEFORE_STALLING;
     private int worldStateTaskCacheSize = DEFAULT_WORLD_STATE_TASK_CACHE_SIZE;
+    private boolean worldStatePrefetchEnabled = DEFAULT_WORLD_STATE_PREFETCH_ENABLED;
+    private boolean snapServerEnabled = DEFAULT_SNAP_SERVER_ENABLED;
 
     public Builder fastSyncPivotDistance(final int distance) {
       fastSyncPivotDistance = distance;
@@ -345,6 +374,16 @@ public class SynchronizerConfiguration {
       return this;
     }
 
+    public Builder worldStatePrefetchEnabled(final boolean worldStatePrefetchEnabled) {
+      this.worldStatePrefetchEnabled = worldStatePrefetchEnabled;
+      return this;
+    }
+
+    public Builder snapServerEnabled(final boolean snapServerEnabled) {
+      this.snapServerEnabled = snapServerEnabled;
+      return this;
+    }
+
     public Builder maxTrailingPeers(final int maxTailingPeers) {
       this.maxTrailingPeers = maxTailingPeers;
       return this;
@@ -370,7 +409,9 @@ public class SynchronizerConfiguration {
           downloaderParallelism,
           transactionsParallelism,
           computationParallelism,
-          maxTrailingPeers);
+          maxTrailingPeers,
+          worldStatePrefetchEnabled,
+          snapServerEnabled);
     }
   }
 }
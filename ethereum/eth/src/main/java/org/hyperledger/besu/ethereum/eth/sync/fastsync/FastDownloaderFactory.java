@@ -16,28 +16,33 @@ package org.hyperledger.besu.ethereum.eth.sync.fastsync;
 
 import org.hyperledger.besu.ethereum.ProtocolContext;
 import org.hyperledger.besu.ethereum.bonsai.BonsaiPersistedWorldState;
+import org.hyperledger.besu.ethereum.bonsai.BonsaiWorldStateKeyValueStorage;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.eth.manager.EthContext;
 import org.hyperledger.besu.ethereum.eth.sync.SyncMode;
 import org.hyperledger.besu.ethereum.eth.sync.SynchronizerConfiguration;
+import org.hyperledger.besu.ethereum.eth.sync.snapsync.SnapWorldStateDownloader;
 import org.hyperledger.besu.ethereum.eth.sync.state.SyncState;
 import org.hyperledger.besu.ethereum.eth.sync.worldstate.NodeDataRequest;
 import org.hyperledger.besu.ethereum.eth.sync.worldstate.WorldStateDownloader;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.mainnet.ScheduleBasedBlockHeaderFunctions;
+import org.hyperledger.besu.ethereum.storage.StorageProvider;
+import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateStorage;
 import org.hyperledger.besu.metrics.BesuMetricCategory;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
-import org.hyperledger.besu.services.tasks.CachingTaskCollection;
-import org.hyperledger.besu.services.tasks.FlatFileTaskCollection;
+import org.hyperledger.besu.services.tasks.KeyValueStorageTaskCollection;
 
 import java.io.File;
 import java.nio.file.Path;
 import java.time.Clock;
 import java.util.Optional;
+import java.util.function.Function;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes;
 
 public class FastDownloaderFactory {
 
@@ -53,6 +58,7 @@ public class FastDownloaderFactory {
       final MetricsSystem metricsSystem,
       final EthContext ethContext,
       final WorldStateStorage worldStateStorage,
+      final StorageProvider storageProvider,
       final SyncState syncState,
       final Clock clock) {
 
@@ -60,7 +66,7 @@ public class FastDownloaderFactory {
     final FastSyncStateStorage fastSyncStateStorage =
         new FastSyncStateStorage(fastSyncDataDirectory);
 
-    if (syncConfig.getSyncMode() != SyncMode.FAST) {
+    if (!SyncMode.isFastSync(syncConfig.getSyncMode())) {
       if (fastSyncStateStorage.isFastSyncInProgress()) {
         throw new IllegalStateException(
             "Unable to change the sync mode when fast sync is incomplete, please restart with fast sync mode");
@@ -83,22 +89,38 @@ public class FastDownloaderFactory {
     if (worldStateStorage instanceof BonsaiPersistedWorldState) {
       worldStateStorage.clear();
     }
-    final CachingTaskCollection<NodeDataRequest> taskCollection =
+    final KeyValueStorageTaskCollection<NodeDataRequest> taskCollection =
         createWorldStateDownloaderTaskCollection(
-            getStateQueueDirectory(dataDirectory),
+            storageProvider,
+            worldStateStorage,
             metricsSystem,
             syncConfig.getWorldStateTaskCacheSize());
+    if (fastSyncState.getPivotBlockHeader().isEmpty()) {
+      // Requests left by an earlier download may be for a different pivot block
+      taskCollection.clear();
+    }
     final WorldStateDownloader worldStateDownloader =
-        new WorldStateDownloader(
-            ethContext,
-            worldStateStorage,
-            taskCollection,
-            syncConfig.getWorldStateHashCountPerRequest(),
-            syncConfig.getWorldStateRequestParallelism(),
-            syncConfig.getWorldStateMaxRequestsWithoutProgress(),
-            syncConfig.getWorldStateMinMillisBeforeStalling(),
-            clock,
-            metricsSystem);
+        syncConfig.getSyncMode() == SyncMode.SNAP
+            ? new SnapWorldStateDownloader(
+                ethContext,
+                worldStateStorage,
+                taskCollection,
+                syncConfig.getWorldStateHashCountPerRequest(),
+                syncConfig.getWorldStateRequestParallelism(),
+                syncConfig.getWorldStateMaxRequestsWithoutProgress(),
+                syncConfig.getWorldStateMinMillisBeforeStalling(),
+                clock,
+                metricsSystem)
+            : new WorldStateDownloader(
+                ethContext,
+                worldStateStorage,
+                taskCollection,
+                syncConfig.getWorldStateHashCountPerRequest(),
+                syncConfig.getWorldStateRequestParallelism(),
+                syncConfig.getWorldStateMaxRequestsWithoutProgress(),
+                syncConfig.getWorldStateMinMillisBeforeStalling(),
+                clock,
+                metricsSystem);
     final FastSyncDownloader fastSyncDownloader =
         new FastSyncDownloader(
             new FastSyncActions(
@@ -117,32 +139,32 @@ public class FastDownloaderFactory {
     return Optional.of(fastSyncDownloader);
   }
 
-  private static Path getStateQueueDirectory(final Path dataDirectory) {
-    final Path queueDataDir = getFastSyncDataDirectory(dataDirectory).resolve("statequeue");
-    ensureDirectoryExists(queueDataDir.toFile());
-    return queueDataDir;
-  }
-
-  private static Path getFastSyncDataDirectory(final Path dataDirectory) {
-    final Path fastSyncDataDir = dataDirectory.resolve(FAST_SYNC_FOLDER);
-    ensureDirectoryExists(fastSyncDataDir.toFile());
-    return fastSyncDataDir;
-  }
-
   private static void ensureDirectoryExists(final File dir) {
     if (!dir.mkdirs() && !dir.isDirectory()) {
       throw new IllegalStateException("Unable to create directory: " + dir.getAbsolutePath());
     }
   }
 
-  private static CachingTaskCollection<NodeDataRequest> createWorldStateDownloaderTaskCollection(
-      final Path dataDirectory,
-      final MetricsSystem metricsSystem,
-      final int worldStateTaskCacheSize) {
-    final CachingTaskCollection<NodeDataRequest> taskCollection =
-        new CachingTaskCollection<>(
-            new FlatFileTaskCollection<>(
-                dataDirectory, NodeDataRequest::serialize, NodeDataRequest::deserialize),
+  private static KeyValueStorageTaskCollection<NodeDataRequest>
+      createWorldStateDownloaderTaskCollection(
+          final StorageProvider storageProvider,
+          final WorldStateStorage worldStateStorage,
+          final MetricsSystem metricsSystem,
+          final int worldStateTaskCacheSize) {
+    // Nodes are stored by hash, unless they are stored by location in which case identical nodes
+    // at different locations must each be requested
+    final Function<NodeDataRequest, Bytes> identifier =
+        worldStateStorage instanceof BonsaiWorldStateKeyValueStorage
+            ? NodeDataRequest::serialize
+            : NodeDataRequest::getHash;
+    final KeyValueStorageTaskCollection<NodeDataRequest> taskCollection =
+        new KeyValueStorageTaskCollection<>(
+            storageProvider.getStorageBySegmentIdentifier(
+                KeyValueSegmentIdentifier.WORLD_STATE_DOWNLOAD_TASKS),
+            NodeDataRequest::serialize,
+            NodeDataRequest::deserialize,
+            identifier,
+            FastDownloaderFactory::depthFirstPriority,
             worldStateTaskCacheSize);
 
     metricsSystem.createLongGauge(
@@ -159,4 +181,18 @@ public class FastDownloaderFactory {
 
     return taskCollection;
   }
+
+  // Deeper nodes are requested first to keep the number of pending requests small. Storage tries
+  // and code hang below the leaves of the account trie, so they come before any account trie node.
+  private static int depthFirstPriority(final NodeDataRequest request) {
+    final int depth = request.getLocation().map(Bytes::size).orElse(0);
+    switch (request.getRequestType()) {
+      case ACCOUNT_TRIE_NODE:
+        return depth;
+      case STORAGE_TRIE_NODE:
+        return 65 + depth;
+      default:
+        return KeyValueStorageTaskCollection.MAX_PRIORITY;
+    }
+  }
 }
@@ -20,6 +20,7 @@ import org.hyperledger.besu.ethereum.core.BlockWithReceipts;
 import org.hyperledger.besu.ethereum.eth.manager.EthContext;
 import org.hyperledger.besu.ethereum.eth.sync.ValidationPolicy;
 import org.hyperledger.besu.ethereum.eth.sync.tasks.exceptions.InvalidBlockException;
+import org.hyperledger.besu.ethereum.mainnet.BodyValidationMode;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 
 import java.util.List;
@@ -34,6 +35,7 @@ public class FastImportBlocksStep implements Consumer<List<BlockWithReceipts>> {
   private final ProtocolContext protocolContext;
   private final ValidationPolicy headerValidationPolicy;
   private final ValidationPolicy ommerValidationPolicy;
+  private final BodyValidationMode bodyValidationMode;
   private final EthContext ethContext;
 
   public FastImportBlocksStep(
@@ -41,11 +43,13 @@ public class FastImportBlocksStep implements Consumer<List<BlockWithReceipts>> {
       final ProtocolContext protocolContext,
       final ValidationPolicy headerValidationPolicy,
       final ValidationPolicy ommerValidationPolicy,
+      final BodyValidationMode bodyValidationMode,
       final EthContext ethContext) {
     this.protocolSchedule = protocolSchedule;
     this.protocolContext = protocolContext;
     this.headerValidationPolicy = headerValidationPolicy;
     this.ommerValidationPolicy = ommerValidationPolicy;
+    this.bodyValidationMode = bodyValidationMode;
     this.ethContext = ethContext;
   }
 
@@ -77,6 +81,7 @@ public class FastImportBlocksStep implements Consumer<List<BlockWithReceipts>> {
         blockWithReceipts.getBlock(),
         blockWithReceipts.getReceipts(),
         headerValidationPolicy.getValidationModeForNextBlock(),
-        ommerValidationPolicy.getValidationModeForNextBlock());
+        ommerValidationPolicy.getValidationModeForNextBlock(),
+        bodyValidationMode);
   }
 }
@@ -34,6 +34,7 @@ import org.hyperledger.besu.ethereum.eth.sync.DownloadHeadersStep;
 import org.hyperledger.besu.ethereum.eth.sync.DownloadPipelineFactory;
 import org.hyperledger.besu.ethereum.eth.sync.SynchronizerConfiguration;
 import org.hyperledger.besu.ethereum.eth.sync.state.SyncTarget;
+import org.hyperledger.besu.ethereum.mainnet.BodyValidationMode;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.metrics.BesuMetricCategory;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
@@ -127,12 +128,15 @@ public class FastSyncDownloadPipelineFactory implements DownloadPipelineFactory
         new DownloadBodiesStep(protocolSchedule, ethContext, metricsSystem);
     final DownloadReceiptsStep downloadReceiptsStep =
         new DownloadReceiptsStep(ethContext, metricsSystem);
+    final ValidateBlockBodiesStep validateBodiesStep =
+        new ValidateBlockBodiesStep(protocolSchedule, ethContext.getScheduler());
     final FastImportBlocksStep importBlockStep =
         new FastImportBlocksStep(
             protocolSchedule,
             protocolContext,
             attachedValidationPolicy,
             ommerValidationPolicy,
+            BodyValidationMode.LIGHT_SKIP_DETACHED,
             ethContext);
 
     return PipelineBuilder.createPipelineFrom(
@@ -152,6 +156,7 @@ public class FastSyncDownloadPipelineFactory implements DownloadPipelineFactory
         .inBatches(headerRequestSize)
         .thenProcessAsyncOrdered("downloadBodies", downloadBodiesStep, downloaderParallelism)
         .thenProcessAsyncOrdered("downloadReceipts", downloadReceiptsStep, downloaderParallelism)
+        .thenProcessAsyncOrdered("validateBodies", validateBodiesStep, downloaderParallelism)
         .andFinishWith("importBlock", importBlockStep);
   }
 
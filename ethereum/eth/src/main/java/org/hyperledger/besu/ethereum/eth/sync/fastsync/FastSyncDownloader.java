@@ -107,8 +107,8 @@ public class FastSyncDownloader {
   public void stop() {
     synchronized (this) {
       if (running.compareAndSet(true, false)) {
-        // Cancelling the world state download will also cause the chain download to be cancelled.
-        worldStateDownloader.cancel();
+        // Stopping the world state download will also cause the chain download to be cancelled.
+        worldStateDownloader.stop();
       }
     }
   }
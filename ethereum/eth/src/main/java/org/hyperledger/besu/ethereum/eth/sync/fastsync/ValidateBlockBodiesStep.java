@@ -0,0 +1,71 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.sync.fastsync;
+
+import org.hyperledger.besu.ethereum.core.BlockWithReceipts;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+import org.hyperledger.besu.ethereum.eth.sync.tasks.exceptions.InvalidBlockException;
+import org.hyperledger.besu.ethereum.mainnet.BlockBodyValidator;
+import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
+import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Recovers transaction senders and checks the parts of each block body that don't depend on the
+ * blockchain, such as the transactions and receipts roots. Each block is handled as a separate
+ * computation task so the work is spread across cores rather than done on the import thread. Blocks
+ * failing validation are recorded as bad blocks, as they would be by the import.
+ */
+public class ValidateBlockBodiesStep
+    implements Function<List<BlockWithReceipts>, CompletableFuture<List<BlockWithReceipts>>> {
+  private final ProtocolSchedule protocolSchedule;
+  private final EthScheduler scheduler;
+
+  public ValidateBlockBodiesStep(
+      final ProtocolSchedule protocolSchedule, final EthScheduler scheduler) {
+    this.protocolSchedule = protocolSchedule;
+    this.scheduler = scheduler;
+  }
+
+  @Override
+  public CompletableFuture<List<BlockWithReceipts>> apply(
+      final List<BlockWithReceipts> blocksWithReceipts) {
+    final CompletableFuture<?>[] validations =
+        blocksWithReceipts.stream()
+            .map(block -> scheduler.scheduleComputationTask(() -> validate(block)))
+            .toArray(CompletableFuture[]::new);
+    return CompletableFuture.allOf(validations).thenApply(done -> blocksWithReceipts);
+  }
+
+  private BlockWithReceipts validate(final BlockWithReceipts blockWithReceipts) {
+    blockWithReceipts.getBlock().getBody().getTransactions().forEach(Transaction::getSender);
+    final ProtocolSpec protocolSpec =
+        protocolSchedule.getByBlockNumber(blockWithReceipts.getNumber());
+    final BlockBodyValidator blockBodyValidator = protocolSpec.getBlockBodyValidator();
+    if (!blockBodyValidator.validateBodyDetached(
+        blockWithReceipts.getBlock(), blockWithReceipts.getReceipts())) {
+      protocolSpec.getBadBlocksManager().addBadBlock(blockWithReceipts.getBlock());
+      throw new InvalidBlockException(
+          "Failed to validate block body",
+          blockWithReceipts.getNumber(),
+          blockWithReceipts.getHash());
+    }
+    return blockWithReceipts;
+  }
+}
@@ -15,6 +15,7 @@
 package org.hyperledger.besu.ethereum.eth.sync.fullsync;
 
 import org.hyperledger.besu.ethereum.ProtocolContext;
+import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.eth.manager.EthContext;
 import org.hyperledger.besu.ethereum.eth.manager.EthPeer;
@@ -92,24 +93,30 @@ public class FullSyncDownloadPipelineFactory implements DownloadPipelineFactory
     final FullImportBlockStep importBlockStep =
         new FullImportBlockStep(protocolSchedule, protocolContext, ethContext);
 
-    return PipelineBuilder.createPipelineFrom(
-            "fetchCheckpoints",
-            checkpointRangeSource,
-            downloaderParallelism,
-            metricsSystem.createLabelledCounter(
-                BesuMetricCategory.SYNCHRONIZER,
-                "chain_download_pipeline_processed_total",
-                "Number of entries process by each chain download pipeline stage",
-                "step",
-                "action"),
-            true,
-            "fullSync")
-        .thenProcessAsyncOrdered("downloadHeaders", downloadHeadersStep, downloaderParallelism)
-        .thenFlatMap("validateHeadersJoin", validateHeadersJoinUpStep, singleHeaderBufferSize)
-        .inBatches(headerRequestSize)
-        .thenProcessAsyncOrdered("downloadBodies", downloadBodiesStep, downloaderParallelism)
-        .thenFlatMap("extractTxSignatures", extractTxSignaturesStep, singleHeaderBufferSize)
-        .andFinishWith("importBlock", importBlockStep);
+    final PipelineBuilder<?, Block> pipelineBuilder =
+        PipelineBuilder.createPipelineFrom(
+                "fetchCheckpoints",
+                checkpointRangeSource,
+                downloaderParallelism,
+                metricsSystem.createLabelledCounter(
+                    BesuMetricCategory.SYNCHRONIZER,
+                    "chain_download_pipeline_processed_total",
+                    "Number of entries process by each chain download pipeline stage",
+                    "step",
+                    "action"),
+                true,
+                "fullSync")
+            .thenProcessAsyncOrdered("downloadHeaders", downloadHeadersStep, downloaderParallelism)
+            .thenFlatMap("validateHeadersJoin", validateHeadersJoinUpStep, singleHeaderBufferSize)
+            .inBatches(headerRequestSize)
+            .thenProcessAsyncOrdered("downloadBodies", downloadBodiesStep, downloaderParallelism)
+            .thenFlatMap("extractTxSignatures", extractTxSignaturesStep, singleHeaderBufferSize);
+    if (syncConfig.isWorldStatePrefetchEnabled()) {
+      return pipelineBuilder
+          .thenProcess("prefetchWorldState", new PrefetchWorldStateStep(protocolContext))
+          .andFinishWith("importBlock", importBlockStep);
+    }
+    return pipelineBuilder.andFinishWith("importBlock", importBlockStep);
   }
 
   private boolean shouldContinueDownloadingFromPeer(
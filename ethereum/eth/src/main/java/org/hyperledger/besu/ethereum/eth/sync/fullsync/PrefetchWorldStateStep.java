@@ -0,0 +1,81 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.sync.fullsync;
+
+import org.hyperledger.besu.ethereum.ProtocolContext;
+import org.hyperledger.besu.ethereum.core.AccessListEntry;
+import org.hyperledger.besu.ethereum.core.Address;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.Hash;
+import org.hyperledger.besu.ethereum.core.Transaction;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.units.bigints.UInt256;
+
+/**
+ * Loads the accounts and storage slots a block is known to touch ahead of its import: the coinbase,
+ * the senders and recipients of its transactions and their access lists. The step runs on its own
+ * pipeline thread, so the reads overlap with the import of the blocks ahead of it.
+ */
+public class PrefetchWorldStateStep implements Function<Block, Block> {
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final ProtocolContext protocolContext;
+
+  public PrefetchWorldStateStep(final ProtocolContext protocolContext) {
+    this.protocolContext = protocolContext;
+  }
+
+  @Override
+  public Block apply(final Block block) {
+    final Hash stateRoot = protocolContext.getBlockchain().getChainHeadHeader().getStateRoot();
+    try {
+      protocolContext.getWorldStateArchive().prefetch(stateRoot, touchedAccountsAndSlots(block));
+    } catch (final RuntimeException e) {
+      LOG.debug("Failed to prefetch world state for block {}", block.getHeader().getNumber(), e);
+    }
+    return block;
+  }
+
+  static Map<Address, Set<UInt256>> touchedAccountsAndSlots(final Block block) {
+    final Map<Address, Set<UInt256>> accountsAndSlots = new HashMap<>();
+    accountsAndSlots.put(block.getHeader().getCoinbase(), new HashSet<>());
+    for (final Transaction transaction : block.getBody().getTransactions()) {
+      accountsAndSlots.computeIfAbsent(transaction.getSender(), address -> new HashSet<>());
+      transaction
+          .getTo()
+          .ifPresent(to -> accountsAndSlots.computeIfAbsent(to, address -> new HashSet<>()));
+      transaction
+          .getAccessList()
+          .ifPresent(
+              accessList -> {
+                for (final AccessListEntry entry : accessList) {
+                  final Set<UInt256> slots =
+                      accountsAndSlots.computeIfAbsent(
+                          entry.getAddress(), address -> new HashSet<>());
+                  entry.getStorageKeys().forEach(key -> slots.add(UInt256.fromBytes(key)));
+                }
+              });
+    }
+    return accountsAndSlots;
+  }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.sync.snapsync;
+
+import org.hyperledger.besu.ethereum.core.Hash;
+import org.hyperledger.besu.ethereum.eth.messages.snap.RangeHashes;
+import org.hyperledger.besu.ethereum.trie.MerklePatriciaTrie;
+import org.hyperledger.besu.ethereum.trie.MerkleTrieException;
+import org.hyperledger.besu.ethereum.trie.NodeUpdater;
+import org.hyperledger.besu.ethereum.trie.SimpleMerklePatriciaTrie;
+import org.hyperledger.besu.ethereum.trie.StoredMerklePatriciaTrie;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+
+/**
+ * Verifies the ranges of trie entries received from snap peers and rebuilds the trie nodes they
+ * fully determine.
+ *
+ * <p>The boundary proofs only establish that the first and last entries of a range belong to the
+ * trie. A peer omitting or inventing entries in between yields nodes that differ from the ones of
+ * the full trie. Storage keyed by node hash never reaches them from the state root. Bonsai keys
+ * nodes by location instead, so such a node takes the place of the real one; the healing phase
+ * therefore only reuses a stored node whose hash is the one referenced by its parent, and
+ * downloads the real node otherwise.
+ */
+final class SnapRanges {
+
+  private SnapRanges() {}
+
+  /**
+   * Checks a range of entries against the root of the trie it was taken from.
+   *
+   * @param rootHash the root hash of the trie
+   * @param startingHash the hash the range was requested from
+   * @param entries the entries of the range
+   * @param proof the nodes proving the boundaries of the range, or empty if the range holds the
+   *     whole trie
+   * @return {@code true} if the range is consistent with {@code rootHash}
+   */
+  static boolean isValidRange(
+      final Bytes32 rootHash,
+      final Bytes32 startingHash,
+      final NavigableMap<Bytes32, Bytes> entries,
+      final List<Bytes> proof) {
+    if (!entries.isEmpty() && entries.firstKey().compareTo(startingHash) < 0) {
+      return false;
+    }
+    if (proof.isEmpty()) {
+      if (!startingHash.equals(RangeHashes.MIN_HASH)) {
+        return false;
+      }
+      final MerklePatriciaTrie<Bytes32, Bytes> trie =
+          new SimpleMerklePatriciaTrie<>(Function.identity());
+      entries.forEach(trie::put);
+      return trie.getRootHash().equals(rootHash);
+    }
+
+    final Map<Bytes32, Bytes> proofNodes = new HashMap<>();
+    proof.forEach(node -> proofNodes.put(Hash.hash(node), node));
+    final MerklePatriciaTrie<Bytes32, Bytes> trie =
+        new StoredMerklePatriciaTrie<>(
+            (location, hash) -> Optional.ofNullable(proofNodes.get(hash)),
+            rootHash,
+            Function.identity(),
+            Function.identity());
+    try {
+      final Optional<Bytes> startingValue = trie.get(startingHash);
+      if (!startingValue.equals(Optional.ofNullable(entries.get(startingHash)))) {
+        return false;
+      }
+      return entries.isEmpty()
+          || trie.get(entries.lastKey()).equals(Optional.of(entries.lastEntry().getValue()));
+    } catch (final MerkleTrieException e) {
+      // The proof is missing some nodes
+      return false;
+    }
+  }
+
+  /**
+   * Builds the trie holding the given entries and stores the nodes whose whole subtrie lies
+   * between {@code startingHash} and {@code endHash}. As the full trie has no other key in that
+   * interval, those nodes are identical to the ones of the full trie.
+   *
+   * @param startingHash the hash the range was requested from
+   * @param endHash the hash up to which {@code entries} are known to hold every key of the trie
+   * @param entries the entries of the range
+   * @param nodeUpdater where to store the complete nodes
+   */
+  static void storeCompleteNodes(
+      final Bytes32 startingHash,
+      final Bytes32 endHash,
+      final NavigableMap<Bytes32, Bytes> entries,
+      final NodeUpdater nodeUpdater) {
+    if (entries.isEmpty()) {
+      return;
+    }
+    final MerklePatriciaTrie<Bytes32, Bytes> trie =
+        new StoredMerklePatriciaTrie<>(
+            (location, hash) -> Optional.empty(), Function.identity(), Function.identity());
+    entries.forEach(trie::put);
+    trie.commit(
+        (location, hash, value) -> {
+          if (RangeHashes.isLocationWithinRange(location, startingHash, endHash)) {
+            nodeUpdater.store(location, hash, value);
+          }
+        });
+  }
+}
@@ -0,0 +1,472 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.sync.snapsync;
+
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.Hash;
+import org.hyperledger.besu.ethereum.eth.manager.EthContext;
+import org.hyperledger.besu.ethereum.eth.manager.EthPeer;
+import org.hyperledger.besu.ethereum.eth.manager.task.GetAccountRangeFromPeerTask;
+import org.hyperledger.besu.ethereum.eth.manager.task.GetStorageRangeFromPeerTask;
+import org.hyperledger.besu.ethereum.eth.messages.snap.AccountRangeMessage;
+import org.hyperledger.besu.ethereum.eth.messages.snap.RangeHashes;
+import org.hyperledger.besu.ethereum.eth.messages.snap.StorageRangeMessage;
+import org.hyperledger.besu.ethereum.eth.sync.worldstate.NodeDataRequest;
+import org.hyperledger.besu.ethereum.eth.sync.worldstate.StalledDownloadException;
+import org.hyperledger.besu.ethereum.eth.sync.worldstate.WorldStateDownloader;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.ethereum.trie.MerklePatriciaTrie;
+import org.hyperledger.besu.ethereum.worldstate.StateTrieAccountValue;
+import org.hyperledger.besu.ethereum.worldstate.WorldStateStorage;
+import org.hyperledger.besu.ethereum.worldstate.WorldStateStorage.Updater;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.services.tasks.TaskCollection;
+import org.hyperledger.besu.util.ExceptionUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+
+/**
+ * Downloads the world state in two phases. Contiguous ranges of accounts and storage slots are
+ * first requested from snap peers, and the trie nodes they fully determine are rebuilt and stored
+ * locally. The node data download of {@link WorldStateDownloader} then heals the state: starting
+ * from the state root, it walks the locally stored nodes and only requests the ones that are
+ * missing, that is the nodes spanning several ranges and the ones that changed while the ranges
+ * were downloaded.
+ *
+ * <p>The range phase is only an accelerator: if no snap peer can serve the requested state, the
+ * healing phase simply downloads whatever is still missing.
+ */
+public class SnapWorldStateDownloader extends WorldStateDownloader {
+  private static final Logger LOG = LogManager.getLogger();
+
+  static final long RESPONSE_BYTES = 512 * 1024;
+  static final int MAX_ACCOUNTS_PER_STORAGE_REQUEST = 128;
+  static final int MAX_FAILED_REQUESTS = 20;
+  static final Duration RETRY_DELAY = Duration.ofSeconds(1);
+
+  private final EthContext ethContext;
+  private final WorldStateStorage worldStateStorage;
+  private final TaskCollection<NodeDataRequest> taskCollection;
+  private final int rangeCount;
+  private final MetricsSystem metricsSystem;
+  private final Counter downloadedAccountsCounter;
+  private final Counter downloadedSlotsCounter;
+
+  private volatile boolean cancelled = false;
+
+  public SnapWorldStateDownloader(
+      final EthContext ethContext,
+      final WorldStateStorage worldStateStorage,
+      final TaskCollection<NodeDataRequest> taskCollection,
+      final int hashCountPerRequest,
+      final int maxOutstandingRequests,
+      final int maxNodeRequestsWithoutProgress,
+      final long minMillisBeforeStalling,
+      final Clock clock,
+      final MetricsSystem metricsSystem) {
+    super(
+        ethContext,
+        worldStateStorage,
+        taskCollection,
+        hashCountPerRequest,
+        maxOutstandingRequests,
+        maxNodeRequestsWithoutProgress,
+        minMillisBeforeStalling,
+        clock,
+        metricsSystem);
+    this.ethContext = ethContext;
+    this.worldStateStorage = worldStateStorage;
+    this.taskCollection = taskCollection;
+    this.rangeCount = maxOutstandingRequests;
+    this.metricsSystem = metricsSystem;
+
+    downloadedAccountsCounter =
+        metricsSystem.createCounter(
+            BesuMetricCategory.SYNCHRONIZER,
+            "snap_world_state_downloaded_accounts_total",
+            "Total number of accounts downloaded as part of account ranges");
+    downloadedSlotsCounter =
+        metricsSystem.createCounter(
+            BesuMetricCategory.SYNCHRONIZER,
+            "snap_world_state_downloaded_slots_total",
+            "Total number of storage slots downloaded as part of storage ranges");
+  }
+
+  @Override
+  public CompletableFuture<Void> run(final BlockHeader header) {
+    if (worldStateStorage.isWorldStateAvailable(header.getStateRoot(), header.getHash())
+        || !taskCollection.isEmpty()) {
+      // Nothing to download, or the healing phase was already started and is being resumed
+      return super.run(header);
+    }
+    cancelled = false;
+    LOG.info(
+        "Begin downloading world state ranges from snap peers for block {} ({}). State root {}",
+        header.getNumber(),
+        header.getHash(),
+        header.getStateRoot());
+
+    final CompletableFuture<?>[] ranges =
+        RangeHashes.split(rangeCount).stream()
+            .map(bounds -> new AccountRangeDownload(header, bounds[0], bounds[1]).start())
+            .toArray(CompletableFuture<?>[]::new);
+    return CompletableFuture.allOf(ranges)
+        .handle(
+            (result, error) -> {
+              if (error != null && !cancelled) {
+                LOG.info(
+                    "Unable to download every world state range, the remaining state will be requested node by node: {}",
+                    ExceptionUtils.rootCause(error).getMessage());
+              }
+              return null;
+            })
+        .thenCompose(
+            result -> {
+              if (cancelled) {
+                final CompletableFuture<Void> cancellation = new CompletableFuture<>();
+                cancellation.completeExceptionally(new CancellationException());
+                return cancellation;
+              }
+              LOG.info(
+                  "World state ranges downloaded, healing world state for block {}",
+                  header.getNumber());
+              return super.run(header);
+            });
+  }
+
+  @Override
+  public void stop() {
+    cancelled = true;
+    super.stop();
+  }
+
+  @Override
+  public void cancel() {
+    cancelled = true;
+    super.cancel();
+  }
+
+  private Optional<EthPeer> selectSnapPeer(final long pivotBlockNumber) {
+    return ethContext
+        .getEthPeers()
+        .streamAvailablePeers()
+        .filter(EthPeer::supportsSnap)
+        .filter(peer -> peer.chainState().getEstimatedHeight() >= pivotBlockNumber)
+        .filter(EthPeer::hasAvailableRequestCapacity)
+        .min(Comparator.comparingInt(EthPeer::outstandingRequests));
+  }
+
+  /** Downloads the accounts of a range, along with their storage, one response at a time. */
+  private class AccountRangeDownload {
+    private final BlockHeader header;
+    private final Bytes32 limit;
+    private final CompletableFuture<Void> result = new CompletableFuture<>();
+    private Bytes32 origin;
+    private int failedRequests = 0;
+
+    private AccountRangeDownload(
+        final BlockHeader header, final Bytes32 origin, final Bytes32 limit) {
+      this.header = header;
+      this.origin = origin;
+      this.limit = limit;
+    }
+
+    CompletableFuture<Void> start() {
+      requestNext();
+      return result;
+    }
+
+    private void requestNext() {
+      if (cancelled) {
+        result.completeExceptionally(new CancellationException());
+        return;
+      }
+      final Optional<EthPeer> peer = selectSnapPeer(header.getNumber());
+      if (peer.isEmpty()) {
+        retryLater();
+        return;
+      }
+      GetAccountRangeFromPeerTask.forRange(
+              ethContext,
+              header.getStateRoot(),
+              origin,
+              limit,
+              RESPONSE_BYTES,
+              header.getNumber(),
+              metricsSystem)
+          .assignPeer(peer.get())
+          .run()
+          .whenComplete(
+              (response, error) -> {
+                if (error != null) {
+                  retryLater();
+                  return;
+                }
+                try {
+                  handleResponse(response.getPeer(), response.getResult());
+                } catch (final RuntimeException e) {
+                  result.completeExceptionally(e);
+                }
+              });
+    }
+
+    private void handleResponse(final EthPeer peer, final AccountRangeMessage response) {
+      final NavigableMap<Bytes32, Bytes> accounts = response.accounts();
+      if (accounts.isEmpty() && response.proof().isEmpty()) {
+        // The peer doesn't have the requested state
+        retryLater();
+        return;
+      }
+      if (!SnapRanges.isValidRange(header.getStateRoot(), origin, accounts, response.proof())) {
+        peer.recordUselessResponse("accountRange");
+        retryLater();
+        return;
+      }
+      failedRequests = 0;
+      if (accounts.isEmpty()) {
+        // Proven that there is no account left in the range
+        result.complete(null);
+        return;
+      }
+
+      final Bytes32 lastHash = accounts.lastKey();
+      final Updater updater = worldStateStorage.updater();
+      SnapRanges.storeCompleteNodes(origin, lastHash, accounts, updater::putAccountStateTrieNode);
+      updater.commit();
+      downloadedAccountsCounter.inc(accounts.size());
+
+      new StorageDownload(header, accountsWithStorage(accounts.headMap(limit, true)))
+          .start()
+          .whenComplete(
+              (r, error) -> {
+                final Optional<Bytes32> next = RangeHashes.next(lastHash);
+                if (error != null) {
+                  result.completeExceptionally(error);
+                } else if (lastHash.compareTo(limit) >= 0 || next.isEmpty()) {
+                  result.complete(null);
+                } else {
+                  origin = next.get();
+                  requestNext();
+                }
+              });
+    }
+
+    private void retryLater() {
+      if (++failedRequests > MAX_FAILED_REQUESTS) {
+        result.completeExceptionally(
+            new StalledDownloadException(
+                "No snap peer could serve the account range starting at " + origin));
+        return;
+      }
+      ethContext.getScheduler().scheduleFutureTask(this::requestNext, RETRY_DELAY);
+    }
+  }
+
+  private static List<StorageRange> accountsWithStorage(final Map<Bytes32, Bytes> accounts) {
+    return accounts.entrySet().stream()
+        .map(
+            entry ->
+                new StorageRange(
+                    Hash.wrap(entry.getKey()),
+                    StateTrieAccountValue.readFrom(RLP.input(entry.getValue())).getStorageRoot()))
+        .filter(range -> !range.storageRoot.equals(MerklePatriciaTrie.EMPTY_TRIE_NODE_HASH))
+        .collect(Collectors.toList());
+  }
+
+  /** The storage of an account that remains to be downloaded. */
+  private static class StorageRange {
+    private final Hash accountHash;
+    private final Bytes32 storageRoot;
+    private Bytes32 origin = RangeHashes.MIN_HASH;
+
+    private StorageRange(final Hash accountHash, final Bytes32 storageRoot) {
+      this.accountHash = accountHash;
+      this.storageRoot = storageRoot;
+    }
+  }
+
+  /** Downloads the storage of a list of accounts, several accounts at a time. */
+  private class StorageDownload {
+    private final BlockHeader header;
+    private final Deque<StorageRange> pending;
+    private final CompletableFuture<Void> result = new CompletableFuture<>();
+    private int failedRequests = 0;
+
+    private StorageDownload(final BlockHeader header, final List<StorageRange> accounts) {
+      this.header = header;
+      this.pending = new ArrayDeque<>(accounts);
+    }
+
+    CompletableFuture<Void> start() {
+      if (pending.isEmpty()) {
+        result.complete(null);
+      } else {
+        requestNext();
+      }
+      return result;
+    }
+
+    private void requestNext() {
+      if (cancelled) {
+        result.completeExceptionally(new CancellationException());
+        return;
+      }
+      final Optional<EthPeer> peer = selectSnapPeer(header.getNumber());
+      if (peer.isEmpty()) {
+        retryLater();
+        return;
+      }
+      final StorageRange first = pending.getFirst();
+      final List<Bytes32> accountHashes = new ArrayList<>();
+      if (first.origin.equals(RangeHashes.MIN_HASH)) {
+        pending.stream()
+            .limit(MAX_ACCOUNTS_PER_STORAGE_REQUEST)
+            .forEach(range -> accountHashes.add(range.accountHash));
+      } else {
+        // A partially downloaded storage is resumed on its own
+        accountHashes.add(first.accountHash);
+      }
+      GetStorageRangeFromPeerTask.forAccounts(
+              ethContext,
+              header.getStateRoot(),
+              accountHashes,
+              first.origin,
+              RangeHashes.MAX_HASH,
+              RESPONSE_BYTES,
+              header.getNumber(),
+              metricsSystem)
+          .assignPeer(peer.get())
+          .run()
+          .whenComplete(
+              (response, error) -> {
+                if (error != null) {
+                  retryLater();
+                  return;
+                }
+                try {
+                  handleResponse(response.getPeer(), response.getResult());
+                } catch (final RuntimeException e) {
+                  result.completeExceptionally(e);
+                }
+              });
+    }
+
+    private void handleResponse(final EthPeer peer, final StorageRangeMessage response) {
+      final List<NavigableMap<Bytes32, Bytes>> slots = response.slots();
+      if (slots.isEmpty()) {
+        // The peer doesn't have the requested state
+        retryLater();
+        return;
+      }
+      final Updater updater = worldStateStorage.updater();
+      boolean validResponse = true;
+      for (int i = 0; i < slots.size() && validResponse; i++) {
+        final StorageRange range = pending.getFirst();
+        final NavigableMap<Bytes32, Bytes> accountSlots = slots.get(i);
+        final boolean partial = i == slots.size() - 1 && !response.proof().isEmpty();
+        if (partial) {
+          validResponse = storePartialStorage(range, accountSlots, response.proof(), updater);
+        } else {
+          // The whole storage of the account, only kept if it matches the account's storage root
+          if (SnapRanges.isValidRange(
+              range.storageRoot, range.origin, accountSlots, Collections.emptyList())) {
+            storeSlots(range, RangeHashes.MAX_HASH, accountSlots, updater);
+          }
+          pending.removeFirst();
+        }
+      }
+      updater.commit();
+
+      if (!validResponse) {
+        peer.recordUselessResponse("storageRange");
+        retryLater();
+        return;
+      }
+      failedRequests = 0;
+      if (pending.isEmpty()) {
+        result.complete(null);
+      } else {
+        requestNext();
+      }
+    }
+
+    private boolean storePartialStorage(
+        final StorageRange range,
+        final NavigableMap<Bytes32, Bytes> accountSlots,
+        final List<Bytes> proof,
+        final Updater updater) {
+      if (!SnapRanges.isValidRange(range.storageRoot, range.origin, accountSlots, proof)) {
+        return false;
+      }
+      final Optional<Bytes32> next =
+          accountSlots.isEmpty() ? Optional.empty() : RangeHashes.next(accountSlots.lastKey());
+      if (!accountSlots.isEmpty()) {
+        storeSlots(range, accountSlots.lastKey(), accountSlots, updater);
+      }
+      if (next.isPresent()) {
+        range.origin = next.get();
+      } else {
+        // Proven that there is no slot left for this account
+        pending.removeFirst();
+      }
+      return true;
+    }
+
+    private void storeSlots(
+        final StorageRange range,
+        final Bytes32 endHash,
+        final NavigableMap<Bytes32, Bytes> accountSlots,
+        final Updater updater) {
+      SnapRanges.storeCompleteNodes(
+          range.origin,
+          endHash,
+          accountSlots,
+          (location, hash, value) ->
+              updater.putAccountStorageTrieNode(range.accountHash, location, hash, value));
+      downloadedSlotsCounter.inc(accountSlots.size());
+    }
+
+    private void retryLater() {
+      if (++failedRequests > MAX_FAILED_REQUESTS) {
+        result.completeExceptionally(
+            new StalledDownloadException(
+                "No snap peer could serve the storage of account "
+                    + pending.getFirst().accountHash));
+        return;
+      }
+      ethContext.getScheduler().scheduleFutureTask(this::requestNext, RETRY_DELAY);
+    }
+  }
+}
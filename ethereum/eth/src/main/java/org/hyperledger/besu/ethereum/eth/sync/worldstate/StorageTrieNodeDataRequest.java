@@ -46,8 +46,12 @@ class StorageTrieNodeDataRequest extends TrieNodeDataRequest {
 
   @Override
   public Optional<Bytes> getExistingData(final WorldStateStorage worldStateStorage) {
-    return worldStateStorage.getAccountStorageTrieNode(
-        getAccountHash().orElse(Hash.EMPTY), getLocation().orElse(Hash.EMPTY), getHash());
+    // Bonsai returns the node stored at the location whatever its hash, which may come from an
+    // incomplete snap range or an older state, so only a node with the requested hash is reused
+    return worldStateStorage
+        .getAccountStorageTrieNode(
+            getAccountHash().orElse(Hash.EMPTY), getLocation().orElse(Hash.EMPTY), getHash())
+        .filter(data -> Hash.hash(data).equals(getHash()));
   }
 
   @Override
@@ -19,28 +19,40 @@ import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
 import org.hyperledger.besu.ethereum.eth.manager.task.EthTask;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateStorage;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateStorage.Updater;
-import org.hyperledger.besu.services.tasks.CachingTaskCollection;
 import org.hyperledger.besu.services.tasks.Task;
+import org.hyperledger.besu.services.tasks.TaskCollection;
 import org.hyperledger.besu.util.ExceptionUtils;
 
 import java.time.Clock;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.tuweni.bytes.Bytes;
 
+/**
+ * Tracks the progress of a world state download.
+ *
+ * <p>Requests are added to and removed from the pending requests without holding the monitor of
+ * this class, which only guards the completion and stall bookkeeping and parks the threads waiting
+ * for a request to become available.
+ */
 class WorldDownloadState {
   private static final Logger LOG = LogManager.getLogger();
 
   private final boolean downloadWasResumed;
-  private final CachingTaskCollection<NodeDataRequest> pendingRequests;
+  private final TaskCollection<NodeDataRequest> pendingRequests;
   private final int maxRequestsWithoutProgress;
   private final Clock clock;
   private final Set<EthTask<?>> outstandingRequests =
@@ -53,9 +65,14 @@ class WorldDownloadState {
   private volatile long timestampOfLastProgress;
   private Bytes rootNodeData;
   private WorldStateDownloadProcess worldStateDownloadProcess;
+  private volatile boolean keepPendingRequests = false;
+  // Held shared while requests are added and exclusively while the pending requests are cleared,
+  // so that no request is added once the download has stopped accepting them
+  private final ReadWriteLock pendingRequestsLock = new ReentrantReadWriteLock();
+  private final AtomicInteger waitingThreads = new AtomicInteger();
 
   public WorldDownloadState(
-      final CachingTaskCollection<NodeDataRequest> pendingRequests,
+      final TaskCollection<NodeDataRequest> pendingRequests,
       final int maxRequestsWithoutProgress,
       final long minMillisBeforeStalling,
       final Clock clock) {
@@ -90,7 +107,14 @@ class WorldDownloadState {
     for (final EthTask<?> outstandingRequest : outstandingRequests) {
       outstandingRequest.cancel();
     }
-    pendingRequests.clear();
+    if (!keepPendingRequests) {
+      pendingRequestsLock.writeLock().lock();
+      try {
+        pendingRequests.clear();
+      } finally {
+        pendingRequestsLock.writeLock().unlock();
+      }
+    }
 
     if (error != null) {
       if (worldStateDownloadProcess != null) {
@@ -100,6 +124,8 @@ class WorldDownloadState {
     } else {
       downloadFuture.complete(result);
     }
+    // Wake up any thread waiting to dequeue so it can give up waiting
+    notifyAll();
   }
 
   public boolean downloadWasResumed() {
@@ -122,31 +148,64 @@ class WorldDownloadState {
     return downloadFuture;
   }
 
-  public synchronized void enqueueRequest(final NodeDataRequest request) {
-    if (!internalFuture.isDone()) {
-      pendingRequests.add(request);
-      notifyAll();
-    }
+  public void enqueueRequest(final NodeDataRequest request) {
+    enqueue(Collections.singletonList(request));
   }
 
-  public synchronized void enqueueRequests(final Stream<NodeDataRequest> requests) {
-    if (!internalFuture.isDone()) {
-      requests.forEach(pendingRequests::add);
-      notifyAll();
+  public void enqueueRequests(final Stream<NodeDataRequest> requests) {
+    // Resolving the requests may read the local storage, it is done before taking any lock
+    enqueue(requests.collect(Collectors.toList()));
+  }
+
+  private void enqueue(final List<NodeDataRequest> requests) {
+    pendingRequestsLock.readLock().lock();
+    try {
+      if (!acceptsRequests()) {
+        return;
+      }
+      pendingRequests.addAll(requests);
+    } finally {
+      pendingRequestsLock.readLock().unlock();
     }
+    notifyTaskAvailable();
+  }
+
+  // Once suspended, the children of the requests still being completed must be kept as their
+  // parents are no longer pending
+  private boolean acceptsRequests() {
+    return !internalFuture.isDone() || keepPendingRequests;
   }
 
-  public synchronized Task<NodeDataRequest> dequeueRequestBlocking() {
+  /** Stops the download, keeping the pending requests so that a later download resumes them. */
+  public synchronized void suspend() {
+    keepPendingRequests = true;
+    downloadFuture.cancel(true);
+  }
+
+  public Task<NodeDataRequest> dequeueRequestBlocking() {
     while (!internalFuture.isDone()) {
       final Task<NodeDataRequest> task = pendingRequests.remove();
       if (task != null) {
         return task;
       }
-      try {
-        wait();
-      } catch (final InterruptedException e) {
-        Thread.currentThread().interrupt();
-        return null;
+      synchronized (this) {
+        waitingThreads.incrementAndGet();
+        try {
+          // A request added since the previous attempt found no thread to notify, check again
+          final Task<NodeDataRequest> addedTask = pendingRequests.remove();
+          if (addedTask != null) {
+            return addedTask;
+          }
+          if (internalFuture.isDone()) {
+            return null;
+          }
+          wait();
+        } catch (final InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return null;
+        } finally {
+          waitingThreads.decrementAndGet();
+        }
       }
     }
     return null;
@@ -182,7 +241,16 @@ class WorldDownloadState {
     internalFuture.completeExceptionally(e);
   }
 
-  public synchronized boolean checkCompletion(
+  public boolean checkCompletion(
+      final WorldStateStorage worldStateStorage, final BlockHeader header) {
+    // Called whenever a request completes, only the last one has to go through the monitor
+    if (internalFuture.isDone() || !pendingRequests.allTasksCompleted()) {
+      return false;
+    }
+    return checkCompletionSynchronized(worldStateStorage, header);
+  }
+
+  private synchronized boolean checkCompletionSynchronized(
       final WorldStateStorage worldStateStorage, final BlockHeader header) {
     if (!internalFuture.isDone() && pendingRequests.allTasksCompleted()) {
       if (rootNodeData == null) {
@@ -214,8 +282,12 @@ class WorldDownloadState {
     this.worldStateDownloadProcess = worldStateDownloadProcess;
   }
 
-  public synchronized void notifyTaskAvailable() {
-    notifyAll();
+  public void notifyTaskAvailable() {
+    if (waitingThreads.get() > 0) {
+      synchronized (this) {
+        notifyAll();
+      }
+    }
   }
 
   public CompletableFuture<Void> startDownload(
@@ -20,7 +20,7 @@ import org.hyperledger.besu.ethereum.eth.manager.EthContext;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateStorage;
 import org.hyperledger.besu.metrics.BesuMetricCategory;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
-import org.hyperledger.besu.services.tasks.CachingTaskCollection;
+import org.hyperledger.besu.services.tasks.TaskCollection;
 
 import java.time.Clock;
 import java.util.Optional;
@@ -41,7 +41,7 @@ public class WorldStateDownloader implements WorldStateDownloadStatus {
   private final MetricsSystem metricsSystem;
 
   private final EthContext ethContext;
-  private final CachingTaskCollection<NodeDataRequest> taskCollection;
+  private final TaskCollection<NodeDataRequest> taskCollection;
   private final int hashCountPerRequest;
   private final int maxOutstandingRequests;
   private final int maxNodeRequestsWithoutProgress;
@@ -54,7 +54,7 @@ public class WorldStateDownloader implements WorldStateDownloadStatus {
   public WorldStateDownloader(
       final EthContext ethContext,
       final WorldStateStorage worldStateStorage,
-      final CachingTaskCollection<NodeDataRequest> taskCollection,
+      final TaskCollection<NodeDataRequest> taskCollection,
       final int hashCountPerRequest,
       final int maxOutstandingRequests,
       final int maxNodeRequestsWithoutProgress,
@@ -149,6 +149,19 @@ public class WorldStateDownloader implements WorldStateDownloadStatus {
     }
   }
 
+  /**
+   * Stops the download without discarding its pending requests, so that the next run resumes from
+   * where this one stopped. When the requests are persisted, this holds across restarts.
+   */
+  public void stop() {
+    synchronized (this) {
+      final WorldDownloadState downloadState = this.downloadState.get();
+      if (downloadState != null) {
+        downloadState.suspend();
+      }
+    }
+  }
+
   public void cancel() {
     synchronized (this) {
       final WorldDownloadState downloadState = this.downloadState.get();
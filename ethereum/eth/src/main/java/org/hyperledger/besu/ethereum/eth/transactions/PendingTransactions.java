@@ -15,12 +15,11 @@
 package org.hyperledger.besu.ethereum.eth.transactions;
 
 import static java.util.Comparator.comparing;
-import static java.util.stream.Collectors.toUnmodifiableList;
+import static java.util.Comparator.comparingLong;
 import static org.hyperledger.besu.ethereum.eth.transactions.PendingTransactions.TransactionAddedStatus.ADDED;
 import static org.hyperledger.besu.ethereum.eth.transactions.PendingTransactions.TransactionAddedStatus.ALREADY_KNOWN;
 import static org.hyperledger.besu.ethereum.eth.transactions.PendingTransactions.TransactionAddedStatus.REJECTED_UNDERPRICED_REPLACEMENT;
 
-import org.hyperledger.besu.ethereum.core.AccountTransactionOrder;
 import org.hyperledger.besu.ethereum.core.Address;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.Hash;
@@ -31,6 +30,7 @@ import org.hyperledger.besu.metrics.BesuMetricCategory;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 import org.hyperledger.besu.plugin.services.metrics.Counter;
 import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
 import org.hyperledger.besu.util.Subscribers;
 import org.hyperledger.besu.util.number.Percentage;
 
@@ -38,26 +38,33 @@ import java.time.Clock;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.NavigableSet;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.OptionalLong;
+import java.util.PriorityQueue;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.EvictingQueue;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.PeekingIterator;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -65,51 +72,75 @@ import org.apache.logging.log4j.Logger;
  * Holds the current set of pending transactions with the ability to iterate them based on priority
  * for mining or look-up by hash.
  *
- * <p>This class is safe for use across multiple threads.
+ * <p>This class is safe for use across multiple threads. Transactions are kept in a nonce ordered
+ * queue per sender, each guarded by its own lock, and only the first transaction of each sender is
+ * held in the prioritized ranges used for selection.
  */
 public class PendingTransactions {
   private static final Logger LOG = LogManager.getLogger();
+  // operation labels of the removed transactions counter
+  private static final String ADDED_TO_BLOCK = "addedToBlock";
+  private static final String DROPPED = "dropped";
+  private static final String SPILLED = "spilled";
 
   private final int maxTransactionRetentionHours;
   private final Clock clock;
 
   private final EvictingQueue<Hash> newPooledHashes;
-  private final Object lock = new Object();
   private final Map<Hash, TransactionInfo> pendingTransactions = new ConcurrentHashMap<>();
+  private final Map<Address, TransactionsForSenderInfo> transactionsBySender =
+      new ConcurrentHashMap<>();
+
+  /**
+   * Guards the prioritized ranges and the base fee they are partitioned by. It is only ever
+   * acquired while holding the lock of a single sender or while holding no lock at all.
+   */
+  private final ReentrantLock prioritizedLock = new ReentrantLock();
   /**
-   * See this post for an explainer about these data structures:
+   * The prioritized ranges only hold the next executable transaction of each sender, the following
+   * ones are reached through the nonce ordered queue of the sender when it gets selected.
+   *
+   * <p>See this post for an explainer about these data structures:
    * https://hackmd.io/@adietrichs/1559-transaction-sorting
    */
   private final NavigableSet<TransactionInfo> prioritizedTransactionsStaticRange =
       new TreeSet<>(
           comparing(TransactionInfo::isReceivedFromLocalSource)
-              .thenComparing(
-                  transactionInfo ->
-                      transactionInfo
-                          .getTransaction()
-                          .getMaxPriorityFeePerGas()
-                          // safe to .get() here because only 1559 txs can be in the static range
-                          .get()
-                          .getValue()
-                          .longValue())
-              .thenComparing(TransactionInfo::getSequence)
+              .thenComparingLong(TransactionInfo::getMaxPriorityFeePerGasValue)
+              .thenComparingLong(TransactionInfo::getSequence)
               .reversed());
 
   private final NavigableSet<TransactionInfo> prioritizedTransactionsDynamicRange =
       new TreeSet<>(
           comparing(TransactionInfo::isReceivedFromLocalSource)
-              .thenComparing(
-                  transactionInfo ->
-                      transactionInfo
-                          .getTransaction()
-                          .getMaxFeePerGas()
-                          .map(maxFeePerGas -> maxFeePerGas.getValue().longValue())
-                          .orElse(transactionInfo.getGasPrice().toLong()))
-              .thenComparing(TransactionInfo::getSequence)
+              .thenComparingLong(TransactionInfo::getMaxFeePerGasValue)
+              .thenComparingLong(TransactionInfo::getSequence)
               .reversed());
-  private Optional<Long> baseFee;
-  private final Map<Address, TransactionsForSenderInfo> transactionsBySender =
-      new ConcurrentHashMap<>();
+  /**
+   * The EIP-1559 transactions of the prioritized ranges keyed by their static range threshold, so a
+   * base fee change only has to visit the transactions whose threshold it crossed.
+   */
+  private final NavigableMap<Long, Set<TransactionInfo>> prioritizedTransactionsByThreshold =
+      new TreeMap<>();
+
+  private volatile Optional<Long> baseFee;
+
+  /**
+   * Every pending transaction, cheapest first, to pick what to drop when the pool is full. The
+   * lowest effective priority fee in the pool is either the lowest max priority fee or the lowest
+   * max fee minus the base fee, so neither order has to change when the base fee does.
+   */
+  private final NavigableSet<TransactionInfo> evictionOrderByMaxFee =
+      new ConcurrentSkipListSet<>(
+          comparing(TransactionInfo::isReceivedFromLocalSource)
+              .thenComparingLong(TransactionInfo::getMaxFeePerGasValue)
+              .thenComparingLong(TransactionInfo::getSequence));
+
+  private final NavigableSet<TransactionInfo> evictionOrderByMaxPriorityFee =
+      new ConcurrentSkipListSet<>(
+          comparing(TransactionInfo::isReceivedFromLocalSource)
+              .thenComparingLong(TransactionInfo::getMaxPriorityFeePerGasValue)
+              .thenComparingLong(TransactionInfo::getSequence));
 
   private final Subscribers<PendingTransactionListener> pendingTransactionSubscribers =
       Subscribers.create();
@@ -121,8 +152,15 @@ public class PendingTransactions {
   private final Counter localTransactionAddedCounter;
   private final Counter remoteTransactionAddedCounter;
   private final Counter localTransactionHashesAddedCounter;
+  private final Counter senderLockContentionCounter;
+  private final Counter prioritizedLockContentionCounter;
+  private final OperationTimer addTimer;
+  private final OperationTimer removeTimer;
+  private final OperationTimer selectTimer;
+  private final OperationTimer updateBaseFeeTimer;
 
   private final long maxPendingTransactions;
+  private final Optional<PendingTransactionsOverflowStorage> overflowStorage;
   private final TransactionPoolReplacementHandler transactionReplacementHandler;
   private final Supplier<BlockHeader> chainHeadHeaderSupplier;
 
@@ -134,8 +172,33 @@ public class PendingTransactions {
       final MetricsSystem metricsSystem,
       final Supplier<BlockHeader> chainHeadHeaderSupplier,
       final Percentage priceBump) {
+    this(
+        maxTransactionRetentionHours,
+        maxPendingTransactions,
+        maxPooledTransactionHashes,
+        clock,
+        metricsSystem,
+        chainHeadHeaderSupplier,
+        priceBump,
+        Optional.empty());
+  }
+
+  /**
+   * Creates a pool that spills the transactions it evicts to {@code overflowStorage} rather than
+   * dropping them, for as long as the storage is not full.
+   */
+  public PendingTransactions(
+      final int maxTransactionRetentionHours,
+      final int maxPendingTransactions,
+      final int maxPooledTransactionHashes,
+      final Clock clock,
+      final MetricsSystem metricsSystem,
+      final Supplier<BlockHeader> chainHeadHeaderSupplier,
+      final Percentage priceBump,
+      final Optional<PendingTransactionsOverflowStorage> overflowStorage) {
     this.maxTransactionRetentionHours = maxTransactionRetentionHours;
     this.maxPendingTransactions = maxPendingTransactions;
+    this.overflowStorage = overflowStorage;
     this.clock = clock;
     this.newPooledHashes = EvictingQueue.create(maxPooledTransactionHashes);
     this.chainHeadHeaderSupplier = chainHeadHeaderSupplier;
@@ -164,6 +227,26 @@ public class PendingTransactions {
         "transactions",
         "Current size of the transaction pool",
         pendingTransactions::size);
+
+    final LabelledMetric<Counter> lockContentionCounter =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.TRANSACTION_POOL,
+            "lock_contention_total",
+            "Count of transaction pool lock acquisitions that had to wait for another thread",
+            "lock");
+    senderLockContentionCounter = lockContentionCounter.labels("sender");
+    prioritizedLockContentionCounter = lockContentionCounter.labels("prioritized");
+
+    final LabelledMetric<OperationTimer> operationTimer =
+        metricsSystem.createLabelledTimer(
+            BesuMetricCategory.TRANSACTION_POOL,
+            "operation_time",
+            "Time spent inside the transaction pool, by operation",
+            "operation");
+    addTimer = operationTimer.labels("add");
+    removeTimer = operationTimer.labels("remove");
+    selectTimer = operationTimer.labels("select");
+    updateBaseFeeTimer = operationTimer.labels("updateBaseFee");
   }
 
   public void evictOldTransactions() {
@@ -197,6 +280,30 @@ public class PendingTransactions {
     return added;
   }
 
+  /**
+   * Adds a batch of remote transactions, taking the lock of each sender once and evicting for the
+   * whole batch at the end.
+   *
+   * @param transactions the transactions to add
+   * @return the transactions that were added to the pool
+   */
+  public List<Transaction> addRemoteTransactions(final List<Transaction> transactions) {
+    final Instant addedToPoolAt = clock.instant();
+    final List<TransactionAddedStatus> transactionAddedStatuses =
+        addTransactions(
+            transactions.stream()
+                .map(transaction -> new TransactionInfo(transaction, false, addedToPoolAt))
+                .collect(Collectors.toList()));
+    final List<Transaction> addedTransactions = new ArrayList<>();
+    for (int i = 0; i < transactions.size(); i++) {
+      if (transactionAddedStatuses.get(i).equals(ADDED)) {
+        remoteTransactionAddedCounter.inc();
+        addedTransactions.add(transactions.get(i));
+      }
+    }
+    return addedTransactions;
+  }
+
   boolean addTransactionHash(final Hash transactionHash) {
     final boolean hashAdded;
     synchronized (newPooledHashes) {
@@ -219,32 +326,43 @@ public class PendingTransactions {
   }
 
   void removeTransaction(final Transaction transaction) {
-    doRemoveTransaction(transaction, false);
+    doRemoveTransaction(transaction, DROPPED);
     notifyTransactionDropped(transaction);
   }
 
   void transactionAddedToBlock(final Transaction transaction) {
-    doRemoveTransaction(transaction, true);
-  }
-
-  private void doRemoveTransaction(final Transaction transaction, final boolean addedToBlock) {
-    synchronized (lock) {
-      final TransactionInfo removedTransactionInfo =
-          pendingTransactions.remove(transaction.getHash());
-      if (removedTransactionInfo != null) {
-        if (!prioritizedTransactionsDynamicRange.remove(removedTransactionInfo))
-          prioritizedTransactionsStaticRange.remove(removedTransactionInfo);
-        removeTransactionTrackedBySenderAndNonce(transaction);
-        incrementTransactionRemovedCounter(
-            removedTransactionInfo.isReceivedFromLocalSource(), addedToBlock);
+    doRemoveTransaction(transaction, ADDED_TO_BLOCK);
+  }
+
+  private boolean doRemoveTransaction(final Transaction transaction, final String operation) {
+    final TransactionsForSenderInfo transactionsForSender =
+        transactionsBySender.get(transaction.getSender());
+    if (transactionsForSender == null) {
+      return false;
+    }
+    final TransactionInfo removedTransactionInfo;
+    try (final OperationTimer.TimingContext ignored = removeTimer.startTimer()) {
+      lockSender(transactionsForSender);
+      try {
+        removedTransactionInfo =
+            transactionsForSender.getTransactionInfoForNonce(transaction.getNonce());
+        if (removedTransactionInfo == null
+            || !removedTransactionInfo.getHash().equals(transaction.getHash())) {
+          return false;
+        }
+        untrackTransaction(transactionsForSender, removedTransactionInfo);
+      } finally {
+        transactionsForSender.getLock().unlock();
       }
     }
+    incrementTransactionRemovedCounter(
+        removedTransactionInfo.isReceivedFromLocalSource(), operation);
+    return true;
   }
 
   private void incrementTransactionRemovedCounter(
-      final boolean receivedFromLocalSource, final boolean addedToBlock) {
+      final boolean receivedFromLocalSource, final String operation) {
     final String location = receivedFromLocalSource ? "local" : "remote";
-    final String operation = addedToBlock ? "addedToBlock" : "dropped";
     transactionRemovedCounter.labels(location, operation).inc();
   }
 
@@ -256,247 +374,457 @@ public class PendingTransactions {
   // This seems like it would be very rare but worth it to document that we don't handle that case
   // right now.
   public void selectTransactions(final TransactionSelector selector) {
-    synchronized (lock) {
+    try (final OperationTimer.TimingContext ignored = selectTimer.startTimer()) {
       final List<Transaction> transactionsToRemove = new ArrayList<>();
-      final Map<Address, AccountTransactionOrder> accountTransactions = new HashMap<>();
       final Iterator<TransactionInfo> prioritizedTransactions = prioritizedTransactions();
       while (prioritizedTransactions.hasNext()) {
         final TransactionInfo highestPriorityTransactionInfo = prioritizedTransactions.next();
-        final AccountTransactionOrder accountTransactionOrder =
-            accountTransactions.computeIfAbsent(
-                highestPriorityTransactionInfo.getSender(), this::createSenderTransactionOrder);
-
-        for (final Transaction transactionToProcess :
-            accountTransactionOrder.transactionsToProcess(
-                highestPriorityTransactionInfo.getTransaction())) {
-          final TransactionSelectionResult result =
-              selector.evaluateTransaction(transactionToProcess);
-          switch (result) {
-            case DELETE_TRANSACTION_AND_CONTINUE:
-              transactionsToRemove.add(transactionToProcess);
-              break;
-            case CONTINUE:
-              break;
-            case COMPLETE_OPERATION:
-              transactionsToRemove.forEach(this::removeTransaction);
-              return;
-            default:
-              throw new RuntimeException("Illegal value for TransactionSelectionResult.");
-          }
+        if (!pendingTransactions.containsKey(highestPriorityTransactionInfo.getHash())) {
+          // removed or replaced since the selection started
+          continue;
+        }
+        final Transaction transactionToProcess = highestPriorityTransactionInfo.getTransaction();
+        final TransactionSelectionResult result =
+            selector.evaluateTransaction(transactionToProcess);
+        switch (result) {
+          case DELETE_TRANSACTION_AND_CONTINUE:
+            transactionsToRemove.add(transactionToProcess);
+            break;
+          case CONTINUE:
+            break;
+          case COMPLETE_OPERATION:
+            transactionsToRemove.forEach(this::removeTransaction);
+            return;
+          default:
+            throw new RuntimeException("Illegal value for TransactionSelectionResult.");
         }
       }
       transactionsToRemove.forEach(this::removeTransaction);
     }
   }
 
+  /**
+   * Iterates a snapshot of the prioritized ranges, so the prioritized lock is not held while the
+   * selector runs. Once the transaction of a sender is returned, the next one in nonce order of
+   * that sender competes with the remaining transactions.
+   */
   private Iterator<TransactionInfo> prioritizedTransactions() {
-    return new Iterator<>() {
-      final Iterator<TransactionInfo> staticRangeIterable =
-          prioritizedTransactionsStaticRange.iterator();
-      final Iterator<TransactionInfo> dynamicRangeIterable =
-          prioritizedTransactionsDynamicRange.iterator();
+    final Optional<Long> selectionBaseFee;
+    final List<TransactionInfo> staticRangeTransactions;
+    final List<TransactionInfo> dynamicRangeTransactions;
+    lockPrioritized();
+    try {
+      selectionBaseFee = baseFee;
+      staticRangeTransactions = new ArrayList<>(prioritizedTransactionsStaticRange);
+      dynamicRangeTransactions = new ArrayList<>(prioritizedTransactionsDynamicRange);
+    } finally {
+      prioritizedLock.unlock();
+    }
 
-      Optional<TransactionInfo> currentStaticRangeTransaction =
-          getNextOptional(staticRangeIterable);
-      Optional<TransactionInfo> currentDynamicRangeTransaction =
-          getNextOptional(dynamicRangeIterable);
+    return new Iterator<>() {
+      final PeekingIterator<TransactionInfo> staticRangeIterator =
+          Iterators.peekingIterator(staticRangeTransactions.iterator());
+      final PeekingIterator<TransactionInfo> dynamicRangeIterator =
+          Iterators.peekingIterator(dynamicRangeTransactions.iterator());
+      final PriorityQueue<TransactionInfo> nextNonceTransactions =
+          new PriorityQueue<>(
+              comparingLong(
+                      (TransactionInfo transactionInfo) ->
+                          transactionInfo.getEffectivePriorityFeePerGas(selectionBaseFee))
+                  .thenComparing(TransactionInfo::isReceivedFromLocalSource)
+                  .thenComparingLong(TransactionInfo::getSequence)
+                  .reversed());
 
       @Override
       public boolean hasNext() {
-        return currentStaticRangeTransaction.isPresent()
-            || currentDynamicRangeTransaction.isPresent();
+        return staticRangeIterator.hasNext()
+            || dynamicRangeIterator.hasNext()
+            || !nextNonceTransactions.isEmpty();
       }
 
       @Override
       public TransactionInfo next() {
-        if (currentStaticRangeTransaction.isEmpty() && currentDynamicRangeTransaction.isEmpty()) {
+        if (!hasNext()) {
           throw new NoSuchElementException("Tried to iterate past end of iterator.");
-        } else if (currentStaticRangeTransaction.isEmpty()) {
-          // only dynamic range txs left
-          final TransactionInfo best = currentDynamicRangeTransaction.get();
-          currentDynamicRangeTransaction = getNextOptional(dynamicRangeIterable);
-          return best;
-        } else if (currentDynamicRangeTransaction.isEmpty()) {
-          // only static range txs left
-          final TransactionInfo best = currentStaticRangeTransaction.get();
-          currentStaticRangeTransaction = getNextOptional(staticRangeIterable);
-          return best;
-        } else {
-          // there are both static and dynamic txs remaining so we need to compare them by their
-          // effective priority fees
-          final long dynamicRangeEffectivePriorityFee =
-              currentDynamicRangeTransaction
-                  .get()
-                  .getTransaction()
-                  .getEffectivePriorityFeePerGas(baseFee);
-          final long staticRangeEffectivePriorityFee =
-              currentStaticRangeTransaction
-                  .get()
-                  .getTransaction()
-                  .getEffectivePriorityFeePerGas(baseFee);
-          final TransactionInfo best;
-          if (dynamicRangeEffectivePriorityFee > staticRangeEffectivePriorityFee) {
-            best = currentDynamicRangeTransaction.get();
-            currentDynamicRangeTransaction = getNextOptional(dynamicRangeIterable);
-          } else {
-            best = currentStaticRangeTransaction.get();
-            currentStaticRangeTransaction = getNextOptional(staticRangeIterable);
-          }
-          return best;
         }
+        final TransactionInfo best = pollHighestPriority();
+        getTransactionInfoAfterNonce(best).ifPresent(nextNonceTransactions::add);
+        return best;
       }
 
-      private Optional<TransactionInfo> getNextOptional(
-          final Iterator<TransactionInfo> transactionInfoIterator) {
-        return transactionInfoIterator.hasNext()
-            ? Optional.of(transactionInfoIterator.next())
-            : Optional.empty();
+      private TransactionInfo pollHighestPriority() {
+        // compare the static and dynamic range by their effective priority fees, on a tie the
+        // static range goes first
+        PeekingIterator<TransactionInfo> bestRangeIterator =
+            staticRangeIterator.hasNext() ? staticRangeIterator : dynamicRangeIterator;
+        if (staticRangeIterator.hasNext()
+            && dynamicRangeIterator.hasNext()
+            && effectivePriorityFee(dynamicRangeIterator.peek())
+                > effectivePriorityFee(staticRangeIterator.peek())) {
+          bestRangeIterator = dynamicRangeIterator;
+        }
+        if (!nextNonceTransactions.isEmpty()
+            && (!bestRangeIterator.hasNext()
+                || effectivePriorityFee(nextNonceTransactions.peek())
+                    > effectivePriorityFee(bestRangeIterator.peek()))) {
+          return nextNonceTransactions.poll();
+        }
+        return bestRangeIterator.next();
+      }
+
+      private long effectivePriorityFee(final TransactionInfo transactionInfo) {
+        return transactionInfo.getEffectivePriorityFeePerGas(selectionBaseFee);
       }
     };
   }
 
-  private AccountTransactionOrder createSenderTransactionOrder(final Address address) {
-    return new AccountTransactionOrder(
-        transactionsBySender
-            .get(address)
-            .streamTransactionInfos()
-            .map(TransactionInfo::getTransaction));
+  private Optional<TransactionInfo> getTransactionInfoAfterNonce(
+      final TransactionInfo transactionInfo) {
+    final TransactionsForSenderInfo transactionsForSender =
+        transactionsBySender.get(transactionInfo.getSender());
+    if (transactionsForSender == null) {
+      return Optional.empty();
+    }
+    lockSender(transactionsForSender);
+    try {
+      return transactionsForSender.getTransactionInfoAfterNonce(transactionInfo.getNonce());
+    } finally {
+      transactionsForSender.getLock().unlock();
+    }
   }
 
   private TransactionAddedStatus addTransaction(final TransactionInfo transactionInfo) {
-    Optional<Transaction> droppedTransaction = Optional.empty();
-    final Transaction transaction = transactionInfo.getTransaction();
-    synchronized (lock) {
-      if (pendingTransactions.containsKey(transactionInfo.getHash())) {
-        return ALREADY_KNOWN;
-      }
+    return addTransactions(List.of(transactionInfo)).get(0);
+  }
 
-      final TransactionAddedStatus transactionAddedStatus =
-          addTransactionForSenderAndNonce(transactionInfo);
-      if (!transactionAddedStatus.equals(ADDED)) {
-        return transactionAddedStatus;
+  private List<TransactionAddedStatus> addTransactions(
+      final List<TransactionInfo> transactionInfos) {
+    final TransactionAddedStatus[] transactionAddedStatuses =
+        new TransactionAddedStatus[transactionInfos.size()];
+    final List<TransactionInfo> replacedTransactions = new ArrayList<>();
+    final List<Transaction> evictedTransactions;
+    try (final OperationTimer.TimingContext ignored = addTimer.startTimer()) {
+      final Map<Address, List<Integer>> indexesBySender = new LinkedHashMap<>();
+      for (int i = 0; i < transactionInfos.size(); i++) {
+        indexesBySender
+            .computeIfAbsent(transactionInfos.get(i).getSender(), key -> new ArrayList<>())
+            .add(i);
       }
-      // check if it's in static or dynamic range
-      if (isInStaticRange(transaction, baseFee)) {
-        prioritizedTransactionsStaticRange.add(transactionInfo);
-      } else {
-        prioritizedTransactionsDynamicRange.add(transactionInfo);
+      indexesBySender.forEach(
+          (sender, indexes) -> {
+            final TransactionsForSenderInfo transactionsForSender =
+                transactionsBySender.computeIfAbsent(
+                    sender, key -> new TransactionsForSenderInfo());
+            lockSender(transactionsForSender);
+            try {
+              for (final int index : indexes) {
+                transactionAddedStatuses[index] =
+                    addTransactionForSender(
+                        transactionsForSender, transactionInfos.get(index), replacedTransactions);
+              }
+            } finally {
+              transactionsForSender.getLock().unlock();
+            }
+          });
+      replacedTransactions.forEach(
+          replacedTransaction -> {
+            incrementTransactionRemovedCounter(
+                replacedTransaction.isReceivedFromLocalSource(), DROPPED);
+            notifyTransactionDropped(replacedTransaction.getTransaction());
+          });
+      for (int i = 0; i < transactionInfos.size(); i++) {
+        if (transactionAddedStatuses[i].equals(ADDED)) {
+          tryEvictTransactionHash(transactionInfos.get(i).getHash());
+        }
       }
-      LOG.trace("Adding {} to pending transactions", transactionInfo);
-      pendingTransactions.put(transactionInfo.getHash(), transactionInfo);
-      tryEvictTransactionHash(transactionInfo.getHash());
-
-      if (pendingTransactions.size() > maxPendingTransactions) {
-        final Stream.Builder<TransactionInfo> removalCandidates = Stream.builder();
-        if (!prioritizedTransactionsDynamicRange.isEmpty())
-          removalCandidates.add(prioritizedTransactionsDynamicRange.last());
-        if (!prioritizedTransactionsStaticRange.isEmpty())
-          removalCandidates.add(prioritizedTransactionsStaticRange.last());
-        final TransactionInfo toRemove =
-            removalCandidates
-                .build()
-                .min(
-                    Comparator.comparing(
-                        txInfo -> txInfo.getTransaction().getEffectivePriorityFeePerGas(baseFee)))
-                // safe because we just added a tx to the pool so we're guaranteed to have one
-                .get();
-        doRemoveTransaction(toRemove.getTransaction(), false);
-        LOG.trace("Evicted {} due to transaction pool size", toRemove);
-        droppedTransaction = Optional.of(toRemove.getTransaction());
+      // evicting takes the lock of other senders, so it must happen after releasing these ones
+      evictedTransactions = evictLowestPriorityTransactions();
+    }
+    for (int i = 0; i < transactionInfos.size(); i++) {
+      if (transactionAddedStatuses[i].equals(ADDED)) {
+        notifyTransactionAdded(transactionInfos.get(i).getTransaction());
+      }
+    }
+    evictedTransactions.forEach(this::notifyTransactionDropped);
+    return Arrays.asList(transactionAddedStatuses);
+  }
+
+  /** Must be called while holding the lock of the sender. */
+  private TransactionAddedStatus addTransactionForSender(
+      final TransactionsForSenderInfo transactionsForSender,
+      final TransactionInfo transactionInfo,
+      final List<TransactionInfo> replacedTransactions) {
+    // a hash commits to its sender, so this check can not race with another add
+    if (pendingTransactions.containsKey(transactionInfo.getHash())) {
+      return ALREADY_KNOWN;
+    }
+    final TransactionInfo replacedTransaction =
+        transactionsForSender.getTransactionInfoForNonce(transactionInfo.getNonce());
+    if (replacedTransaction != null) {
+      if (!transactionReplacementHandler.shouldReplace(
+          replacedTransaction, transactionInfo, chainHeadHeaderSupplier.get())) {
+        return REJECTED_UNDERPRICED_REPLACEMENT;
       }
+      untrackTransaction(transactionsForSender, replacedTransaction);
+      replacedTransactions.add(replacedTransaction);
     }
-    notifyTransactionAdded(transaction);
-    droppedTransaction.ifPresent(this::notifyTransactionDropped);
+    LOG.trace("Adding {} to pending transactions", transactionInfo);
+    trackTransaction(transactionsForSender, transactionInfo);
     return ADDED;
   }
 
-  private boolean isInStaticRange(final Transaction transaction, final Optional<Long> baseFee) {
-    return transaction
-        .getMaxPriorityFeePerGas()
-        .map(
-            maxPriorityFeePerGas ->
-                transaction.getEffectivePriorityFeePerGas(baseFee)
-                    >= maxPriorityFeePerGas.getValue().longValue())
-        .orElse(
-            // non-eip-1559 txs can't be in static range
-            false);
+  /**
+   * Evicts transactions until the pool fits its size limit. Evicted transactions are spilled to the
+   * overflow storage while it has room, and are only reported as dropped otherwise.
+   *
+   * @return the transactions that were dropped
+   */
+  private List<Transaction> evictLowestPriorityTransactions() {
+    final List<Transaction> evictedTransactions = new ArrayList<>();
+    final List<TransactionInfo> spilledTransactions = new ArrayList<>();
+    while (pendingTransactions.size() > maxPendingTransactions) {
+      final Optional<TransactionInfo> maybeToRemove = lowestPriorityTransaction();
+      if (maybeToRemove.isEmpty()) {
+        break;
+      }
+      final TransactionInfo toRemove = maybeToRemove.get();
+      final boolean spill = overflowStorage.map(storage -> !storage.isFull()).orElse(false);
+      if (doRemoveTransaction(toRemove.getTransaction(), spill ? SPILLED : DROPPED)) {
+        if (spill) {
+          LOG.trace("Spilled {} to disk due to transaction pool size", toRemove);
+          spilledTransactions.add(toRemove);
+        } else {
+          LOG.trace("Evicted {} due to transaction pool size", toRemove);
+          evictedTransactions.add(toRemove.getTransaction());
+        }
+      }
+    }
+    overflowStorage.ifPresent(storage -> storage.addAll(spilledTransactions));
+    return evictedTransactions;
   }
 
-  public void updateBaseFee(final Long newBaseFee) {
-    LOG.trace("Updating base fee from {} to {}", this.baseFee, newBaseFee);
-    if (this.baseFee.orElse(0L).equals(newBaseFee)) {
-      return;
+  public boolean isOverflowEnabled() {
+    return overflowStorage.isPresent();
+  }
+
+  /**
+   * Stores remote transactions in the overflow storage without adding them to the pool, typically
+   * because they can not be executable any time soon. They are discarded if the storage is full.
+   *
+   * @param transactions the transactions to spill
+   */
+  void spillRemoteTransactions(final List<Transaction> transactions) {
+    overflowStorage
+        .filter(storage -> !storage.isFull())
+        .ifPresent(
+            storage -> {
+              final Instant addedToPoolAt = clock.instant();
+              storage.addAll(
+                  transactions.stream()
+                      .map(transaction -> new TransactionInfo(transaction, false, addedToPoolAt))
+                      .collect(Collectors.toList()));
+            });
+  }
+
+  /**
+   * Stores every transaction of the pool in the overflow storage, so that they can be reloaded by
+   * the next run, even if this takes the storage beyond its maximum size. The pool itself is left
+   * unchanged.
+   */
+  public void spillAllTransactions() {
+    overflowStorage.ifPresent(
+        storage -> {
+          final Set<TransactionInfo> transactionInfos = getTransactionInfo();
+          storage.addAll(transactionInfos);
+          LOG.info("Stored {} pending transactions to disk", transactionInfos.size());
+        });
+  }
+
+  /**
+   * Removes spilled transactions of a sender from the overflow storage, lowest nonce first.
+   *
+   * @param sender the sender of the transactions
+   * @param limit the maximum number of transactions to return
+   * @return the spilled transactions, which are no longer stored anywhere
+   */
+  List<TransactionInfo> takeSpilledTransactions(final Address sender, final int limit) {
+    return overflowStorage
+        .map(storage -> storage.takeForSender(sender, limit))
+        .orElse(List.of());
+  }
+
+  /**
+   * Removes spilled transactions of any sender from the overflow storage.
+   *
+   * @param limit the maximum number of transactions to return
+   * @return the spilled transactions, which are no longer stored anywhere
+   */
+  List<TransactionInfo> takeSpilledTransactions(final int limit) {
+    return overflowStorage.map(storage -> storage.takeNext(limit)).orElse(List.of());
+  }
+
+  private Optional<TransactionInfo> lowestPriorityTransaction() {
+    final Optional<Long> currentBaseFee = baseFee;
+    return Stream.of(
+            evictionOrderByMaxFee.stream().findFirst(),
+            evictionOrderByMaxPriorityFee.stream().findFirst())
+        .flatMap(Optional::stream)
+        .min(
+            comparing(TransactionInfo::isReceivedFromLocalSource)
+                .thenComparingLong(
+                    transactionInfo ->
+                        transactionInfo.getEffectivePriorityFeePerGas(currentBaseFee)));
+  }
+
+  /**
+   * Records the transaction in the queue of its sender and in the indexes. Must be called while
+   * holding the lock of the sender.
+   */
+  private void trackTransaction(
+      final TransactionsForSenderInfo transactionsForSender,
+      final TransactionInfo transactionInfo) {
+    final Optional<TransactionInfo> previousFirst = transactionsForSender.getFirstTransactionInfo();
+    transactionsForSender.addTransactionToTrack(transactionInfo.getNonce(), transactionInfo);
+    pendingTransactions.put(transactionInfo.getHash(), transactionInfo);
+    evictionOrderByMaxFee.add(transactionInfo);
+    if (transactionInfo.supports1559FeeMarket()) {
+      evictionOrderByMaxPriorityFee.add(transactionInfo);
     }
-    synchronized (lock) {
-      final boolean baseFeeIncreased = newBaseFee > this.baseFee.orElse(0L);
-      this.baseFee = Optional.of(newBaseFee);
-      if (baseFeeIncreased) {
-        // base fee increases can only cause transactions to go from static to dynamic range
-        prioritizedTransactionsStaticRange.stream()
-            .filter(
-                // these are the transactions whose effective priority fee have now dropped
-                // below their max priority fee
-                transactionInfo1 -> !isInStaticRange(transactionInfo1.getTransaction(), baseFee))
-            .collect(toUnmodifiableList())
-            .forEach(
-                transactionInfo -> {
-                  LOG.trace("Moving {} from static to dynamic gas fee paradigm", transactionInfo);
-                  prioritizedTransactionsStaticRange.remove(transactionInfo);
-                  prioritizedTransactionsDynamicRange.add(transactionInfo);
-                });
-      } else {
-        // base fee decreases can only cause transactions to go from dynamic to static range
-        prioritizedTransactionsDynamicRange.stream()
-            .filter(
-                // these are the transactions whose effective priority fee are now above their
-                // max priority fee
-                transactionInfo1 -> isInStaticRange(transactionInfo1.getTransaction(), baseFee))
-            .collect(toUnmodifiableList())
-            .forEach(
-                transactionInfo -> {
-                  LOG.trace("Moving {} from dynamic to static gas fee paradigm", transactionInfo);
-                  prioritizedTransactionsDynamicRange.remove(transactionInfo);
-                  prioritizedTransactionsStaticRange.add(transactionInfo);
-                });
-      }
+    if (previousFirst.map(first -> transactionInfo.getNonce() < first.getNonce()).orElse(true)) {
+      replacePrioritizedTransaction(previousFirst, Optional.of(transactionInfo));
     }
   }
 
-  private TransactionAddedStatus addTransactionForSenderAndNonce(
+  /**
+   * Removes the transaction from the queue of its sender and from the indexes. Must be called while
+   * holding the lock of the sender.
+   */
+  private void untrackTransaction(
+      final TransactionsForSenderInfo transactionsForSender,
       final TransactionInfo transactionInfo) {
-    final TransactionInfo existingTransaction =
-        getTrackedTransactionBySenderAndNonce(transactionInfo);
-    if (existingTransaction != null) {
-      if (!transactionReplacementHandler.shouldReplace(
-          existingTransaction, transactionInfo, chainHeadHeaderSupplier.get())) {
-        return REJECTED_UNDERPRICED_REPLACEMENT;
+    final boolean wasFirst =
+        transactionsForSender
+            .getFirstTransactionInfo()
+            .map(first -> first == transactionInfo)
+            .orElse(false);
+    transactionsForSender.removeTrackedTransaction(transactionInfo.getNonce());
+    pendingTransactions.remove(transactionInfo.getHash());
+    evictionOrderByMaxFee.remove(transactionInfo);
+    evictionOrderByMaxPriorityFee.remove(transactionInfo);
+    if (wasFirst) {
+      replacePrioritizedTransaction(
+          Optional.of(transactionInfo), transactionsForSender.getFirstTransactionInfo());
+    }
+  }
+
+  private void replacePrioritizedTransaction(
+      final Optional<TransactionInfo> previous, final Optional<TransactionInfo> next) {
+    lockPrioritized();
+    try {
+      previous.ifPresent(
+          transactionInfo -> {
+            if (!prioritizedTransactionsDynamicRange.remove(transactionInfo)) {
+              prioritizedTransactionsStaticRange.remove(transactionInfo);
+            }
+            removeFromThresholdIndex(transactionInfo);
+          });
+      next.ifPresent(
+          transactionInfo -> {
+            addToThresholdIndex(transactionInfo);
+            if (transactionInfo.isInStaticRange(baseFee)) {
+              prioritizedTransactionsStaticRange.add(transactionInfo);
+            } else {
+              prioritizedTransactionsDynamicRange.add(transactionInfo);
+            }
+          });
+    } finally {
+      prioritizedLock.unlock();
+    }
+  }
+
+  private void addToThresholdIndex(final TransactionInfo transactionInfo) {
+    if (transactionInfo.supports1559FeeMarket()) {
+      prioritizedTransactionsByThreshold
+          .computeIfAbsent(transactionInfo.getStaticRangeThreshold(), key -> new HashSet<>())
+          .add(transactionInfo);
+    }
+  }
+
+  private void removeFromThresholdIndex(final TransactionInfo transactionInfo) {
+    if (transactionInfo.supports1559FeeMarket()) {
+      final long threshold = transactionInfo.getStaticRangeThreshold();
+      final Set<TransactionInfo> transactionInfos =
+          prioritizedTransactionsByThreshold.get(threshold);
+      if (transactionInfos != null
+          && transactionInfos.remove(transactionInfo)
+          && transactionInfos.isEmpty()) {
+        prioritizedTransactionsByThreshold.remove(threshold);
+      }
+    }
+  }
+
+  public void updateBaseFee(final Long newBaseFee) {
+    LOG.trace("Updating base fee from {} to {}", this.baseFee, newBaseFee);
+    if (this.baseFee.orElse(0L).equals(newBaseFee)) {
+      return;
+    }
+    try (final OperationTimer.TimingContext ignored = updateBaseFeeTimer.startTimer()) {
+      lockPrioritized();
+      try {
+        final long oldBaseFee = this.baseFee.orElse(0L);
+        this.baseFee = Optional.of(newBaseFee);
+        // a transaction is in the static range while the base fee is at most its threshold, so
+        // only the thresholds between the old and the new base fee change range
+        if (newBaseFee > oldBaseFee) {
+          // base fee increases can only cause transactions to go from static to dynamic range
+          prioritizedTransactionsByThreshold
+              .subMap(oldBaseFee, true, newBaseFee, false)
+              .values()
+              .forEach(
+                  transactionInfos ->
+                      transactionInfos.forEach(
+                          transactionInfo -> {
+                            LOG.trace(
+                                "Moving {} from static to dynamic gas fee paradigm",
+                                transactionInfo);
+                            prioritizedTransactionsStaticRange.remove(transactionInfo);
+                            prioritizedTransactionsDynamicRange.add(transactionInfo);
+                          }));
+        } else {
+          // base fee decreases can only cause transactions to go from dynamic to static range
+          prioritizedTransactionsByThreshold
+              .subMap(newBaseFee, true, oldBaseFee, false)
+              .values()
+              .forEach(
+                  transactionInfos ->
+                      transactionInfos.forEach(
+                          transactionInfo -> {
+                            LOG.trace(
+                                "Moving {} from dynamic to static gas fee paradigm",
+                                transactionInfo);
+                            prioritizedTransactionsDynamicRange.remove(transactionInfo);
+                            prioritizedTransactionsStaticRange.add(transactionInfo);
+                          }));
+        }
+      } finally {
+        prioritizedLock.unlock();
       }
-      removeTransaction(existingTransaction.getTransaction());
     }
-    trackTransactionBySenderAndNonce(transactionInfo);
-    return ADDED;
   }
 
-  private void trackTransactionBySenderAndNonce(final TransactionInfo transactionInfo) {
-    final TransactionsForSenderInfo transactionsForSenderInfo =
-        transactionsBySender.computeIfAbsent(
-            transactionInfo.getSender(), key -> new TransactionsForSenderInfo());
-    transactionsForSenderInfo.addTransactionToTrack(transactionInfo.getNonce(), transactionInfo);
+  private void lockSender(final TransactionsForSenderInfo transactionsForSender) {
+    lock(transactionsForSender.getLock(), senderLockContentionCounter);
   }
 
-  private void removeTransactionTrackedBySenderAndNonce(final Transaction transaction) {
-    Optional.ofNullable(transactionsBySender.get(transaction.getSender()))
-        .ifPresent(
-            transactionsForSender ->
-                transactionsForSender.removeTrackedTransaction(transaction.getNonce()));
+  private void lockPrioritized() {
+    lock(prioritizedLock, prioritizedLockContentionCounter);
   }
 
-  private TransactionInfo getTrackedTransactionBySenderAndNonce(
-      final TransactionInfo transactionInfo) {
-    final TransactionsForSenderInfo transactionsForSenderInfo =
-        transactionsBySender.computeIfAbsent(
-            transactionInfo.getSender(), key -> new TransactionsForSenderInfo());
-    return transactionsForSenderInfo.getTransactionInfoForNonce(transactionInfo.getNonce());
+  private static void lock(final ReentrantLock lock, final Counter contentionCounter) {
+    if (!lock.tryLock()) {
+      contentionCounter.inc();
+      lock.lock();
+    }
   }
 
   private void notifyTransactionAdded(final Transaction transaction) {
@@ -574,6 +902,10 @@ public class PendingTransactions {
     private final boolean receivedFromLocalSource;
     private final Instant addedToPoolAt;
     private final long sequence; // Allows prioritization based on order transactions are added
+    // fee fields unwrapped once, so that ordering does not have to go through Wei
+    private final boolean supports1559FeeMarket;
+    private final long maxFeePerGas;
+    private final long maxPriorityFeePerGas;
 
     public TransactionInfo(
         final Transaction transaction,
@@ -583,6 +915,20 @@ public class PendingTransactions {
       this.receivedFromLocalSource = receivedFromLocalSource;
       this.addedToPoolAt = addedToPoolAt;
       this.sequence = TRANSACTIONS_ADDED.getAndIncrement();
+      this.supports1559FeeMarket =
+          transaction.getMaxFeePerGas().isPresent()
+              && transaction.getMaxPriorityFeePerGas().isPresent();
+      this.maxFeePerGas =
+          transaction
+              .getMaxFeePerGas()
+              .orElseGet(() -> transaction.getGasPrice().orElse(Wei.ZERO))
+              .getValue()
+              .longValue();
+      this.maxPriorityFeePerGas =
+          transaction
+              .getMaxPriorityFeePerGas()
+              .map(maxPriorityFee -> maxPriorityFee.getValue().longValue())
+              .orElse(maxFeePerGas);
     }
 
     public Transaction getTransaction() {
@@ -616,6 +962,45 @@ public class PendingTransactions {
     public Instant getAddedToPoolAt() {
       return addedToPoolAt;
     }
+
+    boolean supports1559FeeMarket() {
+      return supports1559FeeMarket;
+    }
+
+    /** The max fee per gas, or the gas price for transactions before EIP-1559. */
+    long getMaxFeePerGasValue() {
+      return maxFeePerGas;
+    }
+
+    /** The max priority fee per gas, or the gas price for transactions before EIP-1559. */
+    long getMaxPriorityFeePerGasValue() {
+      return maxPriorityFeePerGas;
+    }
+
+    /** Same as {@link Transaction#getEffectivePriorityFeePerGas(Optional)} on the cached fields. */
+    long getEffectivePriorityFeePerGas(final Optional<Long> baseFee) {
+      if (baseFee.isEmpty()) {
+        return maxFeePerGas;
+      }
+      final long effectivePriorityFeePerGas =
+          supports1559FeeMarket
+              ? Math.min(maxPriorityFeePerGas, maxFeePerGas - baseFee.get())
+              : maxFeePerGas - baseFee.get();
+      return Math.max(0, effectivePriorityFeePerGas);
+    }
+
+    /**
+     * The highest base fee at which the max priority fee is still paid in full, that is the max fee
+     * minus the max priority fee.
+     */
+    long getStaticRangeThreshold() {
+      return maxFeePerGas - maxPriorityFeePerGas;
+    }
+
+    boolean isInStaticRange(final Optional<Long> baseFee) {
+      // non-eip-1559 txs can't be in static range
+      return supports1559FeeMarket && baseFee.orElse(0L) <= getStaticRangeThreshold();
+    }
   }
 
   public enum TransactionSelectionResult {
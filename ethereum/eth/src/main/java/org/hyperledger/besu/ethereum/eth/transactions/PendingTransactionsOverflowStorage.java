@@ -0,0 +1,207 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.transactions;
+
+import org.hyperledger.besu.ethereum.core.Address;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.encoding.TransactionDecoder;
+import org.hyperledger.besu.ethereum.core.encoding.TransactionEncoder;
+import org.hyperledger.besu.ethereum.eth.transactions.PendingTransactions.TransactionInfo;
+import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.ethereum.rlp.RLPException;
+import org.hyperledger.besu.ethereum.rlp.RLPInput;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * Pending transactions kept on disk, either because they were evicted from the full in-memory pool
+ * or because their nonce is too far ahead to be executable soon. The transactions of a sender are
+ * stored in nonce order, so the ones that become executable can be read back first.
+ *
+ * <p>The storage is only bounded loosely: transactions should not be added once {@link #isFull()},
+ * but a batch added while it is not full is stored whole. The pool is also stored whole when the
+ * node shuts down, so that it can be reloaded, which can take the storage beyond its maximum size
+ * until enough transactions are taken back.
+ */
+public class PendingTransactionsOverflowStorage {
+  private static final Logger LOG = LogManager.getLogger();
+
+  // sender followed by the big-endian nonce, so the transactions of a sender are sorted by nonce
+  private static final int KEY_SIZE = Address.SIZE + Long.BYTES;
+  private static final byte[] FIRST_KEY = new byte[0];
+  // greater than any key, as it is longer and made of the greatest byte
+  private static final byte[] AFTER_LAST_KEY = Bytes.repeat((byte) 0xff, KEY_SIZE + 1).toArray();
+
+  private final KeyValueStorage storage;
+  private final long maxSize;
+  private long size;
+  // where the next scan for transactions of any sender starts, so that every sender gets its turn
+  private byte[] cursor = FIRST_KEY;
+
+  public PendingTransactionsOverflowStorage(
+      final KeyValueStorage storage, final long maxSize, final MetricsSystem metricsSystem) {
+    this.storage = storage;
+    this.maxSize = maxSize;
+    try (final Stream<byte[]> keys = storage.streamKeys()) {
+      this.size = keys.count();
+    }
+    if (size > 0) {
+      LOG.info("Found {} pending transactions stored by a previous run", size);
+    }
+
+    metricsSystem.createLongGauge(
+        BesuMetricCategory.TRANSACTION_POOL,
+        "overflow_transactions",
+        "Current number of pending transactions stored on disk",
+        this::size);
+  }
+
+  /**
+   * Stores transactions, replacing any stored transaction of the same sender and nonce.
+   *
+   * @param transactionInfos the transactions to store
+   */
+  public synchronized void addAll(final Collection<TransactionInfo> transactionInfos) {
+    if (transactionInfos.isEmpty()) {
+      return;
+    }
+    final KeyValueStorageTransaction transaction = storage.startTransaction();
+    // a batch may hold several transactions of the same sender and nonce, stored under one key
+    final Set<Bytes> addedKeys = new HashSet<>();
+    for (final TransactionInfo transactionInfo : transactionInfos) {
+      final Bytes key = key(transactionInfo.getSender(), transactionInfo.getNonce());
+      if (!storage.containsKey(key.toArrayUnsafe()) && addedKeys.add(key)) {
+        size++;
+      }
+      transaction.put(key.toArrayUnsafe(), encode(transactionInfo).toArrayUnsafe());
+    }
+    transaction.commit();
+  }
+
+  /**
+   * Removes and returns the stored transactions of a sender, lowest nonce first.
+   *
+   * @param sender the sender of the transactions
+   * @param limit the maximum number of transactions to return
+   * @return the transactions removed from the storage
+   */
+  public synchronized List<TransactionInfo> takeForSender(final Address sender, final int limit) {
+    final byte[] fromKey = key(sender, 0).toArrayUnsafe();
+    final byte[] toKey =
+        Bytes.concatenate(sender, Bytes.repeat((byte) 0xff, Long.BYTES), Bytes.of(0))
+            .toArrayUnsafe();
+    return take(takeEntries(fromKey, toKey, limit));
+  }
+
+  /**
+   * Removes and returns stored transactions of any sender. Successive calls resume where the
+   * previous one stopped, going back to the first sender once the last one has been reached.
+   *
+   * @param limit the maximum number of transactions to return
+   * @return the transactions removed from the storage
+   */
+  public synchronized List<TransactionInfo> takeNext(final int limit) {
+    final List<Map.Entry<byte[], byte[]>> entries = takeEntries(cursor, AFTER_LAST_KEY, limit);
+    if (entries.size() < limit) {
+      entries.addAll(takeEntries(FIRST_KEY, cursor, limit - entries.size()));
+    }
+    if (!entries.isEmpty()) {
+      cursor = entries.get(entries.size() - 1).getKey();
+    }
+    return take(entries);
+  }
+
+  public synchronized long size() {
+    return size;
+  }
+
+  public synchronized boolean isEmpty() {
+    return size == 0;
+  }
+
+  public synchronized boolean isFull() {
+    return size >= maxSize;
+  }
+
+  private List<Map.Entry<byte[], byte[]>> takeEntries(
+      final byte[] fromKey, final byte[] toKey, final int limit) {
+    if (limit <= 0) {
+      return new ArrayList<>();
+    }
+    try (final Stream<Map.Entry<byte[], byte[]>> entries = storage.stream(fromKey, toKey)) {
+      return entries.limit(limit).collect(Collectors.toCollection(ArrayList::new));
+    }
+  }
+
+  private List<TransactionInfo> take(final List<Map.Entry<byte[], byte[]>> entries) {
+    if (entries.isEmpty()) {
+      return List.of();
+    }
+    final List<TransactionInfo> transactionInfos = new ArrayList<>(entries.size());
+    final KeyValueStorageTransaction transaction = storage.startTransaction();
+    for (final Map.Entry<byte[], byte[]> entry : entries) {
+      transaction.remove(entry.getKey());
+      try {
+        transactionInfos.add(decode(Bytes.wrap(entry.getValue())));
+      } catch (final RLPException e) {
+        LOG.debug("Discarding undecodable stored pending transaction", e);
+      }
+    }
+    transaction.commit();
+    size -= entries.size();
+    return transactionInfos;
+  }
+
+  private static Bytes key(final Address sender, final long nonce) {
+    return Bytes.concatenate(sender, Bytes.ofUnsignedLong(nonce));
+  }
+
+  private static Bytes encode(final TransactionInfo transactionInfo) {
+    final BytesValueRLPOutput out = new BytesValueRLPOutput();
+    out.startList();
+    out.writeIntScalar(transactionInfo.isReceivedFromLocalSource() ? 1 : 0);
+    out.writeLongScalar(transactionInfo.getAddedToPoolAt().toEpochMilli());
+    TransactionEncoder.encodeForWire(transactionInfo.getTransaction(), out);
+    out.endList();
+    return out.encoded();
+  }
+
+  private static TransactionInfo decode(final Bytes value) {
+    final RLPInput in = RLP.input(value);
+    in.enterList();
+    final boolean receivedFromLocalSource = in.readIntScalar() == 1;
+    final Instant addedToPoolAt = Instant.ofEpochMilli(in.readLongScalar());
+    final Transaction transaction = TransactionDecoder.decodeForWire(in);
+    in.leaveList();
+    return new TransactionInfo(transaction, receivedFromLocalSource, addedToPoolAt);
+  }
+}
@@ -24,8 +24,10 @@ import org.hyperledger.besu.ethereum.chain.BlockAddedEvent;
 import org.hyperledger.besu.ethereum.chain.BlockAddedObserver;
 import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
 import org.hyperledger.besu.ethereum.core.Account;
+import org.hyperledger.besu.ethereum.core.Address;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.Hash;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
 import org.hyperledger.besu.ethereum.core.Transaction;
 import org.hyperledger.besu.ethereum.core.Wei;
 import org.hyperledger.besu.ethereum.core.fees.BaseFee;
@@ -34,8 +36,10 @@ import org.hyperledger.besu.ethereum.core.fees.TransactionPriceCalculator;
 import org.hyperledger.besu.ethereum.eth.EthProtocol;
 import org.hyperledger.besu.ethereum.eth.manager.EthContext;
 import org.hyperledger.besu.ethereum.eth.manager.EthPeer;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
 import org.hyperledger.besu.ethereum.eth.sync.state.SyncState;
 import org.hyperledger.besu.ethereum.eth.transactions.PendingTransactions.TransactionAddedStatus;
+import org.hyperledger.besu.ethereum.eth.transactions.PendingTransactions.TransactionInfo;
 import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionValidator;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.mainnet.TransactionValidationParams;
@@ -48,10 +52,20 @@ import org.hyperledger.besu.plugin.services.metrics.Counter;
 import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
 
 import org.apache.logging.log4j.Logger;
 
@@ -67,6 +81,10 @@ public class TransactionPool implements BlockAddedObserver {
   private static final Logger LOG = getLogger();
 
   private static final long SYNC_TOLERANCE = 100L;
+  // with an overflow storage, remote transactions further ahead of their sender nonce are spilled
+  private static final long FAR_FUTURE_NONCE_DISTANCE = 64L;
+  // the computation executor is shared, so do not wait behind a long queue for sender recovery
+  private static final long SENDER_RECOVERY_TIMEOUT_MILLIS = 1000L;
   private static final String REMOTE = "remote";
   private static final String LOCAL = "local";
   private final PendingTransactions pendingTransactions;
@@ -85,6 +103,7 @@ public class TransactionPool implements BlockAddedObserver {
   private final TransactionPriceCalculator eip1559PriceCalculator =
       TransactionPriceCalculator.eip1559();
   private final TransactionPoolConfiguration configuration;
+  private final EthScheduler ethScheduler;
 
   public TransactionPool(
       final PendingTransactions pendingTransactions,
@@ -111,6 +130,7 @@ public class TransactionPool implements BlockAddedObserver {
     this.minTransactionGasPrice = minTransactionGasPrice;
     this.eip1559 = eip1559;
     this.configuration = configuration;
+    this.ethScheduler = ethContext.getScheduler();
 
     duplicateTransactionCounter =
         metricsSystem.createLabelledCounter(
@@ -161,11 +181,22 @@ public class TransactionPool implements BlockAddedObserver {
     return validationResult;
   }
 
+  /**
+   * Validates and adds a batch of transactions received from peers. Senders are recovered in
+   * parallel on the computation executor; the calling thread waits at most one second for them and
+   * recovers any sender still pending itself. Sender accounts are read once for the batch from the
+   * chain head world state and the valid transactions are added to the pool together. When the
+   * pool has an overflow storage, valid transactions whose nonce is far ahead of their sender are
+   * spilled to it instead.
+   *
+   * @param transactions the transactions received
+   */
   public void addRemoteTransactions(final Collection<Transaction> transactions) {
     if (!syncState.isInSync(SYNC_TOLERANCE)) {
       return;
     }
-    final Set<Transaction> addedTransactions = new HashSet<>();
+    final BlockHeader chainHeadBlockHeader = getChainHeadBlockHeader();
+    final List<Transaction> candidateTransactions = new ArrayList<>();
     for (final Transaction transaction : transactions) {
       pendingTransactions.tryEvictTransactionHash(transaction.getHash());
       if (pendingTransactions.containsTransaction(transaction.getHash())) {
@@ -173,18 +204,93 @@ public class TransactionPool implements BlockAddedObserver {
         duplicateTransactionCounter.labels(REMOTE).inc();
         continue;
       }
-      final Wei transactionGasPrice = minTransactionGasPrice(transaction);
+      final Wei transactionGasPrice = minTransactionGasPrice(transaction, chainHeadBlockHeader);
       if (transactionGasPrice.compareTo(minTransactionGasPrice) < 0) {
         continue;
       }
-      final ValidationResult<TransactionInvalidReason> validationResult =
-          validateTransaction(transaction);
+      candidateTransactions.add(transaction);
+    }
+    if (candidateTransactions.isEmpty()) {
+      return;
+    }
+
+    recoverSenders(candidateTransactions);
+    final List<Transaction> validTransactions =
+        validateRemoteTransactions(candidateTransactions, chainHeadBlockHeader);
+    if (validTransactions.isEmpty()) {
+      return;
+    }
+
+    final Set<Transaction> addedTransactions =
+        new HashSet<>(pendingTransactions.addRemoteTransactions(validTransactions));
+    duplicateTransactionCounter
+        .labels(REMOTE)
+        .inc(validTransactions.size() - addedTransactions.size());
+    if (!addedTransactions.isEmpty()) {
+      transactionBatchAddedListener.onTransactionsAdded(addedTransactions);
+    }
+  }
+
+  private void recoverSenders(final List<Transaction> transactions) {
+    if (transactions.size() < 2) {
+      // nothing to do in parallel, the sender is recovered when it is first needed
+      return;
+    }
+    final CompletableFuture<?>[] recoveries =
+        transactions.stream()
+            .map(
+                transaction ->
+                    ethScheduler
+                        .scheduleComputationTask(transaction::getSender)
+                        // an unrecoverable signature is reported by the validator
+                        .exceptionally(error -> null))
+            .toArray(CompletableFuture<?>[]::new);
+    try {
+      CompletableFuture.allOf(recoveries)
+          .get(SENDER_RECOVERY_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    } catch (final TimeoutException e) {
+      // senders not recovered yet are recovered on this thread when validation needs them
+      LOG.debug(
+          "Sender recovery of {} transactions did not complete within {} ms",
+          transactions.size(),
+          SENDER_RECOVERY_TIMEOUT_MILLIS);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (final ExecutionException e) {
+      // cannot happen, recovery failures are mapped to null above
+    }
+  }
+
+  private List<Transaction> validateRemoteTransactions(
+      final List<Transaction> transactions, final BlockHeader chainHeadBlockHeader) {
+    final Optional<MutableWorldState> maybeWorldState =
+        getChainHeadWorldState(chainHeadBlockHeader);
+    if (maybeWorldState.isEmpty()) {
+      LOG.trace(
+          "Chain head world state not available, discarding {} transactions",
+          transactions.size());
+      return Collections.emptyList();
+    }
+    final MutableWorldState worldState = maybeWorldState.get();
+    final Map<Address, Account> senderAccounts = new HashMap<>();
+    final List<Transaction> validTransactions = new ArrayList<>();
+    final List<Transaction> farFutureTransactions = new ArrayList<>();
+    for (final Transaction transaction : transactions) {
+      ValidationResult<TransactionInvalidReason> validationResult =
+          validateTransactionWithoutState(transaction, chainHeadBlockHeader);
+      if (validationResult.isValid()) {
+        final Account senderAccount =
+            senderAccounts.computeIfAbsent(transaction.getSender(), worldState::get);
+        validationResult =
+            getTransactionValidator()
+                .validateForSender(
+                    transaction, senderAccount, TransactionValidationParams.transactionPool());
+      }
       if (validationResult.isValid()) {
-        final boolean added = pendingTransactions.addRemoteTransaction(transaction);
-        if (added) {
-          addedTransactions.add(transaction);
+        if (isFarFutureNonce(transaction, senderAccounts.get(transaction.getSender()))) {
+          farFutureTransactions.add(transaction);
         } else {
-          duplicateTransactionCounter.labels(REMOTE).inc();
+          validTransactions.add(transaction);
         }
       } else {
         LOG.trace(
@@ -193,9 +299,16 @@ public class TransactionPool implements BlockAddedObserver {
             transaction);
       }
     }
-    if (!addedTransactions.isEmpty()) {
-      transactionBatchAddedListener.onTransactionsAdded(addedTransactions);
+    if (!farFutureTransactions.isEmpty()) {
+      pendingTransactions.spillRemoteTransactions(farFutureTransactions);
     }
+    return validTransactions;
+  }
+
+  private boolean isFarFutureNonce(final Transaction transaction, final Account senderAccount) {
+    final long senderNonce = senderAccount == null ? 0 : senderAccount.getNonce();
+    return pendingTransactions.isOverflowEnabled()
+        && transaction.getNonce() - senderNonce > FAR_FUTURE_NONCE_DISTANCE;
   }
 
   public long subscribePendingTransactions(final PendingTransactionListener listener) {
@@ -219,6 +332,60 @@ public class TransactionPool implements BlockAddedObserver {
     event.getAddedTransactions().forEach(pendingTransactions::transactionAddedToBlock);
     event.getBlock().getHeader().getBaseFee().ifPresent(pendingTransactions::updateBaseFee);
     addRemoteTransactions(event.getRemovedTransactions());
+    if (pendingTransactions.isOverflowEnabled()) {
+      // reading and revalidating the spilled transactions is left to the transaction workers, so
+      // that it does not hold up the import of the next block
+      ethScheduler.scheduleTxWorkerTask(
+          () -> promoteSpilledTransactions(event.getAddedTransactions()));
+    }
+  }
+
+  /**
+   * Moves spilled transactions back into the pool while it has room, revalidating them against
+   * the new chain head. The senders of the transactions just mined come first, as their next
+   * nonces may have become executable, then any sender in turn, which is also how the pool stored
+   * on the last shutdown is reloaded.
+   */
+  private void promoteSpilledTransactions(final List<Transaction> minedTransactions) {
+    if (!syncState.isInSync(SYNC_TOLERANCE)) {
+      // the promoted transactions could not be validated, leave them on disk
+      return;
+    }
+    final int freeSlots = (int) (pendingTransactions.maxSize() - pendingTransactions.size());
+    final List<TransactionInfo> promoted = new ArrayList<>();
+    for (final Address sender :
+        minedTransactions.stream().map(Transaction::getSender).collect(Collectors.toSet())) {
+      if (promoted.size() >= freeSlots) {
+        break;
+      }
+      promoted.addAll(
+          pendingTransactions.takeSpilledTransactions(sender, freeSlots - promoted.size()));
+    }
+    if (promoted.size() < freeSlots) {
+      promoted.addAll(pendingTransactions.takeSpilledTransactions(freeSlots - promoted.size()));
+    }
+    if (promoted.isEmpty()) {
+      return;
+    }
+    LOG.trace("Promoting {} spilled transactions", promoted.size());
+
+    final List<Transaction> remoteTransactions = new ArrayList<>();
+    for (final TransactionInfo transactionInfo : promoted) {
+      if (transactionInfo.isReceivedFromLocalSource()) {
+        addLocalTransaction(transactionInfo.getTransaction());
+      } else {
+        remoteTransactions.add(transactionInfo.getTransaction());
+      }
+    }
+    addRemoteTransactions(remoteTransactions);
+  }
+
+  /**
+   * Stores the pending transactions to the overflow storage of the pool, if it has one, so that
+   * they are reloaded once the node is restarted.
+   */
+  public void persistPendingTransactions() {
+    pendingTransactions.spillAllTransactions();
   }
 
   private MainnetTransactionValidator getTransactionValidator() {
@@ -234,7 +401,25 @@ public class TransactionPool implements BlockAddedObserver {
   private ValidationResult<TransactionInvalidReason> validateTransaction(
       final Transaction transaction) {
     final BlockHeader chainHeadBlockHeader = getChainHeadBlockHeader();
+    final ValidationResult<TransactionInvalidReason> validationResult =
+        validateTransactionWithoutState(transaction, chainHeadBlockHeader);
+    if (!validationResult.isValid()) {
+      return validationResult;
+    }
 
+    return getChainHeadWorldState(chainHeadBlockHeader)
+        .map(
+            worldState -> {
+              final Account senderAccount = worldState.get(transaction.getSender());
+              return getTransactionValidator()
+                  .validateForSender(
+                      transaction, senderAccount, TransactionValidationParams.transactionPool());
+            })
+        .orElseGet(() -> ValidationResult.invalid(CHAIN_HEAD_WORLD_STATE_NOT_AVAILABLE));
+  }
+
+  private ValidationResult<TransactionInvalidReason> validateTransactionWithoutState(
+      final Transaction transaction, final BlockHeader chainHeadBlockHeader) {
     // Check whether it's a GoQuorum transaction
     if (isGoQuorumPrivateTransaction(transaction)) {
       final Optional<Wei> weiValue = ofNullable(transaction.getValue());
@@ -268,18 +453,14 @@ public class TransactionPool implements BlockAddedObserver {
           TransactionInvalidReason.INVALID_TRANSACTION_FORMAT,
           "EIP-1559 transaction are not allowed yet");
     }
+    return ValidationResult.valid();
+  }
 
+  private Optional<MutableWorldState> getChainHeadWorldState(
+      final BlockHeader chainHeadBlockHeader) {
     return protocolContext
         .getWorldStateArchive()
-        .getMutable(chainHeadBlockHeader.getStateRoot(), chainHeadBlockHeader.getHash(), false)
-        .map(
-            worldState -> {
-              final Account senderAccount = worldState.get(transaction.getSender());
-              return getTransactionValidator()
-                  .validateForSender(
-                      transaction, senderAccount, TransactionValidationParams.transactionPool());
-            })
-        .orElseGet(() -> ValidationResult.invalid(CHAIN_HEAD_WORLD_STATE_NOT_AVAILABLE));
+        .getMutable(chainHeadBlockHeader.getStateRoot(), chainHeadBlockHeader.getHash(), false);
   }
 
   public Optional<Transaction> getTransactionByHash(final Hash hash) {
@@ -302,7 +483,11 @@ public class TransactionPool implements BlockAddedObserver {
   }
 
   private Wei minTransactionGasPrice(final Transaction transaction) {
-    final BlockHeader chainHeadBlockHeader = getChainHeadBlockHeader();
+    return minTransactionGasPrice(transaction, getChainHeadBlockHeader());
+  }
+
+  private Wei minTransactionGasPrice(
+      final Transaction transaction, final BlockHeader chainHeadBlockHeader) {
     // Compute transaction price using EIP-1559 rules if chain head is after fork
     if (eip1559.isPresent() && eip1559.get().isEIP1559(chainHeadBlockHeader.getNumber())) {
       return BaseFee.minTransactionPriceInNextBlock(
@@ -31,6 +31,7 @@ public interface TransactionPoolConfiguration {
   Percentage DEFAULT_PRICE_BUMP = Percentage.fromInt(10);
   Wei DEFAULT_RPC_TX_FEE_CAP = Wei.fromEth(1);
   Duration ETH65_TRX_ANNOUNCED_BUFFERING_PERIOD = Duration.ofMillis(500);
+  int DEFAULT_TX_POOL_OVERFLOW_MAX_SIZE = 0;
 
   TransactionPoolConfiguration DEFAULT = ImmutableTransactionPoolConfiguration.builder().build();
 
@@ -68,4 +69,13 @@ public interface TransactionPoolConfiguration {
   default Wei getTxFeeCap() {
     return DEFAULT_RPC_TX_FEE_CAP;
   }
+
+  /**
+   * Maximum number of transactions kept in the on-disk overflow of the pool. Zero disables the
+   * overflow, in which case evicted transactions are dropped and the pool is not persisted.
+   */
+  @Value.Default
+  default int getTxPoolOverflowMaxSize() {
+    return DEFAULT_TX_POOL_OVERFLOW_MAX_SIZE;
+  }
 }
@@ -24,6 +24,7 @@ import org.hyperledger.besu.ethereum.eth.sync.state.SyncState;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.metrics.BesuMetricCategory;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
 
 import java.time.Clock;
 import java.util.Optional;
@@ -40,6 +41,34 @@ public class TransactionPoolFactory {
       final Wei minTransactionGasPrice,
       final TransactionPoolConfiguration transactionPoolConfiguration,
       final Optional<EIP1559> eip1559) {
+    return createTransactionPool(
+        protocolSchedule,
+        protocolContext,
+        ethContext,
+        clock,
+        metricsSystem,
+        syncState,
+        minTransactionGasPrice,
+        transactionPoolConfiguration,
+        eip1559,
+        Optional.empty());
+  }
+
+  /**
+   * Creates a transaction pool that spills to {@code overflowStorage} the transactions it can not
+   * hold in memory, if the configuration enables the overflow.
+   */
+  public static TransactionPool createTransactionPool(
+      final ProtocolSchedule protocolSchedule,
+      final ProtocolContext protocolContext,
+      final EthContext ethContext,
+      final Clock clock,
+      final MetricsSystem metricsSystem,
+      final SyncState syncState,
+      final Wei minTransactionGasPrice,
+      final TransactionPoolConfiguration transactionPoolConfiguration,
+      final Optional<EIP1559> eip1559,
+      final Optional<KeyValueStorage> overflowStorage) {
 
     final PendingTransactions pendingTransactions =
         new PendingTransactions(
@@ -49,7 +78,15 @@ public class TransactionPoolFactory {
             clock,
             metricsSystem,
             protocolContext.getBlockchain()::getChainHeadHeader,
-            transactionPoolConfiguration.getPriceBump());
+            transactionPoolConfiguration.getPriceBump(),
+            overflowStorage
+                .filter(storage -> transactionPoolConfiguration.getTxPoolOverflowMaxSize() > 0)
+                .map(
+                    storage ->
+                        new PendingTransactionsOverflowStorage(
+                            storage,
+                            transactionPoolConfiguration.getTxPoolOverflowMaxSize(),
+                            metricsSystem)));
 
     final PeerTransactionTracker transactionTracker = new PeerTransactionTracker();
     final TransactionsMessageSender transactionsMessageSender =
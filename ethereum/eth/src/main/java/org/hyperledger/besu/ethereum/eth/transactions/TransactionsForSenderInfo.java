@@ -17,13 +17,23 @@ package org.hyperledger.besu.ethereum.eth.transactions;
 
 import org.hyperledger.besu.ethereum.eth.transactions.PendingTransactions.TransactionInfo;
 
+import java.util.Map;
 import java.util.NavigableMap;
+import java.util.Optional;
 import java.util.OptionalLong;
 import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Stream;
 
+/**
+ * The nonce ordered queue of pending transactions sent by a single account.
+ *
+ * <p>Structural changes are made by {@link PendingTransactions} while holding {@link #getLock()},
+ * so that updates for different senders can proceed concurrently.
+ */
 class TransactionsForSenderInfo {
   private final NavigableMap<Long, PendingTransactions.TransactionInfo> transactionsInfos;
+  private final ReentrantLock lock = new ReentrantLock();
   private OptionalLong nextGap = OptionalLong.empty();
 
   TransactionsForSenderInfo() {
@@ -46,9 +56,13 @@ class TransactionsForSenderInfo {
     }
   }
 
+  ReentrantLock getLock() {
+    return lock;
+  }
+
   void removeTrackedTransaction(final long nonce) {
-    transactionsInfos.remove(nonce);
     synchronized (transactionsInfos) {
+      transactionsInfos.remove(nonce);
       if (!transactionsInfos.isEmpty() && nonce != transactionsInfos.firstKey()) {
         findGap();
       }
@@ -71,10 +85,12 @@ class TransactionsForSenderInfo {
   }
 
   OptionalLong maybeNextNonce() {
-    if (transactionsInfos.isEmpty()) {
-      return OptionalLong.empty();
-    } else {
-      return nextGap.isEmpty() ? OptionalLong.of(transactionsInfos.lastKey() + 1) : nextGap;
+    synchronized (transactionsInfos) {
+      if (transactionsInfos.isEmpty()) {
+        return OptionalLong.empty();
+      } else {
+        return nextGap.isEmpty() ? OptionalLong.of(transactionsInfos.lastKey() + 1) : nextGap;
+      }
     }
   }
 
@@ -85,4 +101,13 @@ class TransactionsForSenderInfo {
   TransactionInfo getTransactionInfoForNonce(final long nonce) {
     return transactionsInfos.get(nonce);
   }
+
+  /** Returns the transaction with the lowest nonce, which is the next one to be executed. */
+  Optional<TransactionInfo> getFirstTransactionInfo() {
+    return Optional.ofNullable(transactionsInfos.firstEntry()).map(Map.Entry::getValue);
+  }
+
+  Optional<TransactionInfo> getTransactionInfoAfterNonce(final long nonce) {
+    return Optional.ofNullable(transactionsInfos.higherEntry(nonce)).map(Map.Entry::getValue);
+  }
 }
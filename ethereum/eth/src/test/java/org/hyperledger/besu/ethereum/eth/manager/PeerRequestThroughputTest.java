@@ -0,0 +1,142 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.manager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.ethereum.eth.messages.EthPV62;
+import org.hyperledger.besu.ethereum.eth.messages.EthPV63;
+
+import org.junit.Test;
+
+public class PeerRequestThroughputTest {
+
+  private final PeerRequestThroughput throughput = new PeerRequestThroughput();
+
+  @Test
+  public void shouldRequestEverythingUntilPeerHasBeenMeasured() {
+    assertThat(throughput.requestSize(EthPV62.GET_BLOCK_BODIES, 128)).isEqualTo(128);
+    assertThat(throughput.itemsPerSecond(EthPV62.GET_BLOCK_BODIES)).isZero();
+    assertThat(throughput.isSlow()).isFalse();
+  }
+
+  @Test
+  public void shouldSizeRequestsToTargetResponseTime() {
+    throughput.recordResponse(EthPV62.GET_BLOCK_BODIES, 20, 250, 1000);
+
+    assertThat(throughput.itemsPerSecond(EthPV62.GET_BLOCK_BODIES)).isEqualTo(80);
+    assertThat(throughput.requestSize(EthPV62.GET_BLOCK_BODIES, 128)).isEqualTo(80);
+    assertThat(throughput.requestSize(EthPV62.GET_BLOCK_BODIES, 50)).isEqualTo(50);
+  }
+
+  @Test
+  public void shouldTrackRequestTypesSeparately() {
+    throughput.recordResponse(EthPV62.GET_BLOCK_BODIES, 20, 1000, 1000);
+
+    assertThat(throughput.requestSize(EthPV62.GET_BLOCK_BODIES, 128)).isEqualTo(20);
+    assertThat(throughput.requestSize(EthPV63.GET_RECEIPTS, 128)).isEqualTo(128);
+  }
+
+  @Test
+  public void shouldNotShrinkRequestsBelowMinimumSize() {
+    throughput.recordResponse(EthPV63.GET_NODE_DATA, 8, 10_000, 10_000);
+
+    assertThat(throughput.requestSize(EthPV63.GET_NODE_DATA, 384))
+        .isEqualTo(PeerRequestThroughput.MIN_REQUEST_SIZE);
+    assertThat(throughput.requestSize(EthPV63.GET_NODE_DATA, 2)).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldOnlyCountTimeSpentServingPipelinedRequests() {
+    // Both requests are sent at 1000 but the second is only served once the first is answered
+    throughput.recordResponse(EthPV62.GET_BLOCK_BODIES, 50, 500, 1500);
+    throughput.recordResponse(EthPV62.GET_BLOCK_BODIES, 50, 1000, 2000);
+
+    assertThat(throughput.itemsPerSecond(EthPV62.GET_BLOCK_BODIES)).isEqualTo(100);
+    assertThat(throughput.isSlow()).isFalse();
+  }
+
+  @Test
+  public void shouldHalveThroughputOnTimeout() {
+    throughput.recordResponse(EthPV62.GET_BLOCK_BODIES, 100, 1000, 1000);
+    throughput.recordRequestTimeout(EthPV62.GET_BLOCK_BODIES);
+
+    assertThat(throughput.requestSize(EthPV62.GET_BLOCK_BODIES, 128)).isEqualTo(50);
+  }
+
+  @Test
+  public void shouldSizeRequestsOnTransferTimeOnceLatencyIsMeasured() {
+    // 1500ms to answer a request for a few items
+    throughput.recordResponse(EthPV63.GET_NODE_DATA, 2, 1500, 1500);
+    // 1000ms more to transfer 100 items
+    long timestamp = 1500;
+    for (int i = 0; i < 20; i++) {
+      timestamp += 2500;
+      throughput.recordResponse(EthPV63.GET_NODE_DATA, 100, 2500, timestamp);
+    }
+
+    // Sized on the whole response time, requests would shrink to 40 items
+    assertThat(throughput.requestSize(EthPV63.GET_NODE_DATA, 384)).isBetween(99, 100);
+  }
+
+  @Test
+  public void shouldNotCollapseRequestsToPeerWithHighLatency() {
+    final long latencyMillis = 1500;
+    final int itemsPerSecond = 100;
+    long timestamp = 0;
+    int requestSize = 0;
+    for (int i = 0; i < 60; i++) {
+      requestSize = throughput.requestSize(EthPV63.GET_NODE_DATA, 384);
+      final long elapsedMillis = latencyMillis + requestSize * 1000L / itemsPerSecond;
+      timestamp += elapsedMillis;
+      throughput.recordResponse(EthPV63.GET_NODE_DATA, requestSize, elapsedMillis, timestamp);
+    }
+
+    assertThat(requestSize).isBetween(90, 110);
+  }
+
+  @Test
+  public void shouldGrowRequestsBackAfterTimeouts() {
+    throughput.recordResponse(EthPV63.GET_NODE_DATA, 100, 2500, 2500);
+    for (int i = 0; i < 10; i++) {
+      throughput.recordRequestTimeout(EthPV63.GET_NODE_DATA);
+    }
+    assertThat(throughput.requestSize(EthPV63.GET_NODE_DATA, 384))
+        .isEqualTo(PeerRequestThroughput.MIN_REQUEST_SIZE);
+
+    long timestamp = 2500;
+    int requestSize = 0;
+    for (int i = 0; i < 20; i++) {
+      requestSize = throughput.requestSize(EthPV63.GET_NODE_DATA, 384);
+      final long elapsedMillis = 1500 + requestSize * 10L;
+      timestamp += elapsedMillis;
+      throughput.recordResponse(EthPV63.GET_NODE_DATA, requestSize, elapsedMillis, timestamp);
+    }
+
+    assertThat(requestSize).isGreaterThan(50);
+  }
+
+  @Test
+  public void shouldBeSlowWhenResponsesTakeLongerThanThreshold() {
+    throughput.recordResponse(
+        EthPV63.GET_RECEIPTS, 4, PeerRequestThroughput.SLOW_RESPONSE_TIME_MILLIS + 1000, 10_000);
+    assertThat(throughput.isSlow()).isTrue();
+
+    for (int i = 1; i <= 10; i++) {
+      throughput.recordResponse(EthPV63.GET_RECEIPTS, 4, 100, 10_000 + i * 1000);
+    }
+    assertThat(throughput.isSlow()).isFalse();
+  }
+}
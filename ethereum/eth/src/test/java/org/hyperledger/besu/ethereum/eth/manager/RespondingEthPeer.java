@@ -28,6 +28,7 @@ import org.hyperledger.besu.ethereum.core.Hash;
 import org.hyperledger.besu.ethereum.core.Transaction;
 import org.hyperledger.besu.ethereum.core.TransactionReceipt;
 import org.hyperledger.besu.ethereum.eth.EthProtocol;
+import org.hyperledger.besu.ethereum.eth.SnapProtocol;
 import org.hyperledger.besu.ethereum.eth.messages.BlockBodiesMessage;
 import org.hyperledger.besu.ethereum.eth.messages.BlockHeadersMessage;
 import org.hyperledger.besu.ethereum.eth.messages.EthPV62;
@@ -36,6 +37,7 @@ import org.hyperledger.besu.ethereum.eth.messages.EthPV65;
 import org.hyperledger.besu.ethereum.eth.messages.NodeDataMessage;
 import org.hyperledger.besu.ethereum.eth.messages.PooledTransactionsMessage;
 import org.hyperledger.besu.ethereum.eth.messages.ReceiptsMessage;
+import org.hyperledger.besu.ethereum.eth.messages.snap.SnapV1;
 import org.hyperledger.besu.ethereum.eth.peervalidation.PeerValidator;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPool;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
@@ -44,6 +46,7 @@ import org.hyperledger.besu.ethereum.p2p.rlpx.wire.DefaultMessage;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.messages.DisconnectMessage.DisconnectReason;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
+import org.hyperledger.besu.ethereum.worldstate.WorldStateStorage;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -115,10 +118,14 @@ public class RespondingEthPeer {
       final Hash chainHeadHash,
       final Difficulty totalDifficulty,
       final OptionalLong estimatedHeight,
-      final List<PeerValidator> peerValidators) {
+      final List<PeerValidator> peerValidators,
+      final boolean snap) {
     final EthPeers ethPeers = ethProtocolManager.ethContext().getEthPeers();
 
     final Set<Capability> caps = new HashSet<>(Collections.singletonList(EthProtocol.ETH63));
+    if (snap) {
+      caps.add(SnapProtocol.SNAP1);
+    }
     final BlockingQueue<OutgoingMessage> outgoingMessages = new ArrayBlockingQueue<>(1000);
     final MockPeerConnection peerConnection =
         new MockPeerConnection(
@@ -195,6 +202,16 @@ public class RespondingEthPeer {
 
   private void respondToMessage(final Responder responder, final OutgoingMessage msg) {
     final Optional<MessageData> maybeResponse = responder.respond(msg.capability, msg.messageData);
+    if (msg.capability.getName().equals(SnapProtocol.NAME)) {
+      // Snap responses are routed to the requests of the peer as the snap protocol manager does
+      maybeResponse.ifPresent(
+          (response) ->
+              ethProtocolManager
+                  .ethContext()
+                  .getEthPeers()
+                  .dispatchSnapMessage(ethPeer, new EthMessage(ethPeer, response)));
+      return;
+    }
     maybeResponse.ifPresent(
         (response) ->
             ethProtocolManager.processMessage(
@@ -345,6 +362,33 @@ public class RespondingEthPeer {
     };
   }
 
+  /**
+   * Serves snap range requests from the given world state, as a snap peer would.
+   *
+   * @param worldStateStorage the world state to serve
+   * @return a responder answering snap requests only
+   */
+  public static Responder snapResponder(final WorldStateStorage worldStateStorage) {
+    final SnapServer snapServer = new SnapServer(worldStateStorage);
+    return (cap, msg) -> {
+      if (!cap.getName().equals(SnapProtocol.NAME)) {
+        return Optional.empty();
+      }
+      switch (msg.getCode()) {
+        case SnapV1.GET_ACCOUNT_RANGE:
+          return Optional.of(snapServer.constructGetAccountRangeResponse(msg));
+        case SnapV1.GET_STORAGE_RANGE:
+          return Optional.of(snapServer.constructGetStorageRangeResponse(msg));
+        case SnapV1.GET_BYTE_CODES:
+          return Optional.of(snapServer.constructGetByteCodesResponse(msg));
+        case SnapV1.GET_TRIE_NODES:
+          return Optional.of(snapServer.constructGetTrieNodesResponse(msg));
+        default:
+          return Optional.empty();
+      }
+    };
+  }
+
   public static Responder emptyResponder() {
     return (cap, msg) -> {
       MessageData response = null;
@@ -375,12 +419,18 @@ public class RespondingEthPeer {
     private Difficulty totalDifficulty = Difficulty.of(1000L);
     private OptionalLong estimatedHeight = OptionalLong.of(1000L);
     private final List<PeerValidator> peerValidators = new ArrayList<>();
+    private boolean snap = false;
 
     public RespondingEthPeer build() {
       checkNotNull(ethProtocolManager, "Must configure EthProtocolManager");
 
       return RespondingEthPeer.create(
-          ethProtocolManager, chainHeadHash, totalDifficulty, estimatedHeight, peerValidators);
+          ethProtocolManager,
+          chainHeadHash,
+          totalDifficulty,
+          estimatedHeight,
+          peerValidators,
+          snap);
     }
 
     public Builder ethProtocolManager(final EthProtocolManager ethProtocolManager) {
@@ -422,6 +472,11 @@ public class RespondingEthPeer {
       peerValidators(Arrays.asList(peerValidators));
       return this;
     }
+
+    public Builder snap(final boolean snap) {
+      this.snap = snap;
+      return this;
+    }
   }
 
   static class OutgoingMessage {
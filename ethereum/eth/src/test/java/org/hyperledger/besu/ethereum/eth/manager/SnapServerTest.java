@@ -0,0 +1,262 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.manager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.ethereum.core.Account;
+import org.hyperledger.besu.ethereum.core.AccountStorageEntry;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.ethereum.core.Hash;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
+import org.hyperledger.besu.ethereum.eth.messages.snap.AccountRangeMessage;
+import org.hyperledger.besu.ethereum.eth.messages.snap.ByteCodesMessage;
+import org.hyperledger.besu.ethereum.eth.messages.snap.GetAccountRangeMessage;
+import org.hyperledger.besu.ethereum.eth.messages.snap.GetStorageRangeMessage;
+import org.hyperledger.besu.ethereum.eth.messages.snap.RangeHashes;
+import org.hyperledger.besu.ethereum.eth.messages.snap.SnapV1;
+import org.hyperledger.besu.ethereum.eth.messages.snap.StorageRangeMessage;
+import org.hyperledger.besu.ethereum.eth.messages.snap.TrieNodesMessage;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.RawMessage;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.ethereum.storage.keyvalue.WorldStateKeyValueStorage;
+import org.hyperledger.besu.ethereum.storage.keyvalue.WorldStatePreimageKeyValueStorage;
+import org.hyperledger.besu.ethereum.worldstate.DefaultWorldStateArchive;
+import org.hyperledger.besu.ethereum.worldstate.StateTrieAccountValue;
+import org.hyperledger.besu.ethereum.worldstate.WorldStateStorage;
+import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.stream.Collectors;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SnapServerTest {
+
+  private final BlockDataGenerator dataGen = new BlockDataGenerator(1);
+  private final WorldStateStorage worldStateStorage =
+      new WorldStateKeyValueStorage(new InMemoryKeyValueStorage());
+  private final SnapServer snapServer = new SnapServer(worldStateStorage);
+
+  private MutableWorldState worldState;
+  private List<Account> accounts;
+
+  @Before
+  public void setUp() {
+    worldState =
+        new DefaultWorldStateArchive(
+                worldStateStorage,
+                new WorldStatePreimageKeyValueStorage(new InMemoryKeyValueStorage()))
+            .getMutable();
+    accounts = dataGen.createRandomContractAccountsWithNonEmptyStorage(worldState, 20);
+  }
+
+  @Test
+  public void shouldServeWholeAccountRange() {
+    final AccountRangeMessage response =
+        AccountRangeMessage.readFrom(
+            snapServer.constructGetAccountRangeResponse(
+                GetAccountRangeMessage.create(
+                    1,
+                    worldState.rootHash(),
+                    RangeHashes.MIN_HASH,
+                    RangeHashes.MAX_HASH,
+                    1 << 20)));
+
+    assertThat(response.requestId()).isEqualTo(1);
+    assertThat(response.accounts().keySet())
+        .containsExactlyElementsOf(
+            accounts.stream()
+                .map(account -> Hash.hash(account.getAddress()))
+                .sorted()
+                .collect(Collectors.toList()));
+    for (final Account account : accounts) {
+      final StateTrieAccountValue value =
+          StateTrieAccountValue.readFrom(
+              RLP.input(response.accounts().get(Hash.hash(account.getAddress()))));
+      assertThat(value.getNonce()).isEqualTo(account.getNonce());
+      assertThat(value.getBalance()).isEqualTo(account.getBalance());
+      assertThat(value.getCodeHash()).isEqualTo(account.getCodeHash());
+    }
+    assertThat(response.proof().stream().map(Hash::hash)).contains(worldState.rootHash());
+  }
+
+  @Test
+  public void shouldLimitAccountRangeToResponseBytes() {
+    final AccountRangeMessage response =
+        AccountRangeMessage.readFrom(
+            snapServer.constructGetAccountRangeResponse(
+                GetAccountRangeMessage.create(
+                    1, worldState.rootHash(), RangeHashes.MIN_HASH, RangeHashes.MAX_HASH, 1)));
+
+    assertThat(response.accounts()).hasSize(1);
+    assertThat(response.proof()).isNotEmpty();
+  }
+
+  @Test
+  public void shouldStopAccountRangeAfterLimitHash() {
+    final AccountRangeMessage all =
+        AccountRangeMessage.readFrom(
+            snapServer.constructGetAccountRangeResponse(
+                GetAccountRangeMessage.create(
+                    1,
+                    worldState.rootHash(),
+                    RangeHashes.MIN_HASH,
+                    RangeHashes.MAX_HASH,
+                    1 << 20)));
+    final Bytes32 limit = all.accounts().keySet().stream().skip(4).findFirst().get();
+
+    final AccountRangeMessage response =
+        AccountRangeMessage.readFrom(
+            snapServer.constructGetAccountRangeResponse(
+                GetAccountRangeMessage.create(
+                    2, worldState.rootHash(), RangeHashes.MIN_HASH, limit, 1 << 20)));
+
+    assertThat(response.accounts()).isEqualTo(all.accounts().headMap(limit, true));
+  }
+
+  @Test
+  public void shouldReturnEmptyAccountRangeForUnknownRoot() {
+    final AccountRangeMessage response =
+        AccountRangeMessage.readFrom(
+            snapServer.constructGetAccountRangeResponse(
+                GetAccountRangeMessage.create(
+                    1, dataGen.hash(), RangeHashes.MIN_HASH, RangeHashes.MAX_HASH, 1 << 20)));
+
+    assertThat(response.accounts()).isEmpty();
+    assertThat(response.proof()).isEmpty();
+  }
+
+  @Test
+  public void shouldServeCompleteStorageRangesWithoutProof() {
+    final List<Bytes32> accountHashes =
+        accounts.stream()
+            .limit(3)
+            .map(account -> Hash.hash(account.getAddress()))
+            .collect(Collectors.toList());
+
+    final StorageRangeMessage response =
+        StorageRangeMessage.readFrom(
+            snapServer.constructGetStorageRangeResponse(
+                GetStorageRangeMessage.create(
+                    1,
+                    worldState.rootHash(),
+                    accountHashes,
+                    RangeHashes.MIN_HASH,
+                    RangeHashes.MAX_HASH,
+                    1 << 20)));
+
+    assertThat(response.slots()).hasSize(3);
+    for (int i = 0; i < 3; i++) {
+      assertThat(response.slots().get(i).keySet())
+          .containsExactlyElementsOf(storageOf(accounts.get(i)).keySet());
+    }
+    assertThat(response.proof()).isEmpty();
+  }
+
+  @Test
+  public void shouldProvePartialStorageRange() {
+    final Account account = accounts.get(0);
+    final StorageRangeMessage response =
+        StorageRangeMessage.readFrom(
+            snapServer.constructGetStorageRangeResponse(
+                GetStorageRangeMessage.create(
+                    1,
+                    worldState.rootHash(),
+                    Collections.singletonList(Hash.hash(account.getAddress())),
+                    RangeHashes.MIN_HASH,
+                    RangeHashes.MAX_HASH,
+                    1)));
+
+    assertThat(response.slots()).hasSize(1);
+    final NavigableMap<Bytes32, Bytes> slots = response.slots().get(0);
+    assertThat(slots).hasSize(1);
+    assertThat(slots.firstKey()).isEqualTo(storageOf(account).firstKey());
+    assertThat(response.proof().stream().map(Hash::hash)).contains(storageRootOf(account));
+  }
+
+  @Test
+  public void shouldAnswerByteCodesRequestWithEmptyResponse() {
+    final RawMessage request =
+        new RawMessage(
+            SnapV1.GET_BYTE_CODES,
+            RLP.encode(
+                out -> {
+                  out.startList();
+                  out.writeLongScalar(7);
+                  out.writeList(
+                      Collections.singletonList(Hash.EMPTY),
+                      (hash, rlpOutput) -> rlpOutput.writeBytes(hash));
+                  out.writeLongScalar(1 << 20);
+                  out.endList();
+                }));
+
+    final ByteCodesMessage response =
+        ByteCodesMessage.readFrom(snapServer.constructGetByteCodesResponse(request));
+
+    assertThat(response.requestId()).isEqualTo(7);
+    assertThat(response.codes()).isEmpty();
+  }
+
+  @Test
+  public void shouldAnswerTrieNodesRequestWithEmptyResponse() {
+    final RawMessage request =
+        new RawMessage(
+            SnapV1.GET_TRIE_NODES,
+            RLP.encode(
+                out -> {
+                  out.startList();
+                  out.writeLongScalar(9);
+                  out.writeBytes(worldState.rootHash());
+                  out.startList();
+                  out.startList();
+                  out.writeBytes(Bytes.EMPTY);
+                  out.endList();
+                  out.endList();
+                  out.writeLongScalar(1 << 20);
+                  out.endList();
+                }));
+
+    final TrieNodesMessage response =
+        TrieNodesMessage.readFrom(snapServer.constructGetTrieNodesResponse(request));
+
+    assertThat(response.requestId()).isEqualTo(9);
+    assertThat(response.nodes()).isEmpty();
+  }
+
+  private Hash storageRootOf(final Account account) {
+    final AccountRangeMessage response =
+        AccountRangeMessage.readFrom(
+            snapServer.constructGetAccountRangeResponse(
+                GetAccountRangeMessage.create(
+                    1,
+                    worldState.rootHash(),
+                    Hash.hash(account.getAddress()),
+                    Hash.hash(account.getAddress()),
+                    1)));
+    return StateTrieAccountValue.readFrom(
+            RLP.input(response.accounts().get(Hash.hash(account.getAddress()))))
+        .getStorageRoot();
+  }
+
+  private NavigableMap<Bytes32, AccountStorageEntry> storageOf(final Account account) {
+    return worldState.get(account.getAddress()).storageEntriesFrom(Bytes32.ZERO, Integer.MAX_VALUE);
+  }
+}
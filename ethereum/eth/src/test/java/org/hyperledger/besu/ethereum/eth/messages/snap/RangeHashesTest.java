@@ -0,0 +1,113 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.messages.snap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.Test;
+
+public class RangeHashesTest {
+
+  @Test
+  public void nextIncrementsTheLastByte() {
+    assertThat(RangeHashes.next(RangeHashes.MIN_HASH))
+        .contains(Bytes32.fromHexStringLenient("0x01"));
+  }
+
+  @Test
+  public void nextCarriesOverflowingBytes() {
+    assertThat(RangeHashes.next(Bytes32.fromHexStringLenient("0x01ffff")))
+        .contains(Bytes32.fromHexStringLenient("0x020000"));
+  }
+
+  @Test
+  public void nextIsEmptyForTheLastHash() {
+    assertThat(RangeHashes.next(RangeHashes.MAX_HASH)).isEmpty();
+  }
+
+  @Test
+  public void splitIntoOneRangeCoversTheWholeSpace() {
+    final List<Bytes32[]> ranges = RangeHashes.split(1);
+
+    assertThat(ranges).hasSize(1);
+    assertThat(ranges.get(0)).containsExactly(RangeHashes.MIN_HASH, RangeHashes.MAX_HASH);
+  }
+
+  @Test
+  public void splitProducesContiguousRanges() {
+    final List<Bytes32[]> ranges = RangeHashes.split(3);
+
+    assertThat(ranges).hasSize(3);
+    assertThat(ranges.get(0)[0]).isEqualTo(RangeHashes.MIN_HASH);
+    for (int i = 1; i < ranges.size(); i++) {
+      assertThat(RangeHashes.next(ranges.get(i - 1)[1])).contains(ranges.get(i)[0]);
+    }
+    assertThat(ranges.get(2)[1]).isEqualTo(RangeHashes.MAX_HASH);
+  }
+
+  @Test
+  public void splitIntoPowersOfTwoAlignsOnNibbles() {
+    final List<Bytes32[]> ranges = RangeHashes.split(16);
+
+    assertThat(ranges.get(10)[0])
+        .isEqualTo(
+            Bytes32.fromHexString(
+                "0xa000000000000000000000000000000000000000000000000000000000000000"));
+    assertThat(ranges.get(10)[1])
+        .isEqualTo(
+            Bytes32.fromHexString(
+                "0xafffffffffffffffffffffffffffffffffffffffffffffffffffffffffffffff"));
+  }
+
+  @Test
+  public void rootLocationIsOnlyWithinTheWholeSpace() {
+    assertThat(
+            RangeHashes.isLocationWithinRange(
+                Bytes.EMPTY, RangeHashes.MIN_HASH, RangeHashes.MAX_HASH))
+        .isTrue();
+    assertThat(
+            RangeHashes.isLocationWithinRange(
+                Bytes.EMPTY, RangeHashes.next(RangeHashes.MIN_HASH).get(), RangeHashes.MAX_HASH))
+        .isFalse();
+  }
+
+  @Test
+  public void locationIsWithinRangeCoveringAllItsKeys() {
+    final Bytes location = Bytes.of(0x0a, 0x01);
+    final List<Bytes32[]> ranges = RangeHashes.split(16);
+
+    assertThat(RangeHashes.isLocationWithinRange(location, ranges.get(10)[0], ranges.get(10)[1]))
+        .isTrue();
+    assertThat(RangeHashes.isLocationWithinRange(location, ranges.get(11)[0], ranges.get(11)[1]))
+        .isFalse();
+  }
+
+  @Test
+  public void locationIsNotWithinRangeCoveringSomeOfItsKeys() {
+    final Bytes location = Bytes.of(0x0a);
+    final Bytes32 start =
+        Bytes32.fromHexString("0xa000000000000000000000000000000000000000000000000000000000000000");
+    final Bytes32 end =
+        Bytes32.fromHexString("0xaffffffffffffffffffffffffffffffffffffffffffffffffffffffffffffffe");
+
+    assertThat(RangeHashes.isLocationWithinRange(location, start, end)).isFalse();
+    assertThat(RangeHashes.isLocationWithinRange(location, start, RangeHashes.next(end).get()))
+        .isTrue();
+  }
+}
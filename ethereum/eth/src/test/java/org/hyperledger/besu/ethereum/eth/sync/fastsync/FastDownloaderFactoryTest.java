@@ -28,8 +28,11 @@ import org.hyperledger.besu.ethereum.eth.sync.SyncMode;
 import org.hyperledger.besu.ethereum.eth.sync.SynchronizerConfiguration;
 import org.hyperledger.besu.ethereum.eth.sync.state.SyncState;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
+import org.hyperledger.besu.ethereum.storage.StorageProvider;
+import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateStorage;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
 
 import java.io.File;
 import java.nio.file.FileSystem;
@@ -53,6 +56,7 @@ public class FastDownloaderFactoryTest {
   @Mock private MetricsSystem metricsSystem;
   @Mock private EthContext ethContext;
   @Mock private WorldStateStorage worldStateStorage;
+  @Mock private StorageProvider storageProvider;
   @Mock private SyncState syncState;
   @Mock private Clock clock;
   @Mock private Path dataDirectory;
@@ -71,6 +75,7 @@ public class FastDownloaderFactoryTest {
         metricsSystem,
         ethContext,
         worldStateStorage,
+        storageProvider,
         syncState,
         clock);
   }
@@ -90,6 +95,7 @@ public class FastDownloaderFactoryTest {
             metricsSystem,
             ethContext,
             worldStateStorage,
+            storageProvider,
             syncState,
             clock);
     assertThat(result).isEmpty();
@@ -103,6 +109,9 @@ public class FastDownloaderFactoryTest {
     final MutableBlockchain mutableBlockchain = mock(MutableBlockchain.class);
     when(mutableBlockchain.getChainHeadBlockNumber()).thenReturn(0L);
     when(protocolContext.getBlockchain()).thenReturn(mutableBlockchain);
+    when(storageProvider.getStorageBySegmentIdentifier(
+            KeyValueSegmentIdentifier.WORLD_STATE_DOWNLOAD_TASKS))
+        .thenReturn(new InMemoryKeyValueStorage());
 
     when(syncConfig.getSyncMode()).thenReturn(SyncMode.FAST);
     FastDownloaderFactory.create(
@@ -113,6 +122,7 @@ public class FastDownloaderFactoryTest {
         metricsSystem,
         ethContext,
         worldStateStorage,
+        storageProvider,
         syncState,
         clock);
 
@@ -17,6 +17,7 @@ package org.hyperledger.besu.ethereum.eth.sync.fastsync;
 import static java.util.Collections.singletonList;
 import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hyperledger.besu.ethereum.mainnet.BodyValidationMode.LIGHT_SKIP_DETACHED;
 import static org.hyperledger.besu.ethereum.mainnet.HeaderValidationMode.FULL;
 import static org.hyperledger.besu.ethereum.mainnet.HeaderValidationMode.LIGHT;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -64,7 +65,12 @@ public class FastImportBlocksStepTest {
 
     importBlocksStep =
         new FastImportBlocksStep(
-            protocolSchedule, protocolContext, validationPolicy, ommerValidationPolicy, null);
+            protocolSchedule,
+            protocolContext,
+            validationPolicy,
+            ommerValidationPolicy,
+            LIGHT_SKIP_DETACHED,
+            null);
   }
 
   @Test
@@ -81,7 +87,8 @@ public class FastImportBlocksStepTest {
               blockWithReceipts.getBlock(),
               blockWithReceipts.getReceipts(),
               FULL,
-              LIGHT))
+              LIGHT,
+              LIGHT_SKIP_DETACHED))
           .thenReturn(true);
     }
     importBlocksStep.accept(blocksWithReceipts);
@@ -98,7 +105,12 @@ public class FastImportBlocksStepTest {
     final BlockWithReceipts blockWithReceipts = new BlockWithReceipts(block, gen.receipts(block));
 
     when(blockImporter.fastImportBlock(
-            protocolContext, block, blockWithReceipts.getReceipts(), FULL, LIGHT))
+            protocolContext,
+            block,
+            blockWithReceipts.getReceipts(),
+            FULL,
+            LIGHT,
+            LIGHT_SKIP_DETACHED))
         .thenReturn(false);
     assertThatThrownBy(() -> importBlocksStep.accept(singletonList(blockWithReceipts)))
         .isInstanceOf(InvalidBlockException.class);
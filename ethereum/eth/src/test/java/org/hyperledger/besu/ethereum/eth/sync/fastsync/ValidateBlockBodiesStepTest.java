@@ -0,0 +1,112 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.sync.fastsync;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockWithReceipts;
+import org.hyperledger.besu.ethereum.core.BlockchainSetupUtil;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.ethereum.eth.manager.DeterministicEthScheduler;
+import org.hyperledger.besu.ethereum.eth.sync.tasks.exceptions.InvalidBlockException;
+import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
+import org.hyperledger.besu.ethereum.worldstate.DataStorageFormat;
+import org.hyperledger.besu.util.ExceptionUtils;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class ValidateBlockBodiesStepTest {
+
+  private static MutableBlockchain blockchain;
+  private static ProtocolSchedule protocolSchedule;
+  private static ValidateBlockBodiesStep validateBlockBodiesStep;
+
+  @BeforeClass
+  public static void setUpClass() {
+    final BlockchainSetupUtil setupUtil = BlockchainSetupUtil.forTesting(DataStorageFormat.FOREST);
+    setupUtil.importFirstBlocks(20);
+    blockchain = setupUtil.getBlockchain();
+    protocolSchedule = setupUtil.getProtocolSchedule();
+    validateBlockBodiesStep =
+        new ValidateBlockBodiesStep(protocolSchedule, new DeterministicEthScheduler());
+  }
+
+  @Test
+  public void shouldReturnBlocksWithValidBodies() {
+    final List<BlockWithReceipts> blocks =
+        asList(blockWithReceipts(1), blockWithReceipts(2), blockWithReceipts(3));
+
+    final CompletableFuture<List<BlockWithReceipts>> result = validateBlockBodiesStep.apply(blocks);
+
+    assertThat(result).isCompletedWithValue(blocks);
+  }
+
+  @Test
+  public void shouldRecoverTransactionSenders() {
+    final BlockWithReceipts block = blockWithTransactions();
+
+    assertThat(validateBlockBodiesStep.apply(asList(block))).isCompleted();
+
+    for (final Transaction transaction : block.getBlock().getBody().getTransactions()) {
+      assertThat(transaction.getSender()).isNotNull();
+    }
+  }
+
+  @Test
+  public void shouldFailWhenReceiptsDoNotMatchBlock() {
+    final Block block = blockWithTransactions().getBlock();
+    final List<BlockWithReceipts> blocks =
+        asList(blockWithReceipts(1), new BlockWithReceipts(block, emptyList()));
+
+    final CompletableFuture<List<BlockWithReceipts>> result = validateBlockBodiesStep.apply(blocks);
+
+    assertThat(result).isCompletedExceptionally();
+    result.whenComplete(
+        (blocksResult, error) ->
+            assertThat(ExceptionUtils.rootCause(error)).isInstanceOf(InvalidBlockException.class));
+    assertThat(
+            protocolSchedule
+                .getByBlockNumber(block.getHeader().getNumber())
+                .getBadBlocksManager()
+                .getBadBlock(block.getHash()))
+        .contains(block);
+  }
+
+  private BlockWithReceipts blockWithTransactions() {
+    for (long number = 1; number <= blockchain.getChainHeadBlockNumber(); number++) {
+      final BlockWithReceipts blockWithReceipts = blockWithReceipts(number);
+      if (!blockWithReceipts.getBlock().getBody().getTransactions().isEmpty()) {
+        return blockWithReceipts;
+      }
+    }
+    throw new IllegalStateException("No blocks with transactions in test blockchain");
+  }
+
+  private BlockWithReceipts blockWithReceipts(final long number) {
+    final Block block = blockchain.getBlockByNumber(number).orElseThrow();
+    final List<TransactionReceipt> receipts =
+        blockchain.getTxReceipts(block.getHash()).orElseThrow();
+    return new BlockWithReceipts(block, receipts);
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.sync.fullsync;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.ethereum.ProtocolContext;
+import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
+import org.hyperledger.besu.ethereum.core.Address;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.Hash;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.tuweni.units.bigints.UInt256;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PrefetchWorldStateStepTest {
+
+  @Mock private ProtocolContext protocolContext;
+  @Mock private MutableBlockchain blockchain;
+  @Mock private BlockHeader chainHeadHeader;
+  @Mock private WorldStateArchive worldStateArchive;
+  private final BlockDataGenerator gen = new BlockDataGenerator();
+  private final Hash stateRoot = Hash.hash(UInt256.ONE);
+
+  private PrefetchWorldStateStep prefetchStep;
+
+  @Before
+  public void setUp() {
+    when(protocolContext.getBlockchain()).thenReturn(blockchain);
+    when(protocolContext.getWorldStateArchive()).thenReturn(worldStateArchive);
+    when(blockchain.getChainHeadHeader()).thenReturn(chainHeadHeader);
+    when(chainHeadHeader.getStateRoot()).thenReturn(stateRoot);
+
+    prefetchStep = new PrefetchWorldStateStep(protocolContext);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void shouldPrefetchAccountsTouchedByBlock() {
+    final Block block = gen.block();
+
+    assertThat(prefetchStep.apply(block)).isSameAs(block);
+
+    final ArgumentCaptor<Map<Address, Set<UInt256>>> accountsAndSlots =
+        ArgumentCaptor.forClass(Map.class);
+    verify(worldStateArchive).prefetch(eq(stateRoot), accountsAndSlots.capture());
+    assertThat(accountsAndSlots.getValue()).containsKey(block.getHeader().getCoinbase());
+    for (final Transaction transaction : block.getBody().getTransactions()) {
+      assertThat(accountsAndSlots.getValue()).containsKey(transaction.getSender());
+      transaction.getTo().ifPresent(to -> assertThat(accountsAndSlots.getValue()).containsKey(to));
+    }
+  }
+
+  @Test
+  public void shouldPassBlockOnWhenPrefetchFails() {
+    final Block block = gen.block();
+    doThrow(new IllegalStateException("missing node"))
+        .when(worldStateArchive)
+        .prefetch(any(), any());
+
+    assertThat(prefetchStep.apply(block)).isSameAs(block);
+  }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.sync.snapsync;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.ethereum.core.Hash;
+import org.hyperledger.besu.ethereum.eth.messages.snap.RangeHashes;
+import org.hyperledger.besu.ethereum.trie.MerklePatriciaTrie;
+import org.hyperledger.besu.ethereum.trie.StoredMerklePatriciaTrie;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SnapRangesTest {
+
+  private final NavigableMap<Bytes32, Bytes> entries = new TreeMap<>();
+  private final Map<Bytes32, Bytes> nodes = new HashMap<>();
+  private MerklePatriciaTrie<Bytes32, Bytes> trie;
+
+  @Before
+  public void setUp() {
+    trie =
+        new StoredMerklePatriciaTrie<>(
+            (location, hash) -> Optional.ofNullable(nodes.get(hash)),
+            Function.identity(),
+            Function.identity());
+    for (int i = 0; i < 200; i++) {
+      final Bytes value = Bytes.concatenate(Bytes32.ZERO, Bytes.ofUnsignedInt(i));
+      entries.put(Hash.hash(value), value);
+      trie.put(Hash.hash(value), value);
+    }
+    trie.commit((location, hash, value) -> nodes.put(hash, value));
+  }
+
+  @Test
+  public void wholeTrieIsValidWithoutProof() {
+    assertThat(
+            SnapRanges.isValidRange(
+                trie.getRootHash(), RangeHashes.MIN_HASH, entries, Collections.emptyList()))
+        .isTrue();
+  }
+
+  @Test
+  public void incompleteTrieIsInvalidWithoutProof() {
+    final NavigableMap<Bytes32, Bytes> range = new TreeMap<>(entries);
+    range.pollLastEntry();
+
+    assertThat(
+            SnapRanges.isValidRange(
+                trie.getRootHash(), RangeHashes.MIN_HASH, range, Collections.emptyList()))
+        .isFalse();
+  }
+
+  @Test
+  public void rangeIsValidWithBoundaryProofs() {
+    final Bytes32 start = entries.keySet().stream().skip(50).findFirst().get();
+    final NavigableMap<Bytes32, Bytes> range = range(start, 100);
+
+    assertThat(SnapRanges.isValidRange(trie.getRootHash(), start, range, proof(start, range)))
+        .isTrue();
+  }
+
+  @Test
+  public void rangeStartingBetweenKeysIsValidWithBoundaryProofs() {
+    final Bytes32 start =
+        RangeHashes.next(entries.keySet().stream().skip(50).findFirst().get()).get();
+    final NavigableMap<Bytes32, Bytes> range = range(start, 100);
+
+    assertThat(SnapRanges.isValidRange(trie.getRootHash(), start, range, proof(start, range)))
+        .isTrue();
+  }
+
+  @Test
+  public void rangeWithTamperedLastValueIsInvalid() {
+    final Bytes32 start = entries.keySet().stream().skip(50).findFirst().get();
+    final NavigableMap<Bytes32, Bytes> range = range(start, 100);
+    final List<Bytes> proof = proof(start, range);
+    range.put(range.lastKey(), Bytes.of(1));
+
+    assertThat(SnapRanges.isValidRange(trie.getRootHash(), start, range, proof)).isFalse();
+  }
+
+  @Test
+  public void rangeWithMissingFirstEntryIsInvalid() {
+    final Bytes32 start = entries.keySet().stream().skip(50).findFirst().get();
+    final NavigableMap<Bytes32, Bytes> range = range(start, 100);
+    final List<Bytes> proof = proof(start, range);
+    range.pollFirstEntry();
+
+    assertThat(SnapRanges.isValidRange(trie.getRootHash(), start, range, proof)).isFalse();
+  }
+
+  @Test
+  public void rangeWithIncompleteProofIsInvalid() {
+    final Bytes32 start = entries.keySet().stream().skip(50).findFirst().get();
+    final NavigableMap<Bytes32, Bytes> range = range(start, 100);
+    final List<Bytes> proof = proof(start, range);
+    proof.remove(proof.size() - 1);
+
+    assertThat(SnapRanges.isValidRange(trie.getRootHash(), start, range, proof)).isFalse();
+  }
+
+  @Test
+  public void storingWholeRangeReproducesAllNodes() {
+    final Map<Bytes32, Bytes> stored = new HashMap<>();
+
+    SnapRanges.storeCompleteNodes(
+        RangeHashes.MIN_HASH,
+        RangeHashes.MAX_HASH,
+        entries,
+        (location, hash, value) -> stored.put(hash, value));
+
+    assertThat(stored).isEqualTo(nodes);
+  }
+
+  @Test
+  public void storingPartialRangesOnlyStoresNodesOfTheTrie() {
+    final Map<Bytes32, Bytes> stored = new HashMap<>();
+    for (final Bytes32[] bounds : RangeHashes.split(4)) {
+      SnapRanges.storeCompleteNodes(
+          bounds[0],
+          bounds[1],
+          entries.subMap(bounds[0], true, bounds[1], true),
+          (location, hash, value) -> stored.put(hash, value));
+    }
+
+    assertThat(stored).isNotEmpty();
+    assertThat(nodes).containsAllEntriesOf(stored);
+    // The root spans all the ranges and is left to the healing phase
+    assertThat(stored).doesNotContainKey(trie.getRootHash());
+  }
+
+  private NavigableMap<Bytes32, Bytes> range(final Bytes32 start, final int count) {
+    final NavigableMap<Bytes32, Bytes> range = new TreeMap<>();
+    entries.tailMap(start, true).entrySet().stream()
+        .limit(count)
+        .forEach(entry -> range.put(entry.getKey(), entry.getValue()));
+    return range;
+  }
+
+  private List<Bytes> proof(final Bytes32 start, final NavigableMap<Bytes32, Bytes> range) {
+    final Set<Bytes> proof =
+        new LinkedHashSet<>(trie.getValueWithProof(start).getProofRelatedNodes());
+    proof.addAll(trie.getValueWithProof(range.lastKey()).getProofRelatedNodes());
+    return new ArrayList<>(proof);
+  }
+}
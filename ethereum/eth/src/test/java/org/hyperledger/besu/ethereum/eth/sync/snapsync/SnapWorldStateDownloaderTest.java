@@ -0,0 +1,222 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.sync.snapsync;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.Account;
+import org.hyperledger.besu.ethereum.core.AccountStorageEntry;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator.BlockOptions;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.Hash;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
+import org.hyperledger.besu.ethereum.core.WorldState;
+import org.hyperledger.besu.ethereum.eth.SnapProtocol;
+import org.hyperledger.besu.ethereum.eth.manager.EthProtocolManager;
+import org.hyperledger.besu.ethereum.eth.manager.EthProtocolManagerTestUtil;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+import org.hyperledger.besu.ethereum.eth.manager.RespondingEthPeer;
+import org.hyperledger.besu.ethereum.eth.messages.EthPV63;
+import org.hyperledger.besu.ethereum.eth.messages.GetNodeDataMessage;
+import org.hyperledger.besu.ethereum.eth.messages.snap.SnapV1;
+import org.hyperledger.besu.ethereum.eth.sync.SynchronizerConfiguration;
+import org.hyperledger.besu.ethereum.eth.sync.worldstate.NodeDataRequest;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
+import org.hyperledger.besu.ethereum.storage.keyvalue.WorldStateKeyValueStorage;
+import org.hyperledger.besu.ethereum.storage.keyvalue.WorldStatePreimageKeyValueStorage;
+import org.hyperledger.besu.ethereum.worldstate.DefaultWorldStateArchive;
+import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
+import org.hyperledger.besu.ethereum.worldstate.WorldStateStorage;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
+import org.hyperledger.besu.services.tasks.CachingTaskCollection;
+import org.hyperledger.besu.services.tasks.InMemoryTaskQueue;
+import org.hyperledger.besu.testutil.TestClock;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+public class SnapWorldStateDownloaderTest {
+
+  @Rule public Timeout globalTimeout = Timeout.seconds(60);
+
+  private final BlockDataGenerator dataGen = new BlockDataGenerator(1);
+  private final EthProtocolManager ethProtocolManager =
+      EthProtocolManagerTestUtil.create(new EthScheduler(1, 1, 1, 1, new NoOpMetricsSystem()));
+
+  private final InMemoryKeyValueStorage remoteKeyValueStorage = new InMemoryKeyValueStorage();
+  private final WorldStateStorage remoteStorage =
+      new WorldStateKeyValueStorage(remoteKeyValueStorage);
+  private final WorldStateArchive remoteWorldStateArchive =
+      new DefaultWorldStateArchive(remoteStorage, createPreimageStorage());
+  private final WorldStateStorage localStorage =
+      new WorldStateKeyValueStorage(new InMemoryKeyValueStorage());
+
+  private final List<MessageData> snapRequests = new ArrayList<>();
+  private final List<MessageData> ethRequests = new ArrayList<>();
+
+  private List<Account> accounts;
+  private BlockHeader header;
+  private RespondingEthPeer peer;
+
+  @Before
+  public void setUp() {
+    final MutableWorldState remoteWorldState = remoteWorldStateArchive.getMutable();
+    accounts = dataGen.createRandomContractAccountsWithNonEmptyStorage(remoteWorldState, 20);
+    header =
+        dataGen
+            .block(
+                BlockOptions.create()
+                    .setStateRoot(remoteWorldState.rootHash())
+                    .setBlockNumber(10))
+            .getHeader();
+    peer =
+        RespondingEthPeer.builder()
+            .ethProtocolManager(ethProtocolManager)
+            .estimatedHeight(header.getNumber())
+            .snap(true)
+            .build();
+  }
+
+  @After
+  public void tearDown() {
+    ethProtocolManager.stop();
+  }
+
+  @Test
+  public void shouldDownloadRangesThenHealRemainingNodes() {
+    final CompletableFuture<Void> result = createDownloader(4).run(header);
+
+    peer.respondWhileOtherThreadsWork(recordingResponder(), () -> !result.isDone());
+
+    assertThat(result).isCompleted();
+    assertThat(codesOf(snapRequests))
+        .contains(SnapV1.GET_ACCOUNT_RANGE, SnapV1.GET_STORAGE_RANGE);
+    assertThat(codesOf(ethRequests)).containsOnly(EthPV63.GET_NODE_DATA);
+    assertAccountsMatch(localWorldState(), accounts);
+  }
+
+  @Test
+  public void shouldOnlyHealNodesNotCoveredByRanges() {
+    final CompletableFuture<Void> result = createDownloader(4).run(header);
+
+    peer.respondWhileOtherThreadsWork(recordingResponder(), () -> !result.isDone());
+
+    assertThat(result).isCompleted();
+    final Set<Hash> healedHashes = new HashSet<>();
+    ethRequests.forEach(
+        request -> GetNodeDataMessage.readFrom(request).hashes().forEach(healedHashes::add));
+    // Every storage trie is small enough to be downloaded as a single range, and the account trie
+    // nodes below the range boundaries are rebuilt locally, so healing requests far fewer nodes
+    // than the remote state holds.
+    assertThat(healedHashes).isNotEmpty();
+    assertThat(healedHashes.size()).isLessThan(remoteKeyValueStorage.keySet().size() / 2);
+    assertThat(healedHashes).contains(header.getStateRoot());
+  }
+
+  @Test
+  public void shouldNotRequestAnythingWhenStateIsAlreadyAvailable() {
+    final CompletableFuture<Void> result =
+        new SnapWorldStateDownloader(
+                ethProtocolManager.ethContext(),
+                remoteStorage,
+                new CachingTaskCollection<NodeDataRequest>(new InMemoryTaskQueue<>()),
+                SynchronizerConfiguration.DEFAULT_WORLD_STATE_HASH_COUNT_PER_REQUEST,
+                4,
+                SynchronizerConfiguration.DEFAULT_WORLD_STATE_MAX_REQUESTS_WITHOUT_PROGRESS,
+                SynchronizerConfiguration.DEFAULT_WORLD_STATE_MIN_MILLIS_BEFORE_STALLING,
+                TestClock.fixed(),
+                new NoOpMetricsSystem())
+            .run(header);
+
+    assertThat(result).isCompleted();
+    assertThat(peer.hasOutstandingRequests()).isFalse();
+  }
+
+  private SnapWorldStateDownloader createDownloader(final int rangeCount) {
+    return new SnapWorldStateDownloader(
+        ethProtocolManager.ethContext(),
+        localStorage,
+        new CachingTaskCollection<>(new InMemoryTaskQueue<>()),
+        SynchronizerConfiguration.DEFAULT_WORLD_STATE_HASH_COUNT_PER_REQUEST,
+        rangeCount,
+        SynchronizerConfiguration.DEFAULT_WORLD_STATE_MAX_REQUESTS_WITHOUT_PROGRESS,
+        SynchronizerConfiguration.DEFAULT_WORLD_STATE_MIN_MILLIS_BEFORE_STALLING,
+        TestClock.fixed(),
+        new NoOpMetricsSystem());
+  }
+
+  private RespondingEthPeer.Responder recordingResponder() {
+    final RespondingEthPeer.Responder snapResponder =
+        RespondingEthPeer.snapResponder(remoteStorage);
+    final RespondingEthPeer.Responder nodeDataResponder =
+        RespondingEthPeer.blockchainResponder(mock(Blockchain.class), remoteWorldStateArchive);
+    return (cap, msg) -> {
+      if (cap.equals(SnapProtocol.SNAP1)) {
+        snapRequests.add(msg);
+        return snapResponder.respond(cap, msg);
+      }
+      ethRequests.add(msg);
+      return nodeDataResponder.respond(cap, msg);
+    };
+  }
+
+  private static List<Integer> codesOf(final List<MessageData> messages) {
+    final List<Integer> codes = new ArrayList<>();
+    messages.forEach(message -> codes.add(message.getCode()));
+    return codes;
+  }
+
+  private WorldState localWorldState() {
+    return new DefaultWorldStateArchive(localStorage, createPreimageStorage())
+        .get(header.getStateRoot(), null)
+        .get();
+  }
+
+  private static WorldStatePreimageKeyValueStorage createPreimageStorage() {
+    return new WorldStatePreimageKeyValueStorage(new InMemoryKeyValueStorage());
+  }
+
+  private static void assertAccountsMatch(
+      final WorldState worldState, final List<Account> expectedAccounts) {
+    for (final Account expectedAccount : expectedAccounts) {
+      final Account actualAccount = worldState.get(expectedAccount.getAddress());
+      assertThat(actualAccount).isNotNull();
+      assertThat(actualAccount.getNonce()).isEqualTo(expectedAccount.getNonce());
+      assertThat(actualAccount.getCode()).isEqualTo(expectedAccount.getCode());
+      assertThat(actualAccount.getBalance()).isEqualTo(expectedAccount.getBalance());
+
+      final Map<Bytes32, AccountStorageEntry> actualStorage =
+          actualAccount.storageEntriesFrom(Bytes32.ZERO, 500);
+      final Map<Bytes32, AccountStorageEntry> expectedStorage =
+          expectedAccount.storageEntriesFrom(Bytes32.ZERO, 500);
+      assertThat(actualStorage).isEqualTo(expectedStorage);
+    }
+  }
+}
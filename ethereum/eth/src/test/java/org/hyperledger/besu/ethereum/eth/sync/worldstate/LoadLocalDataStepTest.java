@@ -72,4 +72,22 @@ public class LoadLocalDataStepTest {
     request.persist(updater);
     verifyZeroInteractions(updater);
   }
+
+  @Test
+  public void shouldReturnStreamWithUnchangedTaskWhenStoredTrieNodeHasDifferentHash() {
+    final Hash accountHash = Hash.hash(Bytes.of(4));
+    final Bytes location = Bytes.of(1);
+    final StorageTrieNodeDataRequest storageRequest =
+        NodeDataRequest.createStorageDataRequest(
+            HASH, Optional.of(accountHash), Optional.of(location));
+    final Task<NodeDataRequest> storageTask = new StubTask(storageRequest);
+    when(worldStateStorage.getAccountStorageTrieNode(accountHash, location, HASH))
+        .thenReturn(Optional.of(Bytes.of(9, 9, 9)));
+
+    final Stream<Task<NodeDataRequest>> output =
+        loadLocalDataStep.loadLocalData(storageTask, completedTasks);
+
+    assertThat(completedTasks.poll()).isNull();
+    assertThat(output).containsExactly(storageTask);
+  }
 }
@@ -31,13 +31,16 @@ import org.hyperledger.besu.ethereum.worldstate.WorldStateStorage;
 import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
 import org.hyperledger.besu.services.tasks.CachingTaskCollection;
 import org.hyperledger.besu.services.tasks.InMemoryTaskQueue;
+import org.hyperledger.besu.services.tasks.Task;
 import org.hyperledger.besu.testutil.TestClock;
 
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
 import org.apache.tuweni.bytes.Bytes;
@@ -149,6 +152,26 @@ public class WorldDownloadStateTest {
     assertThat(downloadState.isDownloading()).isFalse();
   }
 
+  @Test
+  public void shouldKeepPendingRequestsWhenSuspended() {
+    final EthTask<?> outstandingTask = mock(EthTask.class);
+    downloadState.addOutstandingTask(outstandingTask);
+
+    pendingRequests.add(
+        NodeDataRequest.createAccountDataRequest(Hash.EMPTY_TRIE_HASH, Optional.empty()));
+    downloadState.setWorldStateDownloadProcess(worldStateDownloadProcess);
+
+    downloadState.suspend();
+    downloadState.enqueueRequest(
+        NodeDataRequest.createAccountDataRequest(Hash.EMPTY, Optional.empty()));
+
+    verify(outstandingTask).cancel();
+    verify(worldStateDownloadProcess).abort();
+    assertThat(future).isCancelled();
+    assertThat(pendingRequests.size()).isEqualTo(2);
+    assertThat(downloadState.isDownloading()).isFalse();
+  }
+
   @Test
   public void shouldResetRequestsSinceProgressCountWhenProgressIsMade() {
     downloadState.requestComplete(false);
@@ -218,6 +241,71 @@ public class WorldDownloadStateTest {
     assertThat(pendingRequests.isEmpty()).isTrue();
   }
 
+  @Test(timeout = 10_000)
+  public void shouldEnqueueAndDequeueRequestsWithoutTakingTheMonitor() throws Exception {
+    final NodeDataRequest request =
+        NodeDataRequest.createAccountDataRequest(Hash.EMPTY_TRIE_HASH, Optional.empty());
+    final CountDownLatch monitorHeld = new CountDownLatch(1);
+    final CountDownLatch releaseMonitor = new CountDownLatch(1);
+    final Thread monitorHolder =
+        new Thread(
+            () -> {
+              synchronized (downloadState) {
+                monitorHeld.countDown();
+                try {
+                  releaseMonitor.await();
+                } catch (final InterruptedException e) {
+                  Thread.currentThread().interrupt();
+                }
+              }
+            });
+    monitorHolder.start();
+    monitorHeld.await();
+
+    try {
+      downloadState.enqueueRequests(Stream.of(request));
+      final Task<NodeDataRequest> task = downloadState.dequeueRequestBlocking();
+      assertThat(task.getData()).isEqualTo(request);
+      task.markCompleted();
+      assertThat(downloadState.checkCompletion(worldStateStorage, header)).isFalse();
+    } finally {
+      releaseMonitor.countDown();
+      monitorHolder.join();
+    }
+  }
+
+  @Test(timeout = 10_000)
+  public void shouldWakeUpWaitingThreadWhenRequestIsEnqueued() throws Exception {
+    final NodeDataRequest request =
+        NodeDataRequest.createAccountDataRequest(Hash.EMPTY_TRIE_HASH, Optional.empty());
+    final CompletableFuture<Task<NodeDataRequest>> dequeued = new CompletableFuture<>();
+    final Thread waitingThread =
+        new Thread(() -> dequeued.complete(downloadState.dequeueRequestBlocking()));
+    waitingThread.start();
+    while (waitingThread.getState() != Thread.State.WAITING) {
+      Thread.sleep(1);
+    }
+
+    downloadState.enqueueRequest(request);
+
+    assertThat(dequeued.get(5, TimeUnit.SECONDS).getData()).isEqualTo(request);
+  }
+
+  @Test(timeout = 10_000)
+  public void shouldWakeUpWaitingThreadWhenDownloadIsCancelled() throws Exception {
+    final CompletableFuture<Task<NodeDataRequest>> dequeued = new CompletableFuture<>();
+    final Thread waitingThread =
+        new Thread(() -> dequeued.complete(downloadState.dequeueRequestBlocking()));
+    waitingThread.start();
+    while (waitingThread.getState() != Thread.State.WAITING) {
+      Thread.sleep(1);
+    }
+
+    future.cancel(true);
+
+    assertThat(dequeued.get(5, TimeUnit.SECONDS)).isNull();
+  }
+
   private void assertWorldStateStalled(final WorldDownloadState state) {
     final CompletableFuture<Void> future = state.getDownloadFuture();
     assertThat(future).isCompletedExceptionally();
@@ -244,6 +244,33 @@ public class PendingMultiTypesTransactionsTest {
         .containsExactly(localTransaction1, localTransaction2, localTransaction0);
   }
 
+  @Test
+  public void shouldKeepPriorityConsistentWhenBaseFeeChangesBackAndForth() {
+    final Transaction localTransaction0 = create1559Transaction(0, 100, 30, KEYS1);
+    final Transaction localTransaction1 = create1559Transaction(0, 60, 40, KEYS2);
+    final Transaction localTransaction2 = createLegacyTransaction(0, 50, KEYS3);
+
+    transactions.addLocalTransaction(localTransaction0);
+    transactions.addLocalTransaction(localTransaction1);
+    transactions.addLocalTransaction(localTransaction2);
+
+    assertThat(selectAll())
+        .containsExactly(localTransaction2, localTransaction1, localTransaction0);
+
+    // localTransaction1 crosses its threshold of 20 while localTransaction0 stays under 70
+    transactions.updateBaseFee(30L);
+    assertThat(selectAll())
+        .containsExactly(localTransaction0, localTransaction1, localTransaction2);
+
+    transactions.updateBaseFee(80L);
+    assertThat(selectAll())
+        .containsExactly(localTransaction0, localTransaction1, localTransaction2);
+
+    transactions.updateBaseFee(7L);
+    assertThat(selectAll())
+        .containsExactly(localTransaction2, localTransaction1, localTransaction0);
+  }
+
   @Test
   public void shouldCorrectlyPrioritizeMultipleTransactionTypesBasedOnNonce() {
     final Transaction localTransaction0 = create1559Transaction(1, 200, 18, KEYS1);
@@ -344,6 +371,16 @@ public class PendingMultiTypesTransactionsTest {
     assertThat(metricsSystem.getCounterValue(ADDED_COUNTER, REMOTE)).isEqualTo(2);
   }
 
+  private List<Transaction> selectAll() {
+    final List<Transaction> iterationOrder = new ArrayList<>();
+    transactions.selectTransactions(
+        transaction -> {
+          iterationOrder.add(transaction);
+          return PendingTransactions.TransactionSelectionResult.CONTINUE;
+        });
+    return iterationOrder;
+  }
+
   private Transaction create1559Transaction(
       final long transactionNumber,
       final long maxFeePerGas,
@@ -0,0 +1,163 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.transactions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.crypto.KeyPair;
+import org.hyperledger.besu.crypto.SignatureAlgorithm;
+import org.hyperledger.besu.crypto.SignatureAlgorithmFactory;
+import org.hyperledger.besu.ethereum.core.Address;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.TransactionTestFixture;
+import org.hyperledger.besu.ethereum.core.Util;
+import org.hyperledger.besu.ethereum.eth.transactions.PendingTransactions.TransactionInfo;
+import org.hyperledger.besu.metrics.StubMetricsSystem;
+import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import org.junit.Test;
+
+public class PendingTransactionsOverflowStorageTest {
+
+  private static final Supplier<SignatureAlgorithm> SIGNATURE_ALGORITHM =
+      Suppliers.memoize(SignatureAlgorithmFactory::getInstance);
+  private static final KeyPair KEYS1 = SIGNATURE_ALGORITHM.get().generateKeyPair();
+  private static final KeyPair KEYS2 = SIGNATURE_ALGORITHM.get().generateKeyPair();
+  private static final Address SENDER1 = Util.publicKeyToAddress(KEYS1.getPublicKey());
+  private static final Instant ADDED_TO_POOL_AT = Instant.ofEpochMilli(1_000_000L);
+
+  private final InMemoryKeyValueStorage keyValueStorage = new InMemoryKeyValueStorage();
+  private final PendingTransactionsOverflowStorage storage =
+      new PendingTransactionsOverflowStorage(keyValueStorage, 3, new StubMetricsSystem());
+
+  @Test
+  public void shouldTakeTransactionsOfSenderLowestNonceFirst() {
+    final Transaction sender1Nonce3 = createTransaction(3, KEYS1);
+    final Transaction sender1Nonce1 = createTransaction(1, KEYS1);
+    final Transaction sender2Nonce0 = createTransaction(0, KEYS2);
+    storage.addAll(
+        List.of(
+            transactionInfo(sender1Nonce3, false),
+            transactionInfo(sender1Nonce1, false),
+            transactionInfo(sender2Nonce0, false)));
+
+    assertThat(transactions(storage.takeForSender(SENDER1, 1))).containsExactly(sender1Nonce1);
+    assertThat(transactions(storage.takeForSender(SENDER1, 5))).containsExactly(sender1Nonce3);
+    assertThat(storage.takeForSender(SENDER1, 5)).isEmpty();
+    assertThat(storage.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldReplaceTransactionWithSameSenderAndNonce() {
+    final Transaction original = createTransaction(0, KEYS1);
+    final Transaction replacement =
+        new TransactionTestFixture().nonce(0).gasLimit(30_000).createTransaction(KEYS1);
+    storage.addAll(List.of(transactionInfo(original, false)));
+    storage.addAll(List.of(transactionInfo(replacement, false)));
+
+    assertThat(storage.size()).isEqualTo(1);
+    assertThat(transactions(storage.takeNext(5))).containsExactly(replacement);
+  }
+
+  @Test
+  public void shouldCountTransactionsWithSameSenderAndNonceInOneBatchOnce() {
+    final Transaction original = createTransaction(0, KEYS1);
+    final Transaction replacement =
+        new TransactionTestFixture().nonce(0).gasLimit(30_000).createTransaction(KEYS1);
+    storage.addAll(
+        List.of(transactionInfo(original, false), transactionInfo(replacement, false)));
+
+    assertThat(storage.size()).isEqualTo(1);
+    assertThat(transactions(storage.takeNext(5))).containsExactly(replacement);
+    assertThat(storage.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void shouldTakeTransactionsOfEverySenderInTurn() {
+    final Transaction sender1Nonce0 = createTransaction(0, KEYS1);
+    final Transaction sender1Nonce1 = createTransaction(1, KEYS1);
+    final Transaction sender2Nonce0 = createTransaction(0, KEYS2);
+    storage.addAll(
+        List.of(
+            transactionInfo(sender1Nonce0, false),
+            transactionInfo(sender1Nonce1, false),
+            transactionInfo(sender2Nonce0, false)));
+
+    final List<Transaction> taken = transactions(storage.takeNext(1));
+    taken.addAll(transactions(storage.takeNext(1)));
+    taken.addAll(transactions(storage.takeNext(1)));
+
+    assertThat(taken).containsExactlyInAnyOrder(sender1Nonce0, sender1Nonce1, sender2Nonce0);
+    assertThat(storage.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void shouldReloadTransactionsStoredByPreviousInstance() {
+    final Transaction localTransaction = createTransaction(0, KEYS1);
+    final Transaction remoteTransaction = createTransaction(0, KEYS2);
+    storage.addAll(
+        List.of(
+            transactionInfo(localTransaction, true), transactionInfo(remoteTransaction, false)));
+
+    final PendingTransactionsOverflowStorage reopened =
+        new PendingTransactionsOverflowStorage(keyValueStorage, 3, new StubMetricsSystem());
+    assertThat(reopened.size()).isEqualTo(2);
+
+    final List<TransactionInfo> reloaded = reopened.takeNext(5);
+    assertThat(reloaded)
+        .extracting(TransactionInfo::getTransaction)
+        .containsExactlyInAnyOrder(localTransaction, remoteTransaction);
+    assertThat(reloaded)
+        .filteredOn(TransactionInfo::isReceivedFromLocalSource)
+        .extracting(TransactionInfo::getTransaction)
+        .containsExactly(localTransaction);
+    assertThat(reloaded)
+        .extracting(TransactionInfo::getAddedToPoolAt)
+        .containsOnly(ADDED_TO_POOL_AT);
+  }
+
+  @Test
+  public void shouldBeFullOnceMaxSizeIsReached() {
+    storage.addAll(
+        List.of(
+            transactionInfo(createTransaction(0, KEYS1), false),
+            transactionInfo(createTransaction(1, KEYS1), false)));
+    assertThat(storage.isFull()).isFalse();
+
+    storage.addAll(List.of(transactionInfo(createTransaction(2, KEYS1), false)));
+    assertThat(storage.isFull()).isTrue();
+  }
+
+  private static List<Transaction> transactions(final List<TransactionInfo> transactionInfos) {
+    return transactionInfos.stream()
+        .map(TransactionInfo::getTransaction)
+        .collect(Collectors.toList());
+  }
+
+  private static TransactionInfo transactionInfo(
+      final Transaction transaction, final boolean receivedFromLocalSource) {
+    return new TransactionInfo(transaction, receivedFromLocalSource, ADDED_TO_POOL_AT);
+  }
+
+  private static Transaction createTransaction(final long nonce, final KeyPair keys) {
+    return new TransactionTestFixture().nonce(nonce).createTransaction(keys);
+  }
+}
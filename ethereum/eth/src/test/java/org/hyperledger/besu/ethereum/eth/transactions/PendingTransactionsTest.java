@@ -33,6 +33,7 @@ import org.hyperledger.besu.ethereum.core.Util;
 import org.hyperledger.besu.ethereum.core.Wei;
 import org.hyperledger.besu.ethereum.eth.transactions.PendingTransactions.TransactionAddedStatus;
 import org.hyperledger.besu.metrics.StubMetricsSystem;
+import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
 import org.hyperledger.besu.testutil.TestClock;
 
 import java.time.temporal.ChronoUnit;
@@ -136,6 +137,39 @@ public class PendingTransactionsTest {
     assertThat(metricsSystem.getCounterValue(REMOVED_COUNTER, REMOTE, DROPPED)).isEqualTo(1);
   }
 
+  @Test
+  public void shouldSpillEvictedTransactionToOverflowStorage() {
+    final PendingTransactionsOverflowStorage overflowStorage =
+        new PendingTransactionsOverflowStorage(
+            new InMemoryKeyValueStorage(), MAX_TRANSACTIONS, metricsSystem);
+    final PendingTransactions transactions =
+        new PendingTransactions(
+            TransactionPoolConfiguration.DEFAULT_TX_RETENTION_HOURS,
+            MAX_TRANSACTIONS,
+            MAX_TRANSACTION_HASHES,
+            TestClock.fixed(),
+            metricsSystem,
+            PendingTransactionsTest::mockBlockHeader,
+            TransactionPoolConfiguration.DEFAULT_PRICE_BUMP,
+            Optional.of(overflowStorage));
+    transactions.subscribeDroppedTransactions(droppedListener);
+    final Transaction oldestTransaction = createTransaction(0);
+    transactions.addRemoteTransaction(oldestTransaction);
+    for (int i = 1; i <= MAX_TRANSACTIONS; i++) {
+      transactions.addRemoteTransaction(createTransaction(i));
+    }
+
+    assertThat(transactions.size()).isEqualTo(MAX_TRANSACTIONS);
+    assertThat(transactions.getTransactionByHash(oldestTransaction.getHash())).isEmpty();
+    assertThat(metricsSystem.getCounterValue(REMOVED_COUNTER, REMOTE, "spilled")).isEqualTo(1);
+    verifyZeroInteractions(droppedListener);
+
+    assertThat(transactions.takeSpilledTransactions(SENDER1, MAX_TRANSACTIONS))
+        .extracting(PendingTransactions.TransactionInfo::getTransaction)
+        .containsExactly(oldestTransaction);
+    assertThat(overflowStorage.isEmpty()).isTrue();
+  }
+
   @Test
   public void shouldHandleMaximumTransactionLimitCorrectlyWhenSameTransactionAddedMultipleTimes() {
     transactions.addRemoteTransaction(createTransaction(0));
@@ -554,6 +588,81 @@ public class PendingTransactionsTest {
         .containsExactly(transaction4, transaction1, transaction2, transaction3);
   }
 
+  @Test
+  public void shouldPrioritizeSendersByTheirNextExecutableTransaction() {
+    final Transaction transaction1 = transactionWithNonceSenderAndGasPrice(0, KEYS1, 1);
+    final Transaction transaction2 = transactionWithNonceSenderAndGasPrice(1, KEYS1, 100);
+    final Transaction transaction3 = transactionWithNonceSenderAndGasPrice(0, KEYS2, 50);
+
+    transactions.addLocalTransaction(transaction1);
+    transactions.addLocalTransaction(transaction2);
+    transactions.addLocalTransaction(transaction3);
+
+    final List<Transaction> iterationOrder = new ArrayList<>();
+    transactions.selectTransactions(
+        transaction -> {
+          iterationOrder.add(transaction);
+          return PendingTransactions.TransactionSelectionResult.CONTINUE;
+        });
+
+    // transaction2 pays the most but can only be executed after transaction1
+    assertThat(iterationOrder).containsExactly(transaction3, transaction1, transaction2);
+  }
+
+  @Test
+  public void shouldTrackTransactionsAddedConcurrentlyBySeveralSenders() throws Exception {
+    final int senders = 4;
+    final int transactionsPerSender = 50;
+    final PendingTransactions transactions =
+        new PendingTransactions(
+            TransactionPoolConfiguration.DEFAULT_TX_RETENTION_HOURS,
+            senders * transactionsPerSender,
+            MAX_TRANSACTION_HASHES,
+            TestClock.fixed(),
+            metricsSystem,
+            PendingTransactionsTest::mockBlockHeader,
+            TransactionPoolConfiguration.DEFAULT_PRICE_BUMP);
+    final List<KeyPair> keys = new ArrayList<>();
+    final List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < senders; i++) {
+      final KeyPair keyPair = SIGNATURE_ALGORITHM.get().generateKeyPair();
+      final List<Transaction> senderTransactions =
+          IntStream.range(0, transactionsPerSender)
+              .mapToObj(nonce -> transactionWithNonceAndSender(nonce, keyPair))
+              .collect(Collectors.toUnmodifiableList());
+      keys.add(keyPair);
+      threads.add(new Thread(() -> senderTransactions.forEach(transactions::addRemoteTransaction)));
+    }
+    threads.forEach(Thread::start);
+    for (final Thread thread : threads) {
+      thread.join();
+    }
+
+    assertThat(transactions.size()).isEqualTo(senders * transactionsPerSender);
+    for (final KeyPair keyPair : keys) {
+      assertThat(
+              transactions.getNextNonceForSender(Util.publicKeyToAddress(keyPair.getPublicKey())))
+          .hasValue(transactionsPerSender);
+    }
+
+    final List<Transaction> iterationOrder = new ArrayList<>();
+    transactions.selectTransactions(
+        transaction -> {
+          iterationOrder.add(transaction);
+          return PendingTransactions.TransactionSelectionResult.CONTINUE;
+        });
+    assertThat(iterationOrder).hasSize(senders * transactionsPerSender);
+    for (final KeyPair keyPair : keys) {
+      final Address sender = Util.publicKeyToAddress(keyPair.getPublicKey());
+      assertThat(
+              iterationOrder.stream()
+                  .filter(transaction -> transaction.getSender().equals(sender))
+                  .map(Transaction::getNonce))
+          .isSorted()
+          .hasSize(transactionsPerSender);
+    }
+  }
+
   private void assertMaximumNonceForSender(final Address sender1, final int i) {
     assertThat(transactions.getNextNonceForSender(sender1)).isEqualTo(OptionalLong.of(i));
   }
@@ -53,22 +53,27 @@ import org.hyperledger.besu.ethereum.core.TransactionTestFixture;
 import org.hyperledger.besu.ethereum.core.Wei;
 import org.hyperledger.besu.ethereum.core.fees.EIP1559;
 import org.hyperledger.besu.ethereum.eth.EthProtocol;
+import org.hyperledger.besu.ethereum.eth.manager.DeterministicEthScheduler;
 import org.hyperledger.besu.ethereum.eth.manager.EthContext;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
 import org.hyperledger.besu.ethereum.eth.manager.EthPeer;
 import org.hyperledger.besu.ethereum.eth.manager.EthPeers;
 import org.hyperledger.besu.ethereum.eth.manager.EthProtocolManager;
 import org.hyperledger.besu.ethereum.eth.manager.EthProtocolManagerTestUtil;
 import org.hyperledger.besu.ethereum.eth.manager.RespondingEthPeer;
 import org.hyperledger.besu.ethereum.eth.sync.state.SyncState;
+import org.hyperledger.besu.ethereum.eth.transactions.PendingTransactions.TransactionInfo;
 import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionValidator;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
 import org.hyperledger.besu.ethereum.mainnet.TransactionValidationParams;
 import org.hyperledger.besu.ethereum.mainnet.ValidationResult;
+import org.hyperledger.besu.ethereum.rlp.RLP;
 import org.hyperledger.besu.ethereum.transaction.TransactionInvalidReason;
 import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.hyperledger.besu.plugin.data.TransactionType;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
 import org.hyperledger.besu.testutil.TestClock;
 
 import java.math.BigInteger;
@@ -76,6 +81,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -139,6 +145,7 @@ public class TransactionPoolTest {
     ethContext = mock(EthContext.class);
     ethPeers = mock(EthPeers.class);
     when(ethContext.getEthPeers()).thenReturn(ethPeers);
+    when(ethContext.getScheduler()).thenReturn(new DeterministicEthScheduler());
     peerTransactionTracker = mock(PeerTransactionTracker.class);
     peerPendingTransactionTracker = mock(PeerPendingTransactionTracker.class);
     transactionPool =
@@ -453,6 +460,86 @@ public class TransactionPoolTest {
     verify(batchAddedListener, never()).onTransactionsAdded(singleton(transaction2));
   }
 
+  @Test
+  public void shouldAddValidTransactionsOfRemoteBatchAndDiscardInvalidOnes() {
+    final TransactionTestFixture builder = new TransactionTestFixture();
+    final Transaction transaction1 =
+        builder.nonce(1).gasPrice(Wei.of(10)).createTransaction(KEY_PAIR1);
+    final Transaction transaction2 =
+        builder.nonce(2).gasPrice(Wei.of(10)).createTransaction(KEY_PAIR1);
+    final Transaction transaction3 =
+        builder.nonce(3).gasPrice(Wei.of(10)).createTransaction(KEY_PAIR1);
+
+    when(transactionValidator.validate(any(Transaction.class), any(Optional.class), any()))
+        .thenReturn(valid());
+    when(transactionValidator.validateForSender(
+            eq(transaction1), nullable(Account.class), any(TransactionValidationParams.class)))
+        .thenReturn(valid());
+    when(transactionValidator.validateForSender(
+            eq(transaction2), nullable(Account.class), any(TransactionValidationParams.class)))
+        .thenReturn(ValidationResult.invalid(NONCE_TOO_LOW));
+    when(transactionValidator.validateForSender(
+            eq(transaction3), nullable(Account.class), any(TransactionValidationParams.class)))
+        .thenReturn(valid());
+
+    transactionPool.addRemoteTransactions(asList(transaction1, transaction2, transaction3));
+
+    assertTransactionPending(transaction1);
+    assertTransactionNotPending(transaction2);
+    assertTransactionPending(transaction3);
+    verify(batchAddedListener).onTransactionsAdded(Set.of(transaction1, transaction3));
+  }
+
+  @Test(timeout = 10_000)
+  public void shouldAddRemoteBatchWhenSendersAreRecoveredOnComputationExecutor()
+      throws InterruptedException {
+    final EthScheduler scheduler = new EthScheduler(1, 1, 2, metricsSystem);
+    try {
+      final TransactionPool transactionPool = createTransactionPool(transactions, scheduler);
+      final List<Transaction> received = asList(asReceived(transaction1), asReceived(transaction2));
+      received.forEach(this::givenTransactionIsValid);
+
+      transactionPool.addRemoteTransactions(received);
+
+      received.forEach(this::assertTransactionPending);
+      assertThat(received)
+          .extracting(Transaction::getSender)
+          .containsOnly(transaction1.getSender());
+    } finally {
+      scheduler.stop();
+      scheduler.awaitStop();
+    }
+  }
+
+  @Test(timeout = 10_000)
+  public void shouldNotWaitForSenderRecoveryBehindBusyComputationExecutor()
+      throws InterruptedException {
+    final EthScheduler scheduler = new EthScheduler(1, 1, 1, metricsSystem);
+    final CountDownLatch release = new CountDownLatch(1);
+    try {
+      scheduler.scheduleComputationTask(
+          () -> {
+            try {
+              release.await();
+            } catch (final InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+            return null;
+          });
+      final TransactionPool transactionPool = createTransactionPool(transactions, scheduler);
+      final List<Transaction> received = asList(asReceived(transaction1), asReceived(transaction2));
+      received.forEach(this::givenTransactionIsValid);
+
+      transactionPool.addRemoteTransactions(received);
+
+      received.forEach(this::assertTransactionPending);
+    } finally {
+      release.countDown();
+      scheduler.stop();
+      scheduler.awaitStop();
+    }
+  }
+
   @Test
   public void shouldNotNotifyBatchListenerWhenLocalTransactionDoesNotReplaceExisting() {
     final TransactionTestFixture builder = new TransactionTestFixture();
@@ -873,6 +960,117 @@ public class TransactionPoolTest {
         .isEqualTo(TransactionInvalidReason.ETHER_VALUE_NOT_SUPPORTED);
   }
 
+  @Test
+  public void shouldPromoteSpilledTransactionsOnTransactionWorkerWhenBlockIsAdded() {
+    final DeterministicEthScheduler scheduler = new DeterministicEthScheduler();
+    final PendingTransactionsOverflowStorage overflowStorage = createOverflowStorage();
+    final PendingTransactions pendingTransactions = createPendingTransactions(overflowStorage);
+    createTransactionPool(pendingTransactions, scheduler);
+    givenTransactionIsValid(transaction2);
+    pendingTransactions.spillRemoteTransactions(singletonList(transaction2));
+    scheduler.disableAutoRun();
+
+    appendBlock(transaction1);
+
+    assertThat(pendingTransactions.getTransactionByHash(transaction2.getHash())).isEmpty();
+    assertThat(overflowStorage.size()).isEqualTo(1);
+
+    scheduler.runPendingFutures();
+
+    assertThat(pendingTransactions.getTransactionByHash(transaction2.getHash()))
+        .contains(transaction2);
+    assertThat(overflowStorage.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void shouldSpillRemoteTransactionsWithFarFutureNonce() {
+    final PendingTransactionsOverflowStorage overflowStorage = createOverflowStorage();
+    final PendingTransactions pendingTransactions = createPendingTransactions(overflowStorage);
+    final TransactionPool transactionPool =
+        createTransactionPool(pendingTransactions, new DeterministicEthScheduler());
+    final Transaction farFutureTransaction = createTransaction(100);
+    givenTransactionIsValid(farFutureTransaction);
+
+    transactionPool.addRemoteTransactions(singletonList(farFutureTransaction));
+
+    assertThat(pendingTransactions.getTransactionByHash(farFutureTransaction.getHash())).isEmpty();
+    assertThat(overflowStorage.size()).isEqualTo(1);
+    verifyZeroInteractions(batchAddedListener);
+  }
+
+  @Test
+  public void shouldStorePendingTransactionsForNextRunWhenPersisted() {
+    final InMemoryKeyValueStorage keyValueStorage = new InMemoryKeyValueStorage();
+    final PendingTransactions pendingTransactions =
+        createPendingTransactions(
+            new PendingTransactionsOverflowStorage(keyValueStorage, 10, metricsSystem));
+    final TransactionPool transactionPool =
+        createTransactionPool(pendingTransactions, new DeterministicEthScheduler());
+    givenTransactionIsValid(transaction1);
+    givenTransactionIsValid(transaction2);
+    transactionPool.addLocalTransaction(transaction1);
+    transactionPool.addRemoteTransactions(singletonList(transaction2));
+
+    transactionPool.persistPendingTransactions();
+
+    assertTransactionPending(pendingTransactions, transaction1);
+    assertTransactionPending(pendingTransactions, transaction2);
+    final List<TransactionInfo> storedTransactions =
+        new PendingTransactionsOverflowStorage(keyValueStorage, 10, metricsSystem).takeNext(10);
+    assertThat(storedTransactions)
+        .extracting(TransactionInfo::getTransaction)
+        .containsExactlyInAnyOrder(transaction1, transaction2);
+    assertThat(storedTransactions)
+        .filteredOn(TransactionInfo::isReceivedFromLocalSource)
+        .extracting(TransactionInfo::getTransaction)
+        .containsExactly(transaction1);
+  }
+
+  private PendingTransactionsOverflowStorage createOverflowStorage() {
+    return new PendingTransactionsOverflowStorage(new InMemoryKeyValueStorage(), 10, metricsSystem);
+  }
+
+  private PendingTransactions createPendingTransactions(
+      final PendingTransactionsOverflowStorage overflowStorage) {
+    return new PendingTransactions(
+        TransactionPoolConfiguration.DEFAULT_TX_RETENTION_HOURS,
+        MAX_TRANSACTIONS,
+        MAX_TRANSACTION_HASHES,
+        TestClock.fixed(),
+        metricsSystem,
+        blockchain::getChainHeadHeader,
+        TransactionPoolConfiguration.DEFAULT_PRICE_BUMP,
+        Optional.of(overflowStorage));
+  }
+
+  private TransactionPool createTransactionPool(
+      final PendingTransactions pendingTransactions, final EthScheduler scheduler) {
+    when(ethContext.getScheduler()).thenReturn(scheduler);
+    final TransactionPool transactionPool =
+        new TransactionPool(
+            pendingTransactions,
+            protocolSchedule,
+            protocolContext,
+            batchAddedListener,
+            pendingBatchAddedListener,
+            syncState,
+            ethContext,
+            peerTransactionTracker,
+            peerPendingTransactionTracker,
+            Wei.of(2),
+            metricsSystem,
+            Optional.empty(),
+            TransactionPoolConfiguration.DEFAULT);
+    blockchain.observeBlockAdded(transactionPool);
+    return transactionPool;
+  }
+
+  private void assertTransactionPending(
+      final PendingTransactions pendingTransactions, final Transaction transaction) {
+    assertThat(pendingTransactions.getTransactionByHash(transaction.getHash()))
+        .contains(transaction);
+  }
+
   private void assertTransactionPending(final Transaction t) {
     assertThat(transactions.getTransactionByHash(t.getHash())).contains(t);
   }
@@ -914,6 +1112,11 @@ public class TransactionPoolTest {
     return block;
   }
 
+  private static Transaction asReceived(final Transaction transaction) {
+    // a decoded transaction recovers its sender from the signature when it is first needed
+    return Transaction.readFrom(RLP.input(RLP.encode(transaction::writeTo)));
+  }
+
   private Transaction createTransaction(final int transactionNumber) {
     return new TransactionTestFixture()
         .nonce(transactionNumber)
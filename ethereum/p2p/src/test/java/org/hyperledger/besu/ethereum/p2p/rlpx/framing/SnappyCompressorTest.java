@@ -35,6 +35,17 @@ public class SnappyCompressorTest {
     assertThat(snappy.decompress(snappy.compress(data))).isEqualTo(data);
   }
 
+  @Test
+  public void decompressRangeOfArray() {
+    final byte[] data = "Uncompressed sample text".getBytes(StandardCharsets.UTF_8);
+    final byte[] compressed = snappy.compress(data);
+    final byte[] frame = new byte[compressed.length + 3];
+    System.arraycopy(compressed, 0, frame, 1, compressed.length);
+
+    assertThat(snappy.uncompressedLength(frame, 1, compressed.length)).isEqualTo(data.length);
+    assertThat(snappy.decompress(frame, 1, compressed.length)).isEqualTo(data);
+  }
+
   @Test
   public void roundTripEmptyByteArray() {
     final byte[] data = new byte[0];
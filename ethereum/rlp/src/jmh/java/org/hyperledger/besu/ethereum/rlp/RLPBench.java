@@ -50,6 +50,19 @@ public class RLPBench {
     return l;
   }
 
+  @SuppressWarnings("unchecked")
+  private static void write(final Object obj, final RLPOutput out) {
+    if (obj instanceof Bytes) {
+      out.writeBytes((Bytes) obj);
+    } else {
+      out.startList();
+      for (final Object o : (List<Object>) obj) {
+        write(o, out);
+      }
+      out.endList();
+    }
+  }
+
   @Param({"1", "3", "8"})
   public int depth;
 
@@ -62,10 +75,14 @@ public class RLPBench {
   volatile Object toEncode;
   volatile Bytes toDecode;
 
+  private final BytesValueRLPOutput reusedOutput = new BytesValueRLPOutput();
+  private byte[] reusedTarget;
+
   @Setup(Level.Trial)
   public void prepare() {
     toEncode = generate(depth, width, size);
     toDecode = RLPTestUtil.encode(toEncode);
+    reusedTarget = new byte[toDecode.size()];
   }
 
   @Benchmark
@@ -73,6 +90,19 @@ public class RLPBench {
     return RLPTestUtil.encode(toEncode);
   }
 
+  @Benchmark
+  public Bytes getBenchmarkPooledEncoding() {
+    return RLP.encode(out -> write(toEncode, out));
+  }
+
+  @Benchmark
+  public byte[] getBenchmarkEncodingIntoReusedArray() {
+    reusedOutput.reset();
+    write(toEncode, reusedOutput);
+    reusedOutput.writeEncoded(reusedTarget, 0);
+    return reusedTarget;
+  }
+
   @Benchmark
   public Object getBenchmarkDecoding() {
     return RLPTestUtil.decode(toDecode);
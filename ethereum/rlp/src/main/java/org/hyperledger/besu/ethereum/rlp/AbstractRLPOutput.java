@@ -14,6 +14,7 @@
  */
 package org.hyperledger.besu.ethereum.rlp;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 
 import java.util.ArrayList;
@@ -139,6 +140,51 @@ abstract class AbstractRLPOutput implements RLPOutput {
     return payloadSizes[0];
   }
 
+  /**
+   * Clears everything written to this output so far so that it can be reused for a new encoding.
+   *
+   * <p>The internal buffers are kept (but emptied) so that encoding into a reused output does not
+   * have to re-grow them.
+   */
+  public void reset() {
+    values.clear();
+    rlpEncoded.clear();
+    Arrays.fill(payloadSizes, 0, listsCount, 0);
+    listsCount = 1;
+    stackSize = 1;
+  }
+
+  /**
+   * Number of values (elements and list markers) currently held by this output.
+   *
+   * @return the number of values written to this output.
+   */
+  int valuesCount() {
+    return values.size();
+  }
+
+  /**
+   * Write the rlp encoded value to the provided array, starting at {@code offset}.
+   *
+   * @param target the array to which the rlp-data will be written
+   * @param offset the offset in {@code target} at which to start writing
+   * @return the number of bytes written, that is {@link #encodedSize()}
+   * @throws IllegalArgumentException if {@code target} is too small to hold the encoding
+   */
+  public int writeEncoded(final byte[] target, final int offset) {
+    final int size = encodedSize();
+    checkArgument(
+        offset >= 0 && target.length - offset >= size,
+        "Cannot write %s bytes of RLP at offset %s of an array of length %s",
+        size,
+        offset,
+        target.length);
+    if (size > 0) {
+      writeEncoded(MutableBytes.wrap(target, offset, size));
+    }
+    return size;
+  }
+
   /**
    * Write the rlp encoded value to the provided {@link MutableBytes}
    *
@@ -16,6 +16,7 @@ package org.hyperledger.besu.ethereum.rlp;
 
 import static java.lang.String.format;
 
+import java.nio.ByteBuffer;
 import java.util.function.Consumer;
 
 import io.vertx.core.buffer.Buffer;
@@ -26,6 +27,11 @@ import org.apache.tuweni.bytes.MutableBytes;
 public abstract class RLP {
   private RLP() {}
 
+  // Per-thread output reused by encode() so that its scratch buffers are not re-allocated and
+  // re-grown for every encoding; only the final encoded value is allocated.
+  private static final ThreadLocal<BytesValueRLPOutput> POOLED_OUTPUT = new ThreadLocal<>();
+  private static final int MAX_POOLED_OUTPUT_VALUES = 1 << 16;
+
   /** The RLP encoding of a single empty value, also known as RLP null. */
   public static final Bytes NULL = encodeOne(Bytes.EMPTY);
 
@@ -59,6 +65,17 @@ public abstract class RLP {
     return new BytesValueRLPInput(encoded, lenient);
   }
 
+  /**
+   * Creates a new {@link RLPInput} that decodes the remaining bytes of the provided buffer in
+   * place. The values read are views of the buffer.
+   *
+   * @param encoded The buffer holding RLP-encoded data.
+   * @return A new {@link RLPInput} to decode {@code encoded}.
+   */
+  public static RLPInput input(final ByteBuffer encoded) {
+    return new ByteBufferRLPInput(encoded, false);
+  }
+
   /**
    * Creates a new {@link RLPInput} suitable for decoding an RLP value encoded in the provided
    * Vert.x {@link Buffer}.
@@ -103,9 +120,24 @@ public abstract class RLP {
    * @return The RLP encoding of the data written by {@code writer}.
    */
   public static Bytes encode(final Consumer<RLPOutput> writer) {
-    final BytesValueRLPOutput out = new BytesValueRLPOutput();
-    writer.accept(out);
-    return out.encoded();
+    // Take the pooled output out of the thread local while it is in use, so that a writer which
+    // itself calls encode() gets its own output rather than clobbering ours.
+    BytesValueRLPOutput out = POOLED_OUTPUT.get();
+    if (out == null) {
+      out = new BytesValueRLPOutput();
+    } else {
+      POOLED_OUTPUT.set(null);
+    }
+    try {
+      writer.accept(out);
+      return out.encoded();
+    } finally {
+      // Don't keep the scratch buffers of unusually large encodings alive on this thread.
+      if (out.valuesCount() <= MAX_POOLED_OUTPUT_VALUES) {
+        out.reset();
+        POOLED_OUTPUT.set(out);
+      }
+    }
   }
 
   /**
@@ -0,0 +1,68 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.rlp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.Test;
+
+public class ByteBufferRLPInputTest {
+
+  private static ByteBuffer direct(final Bytes bytes) {
+    final ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.size());
+    buffer.put(bytes.toArrayUnsafe()).flip();
+    return buffer;
+  }
+
+  @Test
+  public void readsSameValuesAsBytesInput() {
+    final BytesValueRLPOutput out = new BytesValueRLPOutput();
+    out.startList();
+    out.writeLongScalar(0x1234567890L);
+    out.writeIntScalar(0x7ff);
+    out.writeBytes(Bytes.fromHexString("0x" + "ab".repeat(40)));
+    out.writeBytes(Bytes.fromHexString("0x" + "cd".repeat(32)));
+    out.writeList(List.of(1, 2, 3), (value, listOut) -> listOut.writeIntScalar(value));
+    out.endList();
+    final Bytes encoded = out.encoded();
+
+    final RLPInput in = RLP.input(direct(encoded));
+
+    assertThat(in.raw()).isEqualTo(encoded);
+    in.enterList();
+    assertThat(in.readLongScalar()).isEqualTo(0x1234567890L);
+    assertThat(in.readIntScalar()).isEqualTo(0x7ff);
+    assertThat(in.readBytes()).isEqualTo(Bytes.fromHexString("0x" + "ab".repeat(40)));
+    assertThat(in.readBytes32()).isEqualTo(Bytes.fromHexString("0x" + "cd".repeat(32)));
+    assertThat(in.readList(RLPInput::readIntScalar)).containsExactly(1, 2, 3);
+    in.leaveList();
+    assertThat(in.isDone()).isTrue();
+  }
+
+  @Test
+  public void readsOnlyRemainingBytesOfBuffer() {
+    final ByteBuffer buffer = direct(Bytes.fromHexString("0xff820102ff"));
+    buffer.position(1).limit(4);
+
+    final RLPInput in = RLP.input(buffer);
+
+    assertThat(in.readBytes()).isEqualTo(Bytes.fromHexString("0x0102"));
+    assertThat(in.isDone()).isTrue();
+  }
+}
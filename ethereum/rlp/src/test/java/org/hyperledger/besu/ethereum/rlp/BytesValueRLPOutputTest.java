@@ -15,6 +15,7 @@
 package org.hyperledger.besu.ethereum.rlp;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import org.apache.tuweni.bytes.Bytes;
 import org.junit.Test;
@@ -316,4 +317,48 @@ public class BytesValueRLPOutputTest {
     // so 0xc0 + size then payloads
     assertThat(out.encoded()).isEqualTo(h("0xc52cc203123b"));
   }
+
+  @Test
+  public void writeEncodedIntoArrayAtOffset() {
+    final BytesValueRLPOutput out = new BytesValueRLPOutput();
+    out.startList();
+    out.writeByte((byte) 0x2c);
+    out.writeBytes(h("0x0312"));
+    out.endList();
+
+    final byte[] target = new byte[8];
+    assertThat(out.writeEncoded(target, 2)).isEqualTo(out.encodedSize());
+    assertThat(Bytes.wrap(target)).isEqualTo(h("0x0000c42c820312" + "00"));
+  }
+
+  @Test
+  public void writeEncodedIntoTooSmallArrayFails() {
+    final BytesValueRLPOutput out = new BytesValueRLPOutput();
+    out.writeBytes(h("0x0312"));
+
+    assertThatThrownBy(() -> out.writeEncoded(new byte[3], 1))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void resetOutputCanBeReused() {
+    final BytesValueRLPOutput out = new BytesValueRLPOutput();
+    out.startList();
+    out.startList();
+    out.writeByte((byte) 0x03);
+    out.endList();
+    out.writeBytes(h("0x" + times("aa", 60)));
+    out.endList();
+
+    out.reset();
+    assertThat(out.encoded()).isEqualTo(Bytes.EMPTY);
+
+    out.startList();
+    out.startList();
+    out.writeByte((byte) 0x03);
+    out.endList();
+    out.writeByte((byte) 0x3b);
+    out.endList();
+    assertThat(out.encoded()).isEqualTo(h("0xc3c1033b"));
+  }
 }
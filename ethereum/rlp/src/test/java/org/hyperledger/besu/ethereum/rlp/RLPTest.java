@@ -171,4 +171,33 @@ public class RLPTest {
   private static Bytes h(final String hex) {
     return Bytes.fromHexString(hex);
   }
+
+  @Test
+  public void encodeSupportsNestedEncoding() {
+    final Bytes encoded =
+        RLP.encode(
+            out -> {
+              out.startList();
+              out.writeBytes(RLP.encode(inner -> inner.writeBytes(Bytes.of(1, 2))));
+              out.writeByte((byte) 0x03);
+              out.endList();
+            });
+
+    assertThat(encoded).isEqualTo(Bytes.fromHexString("0xc58382010203"));
+  }
+
+  @Test
+  public void encodeIsUnaffectedByPreviousFailedEncoding() {
+    assertThatThrownBy(
+            () ->
+                RLP.encode(
+                    out -> {
+                      out.startList();
+                      out.writeByte((byte) 0x01);
+                      throw new IllegalStateException("boom");
+                    }))
+        .isInstanceOf(IllegalStateException.class);
+
+    assertThat(RLP.encode(out -> out.writeByte((byte) 0x05))).isEqualTo(Bytes.of(5));
+  }
 }
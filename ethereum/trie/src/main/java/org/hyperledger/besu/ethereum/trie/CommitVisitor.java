@@ -18,7 +18,7 @@ import org.apache.tuweni.bytes.Bytes;
 
 public class CommitVisitor<V> implements LocationNodeVisitor<V> {
 
-  private final NodeUpdater nodeUpdater;
+  protected final NodeUpdater nodeUpdater;
 
   public CommitVisitor(final NodeUpdater nodeUpdater) {
     this.nodeUpdater = nodeUpdater;
@@ -66,7 +66,7 @@ public class CommitVisitor<V> implements LocationNodeVisitor<V> {
   @Override
   public void visit(final Bytes location, final NullNode<V> nullNode) {}
 
-  private void maybeStoreNode(final Bytes location, final Node<V> node) {
+  protected void maybeStoreNode(final Bytes location, final Node<V> node) {
     final Bytes nodeRLP = node.getRlp();
     if (nodeRLP.size() >= 32) {
       this.nodeUpdater.store(location, node.getHash(), nodeRLP);
@@ -0,0 +1,135 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+
+/**
+ * A {@link CommitVisitor} that hashes and encodes the large dirty subtrees of a branch node in
+ * parallel. Each subtree is committed to its own buffer and the buffers are written to the node
+ * updater in child order, so the updater sees the same writes as with a sequential commit and is
+ * only ever called from the committing thread. Subtrees with fewer dirty nodes than the threshold
+ * are committed on the calling thread.
+ */
+public class ParallelCommitVisitor<V> extends CommitVisitor<V> {
+
+  static final int DEFAULT_PARALLEL_THRESHOLD = 512;
+
+  private final int parallelThreshold;
+
+  public ParallelCommitVisitor(final NodeUpdater nodeUpdater) {
+    this(nodeUpdater, DEFAULT_PARALLEL_THRESHOLD);
+  }
+
+  ParallelCommitVisitor(final NodeUpdater nodeUpdater, final int parallelThreshold) {
+    super(nodeUpdater);
+    this.parallelThreshold = parallelThreshold;
+  }
+
+  @Override
+  public void visit(final Bytes location, final BranchNode<V> branchNode) {
+    if (!branchNode.isDirty()) {
+      return;
+    }
+
+    final boolean[] largeChildren = new boolean[BranchNode.RADIX];
+    boolean hasLargeChild = false;
+    for (byte i = 0; i < BranchNode.RADIX; ++i) {
+      largeChildren[i] =
+          countDirtyNodes(branchNode.child(i), parallelThreshold) >= parallelThreshold;
+      hasLargeChild |= largeChildren[i];
+    }
+    if (!hasLargeChild) {
+      branchNode.accept(location, new CommitVisitor<>(nodeUpdater));
+      return;
+    }
+
+    final ForkJoinPool pool = TrieWorkerPool.get();
+    if (ForkJoinTask.getPool() == pool) {
+      commitChildren(location, branchNode, largeChildren);
+    } else {
+      pool.invoke(
+          ForkJoinTask.adapt(() -> commitChildren(location, branchNode, largeChildren)));
+    }
+
+    maybeStoreNode(location, branchNode);
+  }
+
+  private void commitChildren(
+      final Bytes location, final BranchNode<V> branchNode, final boolean[] largeChildren) {
+    final List<BufferedNodeUpdater> buffers = new ArrayList<>(BranchNode.RADIX);
+    final List<ForkJoinTask<?>> tasks = new ArrayList<>();
+    for (byte i = 0; i < BranchNode.RADIX; ++i) {
+      final Node<V> child = branchNode.child(i);
+      if (!child.isDirty()) {
+        continue;
+      }
+      final Bytes childLocation = Bytes.concatenate(location, Bytes.of(i));
+      final BufferedNodeUpdater buffer = new BufferedNodeUpdater();
+      buffers.add(buffer);
+      if (largeChildren[i]) {
+        tasks.add(
+            ForkJoinTask.adapt(
+                    () ->
+                        child.accept(
+                            childLocation, new ParallelCommitVisitor<V>(buffer, parallelThreshold)))
+                .fork());
+      } else {
+        child.accept(childLocation, new CommitVisitor<>(buffer));
+      }
+    }
+    tasks.forEach(ForkJoinTask::join);
+    buffers.forEach(buffer -> buffer.writeTo(nodeUpdater));
+  }
+
+  private int countDirtyNodes(final Node<V> node, final int limit) {
+    if (!node.isDirty()) {
+      return 0;
+    }
+    int count = 1;
+    for (final Node<V> child : node.getChildren()) {
+      if (count >= limit) {
+        break;
+      }
+      count += countDirtyNodes(child, limit - count);
+    }
+    return count;
+  }
+
+  private static class BufferedNodeUpdater implements NodeUpdater {
+    private final List<Bytes> locations = new ArrayList<>();
+    private final List<Bytes32> hashes = new ArrayList<>();
+    private final List<Bytes> values = new ArrayList<>();
+
+    @Override
+    public void store(final Bytes location, final Bytes32 hash, final Bytes value) {
+      locations.add(location);
+      hashes.add(hash);
+      values.add(value);
+    }
+
+    void writeTo(final NodeUpdater nodeUpdater) {
+      for (int i = 0; i < locations.size(); i++) {
+        nodeUpdater.store(locations.get(i), hashes.get(i), values.get(i));
+      }
+    }
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.crypto.Hash;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.junit.Test;
+
+public class ParallelCommitVisitorTest {
+
+  private final NodeFactory<Bytes> nodeFactory = new DefaultNodeFactory<>(Function.identity());
+
+  @Test
+  public void shouldStoreSameNodesInSameOrderAsSequentialCommit() {
+    final List<String> sequentialWrites = new ArrayList<>();
+    final Node<Bytes> sequentialRoot = createTrie(2_000);
+    sequentialRoot.accept(Bytes.EMPTY, new CommitVisitor<>(recordingUpdater(sequentialWrites)));
+
+    final List<String> parallelWrites = new ArrayList<>();
+    final Node<Bytes> parallelRoot = createTrie(2_000);
+    parallelRoot.accept(
+        Bytes.EMPTY, new ParallelCommitVisitor<>(recordingUpdater(parallelWrites), 16));
+
+    assertThat(parallelWrites).isNotEmpty();
+    assertThat(parallelWrites).containsExactlyElementsOf(sequentialWrites);
+    assertThat(parallelRoot.getHash()).isEqualTo(sequentialRoot.getHash());
+  }
+
+  @Test
+  public void shouldCommitSmallTrieOnCallingThread() {
+    final List<String> sequentialWrites = new ArrayList<>();
+    createTrie(10).accept(Bytes.EMPTY, new CommitVisitor<>(recordingUpdater(sequentialWrites)));
+
+    final Thread callingThread = Thread.currentThread();
+    final List<String> parallelWrites = new ArrayList<>();
+    final NodeUpdater updater = recordingUpdater(parallelWrites);
+    createTrie(10)
+        .accept(
+            Bytes.EMPTY,
+            new ParallelCommitVisitor<>(
+                (location, hash, value) -> {
+                  assertThat(Thread.currentThread()).isSameAs(callingThread);
+                  updater.store(location, hash, value);
+                }));
+
+    assertThat(parallelWrites).containsExactlyElementsOf(sequentialWrites);
+  }
+
+  private Node<Bytes> createTrie(final int size) {
+    Node<Bytes> root = NullNode.instance();
+    for (int i = 0; i < size; i++) {
+      final Bytes32 key = Hash.keccak256(UInt256.valueOf(i));
+      root =
+          root.accept(
+              new PutVisitor<>(nodeFactory, UInt256.valueOf(i)), CompactEncoding.bytesToPath(key));
+    }
+    return root;
+  }
+
+  private NodeUpdater recordingUpdater(final List<String> writes) {
+    return (location, hash, value) ->
+        writes.add(location.toHexString() + ":" + hash.toHexString() + ":" + value.toHexString());
+  }
+}
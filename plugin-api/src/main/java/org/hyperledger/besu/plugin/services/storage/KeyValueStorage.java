@@ -18,9 +18,14 @@ import org.hyperledger.besu.plugin.Unstable;
 import org.hyperledger.besu.plugin.services.exception.StorageException;
 
 import java.io.Closeable;
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -61,6 +66,18 @@ public interface KeyValueStorage extends Closeable {
    */
   Optional<byte[]> get(byte[] key) throws StorageException;
 
+  /**
+   * Retrieves the values associated with each of the given keys in a single batch.
+   *
+   * @param keys whose associated values are being retrieved.
+   * @return a list with an entry for each key, in the same order as the keys, containing the value
+   *     associated with that key, otherwise empty.
+   * @throws StorageException problem encountered during the retrieval attempt.
+   */
+  default List<Optional<byte[]>> getMultiple(final List<byte[]> keys) throws StorageException {
+    return keys.stream().map(this::get).collect(Collectors.toList());
+  }
+
   /**
    * Returns a stream of all keys.
    *
@@ -69,6 +86,35 @@ public interface KeyValueStorage extends Closeable {
    */
   Stream<byte[]> streamKeys() throws StorageException;
 
+  /**
+   * Returns a stream of the entries whose keys are within the given range, ordered by key. Keys
+   * are compared lexicographically as unsigned bytes.
+   *
+   * <p>The stream may hold resources of the underlying storage, so it should be closed once it is
+   * no longer needed.
+   *
+   * <p>The default implementation streams every key of the storage, sorts the ones in the range and
+   * then reads their values one at a time, so its cost grows with the size of the whole storage
+   * rather than of the range. Implementations that can seek to a key should override it.
+   *
+   * @param fromKey the lowest key to return, inclusive.
+   * @param toKey the upper bound of the keys to return, exclusive.
+   * @return An ordered stream of the key-value entries in the range.
+   * @throws StorageException problem encountered during the retrieval attempt.
+   */
+  default Stream<Map.Entry<byte[], byte[]>> stream(final byte[] fromKey, final byte[] toKey)
+      throws StorageException {
+    return streamKeys()
+        .filter(
+            key ->
+                Arrays.compareUnsigned(key, fromKey) >= 0
+                    && Arrays.compareUnsigned(key, toKey) < 0)
+        .sorted(Arrays::compareUnsigned)
+        .flatMap(
+            key ->
+                get(key).map(value -> new AbstractMap.SimpleImmutableEntry<>(key, value)).stream());
+  }
+
   /**
    * Delete the value corresponding to the given key if a write lock can be instantly acquired on
    * the underlying storage. Do nothing otherwise.
@@ -96,4 +142,20 @@ public interface KeyValueStorage extends Closeable {
    * @throws StorageException problem encountered when starting a new transaction.
    */
   KeyValueStorageTransaction startTransaction() throws StorageException;
+
+  /**
+   * Takes a read-only, point-in-time view of the storage. Reads from the snapshot are unaffected by
+   * writes committed after it was taken, so long running readers do not have to block writers.
+   *
+   * <p>The snapshot holds resources of the underlying storage until it is closed. Attempts to
+   * modify the snapshot throw {@link UnsupportedOperationException}.
+   *
+   * @return a read-only view of the storage as it is now.
+   * @throws StorageException problem encountered when taking the snapshot.
+   * @throws UnsupportedOperationException if the storage does not support snapshots.
+   */
+  default KeyValueStorage takeSnapshot() throws StorageException {
+    throw new UnsupportedOperationException(
+        getClass().getSimpleName() + " does not support snapshots");
+  }
 }
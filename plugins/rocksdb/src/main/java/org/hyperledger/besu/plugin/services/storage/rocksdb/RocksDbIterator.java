@@ -0,0 +1,99 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.plugin.services.storage.rocksdb;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import org.hyperledger.besu.plugin.services.exception.StorageException;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.rocksdb.RocksDBException;
+import org.rocksdb.RocksIterator;
+
+/**
+ * Iterates over a native RocksDB iterator, returning what {@link #current(RocksIterator)} reads
+ * from each position.
+ *
+ * @param <T> the type of the elements returned
+ */
+abstract class RocksDbIterator<T> implements Iterator<T>, AutoCloseable {
+
+  private final RocksIterator rocksIterator;
+  private final int characteristics;
+  private final AtomicBoolean closed = new AtomicBoolean(false);
+
+  protected RocksDbIterator(final RocksIterator rocksIterator, final int characteristics) {
+    this.rocksIterator = rocksIterator;
+    this.characteristics = characteristics;
+  }
+
+  protected abstract T current(RocksIterator rocksIterator);
+
+  /** Releases the native resources used with the iterator, once the iterator itself is closed. */
+  protected void closeResources() {}
+
+  @Override
+  public boolean hasNext() {
+    assertOpen();
+    if (rocksIterator.isValid()) {
+      return true;
+    }
+    // the iterator also becomes invalid when reading fails, which must not pass for the end
+    try {
+      rocksIterator.status();
+    } catch (final RocksDBException e) {
+      throw new StorageException(e);
+    }
+    return false;
+  }
+
+  @Override
+  public T next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    final T element = current(rocksIterator);
+    rocksIterator.next();
+    return element;
+  }
+
+  public Stream<T> toStream() {
+    assertOpen();
+    final Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(this, characteristics);
+
+    return StreamSupport.stream(spliterator, false).onClose(this::close);
+  }
+
+  private void assertOpen() {
+    checkState(
+        !closed.get(),
+        String.format("Attempt to read from a closed %s", getClass().getSimpleName()));
+  }
+
+  @Override
+  public void close() {
+    if (closed.compareAndSet(false, true)) {
+      rocksIterator.close();
+      closeResources();
+    }
+  }
+}
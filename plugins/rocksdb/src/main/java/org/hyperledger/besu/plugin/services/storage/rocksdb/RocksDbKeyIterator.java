@@ -12,32 +12,22 @@
  *
  * SPDX-License-Identifier: Apache-2.0
  */
-
 package org.hyperledger.besu.plugin.services.storage.rocksdb;
 
-import static com.google.common.base.Preconditions.checkState;
-
-import java.util.Iterator;
-import java.util.NoSuchElementException;
 import java.util.Spliterator;
-import java.util.Spliterators;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
 
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
-import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
 
-public class RocksDbKeyIterator implements Iterator<byte[]>, AutoCloseable {
-  private static final Logger LOG = LogManager.getLogger();
-
-  private final RocksIterator rocksIterator;
-  private final AtomicBoolean closed = new AtomicBoolean(false);
+public class RocksDbKeyIterator extends RocksDbIterator<byte[]> {
 
   private RocksDbKeyIterator(final RocksIterator rocksIterator) {
-    this.rocksIterator = rocksIterator;
+    super(
+        rocksIterator,
+        Spliterator.IMMUTABLE
+            | Spliterator.DISTINCT
+            | Spliterator.NONNULL
+            | Spliterator.ORDERED
+            | Spliterator.SORTED);
   }
 
   public static RocksDbKeyIterator create(final RocksIterator rocksIterator) {
@@ -45,53 +35,7 @@ public class RocksDbKeyIterator implements Iterator<byte[]>, AutoCloseable {
   }
 
   @Override
-  public boolean hasNext() {
-    assertOpen();
-    return rocksIterator.isValid();
-  }
-
-  @Override
-  public byte[] next() {
-    assertOpen();
-    try {
-      rocksIterator.status();
-    } catch (final RocksDBException e) {
-      LOG.error(
-          String.format("%s encountered a problem while iterating.", getClass().getSimpleName()),
-          e);
-    }
-    if (!hasNext()) {
-      throw new NoSuchElementException();
-    }
-    final byte[] key = rocksIterator.key();
-    rocksIterator.next();
-    return key;
-  }
-
-  public Stream<byte[]> toStream() {
-    assertOpen();
-    final Spliterator<byte[]> spliterator =
-        Spliterators.spliteratorUnknownSize(
-            this,
-            Spliterator.IMMUTABLE
-                | Spliterator.DISTINCT
-                | Spliterator.NONNULL
-                | Spliterator.ORDERED
-                | Spliterator.SORTED);
-
-    return StreamSupport.stream(spliterator, false).onClose(this::close);
-  }
-
-  private void assertOpen() {
-    checkState(
-        !closed.get(),
-        String.format("Attempt to read from a closed %s", getClass().getSimpleName()));
-  }
-
-  @Override
-  public void close() {
-    if (closed.compareAndSet(false, true)) {
-      rocksIterator.close();
-    }
+  protected byte[] current(final RocksIterator rocksIterator) {
+    return rocksIterator.key();
   }
 }
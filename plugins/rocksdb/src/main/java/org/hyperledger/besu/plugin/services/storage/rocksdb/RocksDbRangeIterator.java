@@ -0,0 +1,74 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.plugin.services.storage.rocksdb;
+
+import java.util.AbstractMap;
+import java.util.Map;
+import java.util.Spliterator;
+
+import org.rocksdb.ReadOptions;
+import org.rocksdb.RocksIterator;
+import org.rocksdb.Slice;
+
+/**
+ * Iterates over the entries of a key range, using the upper bound of the native iterator so that
+ * RocksDB stops reading at the end of the range.
+ */
+public class RocksDbRangeIterator extends RocksDbIterator<Map.Entry<byte[], byte[]>> {
+
+  private final ReadOptions readOptions;
+  private final Slice upperBound;
+
+  private RocksDbRangeIterator(
+      final RocksIterator rocksIterator, final ReadOptions readOptions, final Slice upperBound) {
+    super(rocksIterator, Spliterator.IMMUTABLE | Spliterator.NONNULL | Spliterator.ORDERED);
+    this.readOptions = readOptions;
+    this.upperBound = upperBound;
+  }
+
+  /**
+   * Creates an iterator over the entries from {@code fromKey}, inclusive, to {@code toKey},
+   * exclusive.
+   *
+   * @param iteratorFactory creates the native iterator using the given read options
+   * @param fromKey the lowest key to return
+   * @param toKey the upper bound of the keys to return
+   * @return the range iterator, which must be closed to release the native resources
+   */
+  public static RocksDbRangeIterator create(
+      final IteratorFactory iteratorFactory, final byte[] fromKey, final byte[] toKey) {
+    final Slice upperBound = new Slice(toKey);
+    final ReadOptions readOptions = new ReadOptions().setIterateUpperBound(upperBound);
+    final RocksIterator rocksIterator = iteratorFactory.newIterator(readOptions);
+    rocksIterator.seek(fromKey);
+    return new RocksDbRangeIterator(rocksIterator, readOptions, upperBound);
+  }
+
+  @Override
+  protected Map.Entry<byte[], byte[]> current(final RocksIterator rocksIterator) {
+    return new AbstractMap.SimpleImmutableEntry<>(rocksIterator.key(), rocksIterator.value());
+  }
+
+  @Override
+  protected void closeResources() {
+    readOptions.close();
+    upperBound.close();
+  }
+
+  @FunctionalInterface
+  public interface IteratorFactory {
+    RocksIterator newIterator(ReadOptions readOptions);
+  }
+}
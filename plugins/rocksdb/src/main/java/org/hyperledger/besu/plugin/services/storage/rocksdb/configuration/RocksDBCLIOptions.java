@@ -30,6 +30,9 @@ public class RocksDBCLIOptions {
       "--Xplugin-rocksdb-max-background-compactions";
   private static final String BACKGROUND_THREAD_COUNT_FLAG =
       "--Xplugin-rocksdb-background-thread-count";
+  private static final String WRITE_BATCH_COMMITS_ENABLED_FLAG =
+      "--Xplugin-rocksdb-write-batch-commits-enabled";
+  private static final String SYNC_WRITES_ENABLED_FLAG = "--Xplugin-rocksdb-sync-writes-enabled";
 
   @CommandLine.Option(
       names = {MAX_OPEN_FILES_FLAG},
@@ -63,6 +66,26 @@ public class RocksDBCLIOptions {
       description = "Number of RocksDB background threads (default: ${DEFAULT-VALUE})")
   int backgroundThreadCount;
 
+  @CommandLine.Option(
+      names = {WRITE_BATCH_COMMITS_ENABLED_FLAG},
+      hidden = true,
+      defaultValue = "false",
+      paramLabel = "<BOOLEAN>",
+      arity = "1",
+      description =
+          "Commit segmented storage updates as a single write batch instead of a RocksDB transaction (default: ${DEFAULT-VALUE})")
+  boolean writeBatchCommitsEnabled;
+
+  @CommandLine.Option(
+      names = {SYNC_WRITES_ENABLED_FLAG},
+      hidden = true,
+      defaultValue = "false",
+      paramLabel = "<BOOLEAN>",
+      arity = "1",
+      description =
+          "Wait for the RocksDB write-ahead log to be synced on every commit (default: ${DEFAULT-VALUE})")
+  boolean syncWritesEnabled;
+
   private RocksDBCLIOptions() {}
 
   public static RocksDBCLIOptions create() {
@@ -75,12 +98,19 @@ public class RocksDBCLIOptions {
     options.cacheCapacity = config.getCacheCapacity();
     options.maxBackgroundCompactions = config.getMaxBackgroundCompactions();
     options.backgroundThreadCount = config.getBackgroundThreadCount();
+    options.writeBatchCommitsEnabled = config.isWriteBatchCommitsEnabled();
+    options.syncWritesEnabled = config.isSyncWritesEnabled();
     return options;
   }
 
   public RocksDBFactoryConfiguration toDomainObject() {
     return new RocksDBFactoryConfiguration(
-        maxOpenFiles, maxBackgroundCompactions, backgroundThreadCount, cacheCapacity);
+        maxOpenFiles,
+        maxBackgroundCompactions,
+        backgroundThreadCount,
+        cacheCapacity,
+        writeBatchCommitsEnabled,
+        syncWritesEnabled);
   }
 
   @Override
@@ -90,6 +120,8 @@ public class RocksDBCLIOptions {
         .add("cacheCapacity", cacheCapacity)
         .add("maxBackgroundCompactions", maxBackgroundCompactions)
         .add("backgroundThreadCount", backgroundThreadCount)
+        .add("writeBatchCommitsEnabled", writeBatchCommitsEnabled)
+        .add("syncWritesEnabled", syncWritesEnabled)
         .toString();
   }
 }
@@ -24,6 +24,8 @@ public class RocksDBConfiguration {
   private final int maxBackgroundCompactions;
   private final int backgroundThreadCount;
   private final long cacheCapacity;
+  private final boolean writeBatchCommitsEnabled;
+  private final boolean syncWritesEnabled;
 
   public RocksDBConfiguration(
       final Path databaseDir,
@@ -32,6 +34,28 @@ public class RocksDBConfiguration {
       final int backgroundThreadCount,
       final long cacheCapacity,
       final String label) {
+    this(
+        databaseDir,
+        maxOpenFiles,
+        maxBackgroundCompactions,
+        backgroundThreadCount,
+        cacheCapacity,
+        label,
+        false,
+        false);
+  }
+
+  public RocksDBConfiguration(
+      final Path databaseDir,
+      final int maxOpenFiles,
+      final int maxBackgroundCompactions,
+      final int backgroundThreadCount,
+      final long cacheCapacity,
+      final String label,
+      final boolean writeBatchCommitsEnabled,
+      final boolean syncWritesEnabled) {
+    this.writeBatchCommitsEnabled = writeBatchCommitsEnabled;
+    this.syncWritesEnabled = syncWritesEnabled;
     this.maxBackgroundCompactions = maxBackgroundCompactions;
     this.backgroundThreadCount = backgroundThreadCount;
     this.databaseDir = databaseDir;
@@ -63,4 +87,26 @@ public class RocksDBConfiguration {
   public String getLabel() {
     return label;
   }
+
+  /**
+   * Whether transactions on segmented storage are committed as a single write batch instead of a
+   * pessimistic RocksDB transaction. Transactions are write-only, so the batch only gives up the
+   * row locks that no caller relies on. Updates to several segments only share a batch when they
+   * go through the same transaction, as the Bonsai world state updater does; the blockchain
+   * updater still commits its own batch.
+   *
+   * @return true if write batch commits are enabled
+   */
+  public boolean isWriteBatchCommitsEnabled() {
+    return writeBatchCommitsEnabled;
+  }
+
+  /**
+   * Whether commits wait for the write-ahead log to be synced to disk.
+   *
+   * @return true if synced writes are enabled
+   */
+  public boolean isSyncWritesEnabled() {
+    return syncWritesEnabled;
+  }
 }
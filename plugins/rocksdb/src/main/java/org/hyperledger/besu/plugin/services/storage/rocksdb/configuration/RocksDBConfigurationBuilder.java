@@ -29,6 +29,8 @@ public class RocksDBConfigurationBuilder {
   private long cacheCapacity = DEFAULT_CACHE_CAPACITY;
   private int maxBackgroundCompactions = DEFAULT_MAX_BACKGROUND_COMPACTIONS;
   private int backgroundThreadCount = DEFAULT_BACKGROUND_THREAD_COUNT;
+  private boolean writeBatchCommitsEnabled = false;
+  private boolean syncWritesEnabled = false;
 
   public RocksDBConfigurationBuilder databaseDir(final Path databaseDir) {
     this.databaseDir = databaseDir;
@@ -60,12 +62,25 @@ public class RocksDBConfigurationBuilder {
     return this;
   }
 
+  public RocksDBConfigurationBuilder writeBatchCommitsEnabled(
+      final boolean writeBatchCommitsEnabled) {
+    this.writeBatchCommitsEnabled = writeBatchCommitsEnabled;
+    return this;
+  }
+
+  public RocksDBConfigurationBuilder syncWritesEnabled(final boolean syncWritesEnabled) {
+    this.syncWritesEnabled = syncWritesEnabled;
+    return this;
+  }
+
   public static RocksDBConfigurationBuilder from(final RocksDBFactoryConfiguration configuration) {
     return new RocksDBConfigurationBuilder()
         .backgroundThreadCount(configuration.getBackgroundThreadCount())
         .cacheCapacity(configuration.getCacheCapacity())
         .maxBackgroundCompactions(configuration.getMaxBackgroundCompactions())
-        .maxOpenFiles(configuration.getMaxOpenFiles());
+        .maxOpenFiles(configuration.getMaxOpenFiles())
+        .writeBatchCommitsEnabled(configuration.isWriteBatchCommitsEnabled())
+        .syncWritesEnabled(configuration.isSyncWritesEnabled());
   }
 
   public RocksDBConfiguration build() {
@@ -75,6 +90,8 @@ public class RocksDBConfigurationBuilder {
         maxBackgroundCompactions,
         backgroundThreadCount,
         cacheCapacity,
-        label);
+        label,
+        writeBatchCommitsEnabled,
+        syncWritesEnabled);
   }
 }
@@ -20,16 +20,30 @@ public class RocksDBFactoryConfiguration {
   private final int maxBackgroundCompactions;
   private final int backgroundThreadCount;
   private final long cacheCapacity;
+  private final boolean writeBatchCommitsEnabled;
+  private final boolean syncWritesEnabled;
 
   public RocksDBFactoryConfiguration(
       final int maxOpenFiles,
       final int maxBackgroundCompactions,
       final int backgroundThreadCount,
       final long cacheCapacity) {
+    this(maxOpenFiles, maxBackgroundCompactions, backgroundThreadCount, cacheCapacity, false, false);
+  }
+
+  public RocksDBFactoryConfiguration(
+      final int maxOpenFiles,
+      final int maxBackgroundCompactions,
+      final int backgroundThreadCount,
+      final long cacheCapacity,
+      final boolean writeBatchCommitsEnabled,
+      final boolean syncWritesEnabled) {
     this.maxBackgroundCompactions = maxBackgroundCompactions;
     this.backgroundThreadCount = backgroundThreadCount;
     this.maxOpenFiles = maxOpenFiles;
     this.cacheCapacity = cacheCapacity;
+    this.writeBatchCommitsEnabled = writeBatchCommitsEnabled;
+    this.syncWritesEnabled = syncWritesEnabled;
   }
 
   public int getMaxOpenFiles() {
@@ -47,4 +61,12 @@ public class RocksDBFactoryConfiguration {
   public long getCacheCapacity() {
     return cacheCapacity;
   }
+
+  public boolean isWriteBatchCommitsEnabled() {
+    return writeBatchCommitsEnabled;
+  }
+
+  public boolean isSyncWritesEnabled() {
+    return syncWritesEnabled;
+  }
 }
@@ -0,0 +1,162 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.plugin.services.storage.rocksdb.segmented;
+
+import static java.util.stream.Collectors.toUnmodifiableSet;
+
+import org.hyperledger.besu.plugin.services.exception.StorageException;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
+import org.hyperledger.besu.plugin.services.storage.SegmentIdentifier;
+import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDBMetrics;
+import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDbKeyIterator;
+import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDbRangeIterator;
+import org.hyperledger.besu.services.kvstore.SegmentedKeyValueStorage;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.ReadOptions;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.RocksIterator;
+import org.rocksdb.Snapshot;
+
+/**
+ * A read-only view of a {@link RocksDBColumnarKeyValueStorage} pinned to a RocksDB snapshot. The
+ * snapshot must be closed before the storage it was taken from.
+ */
+public class RocksDBColumnarKeyValueSnapshot
+    implements SegmentedKeyValueStorage<ColumnFamilyHandle> {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final RocksDB db;
+  private final Snapshot snapshot;
+  private final ReadOptions readOptions;
+  private final RocksDBMetrics metrics;
+  private final Function<SegmentIdentifier, ColumnFamilyHandle> segmentHandles;
+  private final AtomicBoolean closed = new AtomicBoolean(false);
+
+  RocksDBColumnarKeyValueSnapshot(
+      final RocksDB db,
+      final RocksDBMetrics metrics,
+      final Function<SegmentIdentifier, ColumnFamilyHandle> segmentHandles) {
+    this.db = db;
+    this.metrics = metrics;
+    this.segmentHandles = segmentHandles;
+    this.snapshot = db.getSnapshot();
+    this.readOptions = new ReadOptions().setSnapshot(snapshot);
+  }
+
+  @Override
+  public ColumnFamilyHandle getSegmentIdentifierByName(final SegmentIdentifier segment) {
+    return segmentHandles.apply(segment);
+  }
+
+  @Override
+  public Optional<byte[]> get(final ColumnFamilyHandle segment, final byte[] key)
+      throws StorageException {
+    throwIfClosed();
+
+    try (final OperationTimer.TimingContext ignored = metrics.getReadLatency().startTimer()) {
+      return Optional.ofNullable(db.get(segment, readOptions, key));
+    } catch (final RocksDBException e) {
+      throw new StorageException(e);
+    }
+  }
+
+  @Override
+  public List<Optional<byte[]>> getMultiple(
+      final ColumnFamilyHandle segment, final List<byte[]> keys) throws StorageException {
+    throwIfClosed();
+
+    try (final OperationTimer.TimingContext ignored = metrics.getReadLatency().startTimer()) {
+      return db
+          .multiGetAsList(readOptions, Collections.nCopies(keys.size(), segment), keys)
+          .stream()
+          .map(Optional::ofNullable)
+          .collect(Collectors.toList());
+    } catch (final RocksDBException e) {
+      throw new StorageException(e);
+    }
+  }
+
+  @Override
+  public Stream<byte[]> streamKeys(final ColumnFamilyHandle segmentHandle) {
+    throwIfClosed();
+    final RocksIterator rocksIterator = db.newIterator(segmentHandle, readOptions);
+    rocksIterator.seekToFirst();
+    return RocksDbKeyIterator.create(rocksIterator).toStream();
+  }
+
+  @Override
+  public Stream<Map.Entry<byte[], byte[]>> stream(
+      final ColumnFamilyHandle segmentHandle, final byte[] fromKey, final byte[] toKey) {
+    throwIfClosed();
+    return RocksDbRangeIterator.create(
+            rangeReadOptions ->
+                db.newIterator(segmentHandle, rangeReadOptions.setSnapshot(snapshot)),
+            fromKey,
+            toKey)
+        .toStream();
+  }
+
+  @Override
+  public Set<byte[]> getAllKeysThat(
+      final ColumnFamilyHandle segmentHandle, final Predicate<byte[]> returnCondition) {
+    return streamKeys(segmentHandle).filter(returnCondition).collect(toUnmodifiableSet());
+  }
+
+  @Override
+  public Transaction<ColumnFamilyHandle> startTransaction() throws StorageException {
+    throw new UnsupportedOperationException("Snapshots are read-only");
+  }
+
+  @Override
+  public boolean tryDelete(final ColumnFamilyHandle segmentHandle, final byte[] key) {
+    throw new UnsupportedOperationException("Snapshots are read-only");
+  }
+
+  @Override
+  public void clear(final ColumnFamilyHandle segmentHandle) {
+    throw new UnsupportedOperationException("Snapshots are read-only");
+  }
+
+  @Override
+  public void close() {
+    if (closed.compareAndSet(false, true)) {
+      readOptions.close();
+      db.releaseSnapshot(snapshot);
+    }
+  }
+
+  private void throwIfClosed() {
+    if (closed.get()) {
+      LOG.error("Attempting to use a closed RocksDBColumnarKeyValueSnapshot");
+      throw new IllegalStateException("Snapshot has been closed");
+    }
+  }
+}
@@ -24,6 +24,7 @@ import org.hyperledger.besu.plugin.services.storage.SegmentIdentifier;
 import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDBMetrics;
 import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDBMetricsFactory;
 import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDbKeyIterator;
+import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDbRangeIterator;
 import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDbUtil;
 import org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBConfiguration;
 import org.hyperledger.besu.services.kvstore.SegmentedKeyValueStorage;
@@ -31,6 +32,7 @@ import org.hyperledger.besu.services.kvstore.SegmentedKeyValueStorageTransaction
 
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -57,6 +59,7 @@ import org.rocksdb.Statistics;
 import org.rocksdb.Status;
 import org.rocksdb.TransactionDB;
 import org.rocksdb.TransactionDBOptions;
+import org.rocksdb.WriteBatchWithIndex;
 import org.rocksdb.WriteOptions;
 
 public class RocksDBColumnarKeyValueStorage
@@ -77,6 +80,8 @@ public class RocksDBColumnarKeyValueStorage
   private final Map<String, ColumnFamilyHandle> columnHandlesByName;
   private final RocksDBMetrics metrics;
   private final WriteOptions tryDeleteOptions = new WriteOptions().setNoSlowdown(true);
+  private final boolean writeBatchCommitsEnabled;
+  private final boolean syncWritesEnabled;
 
   public RocksDBColumnarKeyValueStorage(
       final RocksDBConfiguration configuration,
@@ -84,6 +89,8 @@ public class RocksDBColumnarKeyValueStorage
       final MetricsSystem metricsSystem,
       final RocksDBMetricsFactory rocksDBMetricsFactory)
       throws StorageException {
+    writeBatchCommitsEnabled = configuration.isWriteBatchCommitsEnabled();
+    syncWritesEnabled = configuration.isSyncWritesEnabled();
 
     try (final ColumnFamilyOptions columnFamilyOptions = new ColumnFamilyOptions()) {
       final List<ColumnFamilyDescriptor> columnDescriptors =
@@ -159,10 +166,28 @@ public class RocksDBColumnarKeyValueStorage
     }
   }
 
+  @Override
+  public List<Optional<byte[]>> getMultiple(
+      final ColumnFamilyHandle segment, final List<byte[]> keys) throws StorageException {
+    throwIfClosed();
+
+    try (final OperationTimer.TimingContext ignored = metrics.getReadLatency().startTimer()) {
+      return db.multiGetAsList(Collections.nCopies(keys.size(), segment), keys).stream()
+          .map(Optional::ofNullable)
+          .collect(Collectors.toList());
+    } catch (final RocksDBException e) {
+      throw new StorageException(e);
+    }
+  }
+
   @Override
   public Transaction<ColumnFamilyHandle> startTransaction() throws StorageException {
     throwIfClosed();
-    final WriteOptions writeOptions = new WriteOptions();
+    final WriteOptions writeOptions = new WriteOptions().setSync(syncWritesEnabled);
+    if (writeBatchCommitsEnabled) {
+      return new SegmentedKeyValueStorageTransactionTransitionValidatorDecorator<>(
+          new RocksDbWriteBatchTransaction(writeOptions));
+    }
     return new SegmentedKeyValueStorageTransactionTransitionValidatorDecorator<>(
         new RocksDbTransaction(db.beginTransaction(writeOptions), writeOptions));
   }
@@ -174,6 +199,15 @@ public class RocksDBColumnarKeyValueStorage
     return RocksDbKeyIterator.create(rocksIterator).toStream();
   }
 
+  @Override
+  public Stream<Map.Entry<byte[], byte[]>> stream(
+      final ColumnFamilyHandle segmentHandle, final byte[] fromKey, final byte[] toKey) {
+    throwIfClosed();
+    return RocksDbRangeIterator.create(
+            readOptions -> db.newIterator(segmentHandle, readOptions), fromKey, toKey)
+        .toStream();
+  }
+
   @Override
   public boolean tryDelete(final ColumnFamilyHandle segmentHandle, final byte[] key) {
     try {
@@ -212,6 +246,12 @@ public class RocksDBColumnarKeyValueStorage
     }
   }
 
+  @Override
+  public SegmentedKeyValueStorage<ColumnFamilyHandle> takeSnapshot() throws StorageException {
+    throwIfClosed();
+    return new RocksDBColumnarKeyValueSnapshot(db, metrics, this::getSegmentIdentifierByName);
+  }
+
   @Override
   public void close() {
     if (closed.compareAndSet(false, true)) {
@@ -302,4 +342,67 @@ public class RocksDBColumnarKeyValueStorage
       options.close();
     }
   }
+
+  /**
+   * Collects the updates to every segment in a single write batch, which is applied atomically on
+   * commit. Unlike {@link RocksDbTransaction} it takes no row locks, so it is only suited to updates
+   * that do not need to be isolated from concurrent writers of the same keys.
+   */
+  private class RocksDbWriteBatchTransaction implements Transaction<ColumnFamilyHandle> {
+
+    private final WriteBatchWithIndex writeBatch = new WriteBatchWithIndex(true);
+    private final WriteOptions options;
+
+    RocksDbWriteBatchTransaction(final WriteOptions options) {
+      this.options = options;
+    }
+
+    @Override
+    public void put(final ColumnFamilyHandle segment, final byte[] key, final byte[] value) {
+      try (final OperationTimer.TimingContext ignored = metrics.getWriteLatency().startTimer()) {
+        writeBatch.put(segment, key, value);
+      } catch (final RocksDBException e) {
+        throw new StorageException(e);
+      }
+    }
+
+    @Override
+    public void remove(final ColumnFamilyHandle segment, final byte[] key) {
+      try (final OperationTimer.TimingContext ignored = metrics.getRemoveLatency().startTimer()) {
+        writeBatch.delete(segment, key);
+      } catch (final RocksDBException e) {
+        throw new StorageException(e);
+      }
+    }
+
+    @Override
+    public void commit() throws StorageException {
+      try (final OperationTimer.TimingContext ignored = metrics.getCommitLatency().startTimer()) {
+        db.write(options, writeBatch);
+      } catch (final RocksDBException e) {
+        if (e.getMessage().contains(NO_SPACE_LEFT_ON_DEVICE)) {
+          LOG.error(e.getMessage());
+          System.exit(0);
+        }
+        throw new StorageException(e);
+      } finally {
+        close();
+      }
+    }
+
+    @Override
+    public void rollback() {
+      try {
+        writeBatch.clear();
+        metrics.getRollbackCount().inc();
+      } finally {
+        close();
+      }
+    }
+
+    private void close() {
+      writeBatch.close();
+      options.close();
+    }
+  }
 }
@@ -0,0 +1,148 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.plugin.services.storage.rocksdb.unsegmented;
+
+import static java.util.stream.Collectors.toUnmodifiableSet;
+
+import org.hyperledger.besu.plugin.services.exception.StorageException;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
+import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDBMetrics;
+import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDbKeyIterator;
+import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDbRangeIterator;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.rocksdb.ReadOptions;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.RocksIterator;
+import org.rocksdb.Snapshot;
+
+/**
+ * A read-only view of a {@link RocksDBKeyValueStorage} pinned to a RocksDB snapshot. The snapshot
+ * must be closed before the storage it was taken from.
+ */
+public class RocksDBKeyValueSnapshot implements KeyValueStorage {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final RocksDB db;
+  private final Snapshot snapshot;
+  private final ReadOptions readOptions;
+  private final RocksDBMetrics rocksDBMetrics;
+  private final AtomicBoolean closed = new AtomicBoolean(false);
+
+  RocksDBKeyValueSnapshot(final RocksDB db, final RocksDBMetrics rocksDBMetrics) {
+    this.db = db;
+    this.rocksDBMetrics = rocksDBMetrics;
+    this.snapshot = db.getSnapshot();
+    this.readOptions = new ReadOptions().setSnapshot(snapshot);
+  }
+
+  @Override
+  public boolean containsKey(final byte[] key) throws StorageException {
+    return get(key).isPresent();
+  }
+
+  @Override
+  public Optional<byte[]> get(final byte[] key) throws StorageException {
+    throwIfClosed();
+
+    try (final OperationTimer.TimingContext ignored =
+        rocksDBMetrics.getReadLatency().startTimer()) {
+      return Optional.ofNullable(db.get(readOptions, key));
+    } catch (final RocksDBException e) {
+      throw new StorageException(e);
+    }
+  }
+
+  @Override
+  public List<Optional<byte[]>> getMultiple(final List<byte[]> keys) throws StorageException {
+    throwIfClosed();
+
+    try (final OperationTimer.TimingContext ignored =
+        rocksDBMetrics.getReadLatency().startTimer()) {
+      return db.multiGetAsList(readOptions, keys).stream()
+          .map(Optional::ofNullable)
+          .collect(Collectors.toList());
+    } catch (final RocksDBException e) {
+      throw new StorageException(e);
+    }
+  }
+
+  @Override
+  public Set<byte[]> getAllKeysThat(final Predicate<byte[]> returnCondition) {
+    return streamKeys().filter(returnCondition).collect(toUnmodifiableSet());
+  }
+
+  @Override
+  public Stream<byte[]> streamKeys() {
+    throwIfClosed();
+    final RocksIterator rocksIterator = db.newIterator(readOptions);
+    rocksIterator.seekToFirst();
+    return RocksDbKeyIterator.create(rocksIterator).toStream();
+  }
+
+  @Override
+  public Stream<Map.Entry<byte[], byte[]>> stream(final byte[] fromKey, final byte[] toKey) {
+    throwIfClosed();
+    return RocksDbRangeIterator.create(
+            rangeReadOptions -> db.newIterator(rangeReadOptions.setSnapshot(snapshot)),
+            fromKey,
+            toKey)
+        .toStream();
+  }
+
+  @Override
+  public void clear() throws StorageException {
+    throw new UnsupportedOperationException("Snapshots are read-only");
+  }
+
+  @Override
+  public boolean tryDelete(final byte[] key) {
+    throw new UnsupportedOperationException("Snapshots are read-only");
+  }
+
+  @Override
+  public KeyValueStorageTransaction startTransaction() throws StorageException {
+    throw new UnsupportedOperationException("Snapshots are read-only");
+  }
+
+  @Override
+  public void close() {
+    if (closed.compareAndSet(false, true)) {
+      readOptions.close();
+      db.releaseSnapshot(snapshot);
+    }
+  }
+
+  private void throwIfClosed() {
+    if (closed.get()) {
+      LOG.error("Attempting to use a closed RocksDBKeyValueSnapshot");
+      throw new IllegalStateException("Snapshot has been closed");
+    }
+  }
+}
@@ -24,14 +24,18 @@ import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
 import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDBMetrics;
 import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDBMetricsFactory;
 import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDbKeyIterator;
+import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDbRangeIterator;
 import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDbUtil;
 import org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBConfiguration;
 import org.hyperledger.besu.services.kvstore.KeyValueStorageTransactionTransitionValidatorDecorator;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.apache.logging.log4j.LogManager;
@@ -61,11 +65,13 @@ public class RocksDBKeyValueStorage implements KeyValueStorage {
   private final AtomicBoolean closed = new AtomicBoolean(false);
   private final RocksDBMetrics rocksDBMetrics;
   private final WriteOptions tryDeleteOptions = new WriteOptions().setNoSlowdown(true);
+  private final boolean syncWritesEnabled;
 
   public RocksDBKeyValueStorage(
       final RocksDBConfiguration configuration,
       final MetricsSystem metricsSystem,
       final RocksDBMetricsFactory rocksDBMetricsFactory) {
+    syncWritesEnabled = configuration.isSyncWritesEnabled();
 
     try {
       final Statistics stats = new Statistics();
@@ -121,6 +127,20 @@ public class RocksDBKeyValueStorage implements KeyValueStorage {
     }
   }
 
+  @Override
+  public List<Optional<byte[]>> getMultiple(final List<byte[]> keys) throws StorageException {
+    throwIfClosed();
+
+    try (final OperationTimer.TimingContext ignored =
+        rocksDBMetrics.getReadLatency().startTimer()) {
+      return db.multiGetAsList(keys).stream()
+          .map(Optional::ofNullable)
+          .collect(Collectors.toList());
+    } catch (final RocksDBException e) {
+      throw new StorageException(e);
+    }
+  }
+
   @Override
   public Set<byte[]> getAllKeysThat(final Predicate<byte[]> returnCondition) {
     return streamKeys().filter(returnCondition).collect(toUnmodifiableSet());
@@ -133,6 +153,12 @@ public class RocksDBKeyValueStorage implements KeyValueStorage {
     return RocksDbKeyIterator.create(rocksIterator).toStream();
   }
 
+  @Override
+  public Stream<Map.Entry<byte[], byte[]>> stream(final byte[] fromKey, final byte[] toKey) {
+    throwIfClosed();
+    return RocksDbRangeIterator.create(db::newIterator, fromKey, toKey).toStream();
+  }
+
   @Override
   public boolean tryDelete(final byte[] key) {
     try {
@@ -150,11 +176,17 @@ public class RocksDBKeyValueStorage implements KeyValueStorage {
   @Override
   public KeyValueStorageTransaction startTransaction() throws StorageException {
     throwIfClosed();
-    final WriteOptions options = new WriteOptions();
+    final WriteOptions options = new WriteOptions().setSync(syncWritesEnabled);
     return new KeyValueStorageTransactionTransitionValidatorDecorator(
         new RocksDBTransaction(db.beginTransaction(options), options, rocksDBMetrics));
   }
 
+  @Override
+  public KeyValueStorage takeSnapshot() throws StorageException {
+    throwIfClosed();
+    return new RocksDBKeyValueSnapshot(db, rocksDBMetrics);
+  }
+
   @Override
   public void close() {
     if (closed.compareAndSet(false, true)) {
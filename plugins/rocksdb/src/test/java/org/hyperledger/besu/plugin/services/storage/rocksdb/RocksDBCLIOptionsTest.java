@@ -34,6 +34,9 @@ public class RocksDBCLIOptionsTest {
       "--Xplugin-rocksdb-max-background-compactions";
   private static final String BACKGROUND_THREAD_COUNT_FLAG =
       "--Xplugin-rocksdb-background-thread-count";
+  private static final String WRITE_BATCH_COMMITS_ENABLED_FLAG =
+      "--Xplugin-rocksdb-write-batch-commits-enabled";
+  private static final String SYNC_WRITES_ENABLED_FLAG = "--Xplugin-rocksdb-sync-writes-enabled";
 
   @Test
   public void defaultValues() {
@@ -48,6 +51,8 @@ public class RocksDBCLIOptionsTest {
     assertThat(configuration.getMaxBackgroundCompactions())
         .isEqualTo(DEFAULT_MAX_BACKGROUND_COMPACTIONS);
     assertThat(configuration.getMaxOpenFiles()).isEqualTo(DEFAULT_MAX_OPEN_FILES);
+    assertThat(configuration.isWriteBatchCommitsEnabled()).isFalse();
+    assertThat(configuration.isSyncWritesEnabled()).isFalse();
   }
 
   @Test
@@ -115,4 +120,18 @@ public class RocksDBCLIOptionsTest {
         .isEqualTo(DEFAULT_MAX_BACKGROUND_COMPACTIONS);
     assertThat(configuration.getMaxOpenFiles()).isEqualTo(expectedMaxOpenFiles);
   }
+
+  @Test
+  public void customWriteBatchCommits() {
+    final RocksDBCLIOptions options = RocksDBCLIOptions.create();
+
+    new CommandLine(options)
+        .parse(WRITE_BATCH_COMMITS_ENABLED_FLAG, "true", SYNC_WRITES_ENABLED_FLAG, "true");
+
+    final RocksDBFactoryConfiguration configuration = options.toDomainObject();
+    assertThat(configuration).isNotNull();
+    assertThat(configuration.isWriteBatchCommitsEnabled()).isTrue();
+    assertThat(configuration.isSyncWritesEnabled()).isTrue();
+    assertThat(configuration.getMaxOpenFiles()).isEqualTo(DEFAULT_MAX_OPEN_FILES);
+  }
 }
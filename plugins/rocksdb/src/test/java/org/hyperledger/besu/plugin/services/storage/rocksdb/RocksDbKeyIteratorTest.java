@@ -0,0 +1,67 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.plugin.services.storage.rocksdb;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.plugin.services.exception.StorageException;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.RocksIterator;
+
+public class RocksDbKeyIteratorTest {
+
+  private static final byte[] KEY1 = {1};
+  private static final byte[] KEY2 = {2};
+
+  private final RocksIterator rocksIterator = mock(RocksIterator.class);
+
+  @Test
+  public void shouldStreamKeysUntilIteratorIsExhausted() {
+    when(rocksIterator.isValid()).thenReturn(true, true, false);
+    when(rocksIterator.key()).thenReturn(KEY1, KEY2);
+
+    final List<byte[]> keys;
+    try (final Stream<byte[]> stream = RocksDbKeyIterator.create(rocksIterator).toStream()) {
+      keys = stream.collect(Collectors.toList());
+    }
+
+    assertThat(keys).containsExactly(KEY1, KEY2);
+    verify(rocksIterator).close();
+  }
+
+  @Test
+  public void shouldThrowRatherThanEndStreamWhenIteratorFails() throws Exception {
+    when(rocksIterator.isValid()).thenReturn(true, false);
+    when(rocksIterator.key()).thenReturn(KEY1);
+    doThrow(new RocksDBException("Corruption")).when(rocksIterator).status();
+
+    try (final Stream<byte[]> stream = RocksDbKeyIterator.create(rocksIterator).toStream()) {
+      assertThatThrownBy(() -> stream.collect(Collectors.toList()))
+          .isInstanceOf(StorageException.class)
+          .hasCauseInstanceOf(RocksDBException.class);
+    }
+  }
+}
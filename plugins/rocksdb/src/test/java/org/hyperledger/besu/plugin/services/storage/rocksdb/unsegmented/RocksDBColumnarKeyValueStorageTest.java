@@ -163,7 +163,7 @@ public class RocksDBColumnarKeyValueStorageTest extends AbstractKeyValueStorageT
     }
   }
 
-  private SegmentedKeyValueStorage<ColumnFamilyHandle> createSegmentedStore() throws Exception {
+  protected SegmentedKeyValueStorage<ColumnFamilyHandle> createSegmentedStore() throws Exception {
     return new RocksDBColumnarKeyValueStorage(
         new RocksDBConfigurationBuilder().databaseDir(folder.newFolder().toPath()).build(),
         Arrays.asList(TestSegment.FOO, TestSegment.BAR),
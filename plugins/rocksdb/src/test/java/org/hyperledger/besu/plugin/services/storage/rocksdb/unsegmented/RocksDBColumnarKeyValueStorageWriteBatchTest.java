@@ -0,0 +1,133 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.plugin.services.storage.rocksdb.unsegmented;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
+import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDBMetricsFactory;
+import org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBConfigurationBuilder;
+import org.hyperledger.besu.plugin.services.storage.rocksdb.segmented.RocksDBColumnarKeyValueStorage;
+import org.hyperledger.besu.services.kvstore.SegmentedKeyValueStorage;
+import org.hyperledger.besu.services.kvstore.SegmentedKeyValueStorage.Transaction;
+import org.hyperledger.besu.services.kvstore.SegmentedKeyValueStorageAdapter;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.rocksdb.ColumnFamilyHandle;
+
+public class RocksDBColumnarKeyValueStorageWriteBatchTest
+    extends RocksDBColumnarKeyValueStorageTest {
+
+  @Override
+  protected SegmentedKeyValueStorage<ColumnFamilyHandle> createSegmentedStore() throws Exception {
+    return new RocksDBColumnarKeyValueStorage(
+        new RocksDBConfigurationBuilder()
+            .databaseDir(folder.newFolder().toPath())
+            .writeBatchCommitsEnabled(true)
+            .syncWritesEnabled(true)
+            .build(),
+        Arrays.asList(TestSegment.FOO, TestSegment.BAR),
+        new NoOpMetricsSystem(),
+        RocksDBMetricsFactory.PUBLIC_ROCKS_DB_METRICS);
+  }
+
+  @Test
+  public void writeBatchCommitsAllSegmentsTogether() throws Exception {
+    final SegmentedKeyValueStorage<ColumnFamilyHandle> store = createSegmentedStore();
+    final ColumnFamilyHandle fooSegment = store.getSegmentIdentifierByName(TestSegment.FOO);
+    final ColumnFamilyHandle barSegment = store.getSegmentIdentifierByName(TestSegment.BAR);
+
+    final Transaction<ColumnFamilyHandle> tx = store.startTransaction();
+    tx.put(fooSegment, bytesOf(1), bytesOf(1));
+    tx.put(barSegment, bytesOf(2), bytesOf(2));
+    tx.put(fooSegment, bytesOf(1), bytesOf(3));
+
+    assertThat(store.get(fooSegment, bytesOf(1))).isEmpty();
+    assertThat(store.get(barSegment, bytesOf(2))).isEmpty();
+
+    tx.commit();
+
+    assertThat(store.get(fooSegment, bytesOf(1))).contains(bytesOf(3));
+    assertThat(store.get(barSegment, bytesOf(2))).contains(bytesOf(2));
+
+    store.close();
+  }
+
+  @Test
+  public void writeBatchRollbackDiscardsUpdates() throws Exception {
+    final SegmentedKeyValueStorage<ColumnFamilyHandle> store = createSegmentedStore();
+    final ColumnFamilyHandle fooSegment = store.getSegmentIdentifierByName(TestSegment.FOO);
+
+    final Transaction<ColumnFamilyHandle> tx = store.startTransaction();
+    tx.put(fooSegment, bytesOf(1), bytesOf(1));
+    tx.rollback();
+
+    assertThat(store.get(fooSegment, bytesOf(1))).isEmpty();
+
+    store.close();
+  }
+
+  @Test
+  public void transactionsOfSegmentsOfTheSameStoreCommitTogether() throws Exception {
+    final SegmentedKeyValueStorage<ColumnFamilyHandle> store = createSegmentedStore();
+    final KeyValueStorage fooStorage =
+        new SegmentedKeyValueStorageAdapter<>(TestSegment.FOO, store);
+    final KeyValueStorage barStorage =
+        new SegmentedKeyValueStorageAdapter<>(TestSegment.BAR, store);
+
+    final List<KeyValueStorageTransaction> transactions =
+        SegmentedKeyValueStorageAdapter.startTransactions(List.of(fooStorage, barStorage));
+    transactions.get(0).put(bytesOf(1), bytesOf(1));
+    transactions.get(1).put(bytesOf(2), bytesOf(2));
+
+    transactions.get(0).commit();
+    assertThat(fooStorage.get(bytesOf(1))).isEmpty();
+
+    transactions.get(1).commit();
+    assertThat(fooStorage.get(bytesOf(1))).contains(bytesOf(1));
+    assertThat(barStorage.get(bytesOf(2))).contains(bytesOf(2));
+
+    store.close();
+  }
+
+  @Test
+  public void rollingBackOneSegmentTransactionDiscardsTheOthers() throws Exception {
+    final SegmentedKeyValueStorage<ColumnFamilyHandle> store = createSegmentedStore();
+    final KeyValueStorage fooStorage =
+        new SegmentedKeyValueStorageAdapter<>(TestSegment.FOO, store);
+    final KeyValueStorage barStorage =
+        new SegmentedKeyValueStorageAdapter<>(TestSegment.BAR, store);
+
+    final List<KeyValueStorageTransaction> transactions =
+        SegmentedKeyValueStorageAdapter.startTransactions(List.of(fooStorage, barStorage));
+    transactions.get(0).put(bytesOf(1), bytesOf(1));
+    transactions.get(1).put(bytesOf(2), bytesOf(2));
+
+    transactions.get(1).rollback();
+    assertThatThrownBy(() -> transactions.get(0).commit())
+        .isInstanceOf(IllegalStateException.class);
+
+    assertThat(fooStorage.get(bytesOf(1))).isEmpty();
+    assertThat(barStorage.get(bytesOf(2))).isEmpty();
+
+    store.close();
+  }
+}
@@ -14,6 +14,7 @@
  */
 package org.hyperledger.besu.services.kvstore;
 
+import static java.util.stream.Collectors.toUnmodifiableList;
 import static java.util.stream.Collectors.toUnmodifiableSet;
 
 import org.hyperledger.besu.plugin.services.exception.StorageException;
@@ -21,8 +22,11 @@ import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
 import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
 
 import java.io.PrintStream;
+import java.util.AbstractMap;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -75,6 +79,19 @@ public class InMemoryKeyValueStorage implements KeyValueStorage {
     }
   }
 
+  @Override
+  public List<Optional<byte[]>> getMultiple(final List<byte[]> keys) throws StorageException {
+    final Lock lock = rwLock.readLock();
+    lock.lock();
+    try {
+      return keys.stream()
+          .map(key -> Optional.ofNullable(hashValueStore.get(Bytes.wrap(key))))
+          .collect(toUnmodifiableList());
+    } finally {
+      lock.unlock();
+    }
+  }
+
   @Override
   public Set<byte[]> getAllKeysThat(final Predicate<byte[]> returnCondition) {
     return streamKeys().filter(returnCondition).collect(toUnmodifiableSet());
@@ -91,6 +108,29 @@ public class InMemoryKeyValueStorage implements KeyValueStorage {
     }
   }
 
+  @Override
+  public Stream<Map.Entry<byte[], byte[]>> stream(final byte[] fromKey, final byte[] toKey) {
+    final Lock lock = rwLock.readLock();
+    lock.lock();
+    try {
+      final List<Map.Entry<byte[], byte[]>> entries =
+          hashValueStore.entrySet().stream()
+              .<Map.Entry<byte[], byte[]>>map(
+                  entry ->
+                      new AbstractMap.SimpleImmutableEntry<>(
+                          entry.getKey().toArrayUnsafe(), entry.getValue()))
+              .filter(
+                  entry ->
+                      Arrays.compareUnsigned(entry.getKey(), fromKey) >= 0
+                          && Arrays.compareUnsigned(entry.getKey(), toKey) < 0)
+              .sorted((a, b) -> Arrays.compareUnsigned(a.getKey(), b.getKey()))
+              .collect(toUnmodifiableList());
+      return entries.stream();
+    } finally {
+      lock.unlock();
+    }
+  }
+
   @Override
   public boolean tryDelete(final byte[] key) {
     final Lock lock = rwLock.writeLock();
@@ -113,10 +153,43 @@ public class InMemoryKeyValueStorage implements KeyValueStorage {
     return new KeyValueStorageTransactionTransitionValidatorDecorator(new InMemoryTransaction());
   }
 
+  @Override
+  public KeyValueStorage takeSnapshot() {
+    final Lock lock = rwLock.readLock();
+    lock.lock();
+    try {
+      return new InMemorySnapshot(new HashMap<>(hashValueStore));
+    } finally {
+      lock.unlock();
+    }
+  }
+
   public Set<Bytes> keySet() {
     return Set.copyOf(hashValueStore.keySet());
   }
 
+  static class InMemorySnapshot extends InMemoryKeyValueStorage {
+
+    InMemorySnapshot(final Map<Bytes, byte[]> hashValueStore) {
+      super(hashValueStore);
+    }
+
+    @Override
+    public void clear() {
+      throw new UnsupportedOperationException("Snapshots are read-only");
+    }
+
+    @Override
+    public boolean tryDelete(final byte[] key) {
+      throw new UnsupportedOperationException("Snapshots are read-only");
+    }
+
+    @Override
+    public KeyValueStorageTransaction startTransaction() {
+      throw new UnsupportedOperationException("Snapshots are read-only");
+    }
+  }
+
   private class InMemoryTransaction implements KeyValueStorageTransaction {
 
     private Map<Bytes, byte[]> updatedValues = new HashMap<>();
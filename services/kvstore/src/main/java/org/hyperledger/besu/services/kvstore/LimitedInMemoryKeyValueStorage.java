@@ -14,14 +14,18 @@
  */
 package org.hyperledger.besu.services.kvstore;
 
+import static java.util.stream.Collectors.toUnmodifiableList;
 import static java.util.stream.Collectors.toUnmodifiableSet;
 
 import org.hyperledger.besu.plugin.services.exception.StorageException;
 import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
 import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
 
+import java.util.AbstractMap;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -95,6 +99,29 @@ public class LimitedInMemoryKeyValueStorage implements KeyValueStorage {
     }
   }
 
+  @Override
+  public Stream<Map.Entry<byte[], byte[]>> stream(final byte[] fromKey, final byte[] toKey) {
+    final Lock lock = rwLock.readLock();
+    lock.lock();
+    try {
+      final List<Map.Entry<byte[], byte[]>> entries =
+          storage.asMap().entrySet().stream()
+              .<Map.Entry<byte[], byte[]>>map(
+                  entry ->
+                      new AbstractMap.SimpleImmutableEntry<>(
+                          entry.getKey().toArrayUnsafe(), entry.getValue()))
+              .filter(
+                  entry ->
+                      Arrays.compareUnsigned(entry.getKey(), fromKey) >= 0
+                          && Arrays.compareUnsigned(entry.getKey(), toKey) < 0)
+              .sorted((a, b) -> Arrays.compareUnsigned(a.getKey(), b.getKey()))
+              .collect(toUnmodifiableList());
+      return entries.stream();
+    } finally {
+      lock.unlock();
+    }
+  }
+
   @Override
   public boolean tryDelete(final byte[] key) {
     final Lock lock = rwLock.writeLock();
@@ -109,6 +136,17 @@ public class LimitedInMemoryKeyValueStorage implements KeyValueStorage {
     return false;
   }
 
+  @Override
+  public KeyValueStorage takeSnapshot() {
+    final Lock lock = rwLock.readLock();
+    lock.lock();
+    try {
+      return new InMemoryKeyValueStorage.InMemorySnapshot(new HashMap<>(storage.asMap()));
+    } finally {
+      lock.unlock();
+    }
+  }
+
   @Override
   public KeyValueStorageTransaction startTransaction() throws StorageException {
     return new KeyValueStorageTransactionTransitionValidatorDecorator(new MemoryTransaction());
@@ -18,9 +18,14 @@ import org.hyperledger.besu.plugin.services.exception.StorageException;
 import org.hyperledger.besu.plugin.services.storage.SegmentIdentifier;
 
 import java.io.Closeable;
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -45,6 +50,18 @@ public interface SegmentedKeyValueStorage<S> extends Closeable {
     return get(segment, key).isPresent();
   }
 
+  /**
+   * Get the values from the associated segment for each of the given keys in a single batch.
+   *
+   * @param segment the segment
+   * @param keys Indexes into persistent data repository.
+   * @return The values persisted at each of the key indexes, in the same order as the keys.
+   */
+  default List<Optional<byte[]>> getMultiple(final S segment, final List<byte[]> keys)
+      throws StorageException {
+    return keys.stream().map(key -> get(segment, key)).collect(Collectors.toList());
+  }
+
   /**
    * Begins a transaction. Returns a transaction object that can be updated and committed.
    *
@@ -60,6 +77,34 @@ public interface SegmentedKeyValueStorage<S> extends Closeable {
    */
   Stream<byte[]> streamKeys(final S segmentHandle);
 
+  /**
+   * Returns a stream of the entries of the segment whose keys are within the given range, ordered
+   * by key. Keys are compared lexicographically as unsigned bytes.
+   *
+   * <p>The default implementation streams every key of the segment, sorts the ones in the range and
+   * then reads their values one at a time, so its cost grows with the size of the whole segment
+   * rather than of the range. Implementations that can seek to a key should override it.
+   *
+   * @param segmentHandle The segment handle whose entries we want to stream.
+   * @param fromKey The lowest key to return, inclusive.
+   * @param toKey The upper bound of the keys to return, exclusive.
+   * @return An ordered stream of the entries in the range.
+   */
+  default Stream<Map.Entry<byte[], byte[]>> stream(
+      final S segmentHandle, final byte[] fromKey, final byte[] toKey) {
+    return streamKeys(segmentHandle)
+        .filter(
+            key ->
+                Arrays.compareUnsigned(key, fromKey) >= 0
+                    && Arrays.compareUnsigned(key, toKey) < 0)
+        .sorted(Arrays::compareUnsigned)
+        .flatMap(
+            key ->
+                get(segmentHandle, key)
+                    .map(value -> new AbstractMap.SimpleImmutableEntry<>(key, value))
+                    .stream());
+  }
+
   /**
    * Delete the value corresponding to the given key in the given segment if a write lock can be
    * instantly acquired on the underlying storage. Do nothing otherwise.
@@ -76,6 +121,18 @@ public interface SegmentedKeyValueStorage<S> extends Closeable {
 
   void clear(S segmentHandle);
 
+  /**
+   * Takes a read-only, point-in-time view of every segment of the storage. Segment handles of this
+   * storage can be used with the snapshot, which must be closed to release it.
+   *
+   * @return A read-only view of the storage as it is now.
+   * @throws UnsupportedOperationException if the storage does not support snapshots.
+   */
+  default SegmentedKeyValueStorage<S> takeSnapshot() throws StorageException {
+    throw new UnsupportedOperationException(
+        getClass().getSimpleName() + " does not support snapshots");
+  }
+
   /**
    * Represents a set of changes to be committed atomically. A single transaction is not
    * thread-safe, but multiple transactions can execute concurrently.
@@ -14,23 +14,31 @@
  */
 package org.hyperledger.besu.services.kvstore;
 
+import static com.google.common.base.Preconditions.checkState;
+
 import org.hyperledger.besu.plugin.services.exception.StorageException;
 import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
 import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
 import org.hyperledger.besu.plugin.services.storage.SegmentIdentifier;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public class SegmentedKeyValueStorageAdapter<S> implements KeyValueStorage {
+  private final SegmentIdentifier segment;
   private final S segmentHandle;
   private final SegmentedKeyValueStorage<S> storage;
 
   public SegmentedKeyValueStorageAdapter(
       final SegmentIdentifier segment, final SegmentedKeyValueStorage<S> storage) {
+    this.segment = segment;
     this.segmentHandle = storage.getSegmentIdentifierByName(segment);
     this.storage = storage;
   }
@@ -50,6 +58,11 @@ public class SegmentedKeyValueStorageAdapter<S> implements KeyValueStorage {
     return storage.get(segmentHandle, key);
   }
 
+  @Override
+  public List<Optional<byte[]>> getMultiple(final List<byte[]> keys) throws StorageException {
+    return storage.getMultiple(segmentHandle, keys);
+  }
+
   @Override
   public Set<byte[]> getAllKeysThat(final Predicate<byte[]> returnCondition) {
     return storage.getAllKeysThat(segmentHandle, returnCondition);
@@ -60,6 +73,11 @@ public class SegmentedKeyValueStorageAdapter<S> implements KeyValueStorage {
     return storage.streamKeys(segmentHandle);
   }
 
+  @Override
+  public Stream<Map.Entry<byte[], byte[]>> stream(final byte[] fromKey, final byte[] toKey) {
+    return storage.stream(segmentHandle, fromKey, toKey);
+  }
+
   @Override
   public boolean tryDelete(final byte[] key) {
     return storage.tryDelete(segmentHandle, key);
@@ -70,6 +88,57 @@ public class SegmentedKeyValueStorageAdapter<S> implements KeyValueStorage {
     storage.close();
   }
 
+  @Override
+  public KeyValueStorage takeSnapshot() throws StorageException {
+    return new SegmentedKeyValueStorageAdapter<>(segment, storage.takeSnapshot());
+  }
+
+  /**
+   * Starts a transaction for each of the given storages. When every storage is a segment of the
+   * same segmented storage, the returned transactions are views over a single transaction of that
+   * storage, which commits the updates of all the segments atomically once each view has been
+   * committed, and is rolled back as soon as any view is rolled back. Otherwise each storage gets
+   * its own, independent transaction.
+   *
+   * @param storages the storages to update
+   * @return a transaction for each of the storages, in the same order
+   * @throws StorageException problem encountered when starting the transactions
+   */
+  public static List<KeyValueStorageTransaction> startTransactions(
+      final List<KeyValueStorage> storages) throws StorageException {
+    if (storages.isEmpty() || !(storages.get(0) instanceof SegmentedKeyValueStorageAdapter)) {
+      return startIndependentTransactions(storages);
+    }
+    final SegmentedKeyValueStorageAdapter<?> first =
+        (SegmentedKeyValueStorageAdapter<?>) storages.get(0);
+    for (final KeyValueStorage storage : storages) {
+      if (!(storage instanceof SegmentedKeyValueStorageAdapter)
+          || ((SegmentedKeyValueStorageAdapter<?>) storage).storage != first.storage) {
+        return startIndependentTransactions(storages);
+      }
+    }
+    return first.startSharedTransactions(storages);
+  }
+
+  private static List<KeyValueStorageTransaction> startIndependentTransactions(
+      final List<KeyValueStorage> storages) {
+    return storages.stream().map(KeyValueStorage::startTransaction).collect(Collectors.toList());
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<KeyValueStorageTransaction> startSharedTransactions(
+      final List<KeyValueStorage> storages) {
+    final SharedTransaction<S> transaction =
+        new SharedTransaction<>(storage.startTransaction(), storages.size());
+    final List<KeyValueStorageTransaction> views = new ArrayList<>(storages.size());
+    for (final KeyValueStorage segmentStorage : storages) {
+      views.add(
+          new SharedTransactionView<>(
+              transaction, ((SegmentedKeyValueStorageAdapter<S>) segmentStorage).segmentHandle));
+    }
+    return views;
+  }
+
   @Override
   public KeyValueStorageTransaction startTransaction() throws StorageException {
     final SegmentedKeyValueStorage.Transaction<S> transaction = storage.startTransaction();
@@ -96,4 +165,67 @@ public class SegmentedKeyValueStorageAdapter<S> implements KeyValueStorage {
       }
     };
   }
+
+  private static class SharedTransaction<S> {
+    private final SegmentedKeyValueStorage.Transaction<S> transaction;
+    private int pendingCommits;
+    private boolean rolledBack;
+
+    SharedTransaction(
+        final SegmentedKeyValueStorage.Transaction<S> transaction, final int pendingCommits) {
+      this.transaction = transaction;
+      this.pendingCommits = pendingCommits;
+    }
+
+    void commit() {
+      checkState(!rolledBack, "Cannot commit a rolled back transaction.");
+      if (--pendingCommits == 0) {
+        transaction.commit();
+      }
+    }
+
+    void rollback() {
+      if (!rolledBack) {
+        rolledBack = true;
+        transaction.rollback();
+      }
+    }
+  }
+
+  private static class SharedTransactionView<S> implements KeyValueStorageTransaction {
+    private final SharedTransaction<S> transaction;
+    private final S segmentHandle;
+    private boolean active = true;
+
+    SharedTransactionView(final SharedTransaction<S> transaction, final S segmentHandle) {
+      this.transaction = transaction;
+      this.segmentHandle = segmentHandle;
+    }
+
+    @Override
+    public void put(final byte[] key, final byte[] value) {
+      checkState(active, "Cannot invoke put() on a completed transaction.");
+      transaction.transaction.put(segmentHandle, key, value);
+    }
+
+    @Override
+    public void remove(final byte[] key) {
+      checkState(active, "Cannot invoke remove() on a completed transaction.");
+      transaction.transaction.remove(segmentHandle, key);
+    }
+
+    @Override
+    public void commit() throws StorageException {
+      checkState(active, "Cannot commit a completed transaction.");
+      active = false;
+      transaction.commit();
+    }
+
+    @Override
+    public void rollback() {
+      checkState(active, "Cannot rollback a completed transaction.");
+      active = false;
+      transaction.rollback();
+    }
+  }
 }
@@ -0,0 +1,496 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.services.tasks;
+
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * A task collection persisted in a dedicated key value storage, so that both the pending tasks and
+ * the tasks being processed survive a restart.
+ *
+ * <p>Tasks are spread over independently locked stripes according to their identifier. A task is
+ * not added again while a task with the same identifier is pending or being processed. Tasks with
+ * the highest priority are removed first, in the order they were added for a given priority. The
+ * tasks with the highest priority of each stripe are cached in memory, the others are only read
+ * back from the storage once the cache is exhausted.
+ *
+ * <p>A task stays stored as pending until it is completed, removing it only takes it out of the
+ * cache. Tasks being processed when the collection is closed are thus pending again once it is
+ * reopened. The tasks added together by {@link #addAll(Collection)} are stored in a single
+ * transaction.
+ */
+public class KeyValueStorageTaskCollection<T> implements TaskCollection<T> {
+  private static final Logger LOG = LogManager.getLogger();
+
+  @VisibleForTesting static final int STRIPE_COUNT = 16;
+  public static final int MAX_PRIORITY = 0xFF;
+
+  private static final byte PENDING_PREFIX = 0x00;
+  private static final byte INDEX_PREFIX = 0x02;
+  // The sequence number is stored in the lowest 7 bytes of an order key, below the priority
+  private static final int SEQUENCE_BITS = 56;
+  private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+  private final KeyValueStorage storage;
+  private final Function<T, Bytes> serializer;
+  private final Function<Bytes, T> deserializer;
+  private final Function<T, Bytes> identifier;
+  private final ToIntFunction<T> priority;
+  private final int maxCacheSizePerStripe;
+  private final List<Stripe> stripes = new ArrayList<>(STRIPE_COUNT);
+  private final AtomicLong sequence = new AtomicLong();
+  private final AtomicLong inFlightCount = new AtomicLong();
+  // Incremented when the collection is cleared, tasks removed before that are then ignored.
+  // Guarded by the locks of all the stripes.
+  private long generation = 0;
+  private volatile boolean closed = false;
+
+  /**
+   * Opens a task collection, resuming the tasks left in {@code storage} by a previous instance,
+   * including the ones that were being processed when that instance stopped.
+   *
+   * @param storage the storage dedicated to the tasks of this collection
+   * @param serializer serializes the tasks to store
+   * @param deserializer deserializes stored tasks
+   * @param identifier identifies the tasks that should only be added once
+   * @param priority the priority of a task, between 0 and {@link #MAX_PRIORITY}
+   * @param maxCacheSize the maximum number of pending tasks to cache in memory
+   */
+  public KeyValueStorageTaskCollection(
+      final KeyValueStorage storage,
+      final Function<T, Bytes> serializer,
+      final Function<Bytes, T> deserializer,
+      final Function<T, Bytes> identifier,
+      final ToIntFunction<T> priority,
+      final int maxCacheSize) {
+    this.storage = storage;
+    this.serializer = serializer;
+    this.deserializer = deserializer;
+    this.identifier = identifier;
+    this.priority = priority;
+    this.maxCacheSizePerStripe = Math.max(1, maxCacheSize / STRIPE_COUNT);
+    for (int i = 0; i < STRIPE_COUNT; i++) {
+      stripes.add(new Stripe((byte) i));
+    }
+    resume();
+  }
+
+  private void resume() {
+    long lastSequence = 0;
+    try (final Stream<byte[]> keys = storage.streamKeys()) {
+      final Iterator<byte[]> iterator = keys.iterator();
+      while (iterator.hasNext()) {
+        final byte[] key = iterator.next();
+        if (key[0] == PENDING_PREFIX) {
+          stripes.get(key[1]).pendingCount.incrementAndGet();
+          lastSequence = Math.max(lastSequence, orderOf(key) & SEQUENCE_MASK);
+        }
+      }
+    }
+    sequence.set(lastSequence);
+    for (final Stripe stripe : stripes) {
+      // The stored tasks are read back once needed
+      stripe.cacheComplete = stripe.pendingCount.get() == 0;
+    }
+    if (size() > 0) {
+      LOG.info("Resuming {} pending tasks", size());
+    }
+  }
+
+  @Override
+  public void add(final T taskData) {
+    addAll(Collections.singletonList(taskData));
+  }
+
+  @Override
+  public void addAll(final Collection<T> tasks) {
+    assertNotClosed();
+    // Stripes are locked in ascending order so that concurrent batches can't deadlock
+    final Map<Byte, List<NewTask>> tasksByStripe = new TreeMap<>();
+    for (final T task : tasks) {
+      final NewTask newTask = new NewTask(task);
+      tasksByStripe.computeIfAbsent(newTask.stripe.index, i -> new ArrayList<>()).add(newTask);
+    }
+    if (tasksByStripe.isEmpty()) {
+      return;
+    }
+    final List<Stripe> lockedStripes = new ArrayList<>();
+    tasksByStripe.keySet().forEach(index -> lockedStripes.add(stripes.get(index)));
+    lockedStripes.forEach(stripe -> stripe.lock.lock());
+    try {
+      final Set<Bytes> ids = new HashSet<>();
+      final List<NewTask> candidates = new ArrayList<>();
+      tasksByStripe.values().forEach(candidates::addAll);
+      candidates.removeIf(task -> !ids.add(task.id));
+      final List<byte[]> indexKeys = new ArrayList<>(candidates.size());
+      candidates.forEach(task -> indexKeys.add(indexKey(task.id).toArrayUnsafe()));
+      final List<Optional<byte[]>> existing = storage.getMultiple(indexKeys);
+
+      final List<NewTask> added = new ArrayList<>(candidates.size());
+      final KeyValueStorageTransaction transaction = storage.startTransaction();
+      for (int i = 0; i < candidates.size(); i++) {
+        if (existing.get(i).isPresent()) {
+          // Already pending or being processed
+          continue;
+        }
+        final NewTask task = candidates.get(i);
+        task.order = nextOrder(task.priority);
+        transaction.put(
+            pendingKey(task.stripe.index, task.order).toArrayUnsafe(), task.data.toArrayUnsafe());
+        transaction.put(indexKeys.get(i), Bytes.EMPTY.toArrayUnsafe());
+        added.add(task);
+      }
+      if (added.isEmpty()) {
+        transaction.rollback();
+        return;
+      }
+      transaction.commit();
+      added.forEach(task -> task.stripe.addPending(task.order, task.data));
+    } finally {
+      lockedStripes.forEach(stripe -> stripe.lock.unlock());
+    }
+  }
+
+  @Override
+  public Task<T> remove() {
+    assertNotClosed();
+    while (true) {
+      Stripe best = null;
+      long bestOrder = 0;
+      for (final Stripe stripe : stripes) {
+        final Long head = stripe.head();
+        if (head != null && (best == null || Long.compareUnsigned(head, bestOrder) < 0)) {
+          best = stripe;
+          bestOrder = head;
+        }
+      }
+      if (best == null) {
+        return null;
+      }
+      final Task<T> task = best.poll();
+      if (task != null) {
+        return task;
+      }
+      // Another thread took the task first, look for the next one
+    }
+  }
+
+  @Override
+  public long size() {
+    long size = 0;
+    for (final Stripe stripe : stripes) {
+      size += stripe.pendingCount.get();
+    }
+    return size;
+  }
+
+  /**
+   * Returns the number of tasks held in memory, either cached or being processed.
+   *
+   * @return the number of tasks held in memory
+   */
+  public int cacheSize() {
+    long cacheSize = inFlightCount.get();
+    for (final Stripe stripe : stripes) {
+      cacheSize += stripe.cachedCount.get();
+    }
+    return (int) Math.min(cacheSize, Integer.MAX_VALUE);
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  @Override
+  public void clear() {
+    assertNotClosed();
+    stripes.forEach(stripe -> stripe.lock.lock());
+    try {
+      generation++;
+      storage.clear();
+      inFlightCount.set(0);
+      stripes.forEach(Stripe::reset);
+    } finally {
+      stripes.forEach(stripe -> stripe.lock.unlock());
+    }
+  }
+
+  @Override
+  public boolean allTasksCompleted() {
+    return isEmpty() && inFlightCount.get() == 0;
+  }
+
+  /** Closes the collection. The storage is left open, it is owned by whoever provided it. */
+  @Override
+  public void close() {
+    closed = true;
+  }
+
+  private void assertNotClosed() {
+    if (closed) {
+      throw new IllegalStateException("Attempt to access closed " + getClass().getSimpleName());
+    }
+  }
+
+  private Stripe stripeFor(final Bytes id) {
+    return stripes.get(Math.floorMod(id.hashCode(), STRIPE_COUNT));
+  }
+
+  private int clampPriority(final T task) {
+    return Math.max(0, Math.min(MAX_PRIORITY, priority.applyAsInt(task)));
+  }
+
+  // Order keys sort by descending priority first, then by ascending sequence number
+  private long nextOrder(final int taskPriority) {
+    return ((long) (MAX_PRIORITY - taskPriority) << SEQUENCE_BITS)
+        | (sequence.incrementAndGet() & SEQUENCE_MASK);
+  }
+
+  private static Bytes pendingKey(final byte stripe, final long order) {
+    return Bytes.concatenate(Bytes.of(PENDING_PREFIX, stripe), Bytes.ofUnsignedLong(order));
+  }
+
+  private static long orderOf(final byte[] pendingKey) {
+    return Bytes.wrap(pendingKey, 2, Long.BYTES).toLong();
+  }
+
+  private static Bytes indexKey(final Bytes id) {
+    return Bytes.concatenate(Bytes.of(INDEX_PREFIX), id);
+  }
+
+  /** The tasks whose identifier falls in a stripe. Mutated only while holding its lock. */
+  private class Stripe {
+    private final ReentrantLock lock = new ReentrantLock();
+    private final byte index;
+    // The pending tasks of the stripe ordered before cacheLimit, or all of them if cacheComplete
+    private final ConcurrentSkipListMap<Long, Bytes> cache =
+        new ConcurrentSkipListMap<>(Long::compareUnsigned);
+    private final AtomicInteger cachedCount = new AtomicInteger();
+    private final AtomicLong pendingCount = new AtomicLong();
+    // The orders of the tasks being processed, still stored as pending until completed
+    private final Set<Long> inFlightOrders = new HashSet<>();
+    private boolean cacheComplete = true;
+    private long cacheLimit = 0;
+
+    private Stripe(final byte index) {
+      this.index = index;
+    }
+
+    private Long head() {
+      final Map.Entry<Long, Bytes> first = cache.firstEntry();
+      if (first != null) {
+        return first.getKey();
+      }
+      if (pendingCount.get() == 0) {
+        return null;
+      }
+      lock.lock();
+      try {
+        fillCache();
+        return cache.isEmpty() ? null : cache.firstKey();
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    private Task<T> poll() {
+      lock.lock();
+      try {
+        fillCache();
+        final Map.Entry<Long, Bytes> first = cache.pollFirstEntry();
+        if (first == null) {
+          return null;
+        }
+        cachedCount.decrementAndGet();
+        pendingCount.decrementAndGet();
+        inFlightOrders.add(first.getKey());
+        inFlightCount.incrementAndGet();
+        return new StoredTask(
+            this,
+            generation,
+            first.getKey(),
+            first.getValue(),
+            deserializer.apply(first.getValue()));
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    private void complete(final StoredTask task) {
+      lock.lock();
+      try {
+        if (task.generation != generation) {
+          return;
+        }
+        final KeyValueStorageTransaction transaction = storage.startTransaction();
+        transaction.remove(pendingKey(index, task.order).toArrayUnsafe());
+        transaction.remove(indexKey(identifier.apply(task.data)).toArrayUnsafe());
+        transaction.commit();
+        inFlightOrders.remove(task.order);
+        inFlightCount.decrementAndGet();
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    private void fail(final StoredTask task) {
+      lock.lock();
+      try {
+        if (task.generation != generation) {
+          return;
+        }
+        // Still stored as pending, it only has to be made available again
+        inFlightOrders.remove(task.order);
+        inFlightCount.decrementAndGet();
+        addPending(task.order, task.serialized);
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    private void addPending(final long order, final Bytes data) {
+      pendingCount.incrementAndGet();
+      if (!cacheComplete && Long.compareUnsigned(order, cacheLimit) >= 0) {
+        // Will be read back from the storage once the cached tasks are processed
+        return;
+      }
+      cache.put(order, data);
+      if (cachedCount.incrementAndGet() > maxCacheSizePerStripe) {
+        final long evicted = cache.pollLastEntry().getKey();
+        cachedCount.decrementAndGet();
+        cacheComplete = false;
+        cacheLimit = evicted;
+      }
+    }
+
+    private void fillCache() {
+      if (!cache.isEmpty() || pendingCount.get() == 0) {
+        return;
+      }
+      final byte[] from = Bytes.of(PENDING_PREFIX, index).toArrayUnsafe();
+      final byte[] to = Bytes.of(PENDING_PREFIX, (byte) (index + 1)).toArrayUnsafe();
+      long lastOrder = 0;
+      try (final Stream<Map.Entry<byte[], byte[]>> entries = storage.stream(from, to)) {
+        final Iterator<Map.Entry<byte[], byte[]>> iterator =
+            entries
+                .filter(entry -> !inFlightOrders.contains(orderOf(entry.getKey())))
+                .limit(maxCacheSizePerStripe)
+                .iterator();
+        while (iterator.hasNext()) {
+          final Map.Entry<byte[], byte[]> entry = iterator.next();
+          lastOrder = orderOf(entry.getKey());
+          cache.put(lastOrder, Bytes.wrap(entry.getValue()));
+        }
+      }
+      final int loaded = cache.size();
+      cachedCount.set(loaded);
+      cacheComplete = loaded < maxCacheSizePerStripe;
+      // All pending tasks up to the last one read are now cached
+      cacheLimit = lastOrder + 1;
+    }
+
+    private void reset() {
+      cache.clear();
+      inFlightOrders.clear();
+      cachedCount.set(0);
+      pendingCount.set(0);
+      cacheComplete = true;
+      cacheLimit = 0;
+    }
+  }
+
+  /** A task being added, along with what is needed to store it. */
+  private class NewTask {
+    private final Bytes id;
+    private final Bytes data;
+    private final int priority;
+    private final Stripe stripe;
+    private long order;
+
+    private NewTask(final T task) {
+      this.id = identifier.apply(task);
+      this.data = serializer.apply(task);
+      this.priority = clampPriority(task);
+      this.stripe = stripeFor(id);
+    }
+  }
+
+  private class StoredTask implements Task<T> {
+    private final AtomicBoolean completed = new AtomicBoolean(false);
+    private final Stripe stripe;
+    private final long generation;
+    private final long order;
+    private final Bytes serialized;
+    private final T data;
+
+    private StoredTask(
+        final Stripe stripe,
+        final long generation,
+        final long order,
+        final Bytes serialized,
+        final T data) {
+      this.stripe = stripe;
+      this.generation = generation;
+      this.order = order;
+      this.serialized = serialized;
+      this.data = data;
+    }
+
+    @Override
+    public T getData() {
+      return data;
+    }
+
+    @Override
+    public void markCompleted() {
+      if (completed.compareAndSet(false, true)) {
+        stripe.complete(this);
+      }
+    }
+
+    @Override
+    public void markFailed() {
+      if (completed.compareAndSet(false, true)) {
+        stripe.fail(this);
+      }
+    }
+  }
+}
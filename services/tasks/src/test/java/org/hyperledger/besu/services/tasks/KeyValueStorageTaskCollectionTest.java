@@ -0,0 +1,253 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.services.tasks;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
+import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Function;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.Test;
+
+public class KeyValueStorageTaskCollectionTest {
+
+  private final TransactionCountingStorage storage = new TransactionCountingStorage();
+
+  // The first byte of a task is its priority
+  private KeyValueStorageTaskCollection<Bytes> createCollection(final int maxCacheSize) {
+    return new KeyValueStorageTaskCollection<>(
+        storage,
+        Function.identity(),
+        Function.identity(),
+        Function.identity(),
+        task -> task.get(0) & 0xFF,
+        maxCacheSize);
+  }
+
+  @Test
+  public void removesTasksByPriorityThenInsertionOrder() {
+    final KeyValueStorageTaskCollection<Bytes> collection = createCollection(100);
+    collection.add(Bytes.of(1, 1));
+    collection.add(Bytes.of(3, 1));
+    collection.add(Bytes.of(1, 2));
+    collection.add(Bytes.of(2, 1));
+    collection.add(Bytes.of(3, 2));
+
+    assertThat(removeAll(collection))
+        .containsExactly(
+            Bytes.of(3, 1), Bytes.of(3, 2), Bytes.of(2, 1), Bytes.of(1, 1), Bytes.of(1, 2));
+  }
+
+  @Test
+  public void readsBackTasksThatDoNotFitInTheCache() {
+    final KeyValueStorageTaskCollection<Bytes> collection =
+        createCollection(KeyValueStorageTaskCollection.STRIPE_COUNT);
+    for (int i = 0; i < 50; i++) {
+      for (int priority = 0; priority < 4; priority++) {
+        collection.add(Bytes.of(priority, i));
+      }
+    }
+    final List<Bytes> expected = new ArrayList<>();
+    for (int priority = 3; priority >= 0; priority--) {
+      for (int i = 0; i < 50; i++) {
+        expected.add(Bytes.of(priority, i));
+      }
+    }
+
+    assertThat(collection.size()).isEqualTo(expected.size());
+    assertThat(removeAll(collection)).containsExactlyElementsOf(expected);
+  }
+
+  @Test
+  public void ignoresTasksAlreadyPendingOrInProgress() {
+    final KeyValueStorageTaskCollection<Bytes> collection = createCollection(100);
+    collection.add(Bytes.of(1, 1));
+    collection.add(Bytes.of(1, 1));
+    assertThat(collection.size()).isEqualTo(1);
+
+    final Task<Bytes> task = collection.remove();
+    collection.add(Bytes.of(1, 1));
+    assertThat(collection.isEmpty()).isTrue();
+
+    task.markCompleted();
+    collection.add(Bytes.of(1, 1));
+    assertThat(collection.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void storesTasksAddedTogetherInOneTransaction() {
+    final KeyValueStorageTaskCollection<Bytes> collection = createCollection(100);
+    collection.add(Bytes.of(1, 1));
+    storage.transactions = 0;
+
+    collection.addAll(
+        Arrays.asList(
+            Bytes.of(1, 1), Bytes.of(1, 2), Bytes.of(2, 1), Bytes.of(3, 1), Bytes.of(2, 1)));
+
+    assertThat(storage.transactions).isEqualTo(1);
+    assertThat(collection.size()).isEqualTo(4);
+  }
+
+  @Test
+  public void onlyWritesToStorageWhenTasksAreAddedOrCompleted() {
+    final KeyValueStorageTaskCollection<Bytes> collection = createCollection(100);
+    collection.addAll(Arrays.asList(Bytes.of(1, 1), Bytes.of(1, 2)));
+    storage.transactions = 0;
+
+    final Task<Bytes> failed = collection.remove();
+    final Task<Bytes> completed = collection.remove();
+    failed.markFailed();
+    assertThat(storage.transactions).isZero();
+
+    completed.markCompleted();
+    assertThat(storage.transactions).isEqualTo(1);
+    assertThat(removeAll(collection)).containsExactly(failed.getData());
+  }
+
+  @Test
+  public void requeuesFailedTasks() {
+    final KeyValueStorageTaskCollection<Bytes> collection = createCollection(100);
+    collection.add(Bytes.of(1, 1));
+
+    final Task<Bytes> task = collection.remove();
+    assertThat(collection.isEmpty()).isTrue();
+    assertThat(collection.allTasksCompleted()).isFalse();
+
+    task.markFailed();
+    assertThat(collection.size()).isEqualTo(1);
+    assertThat(collection.remove().getData()).isEqualTo(Bytes.of(1, 1));
+  }
+
+  @Test
+  public void ignoresTasksRemovedBeforeClear() {
+    final KeyValueStorageTaskCollection<Bytes> collection = createCollection(100);
+    collection.add(Bytes.of(1, 1));
+    collection.add(Bytes.of(1, 2));
+    final Task<Bytes> task = collection.remove();
+
+    collection.clear();
+    task.markFailed();
+
+    assertThat(collection.isEmpty()).isTrue();
+    assertThat(collection.allTasksCompleted()).isTrue();
+    assertThat(collection.remove()).isNull();
+    assertThat(storage.streamKeys()).isEmpty();
+  }
+
+  @Test
+  public void removesAllStoredDataOnceTasksAreCompleted() {
+    final KeyValueStorageTaskCollection<Bytes> collection = createCollection(100);
+    collection.add(Bytes.of(1, 1));
+    collection.add(Bytes.of(2, 1));
+
+    collection.remove().markCompleted();
+    collection.remove().markCompleted();
+
+    assertThat(collection.allTasksCompleted()).isTrue();
+    assertThat(storage.streamKeys()).isEmpty();
+  }
+
+  @Test
+  public void resumesPendingAndInProgressTasksAfterRestart() throws Exception {
+    final KeyValueStorageTaskCollection<Bytes> collection = createCollection(100);
+    collection.add(Bytes.of(1, 1));
+    collection.add(Bytes.of(2, 1));
+    collection.add(Bytes.of(3, 1));
+    collection.remove().markCompleted();
+    collection.remove();
+    collection.close();
+
+    final KeyValueStorageTaskCollection<Bytes> resumed = createCollection(100);
+    assertThat(resumed.size()).isEqualTo(2);
+    assertThat(resumed.allTasksCompleted()).isFalse();
+
+    // Tasks that were in progress are still ignored when added again
+    resumed.add(Bytes.of(2, 1));
+    assertThat(removeAll(resumed)).containsExactly(Bytes.of(2, 1), Bytes.of(1, 1));
+    assertThat(resumed.allTasksCompleted()).isTrue();
+  }
+
+  @Test
+  public void handlesConcurrentAddsAndRemoves() throws Exception {
+    final int threadCount = 4;
+    final int tasksPerThread = 1000;
+    final KeyValueStorageTaskCollection<Bytes> collection = createCollection(64);
+    final CountDownLatch addsFinished = new CountDownLatch(threadCount);
+    final Set<Bytes> removed = ConcurrentHashMap.newKeySet();
+    final List<Thread> threads = new ArrayList<>();
+
+    for (int i = 0; i < threadCount; i++) {
+      final int thread = i;
+      threads.add(
+          new Thread(
+              () -> {
+                for (int j = 0; j < tasksPerThread; j++) {
+                  collection.add(Bytes.of(j % 5, thread, j >> 8, j));
+                }
+                addsFinished.countDown();
+              }));
+      threads.add(
+          new Thread(
+              () -> {
+                while (addsFinished.getCount() > 0 || !collection.isEmpty()) {
+                  final Task<Bytes> task = collection.remove();
+                  if (task != null) {
+                    assertThat(removed.add(task.getData())).isTrue();
+                    task.markCompleted();
+                  }
+                }
+              }));
+    }
+    threads.forEach(Thread::start);
+    for (final Thread thread : threads) {
+      thread.join();
+    }
+
+    assertThat(removed).hasSize(threadCount * tasksPerThread);
+    assertThat(collection.allTasksCompleted()).isTrue();
+  }
+
+  private static class TransactionCountingStorage extends InMemoryKeyValueStorage {
+    private int transactions = 0;
+
+    @Override
+    public KeyValueStorageTransaction startTransaction() {
+      transactions++;
+      return super.startTransaction();
+    }
+  }
+
+  private static List<Bytes> removeAll(final TaskCollection<Bytes> collection) {
+    final List<Bytes> removed = new ArrayList<>();
+    final Set<Bytes> seen = new HashSet<>();
+    Task<Bytes> task;
+    while ((task = collection.remove()) != null) {
+      assertThat(seen.add(task.getData())).isTrue();
+      removed.add(task.getData());
+      task.markCompleted();
+    }
+    return removed;
+  }
+}
@@ -24,6 +24,7 @@ import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
@@ -402,6 +403,84 @@ public abstract class AbstractKeyValueStorageTest {
     store.close();
   }
 
+  @Test
+  public void getMultiple() throws Exception {
+    final KeyValueStorage store = createStore();
+    final KeyValueStorageTransaction tx = store.startTransaction();
+    tx.put(bytesFromHexString("0F"), bytesFromHexString("0ABC"));
+    tx.put(bytesFromHexString("10"), bytesFromHexString("0DEF"));
+    tx.commit();
+
+    final List<Optional<byte[]>> values =
+        store.getMultiple(
+            List.of(bytesFromHexString("10"), bytesFromHexString("11"), bytesFromHexString("0F")));
+
+    assertThat(values).hasSize(3);
+    assertThat(values.get(0)).contains(bytesFromHexString("0DEF"));
+    assertThat(values.get(1)).isEmpty();
+    assertThat(values.get(2)).contains(bytesFromHexString("0ABC"));
+  }
+
+  @Test
+  public void streamRange() throws Exception {
+    final KeyValueStorage store = createStore();
+    final KeyValueStorageTransaction tx = store.startTransaction();
+    Stream.of("FF", "11", "0F", "80", "10")
+        .map(this::bytesFromHexString)
+        .forEach(key -> tx.put(key, key));
+    tx.commit();
+
+    try (final Stream<Map.Entry<byte[], byte[]>> entries =
+        store.stream(bytesFromHexString("10"), bytesFromHexString("FF"))) {
+      assertThat(entries.map(entry -> Bytes.wrap(entry.getKey()).toHexString()))
+          .containsExactly("0x10", "0x11", "0x80");
+    }
+    try (final Stream<Map.Entry<byte[], byte[]>> entries =
+        store.stream(bytesFromHexString("0F"), bytesFromHexString("10"))) {
+      assertThat(entries.map(entry -> Bytes.wrap(entry.getValue()).toHexString()))
+          .containsExactly("0x0f");
+    }
+  }
+
+  @Test
+  public void snapshotIsNotAffectedByLaterWrites() throws Exception {
+    final KeyValueStorage store = createStore();
+    KeyValueStorageTransaction tx = store.startTransaction();
+    tx.put(bytesFromHexString("0F"), bytesFromHexString("0ABC"));
+    tx.put(bytesFromHexString("10"), bytesFromHexString("0DEF"));
+    tx.commit();
+
+    try (final KeyValueStorage snapshot = store.takeSnapshot()) {
+      tx = store.startTransaction();
+      tx.put(bytesFromHexString("0F"), bytesFromHexString("0123"));
+      tx.remove(bytesFromHexString("10"));
+      tx.put(bytesFromHexString("11"), bytesFromHexString("0456"));
+      tx.commit();
+
+      assertThat(snapshot.get(bytesFromHexString("0F"))).contains(bytesFromHexString("0ABC"));
+      assertThat(snapshot.get(bytesFromHexString("10"))).contains(bytesFromHexString("0DEF"));
+      assertThat(snapshot.containsKey(bytesFromHexString("11"))).isFalse();
+      assertThat(snapshot.streamKeys().map(Bytes::wrap))
+          .containsExactlyInAnyOrder(Bytes.fromHexString("0F"), Bytes.fromHexString("10"));
+      try (final Stream<Map.Entry<byte[], byte[]>> entries =
+          snapshot.stream(bytesFromHexString("00"), bytesFromHexString("FF"))) {
+        assertThat(entries.map(entry -> Bytes.wrap(entry.getKey()).toHexString()))
+            .containsExactly("0x0f", "0x10");
+      }
+    }
+
+    assertThat(store.get(bytesFromHexString("0F"))).contains(bytesFromHexString("0123"));
+    assertThat(store.get(bytesFromHexString("11"))).contains(bytesFromHexString("0456"));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void snapshotIsReadOnly() throws Exception {
+    final KeyValueStorage store = createStore();
+    try (final KeyValueStorage snapshot = store.takeSnapshot()) {
+      snapshot.startTransaction();
+    }
+  }
+
   /*
    * Used to mimic the wrapping with Bytes performed in Besu
    */